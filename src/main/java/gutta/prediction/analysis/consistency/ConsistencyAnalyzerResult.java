@@ -1,16 +1,166 @@
 package gutta.prediction.analysis.consistency;
 
 import gutta.prediction.event.EntityWriteEvent;
+import gutta.prediction.util.EqualityUtil;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 
 /**
- * This record represents the result of a {@link ConsistencyIssuesAnalyzer} of an event trace.
- * 
- * @param issues          The set of found issues in the trace
- * @param committedWrites The set of writes that were committed in the trace
- * @param revertedWrites  The set of writes that were reverted in the trace
+ * This class represents the result of a {@link ConsistencyIssuesAnalyzer} of an event trace. In addition to the found issues and the write outcomes, the
+ * result provides the index of the respective event in the analyzed trace for each issue and write, so that the events can be mapped by position. Results
+ * are equal if they contain the same issues and writes, regardless of the indexes.
  */
-public record ConsistencyAnalyzerResult(Set<ConsistencyIssue<?>> issues, Set<EntityWriteEvent> committedWrites, Set<EntityWriteEvent> revertedWrites) {
+public final class ConsistencyAnalyzerResult {
+
+    /**
+     * Index denoting that the index of an event is not known.
+     */
+    public static final int UNKNOWN_INDEX = -1;
+
+    private final Set<ConsistencyIssue<?>> issues;
+
+    private final Set<EntityWriteEvent> committedWrites;
+
+    private final Set<EntityWriteEvent> revertedWrites;
+
+    private final List<IndexedIssue> indexedIssues;
+
+    private final List<IndexedWrite> indexedCommittedWrites;
+
+    private final List<IndexedWrite> indexedRevertedWrites;
+
+    /**
+     * Creates a new result from the given data without event indexes.
+     *
+     * @param issues          The set of found issues in the trace
+     * @param committedWrites The set of writes that were committed in the trace
+     * @param revertedWrites  The set of writes that were reverted in the trace
+     */
+    public ConsistencyAnalyzerResult(Set<ConsistencyIssue<?>> issues, Set<EntityWriteEvent> committedWrites, Set<EntityWriteEvent> revertedWrites) {
+        this(issues, committedWrites, revertedWrites, withUnknownIndexes(issues, IndexedIssue::new), withUnknownIndexes(committedWrites, IndexedWrite::new),
+                withUnknownIndexes(revertedWrites, IndexedWrite::new));
+    }
+
+    ConsistencyAnalyzerResult(Set<ConsistencyIssue<?>> issues, Set<EntityWriteEvent> committedWrites, Set<EntityWriteEvent> revertedWrites,
+            List<IndexedIssue> indexedIssues, List<IndexedWrite> indexedCommittedWrites, List<IndexedWrite> indexedRevertedWrites) {
+
+        this.issues = Collections.unmodifiableSet(issues);
+        this.committedWrites = Collections.unmodifiableSet(committedWrites);
+        this.revertedWrites = Collections.unmodifiableSet(revertedWrites);
+        this.indexedIssues = Collections.unmodifiableList(indexedIssues);
+        this.indexedCommittedWrites = Collections.unmodifiableList(indexedCommittedWrites);
+        this.indexedRevertedWrites = Collections.unmodifiableList(indexedRevertedWrites);
+    }
+
+    private static <E, T> List<T> withUnknownIndexes(Set<E> elements, IndexedElementFactory<E, T> factory) {
+        var indexedElements = new ArrayList<T>(elements.size());
+        elements.forEach(element -> indexedElements.add(factory.create(element, UNKNOWN_INDEX)));
+
+        return indexedElements;
+    }
+
+    /**
+     * Returns the set of found issues in the trace.
+     *
+     * @return see above
+     */
+    public Set<ConsistencyIssue<?>> issues() {
+        return this.issues;
+    }
+
+    /**
+     * Returns the set of writes that were committed in the trace.
+     *
+     * @return see above
+     */
+    public Set<EntityWriteEvent> committedWrites() {
+        return this.committedWrites;
+    }
+
+    /**
+     * Returns the set of writes that were reverted in the trace.
+     *
+     * @return see above
+     */
+    public Set<EntityWriteEvent> revertedWrites() {
+        return this.revertedWrites;
+    }
+
+    /**
+     * Returns the found issues along with the indexes of their events in the order in which they were found.
+     *
+     * @return see above
+     */
+    public List<IndexedIssue> indexedIssues() {
+        return this.indexedIssues;
+    }
+
+    /**
+     * Returns the committed writes along with their indexes in the order in which they were committed.
+     *
+     * @return see above
+     */
+    public List<IndexedWrite> indexedCommittedWrites() {
+        return this.indexedCommittedWrites;
+    }
+
+    /**
+     * Returns the reverted writes along with their indexes in the order in which they were reverted.
+     *
+     * @return see above
+     */
+    public List<IndexedWrite> indexedRevertedWrites() {
+        return this.indexedRevertedWrites;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.issues, this.committedWrites, this.revertedWrites);
+    }
+
+    @Override
+    public boolean equals(Object that) {
+        return EqualityUtil.equals(this, that, this::equalsInternal);
+    }
+
+    private boolean equalsInternal(ConsistencyAnalyzerResult that) {
+        return Objects.equals(this.issues, that.issues) && //
+                Objects.equals(this.committedWrites, that.committedWrites) && //
+                Objects.equals(this.revertedWrites, that.revertedWrites);
+    }
+
+    @Override
+    public String toString() {
+        return "ConsistencyAnalyzerResult[issues=" + this.issues + ", committedWrites=" + this.committedWrites + ", revertedWrites=" + this.revertedWrites +
+                "]";
+    }
+
+    /**
+     * An issue along with the index of its event in the analyzed trace.
+     *
+     * @param issue      The issue
+     * @param eventIndex The index of the issue's event, or {@link ConsistencyAnalyzerResult#UNKNOWN_INDEX} if it is not known
+     */
+    public record IndexedIssue(ConsistencyIssue<?> issue, int eventIndex) {
+    }
+
+    /**
+     * A write event along with its index in the analyzed trace.
+     *
+     * @param event      The write event
+     * @param eventIndex The index of the event, or {@link ConsistencyAnalyzerResult#UNKNOWN_INDEX} if it is not known
+     */
+    public record IndexedWrite(EntityWriteEvent event, int eventIndex) {
+    }
+
+    private interface IndexedElementFactory<E, T> {
+
+        T create(E element, int eventIndex);
+
+    }
 
 }
@@ -0,0 +1,146 @@
+package gutta.prediction.analysis.consistency;
+
+import gutta.prediction.domain.DeploymentModel;
+import gutta.prediction.event.EntityWriteEvent;
+import gutta.prediction.event.EventTrace;
+import gutta.prediction.event.MonitoringEvent;
+import gutta.prediction.rewriting.RewrittenEventTrace;
+import gutta.prediction.simulation.OnlineTraceSimulation;
+import gutta.prediction.simulation.TraceSimulationMode;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This detector determines whether a scenario changes the consistency issues or write outcomes of a trace. The original and the rewritten trace are
+ * simulated in lockstep, and the detection stops at the first divergence. As rewriting does not add or remove events, the events at the same position
+ * correspond to each other.
+ */
+class ConsistencyChangeDetector {
+
+    private final CheckCrossComponentAccesses checkCrossComponentAccesses;
+
+    private final CheckInterleavingAccesses checkInterleavingAccesses;
+
+    ConsistencyChangeDetector(CheckCrossComponentAccesses checkCrossComponentAccesses, CheckInterleavingAccesses checkInterleavingAccesses) {
+        this.checkCrossComponentAccesses = checkCrossComponentAccesses;
+        this.checkInterleavingAccesses = checkInterleavingAccesses;
+    }
+
+    public boolean hasChanges(EventTrace originalTrace, DeploymentModel deploymentModel, RewrittenEventTrace rewrittenTrace, DeploymentModel scenarioModel) {
+        var comparison = new Comparison();
+
+        var originalSimulation = this.createSimulation(deploymentModel, comparison.originalSide);
+        // Rewritten events are mapped to their original events, so that the results of both sides can be compared directly
+        var rewrittenSimulation = this.createSimulation(scenarioModel, new MappingObserver(comparison.rewrittenSide, rewrittenTrace));
+
+        var originalEvents = originalTrace.events();
+        var rewrittenEvents = rewrittenTrace.events();
+
+        for (var eventIndex = 0; eventIndex < originalEvents.size(); eventIndex++) {
+            originalSimulation.accept(originalEvents.get(eventIndex));
+            rewrittenSimulation.accept(rewrittenEvents.get(eventIndex));
+
+            // As both sides have processed the same events, all issues must match. Write outcomes, however, may be decided at different times
+            if (comparison.hasDivergence(false)) {
+                return true;
+            }
+        }
+
+        originalSimulation.complete();
+        rewrittenSimulation.complete();
+
+        return comparison.hasDivergence(true);
+    }
+
+    private OnlineTraceSimulation createSimulation(DeploymentModel deploymentModel, ConsistencyIssuesAnalyzer.ResultObserver observer) {
+        var analyzer = new ConsistencyIssuesAnalyzer(this.checkCrossComponentAccesses, this.checkInterleavingAccesses, deploymentModel);
+        analyzer.observeResults(observer);
+
+        return new OnlineTraceSimulation(deploymentModel, TraceSimulationMode.WITH_ENTITY_ACCESSES, analyzer);
+    }
+
+    private static class Comparison {
+
+        private final Side originalSide = new Side();
+
+        private final Side rewrittenSide = new Side();
+
+        private boolean divergentWriteOutcome = false;
+
+        public Comparison() {
+            this.originalSide.otherSide = this.rewrittenSide;
+            this.originalSide.comparison = this;
+            this.rewrittenSide.otherSide = this.originalSide;
+            this.rewrittenSide.comparison = this;
+        }
+
+        public boolean hasDivergence(boolean complete) {
+            if (this.divergentWriteOutcome || !this.originalSide.unmatchedIssues.isEmpty() || !this.rewrittenSide.unmatchedIssues.isEmpty()) {
+                return true;
+            }
+
+            // At the end, a write outcome that is only decided on one side is also a divergence
+            return complete && !(this.originalSide.unmatchedWriteOutcomes.isEmpty() && this.rewrittenSide.unmatchedWriteOutcomes.isEmpty());
+        }
+
+    }
+
+    private static class Side implements ConsistencyIssuesAnalyzer.ResultObserver {
+
+        private final Set<ConsistencyIssue<?>> unmatchedIssues = new HashSet<>();
+
+        private final Map<EntityWriteEvent, Boolean> unmatchedWriteOutcomes = new HashMap<>();
+
+        private Side otherSide;
+
+        private Comparison comparison;
+
+        @Override
+        public void onIssue(ConsistencyIssue<?> issue, int eventIndex) {
+            if (!this.otherSide.unmatchedIssues.remove(issue)) {
+                this.unmatchedIssues.add(issue);
+            }
+        }
+
+        @Override
+        public void onWriteOutcome(EntityWriteEvent event, int eventIndex, boolean committed) {
+            var otherOutcome = this.otherSide.unmatchedWriteOutcomes.remove(event);
+
+            if (otherOutcome == null) {
+                this.unmatchedWriteOutcomes.put(event, committed);
+            } else if (otherOutcome != committed) {
+                this.comparison.divergentWriteOutcome = true;
+            }
+        }
+
+    }
+
+    private static class MappingObserver implements ConsistencyIssuesAnalyzer.ResultObserver {
+
+        private final ConsistencyIssuesAnalyzer.ResultObserver delegate;
+
+        private final RewrittenEventTrace rewrittenTrace;
+
+        public MappingObserver(ConsistencyIssuesAnalyzer.ResultObserver delegate, RewrittenEventTrace rewrittenTrace) {
+            this.delegate = delegate;
+            this.rewrittenTrace = rewrittenTrace;
+        }
+
+        @Override
+        public void onIssue(ConsistencyIssue<?> issue, int eventIndex) {
+            // Rewritten events are at the same position as their original events, so the index is valid in both traces
+            MonitoringEvent originalEvent = this.rewrittenTrace.obtainOriginalEvent(eventIndex);
+            this.delegate.onIssue(issue.rewriteToEvent(originalEvent), eventIndex);
+        }
+
+        @Override
+        public void onWriteOutcome(EntityWriteEvent event, int eventIndex, boolean committed) {
+            this.delegate.onWriteOutcome(this.rewrittenTrace.<EntityWriteEvent>obtainOriginalEvent(eventIndex), eventIndex, committed);
+        }
+
+    }
+
+}
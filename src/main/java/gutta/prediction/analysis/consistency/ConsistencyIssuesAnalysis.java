@@ -4,18 +4,26 @@ import gutta.prediction.domain.DeploymentModel;
 import gutta.prediction.event.EntityWriteEvent;
 import gutta.prediction.event.EventTrace;
 import gutta.prediction.event.MonitoringEvent;
-import gutta.prediction.rewriting.OverheadRewriter;
 import gutta.prediction.rewriting.RewrittenEventTrace;
-import gutta.prediction.rewriting.TransactionContextRewriter;
-import gutta.prediction.util.SimpleTaskScope;
-import gutta.prediction.util.SimpleTaskScope.Subtask;
+import gutta.prediction.rewriting.ScenarioRewriter;
+import gutta.prediction.simulation.SimulationConsumer;
+import gutta.prediction.simulation.SimulationPipeline;
+import gutta.prediction.util.BoundedTaskProcessor;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
 
@@ -29,6 +37,8 @@ public class ConsistencyIssuesAnalysis {
 
     private final CheckInterleavingAccesses checkInterleavingAccesses;
 
+    private final OriginalResultCache originalResultCache;
+
     /**
      * Creates a new analysis with default parameters.
      */
@@ -45,10 +55,29 @@ public class ConsistencyIssuesAnalysis {
     public ConsistencyIssuesAnalysis(CheckCrossComponentAccesses checkCrossComponentAccesses, CheckInterleavingAccesses checkInterleavingAccesses) {
         this.checkCrossComponentAccesses = checkCrossComponentAccesses;
         this.checkInterleavingAccesses = checkInterleavingAccesses;
+        this.originalResultCache = null;
+    }
+
+    /**
+     * Creates a new analysis with the given parameters that caches the results of the original traces, so that analyzing the same traces with respect to
+     * several scenarios only analyzes each original trace once. Results are reused for traces with the same ID and fingerprint (size, first and last
+     * timestamp) and the same deployment model instance, and the least recently used result is evicted if the cache is full.
+     * 
+     * @param checkCrossComponentAccesses Denotes whether to check for cross-component accesses
+     * @param checkInterleavingAccesses   Denotes whether to check for interleaving entity accesses
+     * @param originalResultCacheSize     The maximum number of cached results of original traces, which must be positive
+     */
+    public ConsistencyIssuesAnalysis(CheckCrossComponentAccesses checkCrossComponentAccesses, CheckInterleavingAccesses checkInterleavingAccesses,
+            int originalResultCacheSize) {
+        this.checkCrossComponentAccesses = checkCrossComponentAccesses;
+        this.checkInterleavingAccesses = checkInterleavingAccesses;
+        this.originalResultCache = new OriginalResultCache(originalResultCacheSize);
     }
 
     /**
-     * Analyzes the given traces with respect to the given scenario.
+     * Analyzes the given traces with respect to the given scenario. The result map is derived from {@link #analyzeTracesInOrder(List, DeploymentModel,
+     * DeploymentModel)}. As traces are compared by their events, building the map requires hashing all events, and equal traces are mapped to a single
+     * result.
      * 
      * @param traces          The traces to analyze
      * @param deploymentModel The deployment model of the given trace
@@ -58,28 +87,80 @@ public class ConsistencyIssuesAnalysis {
     public Map<EventTrace, ConsistencyAnalysisResult> analyzeTraces(Collection<EventTrace> traces, DeploymentModel deploymentModel,
             DeploymentModel scenarioModel) {
 
-        try (var scope = new SimpleTaskScope<ConsistencyAnalysisResult>()) {
-            var traceToTask = new HashMap<EventTrace, Subtask<ConsistencyAnalysisResult>>(traces.size());
+        var traceList = List.copyOf(traces);
+        var results = this.analyzeTracesInOrder(traceList, deploymentModel, scenarioModel);
 
-            // Schedule the analyses for execution
-            for (var trace : traces) {
-                var task = scope.fork(() -> this.analyzeTrace(trace, deploymentModel, scenarioModel));
-                traceToTask.put(trace, task);
-            }
+        var traceToResult = new HashMap<EventTrace, ConsistencyAnalysisResult>(traceList.size());
+        for (var traceIndex = 0; traceIndex < traceList.size(); traceIndex++) {
+            traceToResult.put(traceList.get(traceIndex), results.get(traceIndex));
+        }
 
-            // Run the analyses, throwing an exception if one of the exceptions failed
-            scope.join().throwIfFailed();
+        return traceToResult;
+    }
+
+    /**
+     * Analyzes the given stream of traces with respect to the given scenario. The traces are taken from the stream only as fast as they can be analyzed, and
+     * the results are passed to the given consumer as soon as they are available. Thus, only a bounded number of traces is held in memory at any time,
+     * provided that the stream is lazy and the consumer does not retain the traces.
+     * 
+     * @param traces          The traces to analyze
+     * @param deploymentModel The deployment model of the given traces
+     * @param scenarioModel   The scenario model based on the given deployment model
+     * @param resultConsumer  The consumer for the results, which is not invoked concurrently
+     */
+    public void analyzeTraces(Stream<EventTrace> traces, DeploymentModel deploymentModel, DeploymentModel scenarioModel, ResultConsumer resultConsumer) {
+        try {
+            new BoundedTaskProcessor<EventTrace, ConsistencyAnalysisResult>().process(traces,
+                    trace -> this.analyzeTrace(trace, deploymentModel, scenarioModel), resultConsumer::accept);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConsistencyAnalysisException("Unexpected interrupt while waiting for the analysis results.", e);
+        } catch (ExecutionException e) {
+            throw new ConsistencyAnalysisException("Execution exception during the analysis.", e);
+        }
+    }
 
-            var traceToResult = new HashMap<EventTrace, ConsistencyAnalysisResult>(traces.size());
-            traceToTask.forEach((trace, task) -> traceToResult.put(trace, task.get()));
+    /**
+     * Analyzes the given traces with respect to the given scenario, and returns the results in the order of the traces. In contrast to
+     * {@link #analyzeTraces(Collection, DeploymentModel, DeploymentModel)}, the traces are neither hashed nor compared.
+     * 
+     * @param traces          The traces to analyze
+     * @param deploymentModel The deployment model of the given traces
+     * @param scenarioModel   The scenario model based on the given deployment model
+     * @return The results of the analysis, where the result at each index belongs to the trace at the same index
+     */
+    public List<ConsistencyAnalysisResult> analyzeTracesInOrder(List<EventTrace> traces, DeploymentModel deploymentModel, DeploymentModel scenarioModel) {
+        var results = new ConsistencyAnalysisResult[traces.size()];
 
-            return traceToResult;
+        try {
+            new BoundedTaskProcessor<Integer, ConsistencyAnalysisResult>().process(IntStream.range(0, traces.size()).boxed(),
+                    traceIndex -> this.analyzeTrace(traces.get(traceIndex), deploymentModel, scenarioModel),
+                    (traceIndex, result) -> results[traceIndex] = result);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new ConsistencyAnalysisException("Unexpected interrupt while waiting for the analysis results.", e);
         } catch (ExecutionException e) {
             throw new ConsistencyAnalysisException("Execution exception during the analysis.", e);
         }
+
+        return Collections.unmodifiableList(Arrays.asList(results));
+    }
+
+    /**
+     * Analyzes the given stream of traces with respect to the given scenario and summarizes the results. Each result is added to the statistics as soon as
+     * it is available and then discarded, so that the memory required does not depend on the number of traces.
+     * 
+     * @param traces          The traces to analyze
+     * @param deploymentModel The deployment model of the given traces
+     * @param scenarioModel   The scenario model based on the given deployment model
+     * @return The statistics of the analysis results
+     */
+    public ConsistencyStatistics summarizeTraces(Stream<EventTrace> traces, DeploymentModel deploymentModel, DeploymentModel scenarioModel) {
+        var statistics = new ConsistencyStatistics();
+        // The result consumer is not invoked concurrently, so the statistics need not be synchronized
+        this.analyzeTraces(traces, deploymentModel, scenarioModel, statistics::add);
+
+        return statistics;
     }
 
     /**
@@ -91,12 +172,13 @@ public class ConsistencyIssuesAnalysis {
      * @return The result of the analysis
      */
     public ConsistencyAnalysisResult analyzeTrace(EventTrace trace, DeploymentModel deploymentModel, DeploymentModel scenarioModel) {
-        var originalTraceResult = this.analyzeTrace(trace, deploymentModel);
+        var originalTraceResult = (this.originalResultCache != null) ? this.originalResultCache.obtainResult(trace, deploymentModel, this::analyzeTrace) :
+                this.analyzeTrace(trace, deploymentModel);
 
         var rewrittenTrace = this.rewriteTrace(trace, scenarioModel);
         var rewrittenTraceResult = this.analyzeTrace(rewrittenTrace, scenarioModel);
 
-        return this.diffAnalyzerResults(originalTraceResult, rewrittenTraceResult, rewrittenTrace::obtainOriginalEvent);
+        return this.diffAnalyzerResults(originalTraceResult, rewrittenTraceResult, rewrittenTrace);
     }
 
     /**
@@ -110,6 +192,34 @@ public class ConsistencyIssuesAnalysis {
         return new ConsistencyIssuesAnalyzer(this.checkCrossComponentAccesses, this.checkInterleavingAccesses).analyzeTrace(trace, deploymentModel);
     }
 
+    /**
+     * Determines whether the given scenario changes the consistency issues or the write outcomes of the given trace. In contrast to
+     * {@link #analyzeTrace(EventTrace, DeploymentModel, DeploymentModel)}, the original and the rewritten trace are simulated in lockstep, and the simulation
+     * stops at the first difference, so that traces with changes need not be simulated completely.
+     *
+     * @param trace           The trace to analyze
+     * @param deploymentModel The deployment model of the given trace
+     * @param scenarioModel   The scenario model based on the given deployment model
+     * @return {@code True} if the analysis of the trace would result in new or obsolete issues or in changed write outcomes, {@code false} otherwise
+     */
+    public boolean hasConsistencyChanges(EventTrace trace, DeploymentModel deploymentModel, DeploymentModel scenarioModel) {
+        var rewrittenTrace = this.rewriteTrace(trace, scenarioModel);
+        var detector = new ConsistencyChangeDetector(this.checkCrossComponentAccesses, this.checkInterleavingAccesses);
+
+        return detector.hasChanges(trace, deploymentModel, rewrittenTrace, scenarioModel);
+    }
+
+    /**
+     * Creates a consumer that analyzes a trace for consistency issues as part of a {@link SimulationPipeline}, so that the analysis can share its simulation
+     * pass with other consumers of the same trace and deployment model.
+     * 
+     * @param deploymentModel The deployment model of the trace to analyze
+     * @return The consumer, which provides the analysis result after the pipeline has been run
+     */
+    public SimulationConsumer<ConsistencyAnalyzerResult> createAnalyzer(DeploymentModel deploymentModel) {
+        return new ConsistencyIssuesAnalyzer(this.checkCrossComponentAccesses, this.checkInterleavingAccesses, requireNonNull(deploymentModel));
+    }
+
     /**
      * Rewrites the given trace to match the given scenario model.
      * 
@@ -118,9 +228,7 @@ public class ConsistencyIssuesAnalysis {
      * @return The rewritten trace
      */
     public RewrittenEventTrace rewriteTrace(EventTrace trace, DeploymentModel scenarioModel) {
-        var overheadRewriter = new OverheadRewriter(scenarioModel);
-        var transactionRewriter = new TransactionContextRewriter(scenarioModel);
-        return transactionRewriter.rewriteTrace(overheadRewriter.rewriteTrace(trace));
+        return new ScenarioRewriter(scenarioModel).rewriteTrace(trace);
     }
 
     /**
@@ -133,43 +241,100 @@ public class ConsistencyIssuesAnalysis {
      */
     public ConsistencyAnalysisResult diffAnalyzerResults(ConsistencyAnalyzerResult originalResult, ConsistencyAnalyzerResult rewrittenResult,
             EventMap eventMap) {
+        var mappedIssues = mapElements(rewrittenResult.issues(), issue -> mapIssue(issue, eventMap.map(issue.event())), MappedIssue::new);
+        var mappedCommittedWrites = mapElements(rewrittenResult.committedWrites(), eventMap::map, MappedWrite::new);
+        var mappedRevertedWrites = mapElements(rewrittenResult.revertedWrites(), eventMap::map, MappedWrite::new);
+
+        return this.diffMappedResults(originalResult, rewrittenResult, mappedIssues, mappedCommittedWrites, mappedRevertedWrites);
+    }
+
+    /**
+     * Determines the difference between the given results, mapping the rewritten events to the original events by their index in the rewritten trace.
+     * 
+     * @param originalResult  The result from the original trace
+     * @param rewrittenResult The result from the analysis of the given rewritten trace, which must provide the event indexes
+     * @param rewrittenTrace  The rewritten trace that the rewritten result was obtained from
+     * @return The difference of the results
+     * @throws IllegalArgumentException If the rewritten result does not provide the index of an event
+     */
+    public ConsistencyAnalysisResult diffAnalyzerResults(ConsistencyAnalyzerResult originalResult, ConsistencyAnalyzerResult rewrittenResult,
+            RewrittenEventTrace rewrittenTrace) {
+        var mappedIssues = mapElements(rewrittenResult.indexedIssues(),
+                indexedIssue -> mapIssue(indexedIssue.issue(), obtainOriginalEvent(rewrittenTrace, indexedIssue.eventIndex())),
+                (indexedIssue, mappedIssue) -> new MappedIssue(indexedIssue.issue(), mappedIssue));
+        var mappedCommittedWrites = mapIndexedWrites(rewrittenResult.indexedCommittedWrites(), rewrittenTrace);
+        var mappedRevertedWrites = mapIndexedWrites(rewrittenResult.indexedRevertedWrites(), rewrittenTrace);
+
+        return this.diffMappedResults(originalResult, rewrittenResult, mappedIssues, mappedCommittedWrites, mappedRevertedWrites);
+    }
+
+    private static <S, T, R> List<R> mapElements(Collection<S> elements, Function<S, T> mapping, BiFunction<S, T, R> resultFactory) {
+        var mappedElements = new ArrayList<R>(elements.size());
+        elements.forEach(element -> mappedElements.add(resultFactory.apply(element, mapping.apply(element))));
+
+        return mappedElements;
+    }
+
+    private static List<MappedWrite> mapIndexedWrites(List<ConsistencyAnalyzerResult.IndexedWrite> indexedWrites, RewrittenEventTrace rewrittenTrace) {
+        return mapElements(indexedWrites, indexedWrite -> rewrittenTrace.<EntityWriteEvent>obtainOriginalEvent(checkIndex(indexedWrite.eventIndex())),
+                (indexedWrite, mappedWrite) -> new MappedWrite(indexedWrite.event(), mappedWrite));
+    }
+
+    private static MonitoringEvent obtainOriginalEvent(RewrittenEventTrace rewrittenTrace, int eventIndex) {
+        return rewrittenTrace.obtainOriginalEvent(checkIndex(eventIndex));
+    }
+
+    private static int checkIndex(int eventIndex) {
+        if (eventIndex == ConsistencyAnalyzerResult.UNKNOWN_INDEX) {
+            throw new IllegalArgumentException("The result does not provide the index of an event.");
+        }
+
+        return eventIndex;
+    }
+
+    private static ConsistencyIssue<?> mapIssue(ConsistencyIssue<?> issue, MonitoringEvent mappedEvent) {
+        if (mappedEvent == null) {
+            // All events should be mapped, as we do not add or remove events
+            throw new IllegalStateException("Unmapped event '" + issue.event() + "'.");
+        }
+
+        return issue.rewriteToEvent(mappedEvent);
+    }
+
+    private ConsistencyAnalysisResult diffMappedResults(ConsistencyAnalyzerResult originalResult, ConsistencyAnalyzerResult rewrittenResult,
+            List<MappedIssue> mappedIssues, List<MappedWrite> mappedCommittedWrites, List<MappedWrite> mappedRevertedWrites) {
+
         var newIssues = new HashSet<ConsistencyIssue<?>>();
         var obsoleteIssues = new HashSet<ConsistencyIssue<?>>();
         var unchangedIssues = new HashSet<ConsistencyIssue<?>>();
 
-        this.diffIssues(originalResult.issues(), rewrittenResult.issues(), eventMap, newIssues::add, obsoleteIssues::add, unchangedIssues::add);
+        this.diffIssues(originalResult.issues(), mappedIssues, newIssues::add, obsoleteIssues::add, unchangedIssues::add);
 
         var nowCommittedWrites = new HashSet<EntityWriteEvent>();
         var nowRevertedWrites = new HashSet<EntityWriteEvent>();
         var unchangedCommittedWrites = new HashSet<EntityWriteEvent>();
         var unchangedRevertedWrites = new HashSet<EntityWriteEvent>();
 
-        this.diffWrites(originalResult.committedWrites(), originalResult.revertedWrites(), rewrittenResult.committedWrites(), rewrittenResult.revertedWrites(),
-                eventMap, nowCommittedWrites::add, nowRevertedWrites::add, unchangedCommittedWrites::add, unchangedRevertedWrites::add);
+        this.diffWrites(originalResult.committedWrites(), originalResult.revertedWrites(), mappedCommittedWrites, mappedRevertedWrites,
+                nowCommittedWrites::add, nowRevertedWrites::add, unchangedCommittedWrites::add, unchangedRevertedWrites::add);
 
         return new ConsistencyAnalysisResult(originalResult.issues().size(), rewrittenResult.issues().size(), newIssues, obsoleteIssues, unchangedIssues,
                 nowCommittedWrites, nowRevertedWrites, unchangedCommittedWrites, unchangedRevertedWrites);
     }
 
-    private void diffIssues(Set<ConsistencyIssue<?>> theseIssues, Set<ConsistencyIssue<?>> thoseIssues, EventMap eventMap, IssueCollector newIssuesCollector,
+    private void diffIssues(Set<ConsistencyIssue<?>> theseIssues, List<MappedIssue> thoseIssues, IssueCollector newIssuesCollector,
             IssueCollector missingIssuesCollector, IssueCollector unchangedIssuesCollector) {
         var matchingIssues = new HashSet<ConsistencyIssue<?>>(theseIssues.size());
 
-        // We have to start at "those issues", since the map maps them back to "these issues"
+        // We have to start at "those issues", since they are mapped back to "these issues"
         for (var issue : thoseIssues) {
-            var mappedEvent = eventMap.map(issue.event());
-            if (mappedEvent == null) {
-                // All events should be mapped, as we do not add or remove events
-                throw new IllegalStateException("Unmapped event '" + issue.event() + "'.");
-            }
-
-            var mappedIssue = issue.rewriteToEvent(mappedEvent);
+            var mappedIssue = issue.mappedIssue();
             if (theseIssues.contains(mappedIssue)) {
                 // If the mapped issue exists in the this result, we have a match
                 matchingIssues.add(mappedIssue);
             } else {
                 // If the issue does not exist in the this result, consider it new
-                newIssuesCollector.collect(issue);
+                newIssuesCollector.collect(issue.issue());
             }
         }
 
@@ -182,40 +347,40 @@ public class ConsistencyIssuesAnalysis {
         matchingIssues.forEach(unchangedIssuesCollector::collect);
     }
 
-    private void diffWrites(Set<EntityWriteEvent> theseCommittedWrites, Set<EntityWriteEvent> theseRevertedWrites, Set<EntityWriteEvent> thoseCommittedWrites,
-            Set<EntityWriteEvent> thoseRevertedWrites, EventMap eventMap, WritesCollector nowCommittedWritesCollector,
-            WritesCollector nowRevertedWritesCollector, WritesCollector unchangedCommittedWritesCollector, WritesCollector unchangedRevertedWritesCollector) {
+    private void diffWrites(Set<EntityWriteEvent> theseCommittedWrites, Set<EntityWriteEvent> theseRevertedWrites, List<MappedWrite> thoseCommittedWrites,
+            List<MappedWrite> thoseRevertedWrites, WritesCollector nowCommittedWritesCollector, WritesCollector nowRevertedWritesCollector,
+            WritesCollector unchangedCommittedWritesCollector, WritesCollector unchangedRevertedWritesCollector) {
 
         var matchingCommittedWrites = new HashSet<EntityWriteEvent>();
         var matchingRevertedWrites = new HashSet<EntityWriteEvent>();
 
         for (var write : thoseCommittedWrites) {
-            var mappedWrite = requireNonNull(eventMap.map(write));
+            var mappedWrite = requireNonNull(write.mappedWrite());
 
             if (theseCommittedWrites.contains(mappedWrite)) {
                 // If the write is committed in both results, record a match
                 matchingCommittedWrites.add(mappedWrite);
             } else if (theseRevertedWrites.contains(mappedWrite)) {
                 // If the write used to be reverted, record it as "now committed"
-                nowCommittedWritesCollector.collect(write);
+                nowCommittedWritesCollector.collect(write.write());
             } else {
                 // Otherwise, the write is "lost", which should not happen
-                throw new IllegalStateException("Undefined state of write '" + write + "'.");
+                throw new IllegalStateException("Undefined state of write '" + write.write() + "'.");
             }
         }
 
         for (var write : thoseRevertedWrites) {
-            var mappedWrite = requireNonNull(eventMap.map(write));
+            var mappedWrite = requireNonNull(write.mappedWrite());
 
             if (theseRevertedWrites.contains(mappedWrite)) {
                 // If the write is reverted in both results, record a match
                 matchingRevertedWrites.add(mappedWrite);
             } else if (theseCommittedWrites.contains(mappedWrite)) {
                 // If the write used to be committed, record it as "now reverted"
-                nowRevertedWritesCollector.collect(write);
+                nowRevertedWritesCollector.collect(write.write());
             } else {
                 // Otherwise, the write is "lost", which should not happen
-                throw new IllegalStateException("Undefined state of write '" + write + "'.");
+                throw new IllegalStateException("Undefined state of write '" + write.write() + "'.");
             }
         }
 
@@ -239,6 +404,21 @@ public class ConsistencyIssuesAnalysis {
 
     }
 
+    /**
+     * Consumer for the results of the analysis of a stream of traces.
+     */
+    public interface ResultConsumer {
+
+        /**
+         * Accepts the analysis result for the given trace.
+         * 
+         * @param trace  The analyzed trace
+         * @param result The result of the analysis
+         */
+        void accept(EventTrace trace, ConsistencyAnalysisResult result);
+
+    }
+
     private interface IssueCollector {
 
         void collect(ConsistencyIssue<?> issue);
@@ -251,6 +431,12 @@ public class ConsistencyIssuesAnalysis {
 
     }
 
+    private record MappedIssue(ConsistencyIssue<?> issue, ConsistencyIssue<?> mappedIssue) {
+    }
+
+    private record MappedWrite(EntityWriteEvent write, EntityWriteEvent mappedWrite) {
+    }
+
     /**
      * This exception is thrown if an error occurs during the consistency analysis.
      */
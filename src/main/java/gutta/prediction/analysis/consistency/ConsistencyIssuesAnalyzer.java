@@ -9,14 +9,16 @@ import gutta.prediction.event.EntityReadEvent;
 import gutta.prediction.event.EntityWriteEvent;
 import gutta.prediction.event.EventTrace;
 import gutta.prediction.event.MonitoringEvent;
+import gutta.prediction.simulation.SimulationConsumer;
 import gutta.prediction.simulation.TraceProcessingException;
 import gutta.prediction.simulation.TraceSimulationContext;
-import gutta.prediction.simulation.TraceSimulationListener;
 import gutta.prediction.simulation.TraceSimulationMode;
 import gutta.prediction.simulation.Transaction;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -25,7 +27,7 @@ import static gutta.prediction.simulation.TraceSimulator.runSimulationOf;
 /**
  * This analyzer searches a given trace for consistency issues.
  */
-class ConsistencyIssuesAnalyzer implements TraceSimulationListener {
+class ConsistencyIssuesAnalyzer implements SimulationConsumer<ConsistencyAnalyzerResult> {
 
     private final boolean checkForCrossComponentAccesses;
 
@@ -37,27 +39,96 @@ class ConsistencyIssuesAnalyzer implements TraceSimulationListener {
 
     private final Set<EntityWriteEvent> revertedWrites = new HashSet<>();
 
-    private final Set<Transaction> suspendedTransactions = new HashSet<>();
+    // Issues and writes along with the indexes of their events, so that the events can be mapped by position. Equal events at different positions
+    // result in separate entries
+    private final Set<ConsistencyAnalyzerResult.IndexedIssue> indexedIssues = new LinkedHashSet<>();
+
+    private final Set<ConsistencyAnalyzerResult.IndexedWrite> indexedCommittedWrites = new LinkedHashSet<>();
+
+    private final Set<ConsistencyAnalyzerResult.IndexedWrite> indexedRevertedWrites = new LinkedHashSet<>();
 
     private final Map<Transaction, TransactionData> transactionContextData = new HashMap<>();
 
     private DeploymentModel deploymentModel;
 
+    private ResultObserver resultObserver;
+
+    // Sequence number of the last write, used to determine whether a write occurred while a transaction was suspended
+    private long writeSequence = 0;
+
     ConsistencyIssuesAnalyzer() {
         this(CheckCrossComponentAccesses.YES, CheckInterleavingAccesses.YES);
     }
 
     ConsistencyIssuesAnalyzer(CheckCrossComponentAccesses checkCrossComponentAccesses, CheckInterleavingAccesses checkInterleavingAccesses) {
+        this(checkCrossComponentAccesses, checkInterleavingAccesses, null);
+    }
+
+    ConsistencyIssuesAnalyzer(CheckCrossComponentAccesses checkCrossComponentAccesses, CheckInterleavingAccesses checkInterleavingAccesses,
+            DeploymentModel deploymentModel) {
         this.checkForCrossComponentAccesses = (checkCrossComponentAccesses == CheckCrossComponentAccesses.YES);
         this.checkForInterleavingAccesses = (checkInterleavingAccesses == CheckInterleavingAccesses.YES);
+        this.deploymentModel = deploymentModel;
     }
 
     public ConsistencyAnalyzerResult analyzeTrace(EventTrace trace, DeploymentModel deploymentModel) {
         this.deploymentModel = deploymentModel;
 
-        runSimulationOf(trace, deploymentModel, TraceSimulationMode.WITH_ENTITY_ACCESSES, this);
+        runSimulationOf(trace, deploymentModel, this.requiredSimulationMode(), this);
+
+        return this.result();
+    }
+
+    /**
+     * Sets an observer that is notified of each issue and write outcome as soon as it is found.
+     *
+     * @param resultObserver The observer to notify
+     */
+    void observeResults(ResultObserver resultObserver) {
+        this.resultObserver = resultObserver;
+    }
+
+    private void registerIssue(ConsistencyIssue<?> issue, TraceSimulationContext context) {
+        var eventIndex = context.eventIndex();
+        this.foundIssues.add(issue);
+
+        var newIssue = this.indexedIssues.add(new ConsistencyAnalyzerResult.IndexedIssue(issue, eventIndex));
+        if (newIssue && this.resultObserver != null) {
+            this.resultObserver.onIssue(issue, eventIndex);
+        }
+    }
+
+    private void registerCommittedWrite(EntityWriteEvent event, TraceSimulationContext context) {
+        this.registerWriteOutcome(event, this.committedWrites, this.indexedCommittedWrites, true, context);
+    }
+
+    private void registerRevertedWrite(EntityWriteEvent event, TraceSimulationContext context) {
+        this.registerWriteOutcome(event, this.revertedWrites, this.indexedRevertedWrites, false, context);
+    }
+
+    private void registerWriteOutcome(EntityWriteEvent event, Set<EntityWriteEvent> writes, Set<ConsistencyAnalyzerResult.IndexedWrite> indexedWrites,
+            boolean committed, TraceSimulationContext context) {
+
+        // For write outcomes, the context provides the index of the write event rather than the current event
+        var eventIndex = context.eventIndex();
+        writes.add(event);
+
+        var newOutcome = indexedWrites.add(new ConsistencyAnalyzerResult.IndexedWrite(event, eventIndex));
+        if (newOutcome && this.resultObserver != null) {
+            this.resultObserver.onWriteOutcome(event, eventIndex, committed);
+        }
+    }
+
+    @Override
+    public TraceSimulationMode requiredSimulationMode() {
+        return TraceSimulationMode.WITH_ENTITY_ACCESSES;
+    }
 
-        return new ConsistencyAnalyzerResult(this.foundIssues, this.committedWrites, this.revertedWrites);
+    @Override
+    public ConsistencyAnalyzerResult result() {
+        // Copy the collections, as the analyzer may continue to modify them
+        return new ConsistencyAnalyzerResult(new HashSet<>(this.foundIssues), new HashSet<>(this.committedWrites), new HashSet<>(this.revertedWrites),
+                new ArrayList<>(this.indexedIssues), new ArrayList<>(this.indexedCommittedWrites), new ArrayList<>(this.indexedRevertedWrites));
     }
 
     @Override
@@ -74,8 +145,9 @@ class ConsistencyIssuesAnalyzer implements TraceSimulationListener {
         }
 
         if (this.checkForInterleavingAccesses) {
+            // Each write is an interleaving write for all transactions that are currently suspended
+            this.writeSequence++;
             this.checkForInterleavedChange(event, context);
-            this.updateInterleavingForSuspendedTransactions();
         }
     }
 
@@ -90,7 +162,7 @@ class ConsistencyIssuesAnalyzer implements TraceSimulationListener {
 
         if (!componentAllocation.component().equals(context.currentComponent())) {
             var issue = new CrossComponentAccessIssue(event.entity(), event);
-            this.foundIssues.add(issue);
+            this.registerIssue(issue, context);
         }
     }
 
@@ -106,7 +178,7 @@ class ConsistencyIssuesAnalyzer implements TraceSimulationListener {
         if (dataForTransaction != null) {
             // If there is data for this transaction, check for an interleaved write for the respective entity
             var changedEntity = event.entity();
-            this.checkForInterleavedChange(event, changedEntity, dataForTransaction);
+            this.checkForInterleavedChange(event, changedEntity, dataForTransaction, context);
         } else {
             // If there was no data for this transaction yet, create an entry
             dataForTransaction = new TransactionData();
@@ -117,12 +189,12 @@ class ConsistencyIssuesAnalyzer implements TraceSimulationListener {
         dataForTransaction.registerWrite(event);
     }
 
-    private void checkForInterleavedChange(EntityWriteEvent event, Entity entity, TransactionData transactionData) {
+    private void checkForInterleavedChange(EntityWriteEvent event, Entity entity, TransactionData transactionData, TraceSimulationContext context) {
         var change = transactionData.existingChangeForEntity(entity);
-        if (isInterleavedChange(change)) {
+        if (isInterleavedChange(change, transactionData)) {
             // Same entity was changed before, so raise an "interleaved change" event
             var issue = new InterleavedWriteIssue(entity, event);
-            this.foundIssues.add(issue);
+            this.registerIssue(issue, context);
         }
 
         if (entity.hasRoot()) {
@@ -134,25 +206,17 @@ class ConsistencyIssuesAnalyzer implements TraceSimulationListener {
 
             var rootEntity = new Entity(rootType.name(), entity.rootId());
             var rootChange = transactionData.existingChangeForEntity(rootEntity);
-            if (isInterleavedChange(rootChange)) {
+            if (isInterleavedChange(rootChange, transactionData)) {
                 // Root entity or another subordinate was changed before, so raise an "interleaved change" event
                 var issue = new InterleavedWriteIssue(entity, event);
-                this.foundIssues.add(issue);
+                this.registerIssue(issue, context);
             }
         }
     }
 
-    private static boolean isInterleavedChange(EntityChange change) {
-        return (change != null && change.interleaved());
-    }
-
-    private void updateInterleavingForSuspendedTransactions() {
-        for (var suspendedTransaction : this.suspendedTransactions) {
-            var dataForTransaction = this.transactionContextData.get(suspendedTransaction);
-            if (dataForTransaction != null) {
-                dataForTransaction.registerInterleavingWrite();
-            }
-        }
+    private static boolean isInterleavedChange(EntityChange change, TransactionData transactionData) {
+        // A change is interleaved if another write occurred while the transaction was suspended after the change
+        return (change != null && change.firstWriteSequence() < transactionData.lastInterleavingWriteSequence());
     }
 
     @Override
@@ -169,17 +233,17 @@ class ConsistencyIssuesAnalyzer implements TraceSimulationListener {
             issue = new PotentialDeadlockIssue(entity, event);
         }
 
-        this.foundIssues.add(issue);
+        this.registerIssue(issue, context);
     }
 
     @Override
     public void onCommittedWrite(EntityWriteEvent event, TraceSimulationContext context) {
-        this.committedWrites.add(event);
+        this.registerCommittedWrite(event, context);
     }
 
     @Override
     public void onRevertedWrite(EntityWriteEvent event, TraceSimulationContext context) {
-        this.revertedWrites.add(event);
+        this.registerRevertedWrite(event, context);
     }
 
     @Override
@@ -187,35 +251,58 @@ class ConsistencyIssuesAnalyzer implements TraceSimulationListener {
         // If the write conflicts with another transaction, raise an appropriate issue
         var entity = event.entity();
         var issue = new WriteConflictIssue(entity, event);
-        this.foundIssues.add(issue);
-        this.revertedWrites.add(event);
+        this.registerIssue(issue, context);
+        this.registerRevertedWrite(event, context);
     }
 
     @Override
     public void onTransactionSuspend(MonitoringEvent event, Transaction transaction, TraceSimulationContext context) {
         if (this.checkForInterleavingAccesses) {
-            this.suspendedTransactions.add(transaction);
+            var dataForTransaction = this.transactionContextData.computeIfAbsent(transaction, key -> new TransactionData());
+            dataForTransaction.suspend();
         }
     }
 
     @Override
     public void onTransactionResume(MonitoringEvent event, Transaction transaction, TraceSimulationContext context) {
         if (this.checkForInterleavingAccesses) {
-            this.suspendedTransactions.remove(transaction);
+            var dataForTransaction = this.transactionContextData.get(transaction);
+            if (dataForTransaction != null) {
+                dataForTransaction.resume();
+            }
         }
     }
 
+    /**
+     * Observer that is notified of the results of the analysis as soon as they are found.
+     */
+    interface ResultObserver {
+
+        void onIssue(ConsistencyIssue<?> issue, int eventIndex);
+
+        void onWriteOutcome(EntityWriteEvent event, int eventIndex, boolean committed);
+
+    }
+
     private class TransactionData {
 
+        private static final long NOT_SUSPENDED = -1;
+
         private final Map<Entity, EntityChange> entityChanges = new HashMap<>();
 
+        // Sequence number of the last write at the time of suspension, or NOT_SUSPENDED
+        private long suspendedAtWriteSequence = NOT_SUSPENDED;
+
+        // Sequence number of the last write that occurred while this transaction was suspended
+        private long lastInterleavingWriteSequence = 0;
+
         public EntityChange existingChangeForEntity(Entity entity) {
             return this.entityChanges.get(entity);
         }
 
         public void registerWrite(EntityWriteEvent event) {
             var writtenEntity = event.entity();
-            this.entityChanges.computeIfAbsent(writtenEntity, EntityChange::new);
+            this.registerChange(writtenEntity);
 
             if (writtenEntity.hasRoot()) {
                 var entityType = resolveEntityTypeByName(writtenEntity.typeName());
@@ -225,32 +312,39 @@ class ConsistencyIssuesAnalyzer implements TraceSimulationListener {
                 }
 
                 var rootEntity = new Entity(rootType.name(), writtenEntity.rootId());
-                this.entityChanges.computeIfAbsent(rootEntity, EntityChange::new);
+                this.registerChange(rootEntity);
             }
         }
 
-        public void registerInterleavingWrite() {
-            this.entityChanges.forEach((entity, entityChange) -> entityChange.setInterleaved());
+        private void registerChange(Entity entity) {
+            if (!this.entityChanges.containsKey(entity)) {
+                this.entityChanges.put(entity, new EntityChange(writeSequence));
+            }
         }
 
-    }
-
-    private static class EntityChange {
-
-        private boolean interleaved;
-
-        public EntityChange(Entity entity) {
-            this.interleaved = false;
+        public void suspend() {
+            if (this.suspendedAtWriteSequence == NOT_SUSPENDED) {
+                this.suspendedAtWriteSequence = writeSequence;
+            }
         }
 
-        public boolean interleaved() {
-            return this.interleaved;
+        public void resume() {
+            this.lastInterleavingWriteSequence = this.lastInterleavingWriteSequence();
+            this.suspendedAtWriteSequence = NOT_SUSPENDED;
         }
 
-        public void setInterleaved() {
-            this.interleaved = true;
+        public long lastInterleavingWriteSequence() {
+            if (this.suspendedAtWriteSequence != NOT_SUSPENDED && writeSequence > this.suspendedAtWriteSequence) {
+                // Writes have occurred since this transaction was suspended
+                return writeSequence;
+            }
+
+            return this.lastInterleavingWriteSequence;
         }
 
     }
 
+    private record EntityChange(long firstWriteSequence) {
+    }
+
 }
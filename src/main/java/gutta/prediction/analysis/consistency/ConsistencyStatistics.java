@@ -0,0 +1,148 @@
+package gutta.prediction.analysis.consistency;
+
+import gutta.prediction.event.EventTrace;
+import gutta.prediction.event.UseCaseStartEvent;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link ConsistencyStatistics} summarize the results of a {@link ConsistencyIssuesAnalysis} of many traces in a set of counters, so that the detailed
+ * results need not be retained. The counters only depend on the number of use cases, issue types and entity types, but not on the number of traces.
+ * Statistics of different sets of traces can be {@linkplain #merge(ConsistencyStatistics) merged}. Statistics are not thread-safe.
+ */
+public final class ConsistencyStatistics {
+
+    private static final String UNKNOWN_USE_CASE = "";
+
+    private TraceCounts totalCounts = TraceCounts.ZERO;
+
+    private final Map<String, TraceCounts> countsPerUseCase = new HashMap<>();
+
+    private final Map<String, IssueCounts> countsPerIssueType = new HashMap<>();
+
+    private final Map<String, IssueCounts> countsPerEntityType = new HashMap<>();
+
+    private static String useCaseNameOf(EventTrace trace) {
+        if (trace.size() > 0 && trace.events().get(0) instanceof UseCaseStartEvent startEvent) {
+            return startEvent.name();
+        }
+
+        return UNKNOWN_USE_CASE;
+    }
+
+    /**
+     * Adds the given result for the given trace to these statistics.
+     *
+     * @param trace  The analyzed trace
+     * @param result The result of the analysis of the trace
+     */
+    public void add(EventTrace trace, ConsistencyAnalysisResult result) {
+        var changeInIssues = !(result.newIssues().isEmpty() && result.obsoleteIssues().isEmpty());
+        var changeInWrites = !(result.nowCommittedWrites().isEmpty() && result.nowRevertedWrites().isEmpty());
+        var traceCounts = new TraceCounts(1, (changeInIssues) ? 1 : 0, (changeInWrites) ? 1 : 0);
+
+        this.totalCounts = this.totalCounts.plus(traceCounts);
+        this.countsPerUseCase.merge(useCaseNameOf(trace), traceCounts, TraceCounts::plus);
+
+        for (var issue : result.newIssues()) {
+            this.countIssue(issue, IssueCounts.NEW_ISSUE);
+        }
+        for (var issue : result.obsoleteIssues()) {
+            this.countIssue(issue, IssueCounts.OBSOLETE_ISSUE);
+        }
+    }
+
+    private void countIssue(ConsistencyIssue<?> issue, IssueCounts counts) {
+        this.countsPerIssueType.merge(issue.description(), counts, IssueCounts::plus);
+        this.countsPerEntityType.merge(issue.entity().typeName(), counts, IssueCounts::plus);
+    }
+
+    /**
+     * Merges the given statistics into these statistics.
+     *
+     * @param other The statistics to merge
+     */
+    public void merge(ConsistencyStatistics other) {
+        this.totalCounts = this.totalCounts.plus(other.totalCounts);
+        other.countsPerUseCase.forEach((useCaseName, counts) -> this.countsPerUseCase.merge(useCaseName, counts, TraceCounts::plus));
+        other.countsPerIssueType.forEach((issueType, counts) -> this.countsPerIssueType.merge(issueType, counts, IssueCounts::plus));
+        other.countsPerEntityType.forEach((entityType, counts) -> this.countsPerEntityType.merge(entityType, counts, IssueCounts::plus));
+    }
+
+    /**
+     * Returns the counts over all analyzed traces.
+     *
+     * @return see above
+     */
+    public TraceCounts totalCounts() {
+        return this.totalCounts;
+    }
+
+    /**
+     * Returns the counts per use case, using the name of the use case as key. Traces that do not start with a use case start event are counted for an
+     * empty name.
+     *
+     * @return see above
+     */
+    public Map<String, TraceCounts> countsPerUseCase() {
+        return Collections.unmodifiableMap(this.countsPerUseCase);
+    }
+
+    /**
+     * Returns the issue counts per issue type, using the {@linkplain ConsistencyIssue#description() description} of the issue type as key.
+     *
+     * @return see above
+     */
+    public Map<String, IssueCounts> countsPerIssueType() {
+        return Collections.unmodifiableMap(this.countsPerIssueType);
+    }
+
+    /**
+     * Returns the issue counts per entity type, using the name of the entity type as key.
+     *
+     * @return see above
+     */
+    public Map<String, IssueCounts> countsPerEntityType() {
+        return Collections.unmodifiableMap(this.countsPerEntityType);
+    }
+
+    /**
+     * Counts of analyzed traces.
+     *
+     * @param numberOfTraces                   The number of analyzed traces
+     * @param numberOfTracesWithChangeInIssues The number of traces with new or obsolete issues
+     * @param numberOfTracesWithChangeInWrites The number of traces with writes that are now committed or now reverted
+     */
+    public record TraceCounts(int numberOfTraces, int numberOfTracesWithChangeInIssues, int numberOfTracesWithChangeInWrites) {
+
+        static final TraceCounts ZERO = new TraceCounts(0, 0, 0);
+
+        TraceCounts plus(TraceCounts other) {
+            return new TraceCounts(this.numberOfTraces + other.numberOfTraces,
+                    this.numberOfTracesWithChangeInIssues + other.numberOfTracesWithChangeInIssues,
+                    this.numberOfTracesWithChangeInWrites + other.numberOfTracesWithChangeInWrites);
+        }
+
+    }
+
+    /**
+     * Counts of changed issues.
+     *
+     * @param numberOfNewIssues      The number of issues that only occur in the rewritten traces
+     * @param numberOfObsoleteIssues The number of issues that only occur in the original traces
+     */
+    public record IssueCounts(int numberOfNewIssues, int numberOfObsoleteIssues) {
+
+        static final IssueCounts NEW_ISSUE = new IssueCounts(1, 0);
+
+        static final IssueCounts OBSOLETE_ISSUE = new IssueCounts(0, 1);
+
+        IssueCounts plus(IssueCounts other) {
+            return new IssueCounts(this.numberOfNewIssues + other.numberOfNewIssues, this.numberOfObsoleteIssues + other.numberOfObsoleteIssues);
+        }
+
+    }
+
+}
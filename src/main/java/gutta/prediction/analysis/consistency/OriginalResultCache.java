@@ -0,0 +1,109 @@
+package gutta.prediction.analysis.consistency;
+
+import gutta.prediction.domain.DeploymentModel;
+import gutta.prediction.event.EventTrace;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+/**
+ * Bounded cache of the analyzer results of original traces, so that the original side of a trace need not be analyzed again for every scenario. Results
+ * are keyed by the trace ID and the identity of the deployment model, as computing the hash code of a deployment model is expensive. Since trace IDs need not
+ * be unique across trace sets, the key also contains a cheap fingerprint of the trace (its size and the timestamps of its first and last event). Thus, a trace
+ * that is decoded again still hits the cache, and the cache does not keep the traces themselves alive. The least recently used result is evicted when the
+ * cache is full. The cache is thread-safe.
+ */
+class OriginalResultCache {
+
+    private final int maximumSize;
+
+    private final Map<CacheKey, ConsistencyAnalyzerResult> entries;
+
+    public OriginalResultCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Invalid cache size " + maximumSize + ".");
+        }
+
+        this.maximumSize = maximumSize;
+        // Use access order, so that the eldest entry is the least recently used one
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, ConsistencyAnalyzerResult> eldest) {
+                return (this.size() > OriginalResultCache.this.maximumSize);
+            }
+
+        };
+    }
+
+    /**
+     * Returns the cached result for the given trace and deployment model, computing and caching it if necessary. The computation is performed outside of
+     * the lock, so that concurrent analyses are not serialized.
+     *
+     * @param trace           The trace to obtain the result for
+     * @param deploymentModel The deployment model of the trace
+     * @param analysis        The function to compute the result if it is not cached
+     * @return The result for the given trace
+     */
+    public ConsistencyAnalyzerResult obtainResult(EventTrace trace, DeploymentModel deploymentModel,
+            BiFunction<EventTrace, DeploymentModel, ConsistencyAnalyzerResult> analysis) {
+
+        var key = CacheKey.of(trace, deploymentModel);
+
+        synchronized (this.entries) {
+            var cachedResult = this.entries.get(key);
+            if (cachedResult != null) {
+                return cachedResult;
+            }
+        }
+
+        var result = analysis.apply(trace, deploymentModel);
+
+        synchronized (this.entries) {
+            this.entries.put(key, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the number of cached results.
+     *
+     * @return see above
+     */
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    private record CacheKey(long traceId, int size, long firstTimestamp, long lastTimestamp, DeploymentModel deploymentModel) {
+
+        static CacheKey of(EventTrace trace, DeploymentModel deploymentModel) {
+            var size = trace.size();
+            if (size == 0) {
+                return new CacheKey(trace.traceId(), 0, 0, 0, deploymentModel);
+            }
+
+            var events = trace.events();
+            return new CacheKey(trace.traceId(), size, events.get(0).timestamp(), events.get(size - 1).timestamp(), deploymentModel);
+        }
+
+        @Override
+        public int hashCode() {
+            var fingerprintHash = Objects.hash(this.traceId, this.size, this.firstTimestamp, this.lastTimestamp);
+            return fingerprintHash * 31 + System.identityHashCode(this.deploymentModel);
+        }
+
+        @Override
+        public boolean equals(Object that) {
+            return (that instanceof CacheKey thatKey) && this.traceId == thatKey.traceId && this.size == thatKey.size &&
+                    this.firstTimestamp == thatKey.firstTimestamp && this.lastTimestamp == thatKey.lastTimestamp &&
+                    this.deploymentModel == thatKey.deploymentModel;
+        }
+
+    }
+
+}
@@ -3,13 +3,16 @@ package gutta.prediction.analysis.overhead;
 import gutta.prediction.domain.DeploymentModel;
 import gutta.prediction.event.EventTrace;
 import gutta.prediction.rewriting.OverheadRewriter;
-import gutta.prediction.util.SimpleTaskScope;
+import gutta.prediction.util.BoundedTaskProcessor;
 import org.apache.commons.math3.stat.StatUtils;
 import org.apache.commons.math3.stat.inference.TTest;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * A {@link DurationChangeAnalysis} performs an analysis of the duration change of a collection of event traces caused by a scenario. For this purpose, all
@@ -27,40 +30,27 @@ public class DurationChangeAnalysis {
      * @return The result of the analysis
      */
     public Result analyzeTraces(Collection<EventTrace> traces, DeploymentModel deploymentModel, DeploymentModel scenarioModel, double significanceLevel) {
-        var numberOfTraces = traces.size();
+        return this.analyzeTraces(traces.stream(), deploymentModel, scenarioModel, significanceLevel);
+    }
 
-        var originalDurations = new double[numberOfTraces];
-        var scenarioDurations = new double[numberOfTraces];
+    /**
+     * Analyzes the given stream of traces with respect to the given scenario. The traces are taken from the stream only as fast as they can be analyzed, and
+     * only the durations and numbers of remote calls are retained, so that the traces themselves need not be held in memory.
+     * 
+     * @param traces            The traces to analyze
+     * @param deploymentModel   The deployment model of the given traces
+     * @param scenarioModel     The scenario model based on the given deployment model
+     * @param significanceLevel The desired significance level for the significance test
+     * @return The result of the analysis
+     */
+    public Result analyzeTraces(Stream<EventTrace> traces, DeploymentModel deploymentModel, DeploymentModel scenarioModel, double significanceLevel) {
+        var collector = new DurationCollector();
+        // Analyzers are pooled, so that at most one pair of analyzers per concurrently processed trace is created
+        var analyzerPool = new ConcurrentLinkedQueue<AnalyzerPair>();
 
-        var originalSumOfRemoteCalls = 0;
-        var scenarioSumOfRemoteCalls = 0;
-        
-        try (var scope = new SimpleTaskScope<OverheadAnalyzer.Result>()) {
-            // Enqueue the analysis tasks for the original traces
-            var originalTraceSubtasks = traces.stream()
-                    .map(trace -> scope.fork(() -> this.analyzeTrace(trace, deploymentModel)))
-                    .collect(Collectors.toList());
-            
-            // Enqueue the analysis tasks for the scenario traces
-            var rewrittenTraceSubtasks = traces.stream()
-                    .map(trace -> scope.fork(() -> this.rewriteAndAnalyzeTrace(trace, scenarioModel)))
-                    .collect(Collectors.toList());
-            
-            // Run the tasks
-            scope.join().throwIfFailed();
-            
-            // Collect the results
-            for (var traceIndex = 0; traceIndex < numberOfTraces; traceIndex++) {
-                var originalTraceResult = originalTraceSubtasks.get(traceIndex).get();
-                var rewrittenTraceResult = rewrittenTraceSubtasks.get(traceIndex).get();
-
-                originalDurations[traceIndex] = originalTraceResult.duration();
-                scenarioDurations[traceIndex] = rewrittenTraceResult.duration();
-
-                originalSumOfRemoteCalls += originalTraceResult.numberOfRemoteCalls();
-                scenarioSumOfRemoteCalls += rewrittenTraceResult.numberOfRemoteCalls();                
-            }
-            
+        try {
+            new BoundedTaskProcessor<EventTrace, TraceResults>().process(traces,
+                    trace -> this.analyzeTraceAndScenario(trace, deploymentModel, scenarioModel, analyzerPool), (trace, results) -> collector.add(results));
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new DurationChangeAnalysisException("Unexpected interrupt during the analysis.", e);
@@ -68,29 +58,109 @@ public class DurationChangeAnalysis {
             var exceptionToReport = (e.getCause() != null) ? e.getCause() : e;
             throw new DurationChangeAnalysisException("Execution exception during the analysis.", exceptionToReport);
         }
-        
+
+        var numberOfTraces = collector.numberOfTraces();
+        var originalDurations = collector.originalDurations();
+        var scenarioDurations = collector.scenarioDurations();
+
         // Perform a heteroscedastic t-Test for the durations
-        var pValue = (traces.size() < 2) ? Double.NaN : new TTest().tTest(originalDurations, scenarioDurations);
+        var pValue = (numberOfTraces < 2) ? Double.NaN : new TTest().tTest(originalDurations, scenarioDurations);
         var originalMean = StatUtils.mean(originalDurations);
         var modifiedMean = StatUtils.mean(scenarioDurations);
         var significantChange = (pValue <= significanceLevel);
 
         // Calculate averages for remote calls
-        var originalAverageNumberOfRemoteCalls = (double) originalSumOfRemoteCalls / (double) traces.size();
-        var modifiedAverageNumberOfRemoteCalls = (double) scenarioSumOfRemoteCalls / (double) traces.size();
+        var originalAverageNumberOfRemoteCalls = (double) collector.originalSumOfRemoteCalls() / (double) numberOfTraces;
+        var modifiedAverageNumberOfRemoteCalls = (double) collector.scenarioSumOfRemoteCalls() / (double) numberOfTraces;
 
         return new Result(significantChange, pValue, originalMean, modifiedMean, originalAverageNumberOfRemoteCalls, modifiedAverageNumberOfRemoteCalls);
     }
 
-    private OverheadAnalyzer.Result analyzeTrace(EventTrace trace, DeploymentModel deploymentModel) {
-        return new OverheadAnalyzer().analyzeTrace(trace, deploymentModel);
+    private TraceResults analyzeTraceAndScenario(EventTrace trace, DeploymentModel deploymentModel, DeploymentModel scenarioModel,
+            Queue<AnalyzerPair> analyzerPool) {
+        var analyzers = analyzerPool.poll();
+        if (analyzers == null) {
+            analyzers = new AnalyzerPair(new OverheadAnalyzer(), new OverheadAnalyzer());
+        }
+
+        try {
+            var originalTraceResult = analyzers.originalAnalyzer().analyzeTrace(trace, deploymentModel);
+            var rewrittenTraceResult = this.rewriteAndAnalyzeTrace(trace, scenarioModel, analyzers.scenarioAnalyzer());
+
+            return new TraceResults(originalTraceResult, rewrittenTraceResult);
+        } finally {
+            analyzerPool.offer(analyzers);
+        }
     }
-    
-    private OverheadAnalyzer.Result rewriteAndAnalyzeTrace(EventTrace originalTrace, DeploymentModel scenarioModel) {
+
+    private OverheadAnalyzer.Result rewriteAndAnalyzeTrace(EventTrace originalTrace, DeploymentModel scenarioModel, OverheadAnalyzer analyzer) {
         var rewrittenTrace = new OverheadRewriter(scenarioModel).rewriteTrace(originalTrace);
-        return this.analyzeTrace(rewrittenTrace, scenarioModel);        
+        return analyzer.analyzeTrace(rewrittenTrace, scenarioModel);
     }
     
+    private record TraceResults(OverheadAnalyzer.Result originalResult, OverheadAnalyzer.Result scenarioResult) {
+    }
+
+    /**
+     * Analyzers for the original and the scenario model. Each analyzer retains its simulation session for its respective model.
+     */
+    private record AnalyzerPair(OverheadAnalyzer originalAnalyzer, OverheadAnalyzer scenarioAnalyzer) {
+    }
+
+    /**
+     * Collector for the durations and remote calls of the analyzed traces, which only retains primitive values.
+     */
+    private static class DurationCollector {
+
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private double[] originalDurations = new double[INITIAL_CAPACITY];
+
+        private double[] scenarioDurations = new double[INITIAL_CAPACITY];
+
+        private int numberOfTraces = 0;
+
+        private long originalSumOfRemoteCalls = 0;
+
+        private long scenarioSumOfRemoteCalls = 0;
+
+        public void add(TraceResults results) {
+            if (this.numberOfTraces == this.originalDurations.length) {
+                var newCapacity = 2 * this.originalDurations.length;
+                this.originalDurations = Arrays.copyOf(this.originalDurations, newCapacity);
+                this.scenarioDurations = Arrays.copyOf(this.scenarioDurations, newCapacity);
+            }
+
+            this.originalDurations[this.numberOfTraces] = results.originalResult().duration();
+            this.scenarioDurations[this.numberOfTraces] = results.scenarioResult().duration();
+            this.numberOfTraces++;
+
+            this.originalSumOfRemoteCalls += results.originalResult().numberOfRemoteCalls();
+            this.scenarioSumOfRemoteCalls += results.scenarioResult().numberOfRemoteCalls();
+        }
+
+        public int numberOfTraces() {
+            return this.numberOfTraces;
+        }
+
+        public double[] originalDurations() {
+            return Arrays.copyOf(this.originalDurations, this.numberOfTraces);
+        }
+
+        public double[] scenarioDurations() {
+            return Arrays.copyOf(this.scenarioDurations, this.numberOfTraces);
+        }
+
+        public long originalSumOfRemoteCalls() {
+            return this.originalSumOfRemoteCalls;
+        }
+
+        public long scenarioSumOfRemoteCalls() {
+            return this.scenarioSumOfRemoteCalls;
+        }
+
+    }
+
     /**
      * This class represents the result of a {@link DurationChangeAnalysis}.
      * 
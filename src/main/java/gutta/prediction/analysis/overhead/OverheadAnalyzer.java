@@ -13,14 +13,14 @@ import gutta.prediction.event.UseCaseStartEvent;
 import gutta.prediction.simulation.TraceSimulationContext;
 import gutta.prediction.simulation.TraceSimulationListener;
 import gutta.prediction.simulation.TraceSimulationMode;
+import gutta.prediction.simulation.TraceSimulationSession;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
 
-import static gutta.prediction.simulation.TraceSimulator.runSimulationOf;
-
 /**
- * This analyzer determines the invocation overhead within a trace.
+ * This analyzer determines the invocation overhead within a trace. An analyzer can be reused for several traces, in which case it reuses its simulation
+ * session as long as the deployment model does not change. Analyzers are not thread-safe.
  */
 class OverheadAnalyzer implements TraceSimulationListener {
 
@@ -34,10 +34,16 @@ class OverheadAnalyzer implements TraceSimulationListener {
 
     private int remoteCallsCount = 0;
 
-    private Deque<ServiceCandidateInvocationEvent> asyncStack = new ArrayDeque<>();
+    private final Deque<ServiceCandidateInvocationEvent> asyncStack = new ArrayDeque<>();
+
+    private TraceSimulationSession session;
 
     public Result analyzeTrace(EventTrace trace, DeploymentModel deploymentModel) {
-        runSimulationOf(trace, deploymentModel, TraceSimulationMode.BASIC, this);
+        if (this.session == null || this.session.deploymentModel() != deploymentModel) {
+            this.session = new TraceSimulationSession(deploymentModel, TraceSimulationMode.BASIC, this);
+        }
+
+        this.session.simulate(trace);
 
         var duration = (this.endTime - this.startTime) - this.totalTimeInAsyncInvocations;
         var overheadPercentage = (duration == 0) ? 0 : (float) (this.totalOverhead) / (float) duration;
@@ -45,6 +51,17 @@ class OverheadAnalyzer implements TraceSimulationListener {
         return new Result(duration, this.totalOverhead, overheadPercentage, this.remoteCallsCount);
     }
 
+    @Override
+    public void onStartOfProcessing() {
+        // Reset the state from a previous trace
+        this.startTime = 0;
+        this.endTime = 0;
+        this.totalOverhead = 0;
+        this.totalTimeInAsyncInvocations = 0;
+        this.remoteCallsCount = 0;
+        this.asyncStack.clear();
+    }
+
     @Override
     public void onUseCaseStartEvent(UseCaseStartEvent event, TraceSimulationContext context) {
         this.startTime = event.timestamp();
@@ -7,6 +7,7 @@ import gutta.prediction.domain.DeploymentModel;
 import gutta.prediction.event.EventTrace;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * A benchmark that measures the speed of the consistency analysis using given data.
@@ -25,7 +26,7 @@ public class ConsistencyAnalysisSpeedBenchmark extends AnalysisSpeedBenchmark {
     @Override
     protected void runAnalysis(Collection<EventTrace> traces, DeploymentModel deploymentModel, DeploymentModel scenarioModel) {        
         var analysis = new ConsistencyIssuesAnalysis(CheckCrossComponentAccesses.YES, CheckInterleavingAccesses.YES);
-        analysis.analyzeTraces(traces, deploymentModel, scenarioModel);
+        analysis.analyzeTracesInOrder(List.copyOf(traces), deploymentModel, scenarioModel);
     }
 
 }
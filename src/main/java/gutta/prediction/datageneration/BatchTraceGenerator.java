@@ -10,10 +10,11 @@ import gutta.prediction.event.ServiceCandidateReturnEvent;
 import gutta.prediction.event.UseCaseEndEvent;
 import gutta.prediction.event.UseCaseStartEvent;
 import gutta.prediction.event.codec.EventTraceEncoder;
+import gutta.prediction.event.codec.EventTraceFormat;
 
-import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 
 /**
@@ -63,9 +64,8 @@ public class BatchTraceGenerator {
 
         traces.add(this.generateBatchTrace(useCaseName, 1234, 2500000));
 
-        try (var outputStream = new FileOutputStream(fileName)) {
-            new EventTraceEncoder().encodeTraces(traces, outputStream);
-        }
+        // Use the compact streaming format, as the batch trace is too large to be buffered
+        new EventTraceEncoder(EventTraceFormat.COMPACT).encodeTraces(traces, Path.of(fileName));
     }
 
     private EventTrace generateBatchTrace(String useCaseName, long traceId, int numberOfInvocations) {
@@ -16,19 +16,23 @@ import gutta.prediction.event.ServiceCandidateInvocationEvent;
 import gutta.prediction.event.ServiceCandidateReturnEvent;
 import gutta.prediction.event.UseCaseEndEvent;
 import gutta.prediction.event.UseCaseStartEvent;
-import gutta.prediction.event.codec.EventTraceEncoder;
+import gutta.prediction.event.codec.ShardedEventTraceWriter;
+import gutta.prediction.util.BoundedTaskProcessor;
 
-import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
+import java.util.stream.LongStream;
 
 /**
  * Trace generator to produce random traces based on a given deployment structure.
@@ -164,15 +168,14 @@ public class RandomTraceGenerator {
                 new UseCaseSpecification(useCase3, candidates3, location3, serviceAllocation, transitionGraph3, vertex31));
     }
 
-    private final Random random = new Random();
-
     /**
      * Runs the trace generator.
      * 
      * @param arguments The command line arguments of the generator
-     * @throws IOException If an I/O error occurs during trace generation
+     * @throws IOException          If an I/O error occurs during trace generation
+     * @throws InterruptedException If an interrupt occurs during trace generation
      */
-    public static void main(String[] arguments) throws IOException {
+    public static void main(String[] arguments) throws IOException, InterruptedException {
         var fileName = arguments[0];
         var deploymentModelFileName = arguments[1];
 
@@ -228,23 +231,34 @@ public class RandomTraceGenerator {
         }
     }
 
-    private void generateRandomTraces(String fileName, int numberOfTraces, int maxNumberOfInvocations, int maxInvocationDepth) throws IOException {
-        var traces = new ArrayList<EventTrace>(numberOfTraces);
-        for (var traceCount = 0; traceCount < numberOfTraces; traceCount++) {
-            var trace = this.generateTrace(traceCount, maxNumberOfInvocations, maxInvocationDepth);
-            traces.add(trace);
+    private void generateRandomTraces(String fileName, int numberOfTraces, int maxNumberOfInvocations, int maxInvocationDepth)
+            throws IOException, InterruptedException {
+        // Generate the traces concurrently and write them as they are produced, so that the traces need not be kept in memory
+        try (var writer = new ShardedEventTraceWriter(Path.of(fileName))) {
+            var traceIds = LongStream.range(0, numberOfTraces).boxed();
+
+            new BoundedTaskProcessor<Long, Void>().process(traceIds,
+                    traceId -> this.generateAndWriteTrace(traceId, maxNumberOfInvocations, maxInvocationDepth, writer), (traceId, result) -> { });
+        } catch (ExecutionException e) {
+            throw new IOException("Error generating the traces.", e.getCause());
         }
+    }
 
-        try (var outputStream = new FileOutputStream(fileName)) {
-            new EventTraceEncoder().encodeTraces(traces, outputStream);
+    private Void generateAndWriteTrace(long traceId, int maxNumberOfInvocations, int maxInvocationDepth, ShardedEventTraceWriter writer) {
+        try {
+            writer.write(this.generateTrace(traceId, maxNumberOfInvocations, maxInvocationDepth));
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
     private EventTrace generateTrace(long traceId, int maxNumberOfInvocations, int maxInvocationDepth) {
-        var useCaseIndex = this.random.nextInt(USE_CASE_SPECS.size());
+        var random = ThreadLocalRandom.current();
+        var useCaseIndex = random.nextInt(USE_CASE_SPECS.size());
         var useCaseSpec = USE_CASE_SPECS.get(useCaseIndex);
 
-        var numberOfInvocations = this.random.nextInt(maxNumberOfInvocations + 1);
+        var numberOfInvocations = random.nextInt(maxNumberOfInvocations + 1);
 
         var useCase = useCaseSpec.useCase();
         var transitionGraph = useCaseSpec.transitionGraph();
@@ -15,12 +15,11 @@ import gutta.prediction.event.TransactionCommitEvent;
 import gutta.prediction.event.TransactionStartEvent;
 import gutta.prediction.event.UseCaseEndEvent;
 import gutta.prediction.event.UseCaseStartEvent;
-import gutta.prediction.event.codec.EventTraceEncoder;
+import gutta.prediction.event.codec.ShardedEventTraceWriter;
 
-import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.nio.file.Path;
 
 /**
  * Trace generator to produce artificial traces with consistency issues.
@@ -74,18 +73,15 @@ public class TracesWithConsistencyIssuesGenerator {
     }
 
     private void generateTraces(String fileName) throws IOException {
-        var traces = new ArrayList<EventTrace>();
-
         var useCaseName = "Consistency Issues";
 
-        traces.add(this.buildTraceWithStaleRead(useCaseName, 1234));
-        traces.add(this.buildTraceWithWritesInSubordinateTransaction(useCaseName, 1235));
-        traces.add(this.buildTraceWithWriteConflict(useCaseName, 1236));
-        traces.add(this.buildTraceWithImplicitAbort(useCaseName, 1237));
-        traces.add(this.buildTraceWithInterleavedAccessToAggregate(useCaseName, 1238));
-
-        try (var outputStream = new FileOutputStream(fileName)) {
-            new EventTraceEncoder().encodeTraces(traces, outputStream);
+        // Write the traces as they are built, so that they need not be kept in memory
+        try (var writer = new ShardedEventTraceWriter(Path.of(fileName))) {
+            writer.write(this.buildTraceWithStaleRead(useCaseName, 1234));
+            writer.write(this.buildTraceWithWritesInSubordinateTransaction(useCaseName, 1235));
+            writer.write(this.buildTraceWithWriteConflict(useCaseName, 1236));
+            writer.write(this.buildTraceWithImplicitAbort(useCaseName, 1237));
+            writer.write(this.buildTraceWithInterleavedAccessToAggregate(useCaseName, 1238));
         }
     }
 
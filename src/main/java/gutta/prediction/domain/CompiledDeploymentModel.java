@@ -0,0 +1,277 @@
+package gutta.prediction.domain;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link CompiledDeploymentModel} is an immutable, lookup-optimized form of a {@link DeploymentModel} for use in performance-critical code such as the
+ * trace simulation. All use cases, service candidates, entity types and components are assigned dense integer IDs, so that their properties can be stored
+ * in arrays, and the connections between components are stored in a component-by-component table. Compiled models are obtained using
+ * {@link DeploymentModel#compile()}.
+ */
+public final class CompiledDeploymentModel {
+
+    /**
+     * ID that denotes that an element does not exist in the model.
+     */
+    public static final int NO_ID = -1;
+
+    private final Map<String, Integer> useCaseIds;
+
+    private final int[] useCaseComponentIds;
+
+    private final Map<String, Integer> serviceCandidateIds;
+
+    private final ServiceCandidate[] serviceCandidates;
+
+    private final int[] serviceCandidateComponentIds;
+
+    private final boolean[] serviceCandidateAllocationModified;
+
+    private final Map<String, Integer> entityTypeIds;
+
+    private final EntityType[] entityTypes;
+
+    private final int[] entityTypeComponentIds;
+
+    private final DataStore[] entityTypeDataStores;
+
+    private final Map<Component, Integer> componentIds;
+
+    private final Component[] components;
+
+    private final ComponentConnection[] connections;
+
+    private final LocalComponentConnection[] localConnections;
+
+    CompiledDeploymentModel(ComponentAllocation<UseCase> useCaseAllocation, ComponentAllocation<ServiceCandidate> serviceCandidateAllocation,
+            ComponentAllocation<EntityType> entityTypeAllocation, Map<EntityType, DataStore> entityToDataStore,
+            Iterable<ComponentConnection> componentConnections) {
+        // Assign IDs to all components, including those that are only referenced by connections
+        var componentList = new ArrayList<Component>();
+        this.componentIds = new HashMap<>();
+        useCaseAllocation.values().forEach(entry -> registerComponent(entry.component(), componentList, this.componentIds));
+        serviceCandidateAllocation.values().forEach(entry -> registerComponent(entry.component(), componentList, this.componentIds));
+        entityTypeAllocation.values().forEach(entry -> registerComponent(entry.component(), componentList, this.componentIds));
+        for (var connection : componentConnections) {
+            registerComponent(connection.source(), componentList, this.componentIds);
+            registerComponent(connection.target(), componentList, this.componentIds);
+        }
+        this.components = componentList.toArray(new Component[componentList.size()]);
+
+        // Use cases
+        var useCaseEntries = List.copyOf(useCaseAllocation.values());
+        this.useCaseIds = new HashMap<>();
+        this.useCaseComponentIds = new int[useCaseEntries.size()];
+        for (var useCaseId = 0; useCaseId < useCaseEntries.size(); useCaseId++) {
+            var entry = useCaseEntries.get(useCaseId);
+            this.useCaseIds.put(entry.object().name(), useCaseId);
+            this.useCaseComponentIds[useCaseId] = this.componentIds.get(entry.component());
+        }
+
+        // Service candidates
+        var candidateEntries = List.copyOf(serviceCandidateAllocation.values());
+        this.serviceCandidateIds = new HashMap<>();
+        this.serviceCandidates = new ServiceCandidate[candidateEntries.size()];
+        this.serviceCandidateComponentIds = new int[candidateEntries.size()];
+        this.serviceCandidateAllocationModified = new boolean[candidateEntries.size()];
+        for (var candidateId = 0; candidateId < candidateEntries.size(); candidateId++) {
+            var entry = candidateEntries.get(candidateId);
+            this.serviceCandidateIds.put(entry.object().name(), candidateId);
+            this.serviceCandidates[candidateId] = entry.object();
+            this.serviceCandidateComponentIds[candidateId] = this.componentIds.get(entry.component());
+            this.serviceCandidateAllocationModified[candidateId] = entry.modified();
+        }
+
+        // Entity types
+        var entityTypeEntries = List.copyOf(entityTypeAllocation.values());
+        this.entityTypeIds = new HashMap<>();
+        this.entityTypes = new EntityType[entityTypeEntries.size()];
+        this.entityTypeComponentIds = new int[entityTypeEntries.size()];
+        this.entityTypeDataStores = new DataStore[entityTypeEntries.size()];
+        for (var entityTypeId = 0; entityTypeId < entityTypeEntries.size(); entityTypeId++) {
+            var entry = entityTypeEntries.get(entityTypeId);
+            this.entityTypeIds.put(entry.object().name(), entityTypeId);
+            this.entityTypes[entityTypeId] = entry.object();
+            this.entityTypeComponentIds[entityTypeId] = this.componentIds.get(entry.component());
+            this.entityTypeDataStores[entityTypeId] = entityToDataStore.get(entry.object());
+        }
+
+        // Connections. Connections between a component and itself are always local, and are created in advance for both states of the modification flag
+        var numberOfComponents = this.components.length;
+        this.connections = new ComponentConnection[numberOfComponents * numberOfComponents];
+        for (var connection : componentConnections) {
+            var sourceId = this.componentIds.get(connection.source());
+            var targetId = this.componentIds.get(connection.target());
+            this.connections[(sourceId * numberOfComponents) + targetId] = connection;
+        }
+
+        this.localConnections = new LocalComponentConnection[2 * numberOfComponents];
+        for (var componentId = 0; componentId < numberOfComponents; componentId++) {
+            var component = this.components[componentId];
+            this.localConnections[2 * componentId] = new LocalComponentConnection(component, component, false);
+            this.localConnections[(2 * componentId) + 1] = new LocalComponentConnection(component, component, true);
+        }
+    }
+
+    private static void registerComponent(Component component, List<Component> componentList, Map<Component, Integer> componentIds) {
+        if (!componentIds.containsKey(component)) {
+            componentIds.put(component, componentList.size());
+            componentList.add(component);
+        }
+    }
+
+    private static int lookupId(Map<?, Integer> ids, Object key) {
+        var id = ids.get(key);
+        return (id != null) ? id : NO_ID;
+    }
+
+    /**
+     * Returns the number of components in this model. The IDs of the components range from 0 to this number (exclusive).
+     *
+     * @return see above
+     */
+    public int numberOfComponents() {
+        return this.components.length;
+    }
+
+    /**
+     * Returns the ID of the given component.
+     *
+     * @param component The component to look up
+     * @return The ID of the component or {@link #NO_ID} if the component does not exist in this model
+     */
+    public int componentId(Component component) {
+        return lookupId(this.componentIds, component);
+    }
+
+    /**
+     * Returns the component with the given ID.
+     *
+     * @param componentId The ID of the desired component
+     * @return see above
+     */
+    public Component component(int componentId) {
+        return this.components[componentId];
+    }
+
+    /**
+     * Returns the ID of the use case with the given name.
+     *
+     * @param useCaseName The name of the desired use case
+     * @return The ID of the use case or {@link #NO_ID} if the use case is not assigned to a component
+     */
+    public int useCaseId(String useCaseName) {
+        return lookupId(this.useCaseIds, useCaseName);
+    }
+
+    /**
+     * Returns the ID of the component to which the given use case is assigned.
+     *
+     * @param useCaseId The ID of the use case
+     * @return see above
+     */
+    public int componentIdOfUseCase(int useCaseId) {
+        return this.useCaseComponentIds[useCaseId];
+    }
+
+    /**
+     * Returns the ID of the service candidate with the given name.
+     *
+     * @param candidateName The name of the desired service candidate
+     * @return The ID of the service candidate or {@link #NO_ID} if the candidate is not assigned to a component
+     */
+    public int serviceCandidateId(String candidateName) {
+        return lookupId(this.serviceCandidateIds, candidateName);
+    }
+
+    /**
+     * Returns the service candidate with the given ID.
+     *
+     * @param candidateId The ID of the desired service candidate
+     * @return see above
+     */
+    public ServiceCandidate serviceCandidate(int candidateId) {
+        return this.serviceCandidates[candidateId];
+    }
+
+    /**
+     * Returns the ID of the component to which the given service candidate is assigned.
+     *
+     * @param candidateId The ID of the service candidate
+     * @return see above
+     */
+    public int componentIdOfServiceCandidate(int candidateId) {
+        return this.serviceCandidateComponentIds[candidateId];
+    }
+
+    /**
+     * Denotes whether the allocation of the given service candidate was changed due to a scenario.
+     *
+     * @param candidateId The ID of the service candidate
+     * @return see above
+     */
+    public boolean isServiceCandidateAllocationModified(int candidateId) {
+        return this.serviceCandidateAllocationModified[candidateId];
+    }
+
+    /**
+     * Returns the ID of the entity type with the given name.
+     *
+     * @param entityTypeName The name of the desired entity type
+     * @return The ID of the entity type or {@link #NO_ID} if the entity type is not assigned to a component
+     */
+    public int entityTypeId(String entityTypeName) {
+        return lookupId(this.entityTypeIds, entityTypeName);
+    }
+
+    /**
+     * Returns the entity type with the given ID.
+     *
+     * @param entityTypeId The ID of the desired entity type
+     * @return see above
+     */
+    public EntityType entityType(int entityTypeId) {
+        return this.entityTypes[entityTypeId];
+    }
+
+    /**
+     * Returns the ID of the component to which the given entity type is assigned.
+     *
+     * @param entityTypeId The ID of the entity type
+     * @return see above
+     */
+    public int componentIdOfEntityType(int entityTypeId) {
+        return this.entityTypeComponentIds[entityTypeId];
+    }
+
+    /**
+     * Returns the data store in which the given entity type is stored.
+     *
+     * @param entityTypeId The ID of the entity type
+     * @return The data store, or {@code null} if the entity type is not assigned to a data store
+     */
+    public DataStore dataStoreOfEntityType(int entityTypeId) {
+        return this.entityTypeDataStores[entityTypeId];
+    }
+
+    /**
+     * Returns the connection between the given components. Unlike {@link DeploymentModel#getConnection(Component, Component, boolean)}, this method does
+     * not allocate any objects.
+     *
+     * @param sourceComponentId  The ID of the source component
+     * @param targetComponentId  The ID of the target component
+     * @param modifiedAllocation A flag denoting whether this connection is considered to be modified. This is only relevant for local connections.
+     * @return The connection or {@code null} if no such connection exists
+     */
+    public ComponentConnection connection(int sourceComponentId, int targetComponentId, boolean modifiedAllocation) {
+        if (sourceComponentId == targetComponentId) {
+            return this.localConnections[(2 * sourceComponentId) + (modifiedAllocation ? 1 : 0)];
+        } else {
+            return this.connections[(sourceComponentId * this.components.length) + targetComponentId];
+        }
+    }
+
+}
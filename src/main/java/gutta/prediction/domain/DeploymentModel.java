@@ -36,6 +36,9 @@ public class DeploymentModel {
 
     private final Map<String, EntityType> entityTypeLookup;
 
+    // The compiled form of this model is created on demand and is not relevant for equality
+    private volatile CompiledDeploymentModel compiledModel;
+
     private DeploymentModel(ComponentAllocation<UseCase> useCaseAllocation, ComponentAllocation<ServiceCandidate> serviceCandidateAllocation,
             ComponentAllocation<EntityType> entityTypeAllocation, Map<EntityType, DataStore> entityToDataStore,
             Map<ConnectionKey, ComponentConnection> componentConnections) {
@@ -165,6 +168,25 @@ public class DeploymentModel {
         }
     }
 
+    /**
+     * Returns the compiled form of this model, which provides lookups using dense integer IDs. The compiled model is created on the first invocation and
+     * reused afterwards.
+     * 
+     * @return see above
+     */
+    public CompiledDeploymentModel compile() {
+        var model = this.compiledModel;
+
+        if (model == null) {
+            // Concurrent invocations may create several equivalent compiled models, of which one is retained
+            model = new CompiledDeploymentModel(this.useCaseAllocation, this.serviceCandidateAllocation, this.entityTypeAllocation, this.entityToDataStore,
+                    this.componentConnections.values());
+            this.compiledModel = model;
+        }
+
+        return model;
+    }
+
     /**
      * Creates a new builder based on this model to facilitate the specification of modifications.
      * 
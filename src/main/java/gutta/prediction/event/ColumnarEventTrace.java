@@ -0,0 +1,428 @@
+package gutta.prediction.event;
+
+import gutta.prediction.domain.Entity;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * A {@link ColumnarEventTrace} is an event trace that stores its events in primitive arrays instead of individual event objects. The event types are
+ * stored as byte codes, the timestamps as longs, and locations, names and entities as indexes into dictionaries that are shared among all events of the
+ * trace. Event objects are only created when they are accessed, e.g., via {@link #events()}. The primitive data of the events can be accessed without
+ * creating event objects using the respective accessor methods. Columnar traces can be obtained directly from the decoder (see
+ * {@code TraceRepresentation#COLUMNAR}).
+ * <p>
+ * As the simulation processes event objects, simulating a columnar trace still creates an object for each event. The event stream caches the few events
+ * around the current position, so that each event object is short-lived and created only once per simulation, while the trace itself remains compact.
+ */
+public class ColumnarEventTrace extends EventTrace {
+
+    private static final byte TYPE_USE_CASE_START = 1;
+
+    private static final byte TYPE_USE_CASE_END = 2;
+
+    private static final byte TYPE_ENTITY_READ = 3;
+
+    private static final byte TYPE_ENTITY_WRITE = 4;
+
+    private static final byte TYPE_TRANSACTION_START = 5;
+
+    private static final byte TYPE_TRANSACTION_COMMIT = 6;
+
+    private static final byte TYPE_EXPLICIT_TRANSACTION_ABORT = 7;
+
+    private static final byte TYPE_IMPLICIT_TRANSACTION_ABORT = 8;
+
+    private static final byte TYPE_SERVICE_CANDIDATE_INVOCATION = 9;
+
+    private static final byte TYPE_SERVICE_CANDIDATE_ENTRY = 10;
+
+    private static final byte TYPE_SERVICE_CANDIDATE_EXIT = 11;
+
+    private static final byte TYPE_SERVICE_CANDIDATE_RETURN = 12;
+
+    private static final byte TYPE_SERVICE_CANDIDATE_ENTRY_WITH_TRANSACTION = 13;
+
+    private static final int NO_VALUE = -1;
+
+    private final Columns columns;
+
+    /**
+     * Creates a columnar trace consisting of the given events.
+     *
+     * @param events The events to store in the trace
+     * @return The (possibly empty) trace
+     */
+    public static ColumnarEventTrace of(List<MonitoringEvent> events) {
+        var builder = new Builder(events.size());
+        events.forEach(builder::add);
+
+        return builder.build();
+    }
+
+    /**
+     * Creates a columnar trace consisting of the events of the given trace.
+     *
+     * @param trace The trace to convert
+     * @return The converted trace, or the given trace if it already is a columnar trace
+     */
+    public static ColumnarEventTrace of(EventTrace trace) {
+        if (trace instanceof ColumnarEventTrace columnarTrace) {
+            return columnarTrace;
+        }
+
+        var builder = new Builder(trace.size());
+        trace.forEach(builder::add);
+
+        return builder.build();
+    }
+
+    private ColumnarEventTrace(Columns columns) {
+        super(new EventView(columns));
+
+        this.columns = columns;
+    }
+
+    @Override
+    public int size() {
+        return this.columns.size;
+    }
+
+    @Override
+    public long traceId() {
+        return (this.columns.size == 0) ? 0 : this.traceIdAt(0);
+    }
+
+    @Override
+    public boolean storesEventObjects() {
+        return false;
+    }
+
+    /**
+     * Returns the trace ID of the event at the given index without creating an event object.
+     *
+     * @param index The index of the desired event
+     * @return see above
+     */
+    public long traceIdAt(int index) {
+        return this.columns.traceIdAt(index);
+    }
+
+    /**
+     * Returns the timestamp of the event at the given index without creating an event object.
+     *
+     * @param index The index of the desired event
+     * @return see above
+     */
+    public long timestampAt(int index) {
+        return this.columns.timestamps[index];
+    }
+
+    /**
+     * Returns the location of the event at the given index without creating an event object.
+     *
+     * @param index The index of the desired event
+     * @return see above
+     */
+    public Location locationAt(int index) {
+        return this.columns.locations[this.columns.locationIndexes[index]];
+    }
+
+    /**
+     * Returns the type of the event at the given index without creating an event object.
+     *
+     * @param index The index of the desired event
+     * @return see above
+     */
+    public Class<? extends MonitoringEvent> eventTypeAt(int index) {
+        return switch (this.columns.types[index]) {
+        case TYPE_USE_CASE_START -> UseCaseStartEvent.class;
+        case TYPE_USE_CASE_END -> UseCaseEndEvent.class;
+        case TYPE_ENTITY_READ -> EntityReadEvent.class;
+        case TYPE_ENTITY_WRITE -> EntityWriteEvent.class;
+        case TYPE_TRANSACTION_START -> TransactionStartEvent.class;
+        case TYPE_TRANSACTION_COMMIT -> TransactionCommitEvent.class;
+        case TYPE_EXPLICIT_TRANSACTION_ABORT -> ExplicitTransactionAbortEvent.class;
+        case TYPE_IMPLICIT_TRANSACTION_ABORT -> ImplicitTransactionAbortEvent.class;
+        case TYPE_SERVICE_CANDIDATE_INVOCATION -> ServiceCandidateInvocationEvent.class;
+        case TYPE_SERVICE_CANDIDATE_ENTRY, TYPE_SERVICE_CANDIDATE_ENTRY_WITH_TRANSACTION -> ServiceCandidateEntryEvent.class;
+        case TYPE_SERVICE_CANDIDATE_EXIT -> ServiceCandidateExitEvent.class;
+        case TYPE_SERVICE_CANDIDATE_RETURN -> ServiceCandidateReturnEvent.class;
+        default -> throw new IllegalStateException("Unsupported event type " + this.columns.types[index] + ".");
+        };
+    }
+
+    /**
+     * Builder for columnar event traces, which allows to add events one by one without retaining the event objects.
+     */
+    public static class Builder {
+
+        private final Map<Location, Integer> locationToIndex = new HashMap<>();
+
+        private final Map<String, Integer> stringToIndex = new HashMap<>();
+
+        private final Map<Entity, Integer> entityToIndex = new HashMap<>();
+
+        private final List<Location> locations = new ArrayList<>();
+
+        private final List<String> strings = new ArrayList<>();
+
+        private final List<Entity> entities = new ArrayList<>();
+
+        private byte[] types;
+
+        private long[] timestamps;
+
+        private int[] locationIndexes;
+
+        private int[] valueIndexes;
+
+        private int[] secondaryValueIndexes;
+
+        private long uniformTraceId;
+
+        private long[] traceIds;
+
+        private int size;
+
+        /**
+         * Creates a new builder.
+         */
+        public Builder() {
+            this(16);
+        }
+
+        /**
+         * Creates a new builder with the given initial capacity.
+         *
+         * @param initialCapacity The expected number of events
+         */
+        public Builder(int initialCapacity) {
+            var capacity = Math.max(1, initialCapacity);
+
+            this.types = new byte[capacity];
+            this.timestamps = new long[capacity];
+            this.locationIndexes = new int[capacity];
+            this.valueIndexes = new int[capacity];
+        }
+
+        /**
+         * Adds the given event to the trace.
+         *
+         * @param event The event to add
+         * @return This builder
+         */
+        public Builder add(MonitoringEvent event) {
+            this.ensureCapacity(this.size + 1);
+
+            var index = this.size;
+            this.storeTraceId(index, event.traceId());
+            this.timestamps[index] = event.timestamp();
+            this.locationIndexes[index] = indexOf(event.location(), this.locationToIndex, this.locations);
+
+            switch (event) {
+            case UseCaseStartEvent specificEvent -> this.storeValue(index, TYPE_USE_CASE_START, this.stringIndex(specificEvent.name()));
+            case UseCaseEndEvent specificEvent -> this.storeValue(index, TYPE_USE_CASE_END, this.stringIndex(specificEvent.name()));
+            case EntityReadEvent specificEvent -> this.storeValue(index, TYPE_ENTITY_READ, this.entityIndex(specificEvent.entity()));
+            case EntityWriteEvent specificEvent -> this.storeValue(index, TYPE_ENTITY_WRITE, this.entityIndex(specificEvent.entity()));
+            case TransactionStartEvent specificEvent -> this.storeValue(index, TYPE_TRANSACTION_START, this.stringIndex(specificEvent.transactionId()));
+            case TransactionCommitEvent specificEvent -> this.storeValue(index, TYPE_TRANSACTION_COMMIT, this.stringIndex(specificEvent.transactionId()));
+            case ExplicitTransactionAbortEvent specificEvent ->
+                this.storeValue(index, TYPE_EXPLICIT_TRANSACTION_ABORT, this.stringIndex(specificEvent.transactionId()));
+            case ImplicitTransactionAbortEvent specificEvent -> {
+                this.storeValue(index, TYPE_IMPLICIT_TRANSACTION_ABORT, this.stringIndex(specificEvent.transactionId()));
+                this.storeSecondaryValue(index, this.stringIndex(specificEvent.cause()));
+            }
+            case ServiceCandidateInvocationEvent specificEvent ->
+                this.storeValue(index, TYPE_SERVICE_CANDIDATE_INVOCATION, this.stringIndex(specificEvent.name()));
+            case ServiceCandidateEntryEvent specificEvent -> {
+                var type = (specificEvent.transactionStarted()) ? TYPE_SERVICE_CANDIDATE_ENTRY_WITH_TRANSACTION : TYPE_SERVICE_CANDIDATE_ENTRY;
+                this.storeValue(index, type, this.stringIndex(specificEvent.name()));
+                this.storeSecondaryValue(index, this.stringIndex(specificEvent.transactionId()));
+            }
+            case ServiceCandidateExitEvent specificEvent -> this.storeValue(index, TYPE_SERVICE_CANDIDATE_EXIT, this.stringIndex(specificEvent.name()));
+            case ServiceCandidateReturnEvent specificEvent -> this.storeValue(index, TYPE_SERVICE_CANDIDATE_RETURN, this.stringIndex(specificEvent.name()));
+            }
+
+            this.size++;
+            return this;
+        }
+
+        private void ensureCapacity(int requiredCapacity) {
+            var capacity = this.types.length;
+            if (requiredCapacity <= capacity) {
+                return;
+            }
+
+            var newCapacity = Math.max(requiredCapacity, capacity + (capacity >> 1));
+            this.types = Arrays.copyOf(this.types, newCapacity);
+            this.timestamps = Arrays.copyOf(this.timestamps, newCapacity);
+            this.locationIndexes = Arrays.copyOf(this.locationIndexes, newCapacity);
+            this.valueIndexes = Arrays.copyOf(this.valueIndexes, newCapacity);
+
+            if (this.secondaryValueIndexes != null) {
+                this.secondaryValueIndexes = this.copyWithNoValues(this.secondaryValueIndexes, newCapacity);
+            }
+            if (this.traceIds != null) {
+                this.traceIds = Arrays.copyOf(this.traceIds, newCapacity);
+            }
+        }
+
+        private int[] copyWithNoValues(int[] values, int newCapacity) {
+            var newValues = Arrays.copyOf(values, newCapacity);
+            Arrays.fill(newValues, values.length, newCapacity, NO_VALUE);
+
+            return newValues;
+        }
+
+        private void storeTraceId(int index, long traceId) {
+            if (index == 0) {
+                this.uniformTraceId = traceId;
+            } else if (this.traceIds != null) {
+                this.traceIds[index] = traceId;
+            } else if (traceId != this.uniformTraceId) {
+                // Only store the trace IDs individually if they are not uniform
+                this.traceIds = new long[this.types.length];
+                Arrays.fill(this.traceIds, 0, index, this.uniformTraceId);
+                this.traceIds[index] = traceId;
+            }
+        }
+
+        private void storeValue(int index, byte type, int valueIndex) {
+            this.types[index] = type;
+            this.valueIndexes[index] = valueIndex;
+        }
+
+        private void storeSecondaryValue(int index, int valueIndex) {
+            if (valueIndex == NO_VALUE && this.secondaryValueIndexes == null) {
+                return;
+            }
+
+            if (this.secondaryValueIndexes == null) {
+                // Secondary values are rare, so the column is only created when it is needed
+                this.secondaryValueIndexes = new int[this.types.length];
+                Arrays.fill(this.secondaryValueIndexes, NO_VALUE);
+            }
+
+            this.secondaryValueIndexes[index] = valueIndex;
+        }
+
+        private int stringIndex(String value) {
+            return (value == null) ? NO_VALUE : indexOf(value, this.stringToIndex, this.strings);
+        }
+
+        private int entityIndex(Entity entity) {
+            return indexOf(entity, this.entityToIndex, this.entities);
+        }
+
+        private static <T> int indexOf(T value, Map<T, Integer> valueToIndex, List<T> values) {
+            return valueToIndex.computeIfAbsent(value, newValue -> {
+                values.add(newValue);
+                return values.size() - 1;
+            });
+        }
+
+        /**
+         * Builds the trace from the events added so far.
+         *
+         * @return The built trace
+         */
+        public ColumnarEventTrace build() {
+            var size = this.size;
+            var secondaryValueIndexes = (this.secondaryValueIndexes != null) ? Arrays.copyOf(this.secondaryValueIndexes, size) : null;
+            var traceIds = (this.traceIds != null) ? Arrays.copyOf(this.traceIds, size) : null;
+
+            var columns = new Columns(size, Arrays.copyOf(this.types, size), Arrays.copyOf(this.timestamps, size), Arrays.copyOf(this.locationIndexes, size),
+                    Arrays.copyOf(this.valueIndexes, size), secondaryValueIndexes, this.uniformTraceId, traceIds, this.locations.toArray(new Location[0]),
+                    this.strings.toArray(new String[0]), this.entities.toArray(new Entity[0]));
+
+            return new ColumnarEventTrace(columns);
+        }
+
+    }
+
+    /**
+     * The columns and dictionaries of a trace.
+     */
+    private record Columns(int size, byte[] types, long[] timestamps, int[] locationIndexes, int[] valueIndexes, int[] secondaryValueIndexes,
+            long uniformTraceId, long[] traceIds, Location[] locations, String[] strings, Entity[] entities) {
+
+        public long traceIdAt(int index) {
+            return (this.traceIds == null) ? this.uniformTraceId : this.traceIds[index];
+        }
+
+        public String stringAt(int index) {
+            var stringIndex = this.valueIndexes[index];
+            return (stringIndex == NO_VALUE) ? null : this.strings[stringIndex];
+        }
+
+        public String secondaryStringAt(int index) {
+            if (this.secondaryValueIndexes == null) {
+                return null;
+            }
+
+            var stringIndex = this.secondaryValueIndexes[index];
+            return (stringIndex == NO_VALUE) ? null : this.strings[stringIndex];
+        }
+
+        public MonitoringEvent materializeEvent(int index) {
+            var traceId = this.traceIdAt(index);
+            var timestamp = this.timestamps[index];
+            var location = this.locations[this.locationIndexes[index]];
+
+            return switch (this.types[index]) {
+            case TYPE_USE_CASE_START -> new UseCaseStartEvent(traceId, timestamp, location, this.stringAt(index));
+            case TYPE_USE_CASE_END -> new UseCaseEndEvent(traceId, timestamp, location, this.stringAt(index));
+            case TYPE_ENTITY_READ -> new EntityReadEvent(traceId, timestamp, location, this.entities[this.valueIndexes[index]]);
+            case TYPE_ENTITY_WRITE -> new EntityWriteEvent(traceId, timestamp, location, this.entities[this.valueIndexes[index]]);
+            case TYPE_TRANSACTION_START -> new TransactionStartEvent(traceId, timestamp, location, this.stringAt(index));
+            case TYPE_TRANSACTION_COMMIT -> new TransactionCommitEvent(traceId, timestamp, location, this.stringAt(index));
+            case TYPE_EXPLICIT_TRANSACTION_ABORT -> new ExplicitTransactionAbortEvent(traceId, timestamp, location, this.stringAt(index));
+            case TYPE_IMPLICIT_TRANSACTION_ABORT ->
+                new ImplicitTransactionAbortEvent(traceId, timestamp, location, this.stringAt(index), this.secondaryStringAt(index));
+            case TYPE_SERVICE_CANDIDATE_INVOCATION -> new ServiceCandidateInvocationEvent(traceId, timestamp, location, this.stringAt(index));
+            case TYPE_SERVICE_CANDIDATE_ENTRY ->
+                new ServiceCandidateEntryEvent(traceId, timestamp, location, this.stringAt(index), false, this.secondaryStringAt(index));
+            case TYPE_SERVICE_CANDIDATE_ENTRY_WITH_TRANSACTION ->
+                new ServiceCandidateEntryEvent(traceId, timestamp, location, this.stringAt(index), true, this.secondaryStringAt(index));
+            case TYPE_SERVICE_CANDIDATE_EXIT -> new ServiceCandidateExitEvent(traceId, timestamp, location, this.stringAt(index));
+            case TYPE_SERVICE_CANDIDATE_RETURN -> new ServiceCandidateReturnEvent(traceId, timestamp, location, this.stringAt(index));
+            default -> throw new IllegalStateException("Unsupported event type " + this.types[index] + ".");
+            };
+        }
+
+    }
+
+    /**
+     * List view on the columns of a trace, which creates the event objects on access.
+     */
+    private static class EventView extends AbstractList<MonitoringEvent> implements RandomAccess {
+
+        private final Columns columns;
+
+        public EventView(Columns columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        public MonitoringEvent get(int index) {
+            if (index < 0 || index >= this.columns.size()) {
+                throw new IndexOutOfBoundsException(index);
+            }
+
+            return this.columns.materializeEvent(index);
+        }
+
+        @Override
+        public int size() {
+            return this.columns.size();
+        }
+
+    }
+
+}
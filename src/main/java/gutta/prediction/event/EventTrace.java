@@ -71,6 +71,16 @@ public class EventTrace {
         this.events.forEach(action);
     }
 
+    /**
+     * Denotes whether this trace stores its events as objects. If not, event objects are created whenever they are accessed, so clients that access the
+     * same event several times should retain the event object.
+     * 
+     * @return see above
+     */
+    public boolean storesEventObjects() {
+        return true;
+    }
+
     /**
      * Returns the trace ID of this trace. The ID is derived from the first event.
      * 
@@ -0,0 +1,139 @@
+package gutta.prediction.event;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link MergedEventIterator} iterates over the events of several {@linkplain EventTrace traces} in the global order of their timestamps. The traces are
+ * merged lazily using a binary heap of per-trace cursors, so that the traces are never copied, and each event is obtained from its trace only once. Events
+ * with the same timestamp are returned in the order of the traces in the given collection, and the order of the events within each trace is retained.
+ */
+public class MergedEventIterator implements Iterator<MonitoringEvent> {
+
+    private final List<List<MonitoringEvent>> traceEvents;
+
+    private final int[] positions;
+
+    private final MonitoringEvent[] currentEvents;
+
+    // Binary min-heap of the indexes of the traces that have remaining events, ordered by their current events
+    private final int[] heap;
+
+    private int heapSize;
+
+    private int lastTraceIndex = -1;
+
+    private int lastPosition = -1;
+
+    /**
+     * Creates a new iterator over the given traces, each of which must be ordered by timestamp.
+     *
+     * @param traces The traces to merge
+     */
+    public MergedEventIterator(Collection<? extends EventTrace> traces) {
+        var numberOfTraces = traces.size();
+
+        this.traceEvents = new ArrayList<>(numberOfTraces);
+        this.positions = new int[numberOfTraces];
+        this.currentEvents = new MonitoringEvent[numberOfTraces];
+        this.heap = new int[numberOfTraces];
+
+        for (var trace : traces) {
+            var traceIndex = this.traceEvents.size();
+            var events = trace.events();
+            this.traceEvents.add(events);
+
+            if (!events.isEmpty()) {
+                this.currentEvents[traceIndex] = events.get(0);
+                this.heap[this.heapSize++] = traceIndex;
+            }
+        }
+
+        // Establish the heap property
+        for (var heapIndex = (this.heapSize / 2) - 1; heapIndex >= 0; heapIndex--) {
+            this.siftDown(heapIndex);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return (this.heapSize > 0);
+    }
+
+    @Override
+    public MonitoringEvent next() {
+        if (this.heapSize == 0) {
+            throw new NoSuchElementException();
+        }
+
+        var traceIndex = this.heap[0];
+        var event = this.currentEvents[traceIndex];
+        this.lastTraceIndex = traceIndex;
+        this.lastPosition = this.positions[traceIndex];
+
+        // Advance the cursor of the trace, and remove it from the heap if the trace is exhausted
+        var events = this.traceEvents.get(traceIndex);
+        var nextPosition = ++this.positions[traceIndex];
+        if (nextPosition < events.size()) {
+            this.currentEvents[traceIndex] = events.get(nextPosition);
+        } else {
+            this.currentEvents[traceIndex] = null;
+            this.heap[0] = this.heap[--this.heapSize];
+        }
+
+        this.siftDown(0);
+        return event;
+    }
+
+    /**
+     * Returns the index of the trace (in the order of the given collection) from which the event last returned by {@link #next()} was taken.
+     *
+     * @return see above, or -1 if no event has been returned yet
+     */
+    public int lastTraceIndex() {
+        return this.lastTraceIndex;
+    }
+
+    /**
+     * Returns the position of the event last returned by {@link #next()} within its trace.
+     *
+     * @return see above, or -1 if no event has been returned yet
+     */
+    public int lastPosition() {
+        return this.lastPosition;
+    }
+
+    private boolean isLess(int traceIndex1, int traceIndex2) {
+        var timestamp1 = this.currentEvents[traceIndex1].timestamp();
+        var timestamp2 = this.currentEvents[traceIndex2].timestamp();
+
+        return (timestamp1 < timestamp2) || (timestamp1 == timestamp2 && traceIndex1 < traceIndex2);
+    }
+
+    private void siftDown(int startIndex) {
+        var heapIndex = startIndex;
+
+        while (true) {
+            var leftChild = (2 * heapIndex) + 1;
+            if (leftChild >= this.heapSize) {
+                return;
+            }
+
+            var rightChild = leftChild + 1;
+            var smallerChild = (rightChild < this.heapSize && this.isLess(this.heap[rightChild], this.heap[leftChild])) ? rightChild : leftChild;
+
+            if (!this.isLess(this.heap[smallerChild], this.heap[heapIndex])) {
+                return;
+            }
+
+            var temp = this.heap[heapIndex];
+            this.heap[heapIndex] = this.heap[smallerChild];
+            this.heap[smallerChild] = temp;
+            heapIndex = smallerChild;
+        }
+    }
+
+}
@@ -0,0 +1,120 @@
+package gutta.prediction.event.codec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static gutta.prediction.event.codec.Constants.BLOCK_MARKER;
+import static gutta.prediction.event.codec.Constants.FOOTER_MARKER;
+import static gutta.prediction.event.codec.Constants.FOOTER_SIZE;
+import static gutta.prediction.event.codec.Constants.FORMAT_VERSION_MASK;
+
+/**
+ * A {@link BlockDirectory} lists the blocks of a trace file, which can then be decoded independently of each other. The directory is built by walking the
+ * footers of the versioned blocks backwards from the end of the file. If the file contains a block without a footer (e.g., a legacy block), the
+ * boundaries cannot be determined, and the entire file is treated as a single region that must be decoded sequentially.
+ */
+class BlockDirectory {
+
+    private final List<BlockLocation> blocks;
+
+    private final boolean versioned;
+
+    private BlockDirectory(List<BlockLocation> blocks, boolean versioned) {
+        this.blocks = blocks;
+        this.versioned = versioned;
+    }
+
+    /**
+     * Reads the block directory of the file represented by the given channel.
+     * 
+     * @param channel The channel to read from
+     * @return The block directory of the file
+     * @throws IOException If an I/O error occurs while reading the footers
+     */
+    public static BlockDirectory read(FileChannel channel) throws IOException {
+        var fileSize = channel.size();
+        var blocks = new ArrayList<BlockLocation>();
+        var footerBuffer = ByteBuffer.allocate(FOOTER_SIZE);
+        var headerBuffer = ByteBuffer.allocate(Integer.BYTES);
+
+        var blockEnd = fileSize;
+        while (blockEnd > 0) {
+            if (blockEnd < FOOTER_SIZE) {
+                return singleRegion(fileSize);
+            }
+
+            // Read the footer of the block ending at the current position
+            footerBuffer.clear();
+            readFully(channel, footerBuffer, blockEnd - FOOTER_SIZE);
+            var blockLength = footerBuffer.getLong(16);
+            var footerMarker = footerBuffer.getInt(24);
+
+            var blockStart = blockEnd - blockLength;
+            if (footerMarker != FOOTER_MARKER || blockLength < FOOTER_SIZE || blockStart < 0) {
+                return singleRegion(fileSize);
+            }
+
+            // Make sure that the block actually starts with a block marker
+            headerBuffer.clear();
+            readFully(channel, headerBuffer, blockStart);
+            if ((headerBuffer.getInt(0) & ~FORMAT_VERSION_MASK) != BLOCK_MARKER) {
+                return singleRegion(fileSize);
+            }
+
+            blocks.add(new BlockLocation(blockStart, blockLength));
+            blockEnd = blockStart;
+        }
+
+        Collections.reverse(blocks);
+        return new BlockDirectory(blocks, true);
+    }
+
+    private static BlockDirectory singleRegion(long fileSize) {
+        return new BlockDirectory(List.of(new BlockLocation(0, fileSize)), false);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        var currentPosition = position;
+
+        while (buffer.hasRemaining()) {
+            var bytesRead = channel.read(buffer, currentPosition);
+            if (bytesRead < 0) {
+                throw new IOException("Unexpected end of file at position " + currentPosition + ".");
+            }
+
+            currentPosition += bytesRead;
+        }
+    }
+
+    /**
+     * Returns the locations of the blocks in the order in which they appear in the file.
+     * 
+     * @return see above
+     */
+    public List<BlockLocation> blocks() {
+        return Collections.unmodifiableList(this.blocks);
+    }
+
+    /**
+     * Denotes whether all blocks of the file were located by their footers. If not, the directory consists of a single region covering the entire file.
+     * 
+     * @return see above
+     */
+    public boolean versioned() {
+        return this.versioned;
+    }
+
+    /**
+     * Location of a block within a file.
+     * 
+     * @param start  The start position of the block
+     * @param length The length of the block in bytes
+     */
+    record BlockLocation(long start, long length) {
+    }
+
+}
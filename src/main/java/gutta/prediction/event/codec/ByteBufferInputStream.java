@@ -0,0 +1,65 @@
+package gutta.prediction.event.codec;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Input stream that reads from a byte buffer, e.g., a memory-mapped region of a file. This allows to reuse the stream-based decoding operations for buffers.
+ */
+class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    /**
+     * Creates a new input stream on the remaining bytes of the given buffer. The position of the buffer is advanced as data is read.
+     * 
+     * @param buffer The buffer to read from
+     */
+    public ByteBufferInputStream(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+        if (!this.buffer.hasRemaining()) {
+            return -1;
+        }
+
+        return (this.buffer.get() & 0xFF);
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+
+        var remaining = this.buffer.remaining();
+        if (remaining == 0) {
+            return -1;
+        }
+
+        var bytesToRead = Math.min(length, remaining);
+        this.buffer.get(bytes, offset, bytesToRead);
+
+        return bytesToRead;
+    }
+
+    @Override
+    public long skip(long numberOfBytes) {
+        if (numberOfBytes <= 0) {
+            return 0;
+        }
+
+        var bytesToSkip = (int) Math.min(numberOfBytes, this.buffer.remaining());
+        this.buffer.position(this.buffer.position() + bytesToSkip);
+
+        return bytesToSkip;
+    }
+
+    @Override
+    public int available() {
+        return this.buffer.remaining();
+    }
+
+}
@@ -0,0 +1,66 @@
+package gutta.prediction.event.codec;
+
+import gutta.prediction.event.codec.EventTraceDecoder.EventTraceDecodingException;
+
+/**
+ * Enumeration of the compression codecs that can be used for the traces of a block. The codec is recorded in the block header, so that the decoder can
+ * select the appropriate decompression. Compressed data is stored in independent frames of limited size, so that neither encoding nor decoding needs to hold
+ * more than one frame in memory.
+ */
+public enum CompressionCodec {
+
+    /**
+     * No compression.
+     */
+    NONE(0x00),
+
+    /**
+     * Compression using the Deflate algorithm provided by the JDK.
+     */
+    DEFLATE(0x01);
+
+    private final int id;
+
+    private CompressionCodec(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns the ID of this codec, which is stored in the block header.
+     * 
+     * @return see above
+     */
+    int id() {
+        return this.id;
+    }
+
+    /**
+     * Creates a new frame codec for compressing and decompressing frames with this codec.
+     * 
+     * @return The frame codec
+     */
+    FrameCodec createFrameCodec() {
+        return switch (this) {
+        case DEFLATE -> new DeflateFrameCodec();
+        case NONE -> throw new UnsupportedOperationException("No frame codec for uncompressed data.");
+        };
+    }
+
+    /**
+     * Returns the codec with the given ID.
+     * 
+     * @param id The ID of the desired codec
+     * @return The codec with the given ID
+     * @throws EventTraceDecodingException If there is no codec with the given ID
+     */
+    static CompressionCodec forId(int id) {
+        for (var codec : values()) {
+            if (codec.id == id) {
+                return codec;
+            }
+        }
+
+        throw new EventTraceDecodingException("Unsupported compression codec " + id + ".");
+    }
+
+}
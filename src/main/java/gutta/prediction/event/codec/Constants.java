@@ -75,4 +75,63 @@ class Constants {
      */
     public static final byte LOCATION_TYPE_SYNTHETIC = 0x02;
 
+    /**
+     * Marker at the beginning of a versioned block. The marker is negative, so that it can be distinguished from the trace count at the beginning of a
+     * legacy block. The lowest byte contains the format version.
+     */
+    public static final int BLOCK_MARKER = 0xE7540000;
+
+    /**
+     * Mask to extract the format version from a block marker.
+     */
+    public static final int FORMAT_VERSION_MASK = 0xFF;
+
+    /**
+     * Format version of the legacy format, which has no block marker.
+     */
+    public static final int FORMAT_VERSION_LEGACY = 0x01;
+
+    /**
+     * Format version of the indexed format, which contains a trace index at the end of the block.
+     */
+    public static final int FORMAT_VERSION_INDEXED = 0x02;
+
+    /**
+     * Format version of the compact format. It has the same block structure as the indexed format, but stores the trace ID once per trace, encodes
+     * timestamps as deltas and uses variable-length integers for counts and references.
+     */
+    public static final int FORMAT_VERSION_COMPACT = 0x03;
+
+    /**
+     * Block flag denoting that strings and locations are defined inline on their first use instead of in tables at the beginning of the block. The
+     * complete tables are written after the traces, so that traces can still be decoded individually.
+     */
+    public static final int FLAG_INLINE_DEFINITIONS = 0x01;
+
+    /**
+     * Block flag denoting that the traces of the block are compressed. If set, the flags are followed by the ID of the compression codec.
+     */
+    public static final int FLAG_COMPRESSED = 0x02;
+
+    /**
+     * Marker at the end of the footer of a versioned block.
+     */
+    public static final int FOOTER_MARKER = 0xE754FFFF;
+
+    /**
+     * Size of the footer of a versioned block in bytes (tables offset, index offset, block length, footer marker).
+     */
+    public static final int FOOTER_SIZE = 8 + 8 + 8 + 4;
+
+    /**
+     * Size of an entry in the trace index in bytes (trace ID, trace offset, trace length, use case name index). For compressed blocks, the offset denotes the
+     * start of the frame in which the trace starts, and the length field contains the position of the trace within the uncompressed frame.
+     */
+    public static final int INDEX_ENTRY_SIZE = 8 + 8 + 4 + 4;
+
+    /**
+     * String index denoting the absence of a string, e.g., for traces without a use case.
+     */
+    public static final int NO_STRING_INDEX = -1;
+
 }
@@ -0,0 +1,45 @@
+package gutta.prediction.event.codec;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Output stream that keeps track of the number of bytes written, which is required to determine the offsets of the traces within a block. In contrast to
+ * {@link java.io.DataOutputStream#size()}, the position does not overflow for blocks larger than 2 GB.
+ */
+class CountingOutputStream extends FilterOutputStream {
+
+    private long position = 0;
+
+    /**
+     * Creates a new stream writing to the given stream.
+     * 
+     * @param outputStream The stream to write to
+     */
+    public CountingOutputStream(OutputStream outputStream) {
+        super(outputStream);
+    }
+
+    /**
+     * Returns the number of bytes written to this stream so far.
+     * 
+     * @return see above
+     */
+    public long position() {
+        return this.position;
+    }
+
+    @Override
+    public void write(int value) throws IOException {
+        this.out.write(value);
+        this.position++;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        this.out.write(bytes, offset, length);
+        this.position += length;
+    }
+
+}
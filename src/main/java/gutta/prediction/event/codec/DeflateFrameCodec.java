@@ -0,0 +1,81 @@
+package gutta.prediction.event.codec;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Frame codec using the Deflate implementation of the JDK. The deflater and inflater are reused across frames.
+ */
+class DeflateFrameCodec implements FrameCodec {
+
+    private Deflater deflater;
+
+    private Inflater inflater;
+
+    @Override
+    public byte[] compress(byte[] data, int length) {
+        if (this.deflater == null) {
+            this.deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        }
+
+        this.deflater.reset();
+        this.deflater.setInput(data, 0, length);
+        this.deflater.finish();
+
+        var output = new byte[Math.max(64, length / 2)];
+        var outputLength = 0;
+
+        while (!this.deflater.finished()) {
+            if (outputLength == output.length) {
+                output = Arrays.copyOf(output, 2 * output.length);
+            }
+
+            outputLength += this.deflater.deflate(output, outputLength, output.length - outputLength);
+        }
+
+        return Arrays.copyOf(output, outputLength);
+    }
+
+    @Override
+    public void decompress(byte[] compressedData, int compressedLength, byte[] target, int targetLength) throws IOException {
+        if (this.inflater == null) {
+            this.inflater = new Inflater(true);
+        }
+
+        this.inflater.reset();
+        this.inflater.setInput(compressedData, 0, compressedLength);
+
+        try {
+            var bytesInflated = 0;
+            while (bytesInflated < targetLength) {
+                var bytesInflatedNow = this.inflater.inflate(target, bytesInflated, targetLength - bytesInflated);
+                if (bytesInflatedNow == 0 && (this.inflater.finished() || this.inflater.needsInput())) {
+                    break;
+                }
+
+                bytesInflated += bytesInflatedNow;
+            }
+
+            if (bytesInflated != targetLength) {
+                throw new IOException("Frame decompressed to " + bytesInflated + " bytes, expected " + targetLength + ".");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Invalid compressed frame.", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.deflater != null) {
+            this.deflater.end();
+        }
+
+        if (this.inflater != null) {
+            this.inflater.end();
+        }
+    }
+
+}
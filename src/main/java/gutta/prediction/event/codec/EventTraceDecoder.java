@@ -1,6 +1,7 @@
 package gutta.prediction.event.codec;
 
 import gutta.prediction.domain.Entity;
+import gutta.prediction.event.ColumnarEventTrace;
 import gutta.prediction.event.EntityReadEvent;
 import gutta.prediction.event.EntityWriteEvent;
 import gutta.prediction.event.EventTrace;
@@ -23,14 +24,23 @@ import java.io.BufferedInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import static gutta.prediction.event.codec.Constants.BLOCK_MARKER;
 import static gutta.prediction.event.codec.Constants.EVENT_TYPE_ENTITY_READ;
 import static gutta.prediction.event.codec.Constants.EVENT_TYPE_ENTITY_WRITE;
 import static gutta.prediction.event.codec.Constants.EVENT_TYPE_EXPLICIT_TRANSACTION_ABORT;
@@ -43,8 +53,18 @@ import static gutta.prediction.event.codec.Constants.EVENT_TYPE_TRANSACTION_COMM
 import static gutta.prediction.event.codec.Constants.EVENT_TYPE_TRANSACTION_START;
 import static gutta.prediction.event.codec.Constants.EVENT_TYPE_USE_CASE_END;
 import static gutta.prediction.event.codec.Constants.EVENT_TYPE_USE_CASE_START;
+import static gutta.prediction.event.codec.Constants.FLAG_COMPRESSED;
+import static gutta.prediction.event.codec.Constants.FLAG_INLINE_DEFINITIONS;
+import static gutta.prediction.event.codec.Constants.FOOTER_SIZE;
+import static gutta.prediction.event.codec.Constants.FORMAT_VERSION_COMPACT;
+import static gutta.prediction.event.codec.Constants.FORMAT_VERSION_INDEXED;
+import static gutta.prediction.event.codec.Constants.FORMAT_VERSION_LEGACY;
+import static gutta.prediction.event.codec.Constants.FORMAT_VERSION_MASK;
+import static gutta.prediction.event.codec.Constants.INDEX_ENTRY_SIZE;
 import static gutta.prediction.event.codec.Constants.LOCATION_TYPE_OBSERVED;
 import static gutta.prediction.event.codec.Constants.LOCATION_TYPE_SYNTHETIC;
+import static gutta.prediction.event.codec.Constants.NO_STRING_INDEX;
+import static java.util.Objects.requireNonNull;
 
 /**
  * An {@link EventTraceDecoder} decodes event streams from the storage format.
@@ -55,10 +75,52 @@ public class EventTraceDecoder {
 
     private static final int BUFFER_SIZE = 65536;
 
-    private Map<Entity, Entity> knownEntities;
+    private static final int SUPPORTED_FLAGS = FLAG_INLINE_DEFINITIONS | FLAG_COMPRESSED;
+
+    private static final int NO_TRAILER = -1;
+
+    private Map<Entity, Entity> knownEntities = new HashMap<>();
+
+    private int formatVersion;
+
+    private long currentTraceId;
+
+    private long previousTimestamp;
+
+    private final TraceRepresentation traceRepresentation;
+
+    /**
+     * Creates a new decoder that creates traces storing an object for each event.
+     */
+    public EventTraceDecoder() {
+        this(TraceRepresentation.EVENT_OBJECTS);
+    }
+
+    /**
+     * Creates a new decoder that creates traces in the given representation.
+     * 
+     * @param traceRepresentation The representation of the decoded traces
+     */
+    public EventTraceDecoder(TraceRepresentation traceRepresentation) {
+        this(FORMAT_VERSION_LEGACY, traceRepresentation);
+    }
+
+    /**
+     * Creates a new decoder for traces in the given format version, which is used to decode individual traces outside a block.
+     * 
+     * @param formatVersion The format version of the traces to decode
+     */
+    EventTraceDecoder(int formatVersion) {
+        this(formatVersion, TraceRepresentation.EVENT_OBJECTS);
+    }
+
+    private EventTraceDecoder(int formatVersion, TraceRepresentation traceRepresentation) {
+        this.formatVersion = formatVersion;
+        this.traceRepresentation = requireNonNull(traceRepresentation);
+    }
 
     /**
-     * Decodes a collection of event traces from the given input stream.
+     * Decodes a collection of event traces from the given input stream. If the stream contains several blocks, the traces of all blocks are decoded.
      * 
      * @param inputStream The input stream to read from
      * @return The decoded event traces
@@ -67,41 +129,201 @@ public class EventTraceDecoder {
     public Collection<EventTrace> decodeTraces(InputStream inputStream) throws IOException {
         this.knownEntities = new HashMap<>();
 
-        try (var bufferedStream = new BufferedInputStream(inputStream, BUFFER_SIZE); //
-                var dataStream = new DataInputStream(bufferedStream)) {
+        try (var dataStream = createDataStream(inputStream)) {
+            var traces = new ArrayList<EventTrace>();
 
-            var numberOfTraces = dataStream.readInt();
-            var traces = new ArrayList<EventTrace>(numberOfTraces);
+            var blockReader = this.openBlock(dataStream, DeduplicationScope.BLOCK);
+            while (blockReader != null) {
+                traces.ensureCapacity(traces.size() + blockReader.numberOfTraces());
 
-            var stringTable = this.readStringTable(dataStream);
-            var locationTable = this.readLocationTable(dataStream, stringTable);
+                while (blockReader.hasMoreTraces()) {
+                    var trace = blockReader.readTrace();
+                    traces.add(trace);
+                }
 
-            for (var traceIndex = 0; traceIndex < numberOfTraces; traceIndex++) {
-                var trace = this.decodeTrace(dataStream, stringTable, locationTable);
-                traces.add(trace);
+                blockReader = this.openBlock(dataStream, DeduplicationScope.BLOCK);
             }
 
             return traces;
         }
     }
 
-    private StringTable readStringTable(DataInputStream stream) throws IOException {
-        var numberOfStrings = stream.readInt();
-        var entries = new String[numberOfStrings];
+    /**
+     * Decodes the event traces from the given input stream one at a time. In contrast to {@link #decodeTraces(InputStream)}, the traces are only decoded
+     * when they are consumed from the returned stream, so that the memory required for decoding is bounded by the largest single trace instead of the entire
+     * block. The returned stream must be closed after use, which also closes the given input stream.
+     * 
+     * @param inputStream The input stream to read from
+     * @return A sequential stream of the decoded event traces
+     * @throws IOException If an I/O exception occurs while reading the block header
+     */
+    public Stream<EventTrace> streamTraces(InputStream inputStream) throws IOException {
+        this.knownEntities = new HashMap<>();
 
-        for (var stringIndex = 0; stringIndex < numberOfStrings; stringIndex++) {
-            var stringLength = stream.readInt();
-            var stringBytes = new byte[stringLength];
-            stream.read(stringBytes, 0, stringLength);
+        var dataStream = createDataStream(inputStream);
+        try {
+            var blockReader = this.openBlock(dataStream, DeduplicationScope.TRACE);
+            var spliterator = Spliterators.spliteratorUnknownSize(new TraceIterator(dataStream, blockReader), Spliterator.ORDERED | Spliterator.NONNULL);
 
-            var string = new String(stringBytes, CHARSET);
-            entries[stringIndex] = string;
+            return StreamSupport.stream(spliterator, false).onClose(() -> closeStream(dataStream));
+        } catch (IOException | RuntimeException e) {
+            dataStream.close();
+            throw e;
         }
+    }
 
-        return new StringTable(entries);
+    private static DataInputStream createDataStream(InputStream inputStream) {
+        return new DataInputStream(new BufferedInputStream(inputStream, BUFFER_SIZE));
     }
 
-    private LocationTable readLocationTable(DataInputStream stream, StringTable stringTable) throws IOException {
+    private static void closeStream(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            throw new EventTraceDecodingException("Error closing the input stream.", e);
+        }
+    }
+
+    private BlockReader openBlock(DataInputStream dataStream, DeduplicationScope deduplicationScope) throws IOException {
+        // Check for the end of the stream before reading the header, as a stream may contain several blocks
+        var firstByte = dataStream.read();
+        if (firstByte < 0) {
+            return null;
+        }
+
+        var headerValue = (firstByte << 24) | (dataStream.readUnsignedByte() << 16) | (dataStream.readUnsignedShort());
+
+        if (headerValue >= 0) {
+            // Legacy blocks start with the (non-negative) number of traces
+            this.formatVersion = FORMAT_VERSION_LEGACY;
+            var stringTable = this.readStringTable(dataStream);
+            var locationTable = this.readLocationTable(dataStream, stringTable);
+
+            return new BlockReader(dataStream, dataStream, headerValue, stringTable, locationTable, NO_TRAILER, deduplicationScope);
+        }
+
+        this.formatVersion = readFormatVersion(headerValue);
+        var flags = readFlags(dataStream);
+        var compressionCodec = ((flags & FLAG_COMPRESSED) != 0) ? CompressionCodec.forId(dataStream.readUnsignedByte()) : CompressionCodec.NONE;
+        var numberOfTraces = dataStream.readInt();
+
+        StringTable stringTable;
+        LocationTable locationTable;
+        if ((flags & FLAG_INLINE_DEFINITIONS) != 0) {
+            // Strings and locations are defined inline, so we start with empty tables
+            stringTable = new StringTable();
+            locationTable = new LocationTable(new Location[0]);
+        } else {
+            stringTable = this.readStringTable(dataStream);
+            locationTable = this.readLocationTable(dataStream, stringTable);
+        }
+
+        if (numberOfTraces == 0) {
+            this.skipTrailer(dataStream, flags);
+            return new BlockReader(dataStream, dataStream, 0, stringTable, locationTable, NO_TRAILER, deduplicationScope);
+        }
+
+        // Compressed traces are decompressed while reading, the trailer is not compressed
+        var traceStream = (compressionCodec == CompressionCodec.NONE) ? dataStream
+                : new DataInputStream(new FramedDecompressionInputStream(dataStream, compressionCodec));
+
+        return new BlockReader(dataStream, traceStream, numberOfTraces, stringTable, locationTable, flags, deduplicationScope);
+    }
+
+    private static int readFlags(DataInputStream stream) throws IOException {
+        var flags = stream.readUnsignedByte();
+
+        if ((flags & ~SUPPORTED_FLAGS) != 0) {
+            throw new EventTraceDecodingException("Unsupported block flags " + Integer.toHexString(flags) + ".");
+        }
+
+        return flags;
+    }
+
+    /**
+     * Determines the format version from the given block marker.
+     * 
+     * @param blockMarker The block marker to examine
+     * @return The format version contained in the marker
+     * @throws EventTraceDecodingException If the marker is invalid or denotes an unsupported version
+     */
+    static int readFormatVersion(int blockMarker) {
+        if ((blockMarker & ~FORMAT_VERSION_MASK) != BLOCK_MARKER) {
+            throw new EventTraceDecodingException("Invalid block marker " + Integer.toHexString(blockMarker) + ".");
+        }
+
+        var formatVersion = (blockMarker & FORMAT_VERSION_MASK);
+        if (formatVersion != FORMAT_VERSION_INDEXED && formatVersion != FORMAT_VERSION_COMPACT) {
+            throw new EventTraceDecodingException("Unsupported format version " + formatVersion + ".");
+        }
+
+        return formatVersion;
+    }
+
+    private void skipTrailer(DataInputStream stream, int flags) throws IOException {
+        if ((flags & FLAG_INLINE_DEFINITIONS) != 0) {
+            // With inline definitions, the tables are repeated after the traces for random access. They are variable-length, so they must be read
+            var trailingStringTable = this.readStringTable(stream);
+            this.readLocationTable(stream, trailingStringTable);
+        }
+
+        // Skip the trace index and the footer, as they are not needed for sequential reading
+        var numberOfIndexEntries = stream.readInt();
+        stream.skipNBytes((long) numberOfIndexEntries * INDEX_ENTRY_SIZE + FOOTER_SIZE);
+    }
+
+    StringTable readStringTable(DataInputStream stream) throws IOException {
+        return StringTable.readFrom(stream);
+    }
+
+    private static String readStringValue(DataInputStream stream) throws IOException {
+        var stringLength = stream.readInt();
+        var stringBytes = new byte[stringLength];
+        stream.readFully(stringBytes, 0, stringLength);
+
+        return new String(stringBytes, CHARSET);
+    }
+
+    private int readReference(DataInputStream stream) throws IOException {
+        if (this.formatVersion != FORMAT_VERSION_COMPACT) {
+            return stream.readInt();
+        }
+
+        // In the compact format, the lowest bit of the reference denotes an inline definition
+        var reference = VarInts.readUnsignedVarInt(stream);
+        var index = (reference >>> 1);
+        return ((reference & 1) != 0) ? ~index : index;
+    }
+
+    private String readString(DataInputStream stream, StringTable stringTable) throws IOException {
+        var stringIndex = this.readReference(stream);
+
+        if (stringIndex < 0) {
+            // Negative indexes denote an inline definition of a string
+            var definedIndex = ~stringIndex;
+            var string = readStringValue(stream);
+
+            return stringTable.defineEntry(definedIndex, string);
+        }
+
+        return stringTable.getEntry(stringIndex);
+    }
+
+    private Location readLocation(DataInputStream stream, StringTable stringTable, LocationTable locationTable) throws IOException {
+        var locationIndex = this.readReference(stream);
+
+        if (locationIndex < 0) {
+            // Negative indexes denote an inline definition of a location
+            var definedIndex = ~locationIndex;
+            var location = this.decodeLocation(stream, stringTable);
+
+            return locationTable.defineEntry(definedIndex, location);
+        }
+
+        return locationTable.getEntry(locationIndex);
+    }
+
+    LocationTable readLocationTable(DataInputStream stream, StringTable stringTable) throws IOException {
         var numberOfLocations = stream.readInt();
         var entries = new Location[numberOfLocations];
 
@@ -118,8 +340,7 @@ public class EventTraceDecoder {
 
         switch (locationType) {
         case LOCATION_TYPE_OBSERVED:
-            var hostnameIndex = stream.readInt();
-            var hostname = stringTable.getEntry(hostnameIndex);
+            var hostname = this.readString(stream, stringTable);
             var processId = stream.readInt();
             var threadId = stream.readLong();
 
@@ -135,10 +356,20 @@ public class EventTraceDecoder {
         }
     }
 
-    private EventTrace decodeTrace(DataInputStream stream, StringTable stringTable, LocationTable locationTable) throws IOException {
-        var eventCount = stream.readInt();
-        var events = new ArrayList<MonitoringEvent>(eventCount);
+    EventTrace decodeTrace(DataInputStream stream, StringTable stringTable, LocationTable locationTable) throws IOException {
+        var eventCount = this.readTraceHeader(stream);
+
+        if (this.traceRepresentation == TraceRepresentation.COLUMNAR) {
+            // Add the events to the columns directly, so that the event objects are not retained
+            var builder = new ColumnarEventTrace.Builder(eventCount);
+            for (var eventIndex = 0; eventIndex < eventCount; eventIndex++) {
+                builder.add(this.decodeEvent(stream, stringTable, locationTable));
+            }
+
+            return builder.build();
+        }
 
+        var events = new ArrayList<MonitoringEvent>(eventCount);
         for (var eventIndex = 0; eventIndex < eventCount; eventIndex++) {
             var event = this.decodeEvent(stream, stringTable, locationTable);
             events.add(event);
@@ -147,7 +378,164 @@ public class EventTraceDecoder {
         return EventTrace.of(events);
     }
 
-    private MonitoringEvent decodeEvent(DataInputStream stream, StringTable stringTable, LocationTable locationTable) throws IOException {
+    int readTraceHeader(DataInputStream stream) throws IOException {
+        if (this.formatVersion == FORMAT_VERSION_COMPACT) {
+            // In the compact format, the trace ID is only stored once per trace, and timestamps are stored as deltas
+            var eventCount = VarInts.readUnsignedVarInt(stream);
+            this.currentTraceId = VarInts.readUnsignedVarLong(stream);
+            this.previousTimestamp = 0;
+
+            return eventCount;
+        } else {
+            return stream.readInt();
+        }
+    }
+
+    void resumeTrace(long traceId, long previousTimestamp) {
+        // Restore the state of the compact format to continue decoding in the middle of a trace
+        this.currentTraceId = traceId;
+        this.previousTimestamp = previousTimestamp;
+    }
+
+    void clearKnownEntities() {
+        // Allows long-lived decoders to bound the number of retained entities
+        this.knownEntities.clear();
+    }
+
+    /**
+     * Skips the next event in the given stream without creating the event or decoding its strings. Inline definitions are skipped as well, so this method
+     * may only be used if the complete tables of the block are known.
+     * 
+     * @param stream The stream to read from
+     * @return The timestamp of the skipped event
+     * @throws IOException If an I/O error occurs while skipping the event
+     */
+    long skipEvent(DataInputStream stream) throws IOException {
+        return this.skipEvent(stream, null);
+    }
+
+    private long skipEvent(DataInputStream stream, EntityReferenceVisitor entityVisitor) throws IOException {
+        var eventTypeId = stream.readByte();
+
+        long timestamp;
+        if (this.formatVersion == FORMAT_VERSION_COMPACT) {
+            timestamp = this.previousTimestamp + VarInts.readSignedVarLong(stream);
+            this.previousTimestamp = timestamp;
+        } else {
+            this.currentTraceId = stream.readLong();
+            timestamp = stream.readLong();
+        }
+
+        this.skipLocation(stream);
+
+        switch (eventTypeId) {
+        case EVENT_TYPE_USE_CASE_START, EVENT_TYPE_USE_CASE_END, EVENT_TYPE_TRANSACTION_START, EVENT_TYPE_TRANSACTION_COMMIT,
+                EVENT_TYPE_EXPLICIT_TRANSACTION_ABORT, EVENT_TYPE_SERVICE_CANDIDATE_INVOCATION, EVENT_TYPE_SERVICE_CANDIDATE_EXIT,
+                EVENT_TYPE_SERVICE_CANDIDATE_RETURN:
+            this.skipString(stream);
+            break;
+
+        case EVENT_TYPE_IMPLICIT_TRANSACTION_ABORT:
+            // Transaction ID and cause
+            this.skipString(stream);
+            this.skipString(stream);
+            break;
+
+        case EVENT_TYPE_ENTITY_READ, EVENT_TYPE_ENTITY_WRITE:
+            // Entity type and ID, followed by the optional root ID
+            var typeNameIndex = this.skipString(stream);
+            var entityIdIndex = this.skipString(stream);
+            this.skipOptionalString(stream);
+
+            if (entityVisitor != null) {
+                entityVisitor.visitEntity(typeNameIndex, entityIdIndex);
+            }
+            break;
+
+        case EVENT_TYPE_SERVICE_CANDIDATE_ENTRY:
+            // Candidate name, followed by the optional transaction ID
+            this.skipString(stream);
+            this.skipOptionalString(stream);
+            break;
+
+        default:
+            throw new EventTraceDecodingException("Unknown event type " + eventTypeId + ".");
+        }
+
+        return timestamp;
+    }
+
+    private int skipString(DataInputStream stream) throws IOException {
+        var stringIndex = this.readReference(stream);
+        if (stringIndex >= 0) {
+            return stringIndex;
+        }
+
+        // Skip the inline definition, and return the defined index
+        stream.skipNBytes(stream.readInt());
+        return ~stringIndex;
+    }
+
+    private void skipOptionalString(DataInputStream stream) throws IOException {
+        if (stream.readBoolean()) {
+            this.skipString(stream);
+        }
+    }
+
+    private void skipLocation(DataInputStream stream) throws IOException {
+        if (this.readReference(stream) >= 0) {
+            return;
+        }
+
+        var locationType = stream.readByte();
+        switch (locationType) {
+        case LOCATION_TYPE_OBSERVED:
+            // Hostname, process ID and thread ID
+            this.skipString(stream);
+            stream.skipNBytes(Integer.BYTES + Long.BYTES);
+            break;
+
+        case LOCATION_TYPE_SYNTHETIC:
+            stream.skipNBytes(Long.BYTES);
+            break;
+
+        default:
+            throw new EventTraceDecodingException("Unsupported location type " + locationType + ".");
+        }
+    }
+
+    /**
+     * Determines whether the trace in the given stream reads or writes the entity whose type name and ID have the given indexes in the string table of the
+     * block. The entities are compared on their string indexes, so no strings or events are decoded. The stream is positioned at the end of the trace if the
+     * entity is not accessed.
+     * 
+     * @param stream        The stream to read the trace from
+     * @param typeNameIndex The string index of the entity's type name
+     * @param entityIdIndex The string index of the entity's ID
+     * @return {@code True} if the trace accesses the entity, {@code false} otherwise
+     * @throws IOException If an I/O error occurs while reading the trace
+     */
+    boolean traceAccessesEntity(DataInputStream stream, int typeNameIndex, int entityIdIndex) throws IOException {
+        var matcher = new EntityReferenceMatcher(typeNameIndex, entityIdIndex);
+        var eventCount = this.readTraceHeader(stream);
+
+        for (var eventIndex = 0; eventIndex < eventCount && !matcher.matched; eventIndex++) {
+            this.skipEvent(stream, matcher);
+        }
+
+        return matcher.matched;
+    }
+
+    /**
+     * Returns the ID of the trace that is currently being decoded.
+     * 
+     * @return see above
+     */
+    long currentTraceId() {
+        return this.currentTraceId;
+    }
+
+    MonitoringEvent decodeEvent(DataInputStream stream, StringTable stringTable, LocationTable locationTable) throws IOException {
         var eventTypeId = stream.readByte();
 
         switch (eventTypeId) {
@@ -194,42 +582,45 @@ public class EventTraceDecoder {
 
     private <T extends MonitoringEvent> T decodeEvent(DataInputStream stream, StringTable stringTable, LocationTable locationTable,
             SpecificEventDecoder<T> specificDecoder) throws IOException {
-        var traceId = stream.readLong();
-        var timestamp = stream.readLong();
-        var locationIndex = stream.readInt();
-        var location = locationTable.getEntry(locationIndex);
+        long traceId;
+        long timestamp;
+        if (this.formatVersion == FORMAT_VERSION_COMPACT) {
+            traceId = this.currentTraceId;
+            timestamp = this.previousTimestamp + VarInts.readSignedVarLong(stream);
+            this.previousTimestamp = timestamp;
+        } else {
+            traceId = stream.readLong();
+            timestamp = stream.readLong();
+        }
+
+        var location = this.readLocation(stream, stringTable, locationTable);
 
         return specificDecoder.decode(traceId, timestamp, location, stream, stringTable);
     }
 
     private UseCaseStartEvent decodeUseCaseStartEvent(long traceId, long timestamp, Location location, DataInputStream stream, StringTable stringTable)
             throws IOException {
-        var useCaseNameIndex = stream.readInt();
-        var useCaseName = stringTable.getEntry(useCaseNameIndex);
+        var useCaseName = this.readString(stream, stringTable);
 
         return new UseCaseStartEvent(traceId, timestamp, location, useCaseName);
     }
 
     private UseCaseEndEvent decodeUseCaseEndEvent(long traceId, long timestamp, Location location, DataInputStream stream, StringTable stringTable)
             throws IOException {
-        var useCaseNameIndex = stream.readInt();
-        var useCaseName = stringTable.getEntry(useCaseNameIndex);
+        var useCaseName = this.readString(stream, stringTable);
 
         return new UseCaseEndEvent(traceId, timestamp, location, useCaseName);
     }
 
     private Entity decodeEntity(DataInputStream stream, StringTable stringTable) throws IOException {
-        var entityTypeNameIndex = stream.readInt();
-        var entityTypeName = stringTable.getEntry(entityTypeNameIndex);
+        var entityTypeName = this.readString(stream, stringTable);
 
-        var entityIdIndex = stream.readInt();
-        var entityId = stringTable.getEntry(entityIdIndex);
+        var entityId = this.readString(stream, stringTable);
 
         Entity entity;
         var hasRoot = stream.readBoolean();
         if (hasRoot) {
-            var rootIdIndex = stream.readInt();
-            var rootId = stringTable.getEntry(rootIdIndex);
+            var rootId = this.readString(stream, stringTable);
 
             entity = new Entity(entityTypeName, entityId, rootId);
         } else {
@@ -258,55 +649,47 @@ public class EventTraceDecoder {
 
     private TransactionStartEvent decodeTransactionStartEvent(long traceId, long timestamp, Location location, DataInputStream stream, StringTable stringTable)
             throws IOException {
-        var transactionIdIndex = stream.readInt();
-        var transactionId = stringTable.getEntry(transactionIdIndex);
+        var transactionId = this.readString(stream, stringTable);
 
         return new TransactionStartEvent(traceId, timestamp, location, transactionId);
     }
 
     private TransactionCommitEvent decodeTransactionCommitEvent(long traceId, long timestamp, Location location, DataInputStream stream,
             StringTable stringTable) throws IOException {
-        var transactionIdIndex = stream.readInt();
-        var transactionId = stringTable.getEntry(transactionIdIndex);
+        var transactionId = this.readString(stream, stringTable);
 
         return new TransactionCommitEvent(traceId, timestamp, location, transactionId);
     }
 
     private ExplicitTransactionAbortEvent decodeExplicitTransactionAbortEvent(long traceId, long timestamp, Location location, DataInputStream stream,
             StringTable stringTable) throws IOException {
-        var transactionIdIndex = stream.readInt();
-        var transactionId = stringTable.getEntry(transactionIdIndex);
+        var transactionId = this.readString(stream, stringTable);
 
         return new ExplicitTransactionAbortEvent(traceId, timestamp, location, transactionId);
     }
 
     private ImplicitTransactionAbortEvent decodeImplicitTransactionAbortEvent(long traceId, long timestamp, Location location, DataInputStream stream,
             StringTable stringTable) throws IOException {
-        var transactionIdIndex = stream.readInt();
-        var transactionId = stringTable.getEntry(transactionIdIndex);
-        var causeIndex = stream.readInt();
-        var cause = stringTable.getEntry(causeIndex);
+        var transactionId = this.readString(stream, stringTable);
+        var cause = this.readString(stream, stringTable);
 
         return new ImplicitTransactionAbortEvent(traceId, timestamp, location, transactionId, cause);
     }
 
     private ServiceCandidateInvocationEvent decodeServiceCandidateInvocationEvent(long traceId, long timestamp, Location location, DataInputStream stream,
             StringTable stringTable) throws IOException {
-        var candidateNameIndex = stream.readInt();
-        var candidateName = stringTable.getEntry(candidateNameIndex);
+        var candidateName = this.readString(stream, stringTable);
 
         return new ServiceCandidateInvocationEvent(traceId, timestamp, location, candidateName);
     }
 
     private ServiceCandidateEntryEvent decodeServiceCandidateEntryEvent(long traceId, long timestamp, Location location, DataInputStream stream,
             StringTable stringTable) throws IOException {
-        var candidateNameIndex = stream.readInt();
-        var candidateName = stringTable.getEntry(candidateNameIndex);
+        var candidateName = this.readString(stream, stringTable);
         var transactionStarted = stream.readBoolean();
 
         if (transactionStarted) {
-            var transactionIdIndex = stream.readInt();
-            var transactionId = stringTable.getEntry(transactionIdIndex);
+            var transactionId = this.readString(stream, stringTable);
 
             return new ServiceCandidateEntryEvent(traceId, timestamp, location, candidateName, true, transactionId);
         } else {
@@ -316,20 +699,145 @@ public class EventTraceDecoder {
 
     private ServiceCandidateExitEvent decodeServiceCandidateExitEvent(long traceId, long timestamp, Location location, DataInputStream stream,
             StringTable stringTable) throws IOException {
-        var candidateNameIndex = stream.readInt();
-        var candidateName = stringTable.getEntry(candidateNameIndex);
+        var candidateName = this.readString(stream, stringTable);
 
         return new ServiceCandidateExitEvent(traceId, timestamp, location, candidateName);
     }
 
     private ServiceCandidateReturnEvent decodeServiceCandidateReturnEvent(long traceId, long timestamp, Location location, DataInputStream stream,
             StringTable stringTable) throws IOException {
-        var candidateNameIndex = stream.readInt();
-        var candidateName = stringTable.getEntry(candidateNameIndex);
+        var candidateName = this.readString(stream, stringTable);
 
         return new ServiceCandidateReturnEvent(traceId, timestamp, location, candidateName);
     }
 
+    /**
+     * Enumeration of the scopes in which decoded entities are deduplicated.
+     */
+    private enum DeduplicationScope {
+
+        /**
+         * Entities are deduplicated across all traces of a block. This saves heap if all traces are retained.
+         */
+        BLOCK,
+
+        /**
+         * Entities are only deduplicated within a single trace, so that no state is retained across traces.
+         */
+        TRACE
+    }
+
+    /**
+     * A {@link BlockReader} reads the traces of a single block one at a time.
+     */
+    private class BlockReader {
+
+        private final DataInputStream stream;
+
+        private final DataInputStream traceStream;
+
+        private final int numberOfTraces;
+
+        private final StringTable stringTable;
+
+        private final LocationTable locationTable;
+
+        private final int flags;
+
+        private final DeduplicationScope deduplicationScope;
+
+        private int tracesRead = 0;
+
+        public BlockReader(DataInputStream stream, DataInputStream traceStream, int numberOfTraces, StringTable stringTable, LocationTable locationTable,
+                int flags, DeduplicationScope deduplicationScope) {
+            this.stream = stream;
+            this.traceStream = traceStream;
+            this.numberOfTraces = numberOfTraces;
+            this.stringTable = stringTable;
+            this.locationTable = locationTable;
+            this.flags = flags;
+            this.deduplicationScope = deduplicationScope;
+        }
+
+        private void finishBlock() throws IOException {
+            if (this.traceStream != this.stream) {
+                // Release the resources of the decompression
+                this.traceStream.close();
+            }
+
+            if (this.flags != NO_TRAILER) {
+                skipTrailer(this.stream, this.flags);
+            }
+        }
+
+        public int numberOfTraces() {
+            return this.numberOfTraces;
+        }
+
+        public boolean hasMoreTraces() {
+            return (this.tracesRead < this.numberOfTraces);
+        }
+
+        public EventTrace readTrace() throws IOException {
+            if (this.deduplicationScope == DeduplicationScope.TRACE) {
+                knownEntities.clear();
+            }
+
+            var trace = decodeTrace(this.traceStream, this.stringTable, this.locationTable);
+            this.tracesRead++;
+
+            if (!this.hasMoreTraces()) {
+                this.finishBlock();
+            }
+
+            return trace;
+        }
+
+    }
+
+    /**
+     * Iterator over the traces of a block, which is used to provide a stream of traces.
+     */
+    private class TraceIterator implements Iterator<EventTrace> {
+
+        private final DataInputStream dataStream;
+
+        private BlockReader blockReader;
+
+        public TraceIterator(DataInputStream dataStream, BlockReader blockReader) {
+            this.dataStream = dataStream;
+            this.blockReader = blockReader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                // Advance to the next block with traces, if necessary
+                while (this.blockReader != null && !this.blockReader.hasMoreTraces()) {
+                    this.blockReader = openBlock(this.dataStream, DeduplicationScope.TRACE);
+                }
+
+                return (this.blockReader != null);
+            } catch (IOException e) {
+                throw new EventTraceDecodingException("An error occurred while reading a block header.", e);
+            }
+        }
+
+        @Override
+        public EventTrace next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            try {
+                return this.blockReader.readTrace();
+            } catch (IOException e) {
+                throw new EventTraceDecodingException("An error occurred while decoding a trace.", e);
+            }
+        }
+
+    }
+
     static class EventTraceDecodingException extends RuntimeException {
 
         private static final long serialVersionUID = -6813556398013056671L;
@@ -344,32 +852,233 @@ public class EventTraceDecoder {
 
     }
 
-    private static class StringTable {
+    /**
+     * Table of the strings of a block. The encoded strings are kept in a shared buffer, and each string is only decoded (and then cached) when it is first
+     * requested. Strings that are defined inline are stored directly.
+     */
+    static class StringTable {
 
-        private final String[] entries;
+        private static final int NO_OFFSET = -1;
 
-        public StringTable(String[] entries) {
-            this.entries = entries;
+        private final ByteBuffer data;
+
+        private int[] offsets;
+
+        private int[] lengths;
+
+        private String[] entries;
+
+        private int size;
+
+        public StringTable() {
+            this(null, new int[0], new int[0]);
+        }
+
+        private StringTable(ByteBuffer data, int[] offsets, int[] lengths) {
+            this.data = data;
+            this.offsets = offsets;
+            this.lengths = lengths;
+            this.entries = new String[offsets.length];
+            this.size = offsets.length;
+        }
+
+        /**
+         * Creates a string table on the encoded table at the current position of the given buffer without copying the data. After this operation, the
+         * position of the buffer is located after the table.
+         * 
+         * @param buffer The buffer containing the table
+         * @return The string table
+         */
+        public static StringTable mapFrom(ByteBuffer buffer) {
+            var numberOfStrings = buffer.getInt();
+            var offsets = new int[numberOfStrings];
+            var lengths = new int[numberOfStrings];
+
+            for (var stringIndex = 0; stringIndex < numberOfStrings; stringIndex++) {
+                var stringLength = buffer.getInt();
+
+                offsets[stringIndex] = buffer.position();
+                lengths[stringIndex] = stringLength;
+                buffer.position(buffer.position() + stringLength);
+            }
+
+            return new StringTable(buffer, offsets, lengths);
+        }
+
+        /**
+         * Reads a string table from the given stream. The encoded strings are read into a single buffer.
+         * 
+         * @param stream The stream to read from
+         * @return The string table
+         * @throws IOException If an I/O error occurs while reading the table
+         */
+        public static StringTable readFrom(DataInputStream stream) throws IOException {
+            var numberOfStrings = stream.readInt();
+            var offsets = new int[numberOfStrings];
+            var lengths = new int[numberOfStrings];
+            var data = new byte[Math.max(16, 16 * numberOfStrings)];
+            var dataSize = 0;
+
+            for (var stringIndex = 0; stringIndex < numberOfStrings; stringIndex++) {
+                var stringLength = stream.readInt();
+
+                if (dataSize + stringLength > data.length) {
+                    data = Arrays.copyOf(data, Math.max(dataSize + stringLength, 2 * data.length));
+                }
+
+                stream.readFully(data, dataSize, stringLength);
+                offsets[stringIndex] = dataSize;
+                lengths[stringIndex] = stringLength;
+                dataSize += stringLength;
+            }
+
+            return new StringTable(ByteBuffer.wrap(data, 0, dataSize), offsets, lengths);
         }
 
         public String getEntry(int index) {
-            return this.entries[index];
+            var entry = this.entries[index];
+
+            if (entry == null) {
+                // Decode the string on first use. Concurrent decoding of the same string is harmless, as the result is the same
+                var length = this.lengths[index];
+                var bytes = new byte[length];
+                this.data.get(this.offsets[index], bytes, 0, length);
+
+                entry = new String(bytes, CHARSET);
+                this.entries[index] = entry;
+            }
+
+            return entry;
+        }
+
+        /**
+         * Determines whether the entry at the given index is equal to the given UTF-8-encoded string. The comparison is performed on the raw bytes, i.e.,
+         * without decoding the entry.
+         * 
+         * @param index        The index of the entry to compare
+         * @param encodedValue The UTF-8 encoding of the value to compare with
+         * @return {@code True} if the entry is equal to the given value, {@code false} otherwise
+         */
+        public boolean entryEquals(int index, byte[] encodedValue) {
+            var offset = this.offsets[index];
+            if (offset == NO_OFFSET) {
+                return this.entries[index].equals(new String(encodedValue, CHARSET));
+            }
+
+            var length = this.lengths[index];
+            if (length != encodedValue.length) {
+                return false;
+            }
+
+            for (var byteIndex = 0; byteIndex < length; byteIndex++) {
+                if (this.data.get(offset + byteIndex) != encodedValue[byteIndex]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * Returns the index of the given string in this table, which is determined by comparing the raw bytes of the entries.
+         * 
+         * @param value The value to look for
+         * @return The index of the value or {@link Constants#NO_STRING_INDEX} if the value is not contained in this table
+         */
+        public int indexOf(String value) {
+            var encodedValue = value.getBytes(CHARSET);
+
+            for (var index = 0; index < this.size; index++) {
+                if (this.entryEquals(index, encodedValue)) {
+                    return index;
+                }
+            }
+
+            return NO_STRING_INDEX;
+        }
+
+        public String defineEntry(int index, String value) {
+            if (index < this.size) {
+                // Entry is already known, e.g., from a trailing table
+                return this.getEntry(index);
+            } else if (index > this.size) {
+                throw new EventTraceDecodingException("Non-consecutive definition of string " + index + ".");
+            }
+
+            if (this.size == this.entries.length) {
+                var newCapacity = Math.max(16, 2 * this.size);
+
+                this.entries = Arrays.copyOf(this.entries, newCapacity);
+                this.offsets = Arrays.copyOf(this.offsets, newCapacity);
+                this.lengths = Arrays.copyOf(this.lengths, newCapacity);
+            }
+
+            this.offsets[this.size] = NO_OFFSET;
+            this.entries[this.size++] = value;
+            return value;
         }
 
     }
 
-    private static class LocationTable {
+    static class LocationTable {
+
+        private Location[] entries;
 
-        private final Location[] entries;
+        private int size;
 
         public LocationTable(Location[] entries) {
             this.entries = entries;
+            this.size = entries.length;
         }
 
         public Location getEntry(int index) {
             return this.entries[index];
         }
 
+        public Location defineEntry(int index, Location location) {
+            if (index < this.size) {
+                // Entry is already known, e.g., from a trailing table
+                return this.entries[index];
+            } else if (index > this.size) {
+                throw new EventTraceDecodingException("Non-consecutive definition of location " + index + ".");
+            }
+
+            if (this.size == this.entries.length) {
+                this.entries = Arrays.copyOf(this.entries, Math.max(16, 2 * this.size));
+            }
+
+            this.entries[this.size++] = location;
+            return location;
+        }
+
+    }
+
+    private interface EntityReferenceVisitor {
+
+        void visitEntity(int typeNameIndex, int entityIdIndex);
+
+    }
+
+    private static class EntityReferenceMatcher implements EntityReferenceVisitor {
+
+        private final int typeNameIndex;
+
+        private final int entityIdIndex;
+
+        private boolean matched;
+
+        public EntityReferenceMatcher(int typeNameIndex, int entityIdIndex) {
+            this.typeNameIndex = typeNameIndex;
+            this.entityIdIndex = entityIdIndex;
+        }
+
+        @Override
+        public void visitEntity(int typeNameIndex, int entityIdIndex) {
+            if (typeNameIndex == this.typeNameIndex && entityIdIndex == this.entityIdIndex) {
+                this.matched = true;
+            }
+        }
+
     }
 
     private interface SpecificEventDecoder<T extends MonitoringEvent> {
@@ -20,17 +20,25 @@ import gutta.prediction.event.TransactionStartEvent;
 import gutta.prediction.event.UseCaseEndEvent;
 import gutta.prediction.event.UseCaseStartEvent;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import static java.util.Objects.requireNonNull;
+
 /**
  * An {@link EventTraceEncoder} encodes event streams to the storage format.
  */
@@ -40,6 +48,10 @@ public class EventTraceEncoder extends MonitoringEventVisitor {
 
     private static final int BUFFER_SIZE = 65536;
 
+    private final EventTraceFormat format;
+
+    private final CompressionCodec compressionCodec;
+
     private Map<String, Integer> stringToCode;
 
     private Map<Location, Integer> locationToCode;
@@ -50,17 +62,107 @@ public class EventTraceEncoder extends MonitoringEventVisitor {
 
     private DataOutputStream dataStream;
 
+    private CountingOutputStream countingStream;
+
+    private FramedCompressionOutputStream compressionStream;
+
+    private boolean inlineDefinitions;
+
+    private boolean compactEncoding;
+
+    private long currentTraceId;
+
+    private long previousTimestamp;
+
+    private List<TraceIndexEntry> traceIndex;
+
+    /**
+     * Creates a new encoder for the standard format.
+     */
+    public EventTraceEncoder() {
+        this(EventTraceFormat.STANDARD);
+    }
+
+    /**
+     * Creates a new encoder for the given format.
+     * 
+     * @param format The format to encode the traces in
+     */
+    public EventTraceEncoder(EventTraceFormat format) {
+        this(format, CompressionCodec.NONE);
+    }
+
+    /**
+     * Creates a new encoder for the given format using the given compression codec for the traces.
+     * 
+     * @param format           The format to encode the traces in
+     * @param compressionCodec The compression codec to use. Compression is not supported for the standard format.
+     */
+    public EventTraceEncoder(EventTraceFormat format, CompressionCodec compressionCodec) {
+        if (format == EventTraceFormat.STANDARD && compressionCodec != CompressionCodec.NONE) {
+            throw new IllegalArgumentException("The standard format does not support compression.");
+        }
+
+        this.format = requireNonNull(format);
+        this.compressionCodec = requireNonNull(compressionCodec);
+    }
+
     private int storeString(String value) {
         return this.stringToCode.computeIfAbsent(value, ignored -> this.stringCodeCounter++);
     }
 
-    private int storeLocation(Location location) {
-        return this.locationToCode.computeIfAbsent(location, ignored -> this.locationCodeCounter++);
+    private void writeString(String value, DataOutputStream stream) throws IOException {
+        if (!this.inlineDefinitions) {
+            this.writeReference(this.storeString(value), false, stream);
+            return;
+        }
+
+        var existingCode = this.stringToCode.get(value);
+        if (existingCode != null) {
+            this.writeReference(existingCode, false, stream);
+        } else {
+            // Define the string inline on its first use
+            var code = this.storeString(value);
+            var encodedValue = value.getBytes(CHARSET);
+
+            this.writeReference(code, true, stream);
+            stream.writeInt(encodedValue.length);
+            stream.write(encodedValue, 0, encodedValue.length);
+        }
+    }
+
+    private void writeReference(int code, boolean definition, DataOutputStream stream) throws IOException {
+        if (this.compactEncoding) {
+            // In the compact format, the lowest bit of the reference denotes an inline definition
+            VarInts.writeUnsignedVarInt((code << 1) | (definition ? 1 : 0), stream);
+        } else {
+            // Otherwise, inline definitions are marked by a negative code
+            stream.writeInt(definition ? ~code : code);
+        }
+    }
+
+    private void writeLocation(Location location, DataOutputStream stream) throws IOException {
+        if (!this.inlineDefinitions) {
+            this.writeReference(this.locationToCode.computeIfAbsent(location, ignored -> this.locationCodeCounter++), false, stream);
+            return;
+        }
+
+        var existingCode = this.locationToCode.get(location);
+        if (existingCode != null) {
+            this.writeReference(existingCode, false, stream);
+        } else {
+            // Define the location inline on its first use
+            var code = this.locationCodeCounter++;
+            this.locationToCode.put(location, code);
+
+            this.writeReference(code, true, stream);
+            this.encodeLocation(location, stream);
+        }
     }
 
     /**
      * Encodes a collection of traces into an output stream. The collection of traces is encoded as a self-contained block and may be followed by further
-     * blocks.
+     * blocks. The output stream is flushed, but not closed.
      * 
      * @param traces       The traces to encode into the stream
      * @param outputStream The stream to encode the data into
@@ -69,37 +171,194 @@ public class EventTraceEncoder extends MonitoringEventVisitor {
     public void encodeTraces(Collection<EventTrace> traces, OutputStream outputStream) throws IOException {
         this.stringToCode = new HashMap<>();
         this.locationToCode = new HashMap<>();
+        this.stringCodeCounter = 0;
+        this.locationCodeCounter = 0;
+        this.traceIndex = new ArrayList<>(traces.size());
+        this.inlineDefinitions = (this.format == EventTraceFormat.STREAMING || this.format == EventTraceFormat.COMPACT);
+        this.compactEncoding = (this.format == EventTraceFormat.COMPACT);
+
+        try {
+            if (this.inlineDefinitions) {
+                this.writeStreamingBlockToOutputStream(traces, outputStream);
+            } else {
+                this.writeBufferedBlockToOutputStream(traces, outputStream);
+            }
+        } finally {
+            this.dataStream = null;
+            this.countingStream = null;
+            this.compressionStream = null;
+            this.traceIndex = null;
+        }
+    }
+
+    /**
+     * Encodes a collection of traces into the given file, which is created or truncated. The data is written to the file using a buffered file channel.
+     * 
+     * @param traces The traces to encode into the file
+     * @param path   The path of the file to write
+     * @throws IOException If an I/O error occurs while encoding the traces
+     */
+    public void encodeTraces(Collection<EventTrace> traces, Path path) throws IOException {
+        var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
 
+        try (var outputStream = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE)) {
+            this.encodeTraces(traces, outputStream);
+        }
+    }
+
+    private void writeBufferedBlockToOutputStream(Collection<EventTrace> traces, OutputStream outputStream) throws IOException {
         // Encode the records into a separate buffer to collect the necessary metadata while encoding
         try (var bufferStream = new ByteArrayOutputStream(BUFFER_SIZE); //
-                var dataStream = new DataOutputStream(bufferStream)) {
+                var countingStream = new CountingOutputStream(bufferStream); //
+                var dataStream = new DataOutputStream(countingStream)) {
 
-            this.dataStream = dataStream;
+            this.countingStream = countingStream;
+            this.dataStream = this.createTraceDataStream(dataStream);
             traces.forEach(this::encodeTrace);
+            this.finishTraceData();
 
             // Once everything has been collected, write the metadata and the encoded data to the output stream
-            this.writeBlockToOutputStream(traces, outputStream, bufferStream);
-        } finally {
-            this.dataStream = null;
+            if (this.format == EventTraceFormat.INDEXED) {
+                this.writeIndexedBlockToOutputStream(traces, outputStream, bufferStream);
+            } else {
+                this.writeBlockToOutputStream(traces, outputStream, bufferStream);
+            }
         }
     }
 
+    private void writeStreamingBlockToOutputStream(Collection<EventTrace> traces, OutputStream outputStream) throws IOException {
+        // Write the traces directly to the output stream, defining strings and locations inline
+        var countingStream = new CountingOutputStream(new BufferedOutputStream(outputStream, BUFFER_SIZE));
+        var outputDataStream = new DataOutputStream(countingStream);
+        this.countingStream = countingStream;
+
+        // Write the block header
+        var formatVersion = (this.compactEncoding) ? Constants.FORMAT_VERSION_COMPACT : Constants.FORMAT_VERSION_INDEXED;
+        this.writeBlockHeader(formatVersion, Constants.FLAG_INLINE_DEFINITIONS, traces.size(), outputDataStream);
+
+        this.dataStream = this.createTraceDataStream(outputDataStream);
+        traces.forEach(this::encodeTrace);
+        this.finishTraceData();
+
+        // Write the complete tables after the traces, so that traces can be decoded individually
+        var tablesOffset = countingStream.position();
+        this.writeStringTable(outputDataStream);
+        this.writeLocationTable(outputDataStream);
+
+        var indexOffset = countingStream.position();
+        this.writeTraceIndex(0, outputDataStream);
+
+        var blockLength = countingStream.position() + Constants.FOOTER_SIZE;
+        this.writeFooter(tablesOffset, indexOffset, blockLength, outputDataStream);
+
+        // Flush the buffer, but do not close the output stream, as further blocks may follow
+        outputDataStream.flush();
+    }
+
     private void writeBlockToOutputStream(Collection<EventTrace> traces, OutputStream outputStream, ByteArrayOutputStream bufferStream) throws IOException {
-        try (var outputDataStream = new DataOutputStream(outputStream)) {
-            // Write the number of traces
-            outputDataStream.writeInt(traces.size());
+        var outputDataStream = new DataOutputStream(outputStream);
 
-            // Encode the locations table to a byte array, since it may add further strings to the string table
-            var locationTableData = this.encodeLocationTable();
+        // Write the number of traces
+        outputDataStream.writeInt(traces.size());
 
-            // Write the string table
-            this.writeStringTable(outputDataStream);
+        // Encode the locations table to a byte array, since it may add further strings to the string table
+        var locationTableData = this.encodeLocationTable();
 
-            // Write the location table after the string table
-            outputDataStream.write(locationTableData);
+        // Write the string table
+        this.writeStringTable(outputDataStream);
 
-            // Write the actual data
-            bufferStream.writeTo(outputDataStream);
+        // Write the location table after the string table
+        outputDataStream.write(locationTableData);
+
+        // Write the actual data
+        bufferStream.writeTo(outputDataStream);
+        outputDataStream.flush();
+    }
+
+    private void writeIndexedBlockToOutputStream(Collection<EventTrace> traces, OutputStream outputStream, ByteArrayOutputStream bufferStream)
+            throws IOException {
+
+        var outputDataStream = new DataOutputStream(outputStream);
+
+        // Write the block header with the format version and the flags
+        this.writeBlockHeader(Constants.FORMAT_VERSION_INDEXED, 0, traces.size(), outputDataStream);
+
+        // Encode the tables to byte arrays, as their sizes are required for the trace offsets
+        var tablesOffset = (long) outputDataStream.size();
+        var locationTableData = this.encodeLocationTable();
+        var stringTableData = this.encodeStringTable();
+
+        outputDataStream.write(stringTableData);
+        outputDataStream.write(locationTableData);
+
+        // Write the actual data
+        var dataOffset = tablesOffset + stringTableData.length + locationTableData.length;
+        bufferStream.writeTo(outputDataStream);
+
+        // Write the trace index, sorted by trace ID to allow for binary search
+        var indexOffset = dataOffset + bufferStream.size();
+        this.writeTraceIndex(dataOffset, outputDataStream);
+
+        // Write the footer, which allows to locate the index from the end of the block
+        var blockLength = indexOffset + Integer.BYTES + ((long) this.traceIndex.size() * Constants.INDEX_ENTRY_SIZE) + Constants.FOOTER_SIZE;
+        this.writeFooter(tablesOffset, indexOffset, blockLength, outputDataStream);
+        outputDataStream.flush();
+    }
+
+    private void writeBlockHeader(int formatVersion, int flags, int numberOfTraces, DataOutputStream outputStream) throws IOException {
+        var compressed = (this.compressionCodec != CompressionCodec.NONE);
+
+        outputStream.writeInt(Constants.BLOCK_MARKER | formatVersion);
+        outputStream.writeByte(compressed ? (flags | Constants.FLAG_COMPRESSED) : flags);
+        if (compressed) {
+            outputStream.writeByte(this.compressionCodec.id());
+        }
+
+        outputStream.writeInt(numberOfTraces);
+    }
+
+    private DataOutputStream createTraceDataStream(DataOutputStream outputStream) {
+        if (this.compressionCodec == CompressionCodec.NONE) {
+            return outputStream;
+        }
+
+        // The compressed frames are written to the counting stream, so that the offsets refer to the frames
+        this.compressionStream = new FramedCompressionOutputStream(this.countingStream, this.compressionCodec);
+        return new DataOutputStream(this.compressionStream);
+    }
+
+    private void finishTraceData() throws IOException {
+        if (this.compressionStream != null) {
+            this.compressionStream.finish();
+        }
+    }
+
+    private void writeFooter(long tablesOffset, long indexOffset, long blockLength, DataOutputStream outputStream) throws IOException {
+        outputStream.writeLong(tablesOffset);
+        outputStream.writeLong(indexOffset);
+        outputStream.writeLong(blockLength);
+        outputStream.writeInt(Constants.FOOTER_MARKER);
+    }
+
+    private void writeTraceIndex(long dataOffset, DataOutputStream outputStream) throws IOException {
+        var entries = new ArrayList<>(this.traceIndex);
+        entries.sort((entry1, entry2) -> Long.compare(entry1.traceId(), entry2.traceId()));
+
+        outputStream.writeInt(entries.size());
+        for (var entry : entries) {
+            outputStream.writeLong(entry.traceId());
+            outputStream.writeLong(dataOffset + entry.offset());
+            outputStream.writeInt(entry.lengthOrPositionInFrame());
+            outputStream.writeInt(entry.useCaseNameCode());
+        }
+    }
+
+    private byte[] encodeStringTable() throws IOException {
+        try (var byteStream = new ByteArrayOutputStream(); var outputStream = new DataOutputStream(byteStream)) {
+            this.writeStringTable(outputStream);
+
+            outputStream.flush();
+            return byteStream.toByteArray();
         }
     }
 
@@ -120,22 +379,24 @@ public class EventTraceEncoder extends MonitoringEventVisitor {
     }
 
     private byte[] encodeLocationTable() throws IOException {
+        try (var byteStream = new ByteArrayOutputStream(); var outputStream = new DataOutputStream(byteStream)) {
+            this.writeLocationTable(outputStream);
+
+            outputStream.flush();
+            return byteStream.toByteArray();
+        }
+    }
+
+    private void writeLocationTable(DataOutputStream outputStream) throws IOException {
         // Sort the table entries by ID
         var entries = new ArrayList<LocationTableEntry>(this.locationToCode.size());
         this.locationToCode.forEach((location, code) -> entries.add(new LocationTableEntry(location, code)));
         entries.sort((entry1, entry2) -> Integer.compare(entry1.code(), entry2.code()));
 
-        try (var byteStream = new ByteArrayOutputStream(); var outputStream = new DataOutputStream(byteStream)) {
-
-            // Save the entries to the stream
-            outputStream.writeInt(entries.size());
-            for (var entry : entries) {
-                var location = entry.location();
-                this.encodeLocation(location, outputStream);
-            }
-
-            outputStream.flush();
-            return byteStream.toByteArray();
+        // Save the entries to the stream
+        outputStream.writeInt(entries.size());
+        for (var entry : entries) {
+            this.encodeLocation(entry.location(), outputStream);
         }
     }
 
@@ -144,7 +405,7 @@ public class EventTraceEncoder extends MonitoringEventVisitor {
 
         case ObservedLocation observed -> {
             outputStream.writeByte(Constants.LOCATION_TYPE_OBSERVED);
-            outputStream.writeInt(this.storeString(observed.hostname()));
+            this.writeString(observed.hostname(), outputStream);
             outputStream.writeInt(observed.processId());
             outputStream.writeLong(observed.threadId());
         }
@@ -159,14 +420,45 @@ public class EventTraceEncoder extends MonitoringEventVisitor {
 
     private void encodeTrace(EventTrace trace) {
         try {
-            this.dataStream.writeInt(trace.size());
+            // For compressed data, the offset is the start of the current frame, and the position within the frame is stored instead of the length
+            var traceOffset = this.countingStream.position();
+            var positionInFrame = (this.compressionStream != null) ? this.compressionStream.positionInFrame() : 0;
+
+            if (this.compactEncoding) {
+                // In the compact format, the trace ID is only stored once per trace, and timestamps are stored as deltas
+                this.currentTraceId = trace.traceId();
+                this.previousTimestamp = 0;
+
+                VarInts.writeUnsignedVarInt(trace.size(), this.dataStream);
+                VarInts.writeUnsignedVarLong(this.currentTraceId, this.dataStream);
+            } else {
+                this.dataStream.writeInt(trace.size());
+            }
 
             trace.forEach(this::handleMonitoringEvent);
+
+            var traceLength = (this.compressionStream != null) ? positionInFrame : (int) (this.countingStream.position() - traceOffset);
+            this.traceIndex.add(new TraceIndexEntry(trace.traceId(), traceOffset, traceLength, this.determineUseCaseNameCode(trace)));
         } catch (IOException e) {
             throw new EventTraceEncodingException("An error occurred while encoding a trace.", e);
         }
     }
 
+    private int determineUseCaseNameCode(EventTrace trace) {
+        if (this.format == EventTraceFormat.STANDARD) {
+            // The standard format has no index, so there is no need to determine the use case
+            return Constants.NO_STRING_INDEX;
+        }
+
+        for (var event : trace.events()) {
+            if (event instanceof UseCaseStartEvent useCaseStartEvent) {
+                return this.storeString(useCaseStartEvent.name());
+            }
+        }
+
+        return Constants.NO_STRING_INDEX;
+    }
+
     private <T extends MonitoringEvent> void encodeEvent(T event, EventEncodingOperation<T> encodingOperation) {
         try {
             encodingOperation.encodeEvent(event, this.dataStream);
@@ -177,9 +469,19 @@ public class EventTraceEncoder extends MonitoringEventVisitor {
 
     private void encodeCommonEventFields(MonitoringEvent event, byte eventTypeId, DataOutputStream stream) throws IOException {
         stream.writeByte(eventTypeId);
-        stream.writeLong(event.traceId());
-        stream.writeLong(event.timestamp());
-        stream.writeInt(this.storeLocation(event.location()));
+
+        if (this.compactEncoding) {
+            if (event.traceId() != this.currentTraceId) {
+                throw new IOException("Event '" + event + "' does not belong to trace " + this.currentTraceId + ".");
+            }
+
+            VarInts.writeSignedVarLong(event.timestamp() - this.previousTimestamp, stream);
+            this.previousTimestamp = event.timestamp();
+        } else {
+            stream.writeLong(event.traceId());
+            stream.writeLong(event.timestamp());
+        }
+        this.writeLocation(event.location(), stream);
     }
 
     @Override
@@ -190,7 +492,7 @@ public class EventTraceEncoder extends MonitoringEventVisitor {
     private void encodeUseCaseStartEvent(UseCaseStartEvent event, DataOutputStream stream) throws IOException {
         this.encodeCommonEventFields(event, Constants.EVENT_TYPE_USE_CASE_START, stream);
 
-        stream.writeInt(this.storeString(event.name()));
+        this.writeString(event.name(), stream);
     }
 
     @Override
@@ -201,7 +503,7 @@ public class EventTraceEncoder extends MonitoringEventVisitor {
     private void encodeUseCaseEndEvent(UseCaseEndEvent event, DataOutputStream stream) throws IOException {
         this.encodeCommonEventFields(event, Constants.EVENT_TYPE_USE_CASE_END, stream);
 
-        stream.writeInt(this.storeString(event.name()));
+        this.writeString(event.name(), stream);
     }
 
     @Override
@@ -210,12 +512,12 @@ public class EventTraceEncoder extends MonitoringEventVisitor {
     }
 
     private void encodeEntity(Entity entity, DataOutputStream stream) throws IOException {
-        stream.writeInt(this.storeString(entity.typeName()));
-        stream.writeInt(this.storeString(entity.id()));
+        this.writeString(entity.typeName(), stream);
+        this.writeString(entity.id(), stream);
         stream.writeBoolean(entity.hasRoot());
 
         if (entity.hasRoot()) {
-            stream.writeInt(this.storeString(entity.rootId()));
+            this.writeString(entity.rootId(), stream);
         }
     }
 
@@ -244,7 +546,7 @@ public class EventTraceEncoder extends MonitoringEventVisitor {
     private void encodeTransactionStartEvent(TransactionStartEvent event, DataOutputStream stream) throws IOException {
         this.encodeCommonEventFields(event, Constants.EVENT_TYPE_TRANSACTION_START, stream);
 
-        stream.writeInt(this.storeString(event.transactionId()));
+        this.writeString(event.transactionId(), stream);
     }
 
     @Override
@@ -255,7 +557,7 @@ public class EventTraceEncoder extends MonitoringEventVisitor {
     private void encodeTransactionCommitEvent(TransactionCommitEvent event, DataOutputStream stream) throws IOException {
         this.encodeCommonEventFields(event, Constants.EVENT_TYPE_TRANSACTION_COMMIT, stream);
 
-        stream.writeInt(this.storeString(event.transactionId()));
+        this.writeString(event.transactionId(), stream);
     }
 
     @Override
@@ -266,7 +568,7 @@ public class EventTraceEncoder extends MonitoringEventVisitor {
     private void encodeExplicitTransactionAbortEvent(ExplicitTransactionAbortEvent event, DataOutputStream stream) throws IOException {
         this.encodeCommonEventFields(event, Constants.EVENT_TYPE_EXPLICIT_TRANSACTION_ABORT, stream);
 
-        stream.writeInt(this.storeString(event.transactionId()));
+        this.writeString(event.transactionId(), stream);
     }
 
     @Override
@@ -277,8 +579,8 @@ public class EventTraceEncoder extends MonitoringEventVisitor {
     private void encodeImplicitTransactionAbortEvent(ImplicitTransactionAbortEvent event, DataOutputStream stream) throws IOException {
         this.encodeCommonEventFields(event, Constants.EVENT_TYPE_IMPLICIT_TRANSACTION_ABORT, stream);
 
-        stream.writeInt(this.storeString(event.transactionId()));
-        stream.writeInt(this.storeString(event.cause()));
+        this.writeString(event.transactionId(), stream);
+        this.writeString(event.cause(), stream);
     }
 
     @Override
@@ -289,7 +591,7 @@ public class EventTraceEncoder extends MonitoringEventVisitor {
     private void encodeServiceCandidateInvocationEvent(ServiceCandidateInvocationEvent event, DataOutputStream stream) throws IOException {
         this.encodeCommonEventFields(event, Constants.EVENT_TYPE_SERVICE_CANDIDATE_INVOCATION, stream);
 
-        stream.writeInt(this.storeString(event.name()));
+        this.writeString(event.name(), stream);
     }
 
     @Override
@@ -300,11 +602,11 @@ public class EventTraceEncoder extends MonitoringEventVisitor {
     private void encodeServiceCandidateEntryEvent(ServiceCandidateEntryEvent event, DataOutputStream stream) throws IOException {
         this.encodeCommonEventFields(event, Constants.EVENT_TYPE_SERVICE_CANDIDATE_ENTRY, stream);
 
-        stream.writeInt(this.storeString(event.name()));
+        this.writeString(event.name(), stream);
         stream.writeBoolean(event.transactionStarted());
 
         if (event.transactionStarted()) {
-            stream.writeInt(this.storeString(event.transactionId()));
+            this.writeString(event.transactionId(), stream);
         }
     }
 
@@ -316,7 +618,7 @@ public class EventTraceEncoder extends MonitoringEventVisitor {
     private void encodeServiceCandidateExitEvent(ServiceCandidateExitEvent event, DataOutputStream stream) throws IOException {
         this.encodeCommonEventFields(event, Constants.EVENT_TYPE_SERVICE_CANDIDATE_EXIT, stream);
 
-        stream.writeInt(this.storeString(event.name()));
+        this.writeString(event.name(), stream);
     }
 
     @Override
@@ -327,7 +629,7 @@ public class EventTraceEncoder extends MonitoringEventVisitor {
     private void encodeServiceCandidateReturnEvent(ServiceCandidateReturnEvent event, DataOutputStream stream) throws IOException {
         this.encodeCommonEventFields(event, Constants.EVENT_TYPE_SERVICE_CANDIDATE_RETURN, stream);
 
-        stream.writeInt(this.storeString(event.name()));
+        this.writeString(event.name(), stream);
     }
 
     static class EventTraceEncodingException extends RuntimeException {
@@ -346,6 +648,9 @@ public class EventTraceEncoder extends MonitoringEventVisitor {
     private record LocationTableEntry(Location location, int code) {
     }
 
+    private record TraceIndexEntry(long traceId, long offset, int lengthOrPositionInFrame, int useCaseNameCode) {
+    }
+
     private interface EventEncodingOperation<T extends MonitoringEvent> {
 
         void encodeEvent(T event, DataOutputStream outputStream) throws IOException;
@@ -0,0 +1,32 @@
+package gutta.prediction.event.codec;
+
+/**
+ * Enumeration of the storage formats supported by the {@link EventTraceEncoder}. All formats can be read by the {@link EventTraceDecoder}.
+ */
+public enum EventTraceFormat {
+
+    /**
+     * The original block format, consisting of the number of traces, the string table, the location table and the traces. Blocks in this format can only be
+     * read sequentially.
+     */
+    STANDARD,
+
+    /**
+     * Block format with a trace index and a footer at the end of the block, which allows to read individual traces by their ID, e.g., using an
+     * {@link IndexedEventTraceFile}.
+     */
+    INDEXED,
+
+    /**
+     * Indexed block format that is written in a single pass directly to the output, so that the memory required for encoding does not depend on the size of
+     * the block. Strings and locations are defined inline on their first use, and the complete tables are written after the traces.
+     */
+    STREAMING,
+
+    /**
+     * Streaming block format with a compact encoding of the traces. The trace ID is only stored once per trace, timestamps are stored as deltas to the
+     * previous event, and counts and references use variable-length integers.
+     */
+    COMPACT
+
+}
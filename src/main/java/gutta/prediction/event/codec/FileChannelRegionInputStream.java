@@ -0,0 +1,75 @@
+package gutta.prediction.event.codec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Input stream that reads a region of a file channel using positional reads. As the position of the channel is not modified, several streams may read
+ * from the same channel concurrently. Closing the stream does not close the channel.
+ */
+class FileChannelRegionInputStream extends InputStream {
+
+    private final FileChannel channel;
+
+    private final long end;
+
+    private long position;
+
+    /**
+     * Creates a new stream on the given region of the given channel.
+     * 
+     * @param channel The channel to read from
+     * @param start   The start position of the region
+     * @param length  The length of the region
+     */
+    public FileChannelRegionInputStream(FileChannel channel, long start, long length) {
+        this.channel = channel;
+        this.position = start;
+        this.end = start + length;
+    }
+
+    @Override
+    public int read() throws IOException {
+        var buffer = new byte[1];
+        var bytesRead = this.read(buffer, 0, 1);
+
+        return (bytesRead < 0) ? -1 : (buffer[0] & 0xFF);
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+
+        var remaining = this.end - this.position;
+        if (remaining <= 0) {
+            return -1;
+        }
+
+        var bytesToRead = (int) Math.min(length, remaining);
+        var bytesRead = this.channel.read(ByteBuffer.wrap(bytes, offset, bytesToRead), this.position);
+        if (bytesRead < 0) {
+            return -1;
+        }
+
+        this.position += bytesRead;
+        return bytesRead;
+    }
+
+    @Override
+    public long skip(long numberOfBytes) {
+        var bytesToSkip = Math.max(0, Math.min(numberOfBytes, this.end - this.position));
+        this.position += bytesToSkip;
+
+        return bytesToSkip;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, this.end - this.position);
+    }
+
+}
@@ -0,0 +1,34 @@
+package gutta.prediction.event.codec;
+
+import java.io.IOException;
+
+/**
+ * Interface for compressing and decompressing individual frames of a compressed block. Implementations may hold native resources, and must therefore be
+ * closed after use.
+ */
+interface FrameCodec extends AutoCloseable {
+
+    /**
+     * Compresses the given data.
+     * 
+     * @param data   The buffer containing the data to compress
+     * @param length The number of bytes to compress
+     * @return The compressed data
+     */
+    byte[] compress(byte[] data, int length);
+
+    /**
+     * Decompresses the given data into the given target buffer.
+     * 
+     * @param compressedData   The buffer containing the compressed data
+     * @param compressedLength The number of compressed bytes
+     * @param target           The buffer to decompress into
+     * @param targetLength     The expected number of uncompressed bytes
+     * @throws IOException If the data cannot be decompressed
+     */
+    void decompress(byte[] compressedData, int compressedLength, byte[] target, int targetLength) throws IOException;
+
+    @Override
+    void close();
+
+}
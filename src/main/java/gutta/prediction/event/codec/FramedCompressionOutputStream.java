@@ -0,0 +1,99 @@
+package gutta.prediction.event.codec;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Output stream that compresses the written data in frames of a fixed uncompressed size. Each frame consists of the uncompressed length, the compressed
+ * length, and the compressed data. The underlying stream is not closed when this stream is finished, so that further (uncompressed) data can be written.
+ */
+class FramedCompressionOutputStream extends OutputStream {
+
+    /**
+     * Uncompressed size of a frame in bytes.
+     */
+    static final int FRAME_SIZE = 65536;
+
+    private final DataOutputStream outputStream;
+
+    private final FrameCodec frameCodec;
+
+    private final byte[] frameBuffer = new byte[FRAME_SIZE];
+
+    private int bufferedBytes = 0;
+
+    /**
+     * Creates a new stream writing compressed frames to the given stream.
+     * 
+     * @param outputStream The stream to write the frames to
+     * @param codec        The compression codec to use
+     */
+    public FramedCompressionOutputStream(OutputStream outputStream, CompressionCodec codec) {
+        this.outputStream = new DataOutputStream(outputStream);
+        this.frameCodec = codec.createFrameCodec();
+    }
+
+    /**
+     * Returns the number of bytes in the current frame, i.e., the position within the current frame at which the next byte is written.
+     * 
+     * @return see above
+     */
+    public int positionInFrame() {
+        return this.bufferedBytes;
+    }
+
+    @Override
+    public void write(int value) throws IOException {
+        if (this.bufferedBytes == FRAME_SIZE) {
+            this.writeFrame();
+        }
+
+        this.frameBuffer[this.bufferedBytes++] = (byte) value;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        var currentOffset = offset;
+        var remainingLength = length;
+
+        while (remainingLength > 0) {
+            if (this.bufferedBytes == FRAME_SIZE) {
+                this.writeFrame();
+            }
+
+            var bytesToCopy = Math.min(remainingLength, FRAME_SIZE - this.bufferedBytes);
+            System.arraycopy(bytes, currentOffset, this.frameBuffer, this.bufferedBytes, bytesToCopy);
+
+            this.bufferedBytes += bytesToCopy;
+            currentOffset += bytesToCopy;
+            remainingLength -= bytesToCopy;
+        }
+    }
+
+    private void writeFrame() throws IOException {
+        var compressedData = this.frameCodec.compress(this.frameBuffer, this.bufferedBytes);
+
+        this.outputStream.writeInt(this.bufferedBytes);
+        this.outputStream.writeInt(compressedData.length);
+        this.outputStream.write(compressedData);
+
+        this.bufferedBytes = 0;
+    }
+
+    /**
+     * Writes the last (partial) frame and releases the resources of this stream. The underlying stream is not closed.
+     * 
+     * @throws IOException If an I/O error occurs while writing the frame
+     */
+    public void finish() throws IOException {
+        try {
+            if (this.bufferedBytes > 0) {
+                this.writeFrame();
+            }
+        } finally {
+            this.frameCodec.close();
+        }
+    }
+
+}
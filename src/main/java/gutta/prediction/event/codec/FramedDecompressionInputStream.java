@@ -0,0 +1,107 @@
+package gutta.prediction.event.codec;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream that decompresses the frames written by a {@link FramedCompressionOutputStream}. Frames are read from the underlying stream only when the
+ * data of the previous frame has been consumed, so that at most one frame is held in memory and no data beyond the frames is read from the underlying
+ * stream.
+ */
+class FramedDecompressionInputStream extends InputStream {
+
+    private final DataInputStream inputStream;
+
+    private final FrameCodec frameCodec;
+
+    private byte[] frameBuffer = new byte[FramedCompressionOutputStream.FRAME_SIZE];
+
+    private byte[] compressedBuffer = new byte[FramedCompressionOutputStream.FRAME_SIZE];
+
+    private int frameLength = 0;
+
+    private int positionInFrame = 0;
+
+    /**
+     * Creates a new stream reading compressed frames from the given stream.
+     * 
+     * @param inputStream The stream to read the frames from
+     * @param codec       The compression codec to use
+     */
+    public FramedDecompressionInputStream(InputStream inputStream, CompressionCodec codec) {
+        this.inputStream = (inputStream instanceof DataInputStream dataStream) ? dataStream : new DataInputStream(inputStream);
+        this.frameCodec = codec.createFrameCodec();
+    }
+
+    private boolean ensureData() throws IOException {
+        if (this.positionInFrame < this.frameLength) {
+            return true;
+        }
+
+        int uncompressedLength;
+        try {
+            uncompressedLength = this.inputStream.readInt();
+        } catch (EOFException e) {
+            return false;
+        }
+
+        var compressedLength = this.inputStream.readInt();
+
+        if (this.frameBuffer.length < uncompressedLength) {
+            this.frameBuffer = new byte[uncompressedLength];
+        }
+        if (this.compressedBuffer.length < compressedLength) {
+            this.compressedBuffer = new byte[compressedLength];
+        }
+
+        this.inputStream.readFully(this.compressedBuffer, 0, compressedLength);
+        this.frameCodec.decompress(this.compressedBuffer, compressedLength, this.frameBuffer, uncompressedLength);
+
+        this.frameLength = uncompressedLength;
+        this.positionInFrame = 0;
+
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!this.ensureData()) {
+            return -1;
+        }
+
+        return (this.frameBuffer[this.positionInFrame++] & 0xFF);
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+
+        if (!this.ensureData()) {
+            return -1;
+        }
+
+        var bytesToCopy = Math.min(length, this.frameLength - this.positionInFrame);
+        System.arraycopy(this.frameBuffer, this.positionInFrame, bytes, offset, bytesToCopy);
+        this.positionInFrame += bytesToCopy;
+
+        return bytesToCopy;
+    }
+
+    @Override
+    public int available() {
+        return (this.frameLength - this.positionInFrame);
+    }
+
+    /**
+     * Releases the resources of this stream. The underlying stream is not closed.
+     */
+    @Override
+    public void close() {
+        this.frameCodec.close();
+    }
+
+}
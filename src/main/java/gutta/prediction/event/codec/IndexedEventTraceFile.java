@@ -0,0 +1,398 @@
+package gutta.prediction.event.codec;
+
+import gutta.prediction.event.EventTrace;
+import gutta.prediction.event.codec.EventTraceDecoder.EventTraceDecodingException;
+import gutta.prediction.event.codec.EventTraceDecoder.LocationTable;
+import gutta.prediction.event.codec.EventTraceDecoder.StringTable;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static gutta.prediction.event.codec.Constants.FLAG_COMPRESSED;
+import static gutta.prediction.event.codec.Constants.FOOTER_SIZE;
+import static gutta.prediction.event.codec.Constants.INDEX_ENTRY_SIZE;
+import static gutta.prediction.event.codec.Constants.NO_STRING_INDEX;
+
+/**
+ * An {@link IndexedEventTraceFile} provides random access to the traces of a file in one of the indexed formats (see {@link EventTraceFormat}). The file is
+ * memory-mapped, and only the location tables are decoded when the file is opened. Strings are decoded on first use, and individual traces are decoded lazily
+ * when they are requested by their ID, which is looked up in the indexes by binary search. Files may consist of several blocks (e.g., if they were appended
+ * to or written by a {@link ShardedEventTraceWriter}), in which case each block has its own tables and index. If a trace ID occurs in several blocks, the
+ * trace from the first block is used. The methods of this class may be invoked concurrently.
+ */
+public class IndexedEventTraceFile implements AutoCloseable {
+
+    private final FileChannel channel;
+
+    private final ByteBuffer fileBuffer;
+
+    private final List<Block> blocks;
+
+    private final int numberOfTraces;
+
+    /**
+     * Opens the given trace file.
+     *
+     * @param path The path of the file to open
+     * @return The opened file
+     * @throws IOException If an I/O error occurs while opening the file
+     */
+    public static IndexedEventTraceFile open(Path path) throws IOException {
+        var channel = FileChannel.open(path, StandardOpenOption.READ);
+
+        try {
+            return new IndexedEventTraceFile(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private IndexedEventTraceFile(FileChannel channel) throws IOException {
+        this.channel = channel;
+
+        var fileSize = channel.size();
+        if (fileSize < FOOTER_SIZE) {
+            throw new EventTraceDecodingException("File is too small to contain a footer.");
+        }
+
+        // Map the entire file if possible, otherwise the required regions are mapped on demand
+        this.fileBuffer = (fileSize <= Integer.MAX_VALUE) ? channel.map(MapMode.READ_ONLY, 0, fileSize) : null;
+
+        // Locate the blocks by walking their footers backwards from the end of the file
+        var blockDirectory = BlockDirectory.read(channel);
+        if (!blockDirectory.versioned()) {
+            throw new EventTraceDecodingException("File contains a block without a footer (e.g., a legacy block), which cannot be accessed by trace ID.");
+        }
+
+        var blockLocations = blockDirectory.blocks();
+        var blocks = new ArrayList<Block>(blockLocations.size());
+        var numberOfTraces = 0;
+        for (var blockLocation : blockLocations) {
+            var block = this.openBlock(blockLocation.start(), blockLocation.start() + blockLocation.length());
+            blocks.add(block);
+            numberOfTraces += block.numberOfTraces;
+        }
+
+        this.blocks = blocks;
+        this.numberOfTraces = numberOfTraces;
+    }
+
+    private Block openBlock(long blockStart, long blockEnd) throws IOException {
+        // Read the footer to locate the tables and the index
+        var footerStart = blockEnd - FOOTER_SIZE;
+        var footerBuffer = this.mapRegion(footerStart, FOOTER_SIZE);
+        var tablesOffset = footerBuffer.getLong();
+        var indexOffset = footerBuffer.getLong();
+
+        var headerBuffer = this.mapRegion(blockStart, Integer.BYTES + 2);
+        var formatVersion = EventTraceDecoder.readFormatVersion(headerBuffer.getInt());
+        var flags = Byte.toUnsignedInt(headerBuffer.get());
+        var compressionCodec = ((flags & FLAG_COMPRESSED) != 0) ? CompressionCodec.forId(Byte.toUnsignedInt(headerBuffer.get())) : CompressionCodec.NONE;
+
+        // Map the string table without decoding the strings, which are only decoded when they are needed. The location table is decoded, as it is
+        // required for decoding any trace
+        var decoder = new EventTraceDecoder(formatVersion);
+        var tablesStart = blockStart + tablesOffset;
+        var indexStart = blockStart + indexOffset;
+        var tablesBuffer = this.mapRegion(tablesStart, indexStart - tablesStart);
+        var stringTable = StringTable.mapFrom(tablesBuffer);
+        var locationTable = decoder.readLocationTable(new DataInputStream(new ByteBufferInputStream(tablesBuffer)), stringTable);
+
+        // Map the index, which is only accessed with absolute positions
+        var indexBuffer = this.mapRegion(indexStart, footerStart - indexStart);
+
+        return new Block(blockStart, footerStart, formatVersion, compressionCodec, stringTable, locationTable, indexBuffer);
+    }
+
+    private ByteBuffer mapRegion(long position, long size) throws IOException {
+        if (this.fileBuffer != null) {
+            return this.fileBuffer.slice((int) position, (int) size);
+        } else {
+            return this.channel.map(MapMode.READ_ONLY, position, size);
+        }
+    }
+
+    /**
+     * Returns the number of traces in this file.
+     *
+     * @return see above
+     */
+    public int numberOfTraces() {
+        return this.numberOfTraces;
+    }
+
+    /**
+     * Returns the IDs of the traces in this file in ascending order.
+     *
+     * @return see above
+     */
+    public LongStream traceIds() {
+        return this.sortedAcrossBlocks(this.blocks.stream().flatMapToLong(Block::traceIds));
+    }
+
+    /**
+     * Returns the IDs of the traces of the given use case in ascending order.
+     *
+     * @param useCaseName The name of the desired use case
+     * @return see above
+     */
+    public LongStream traceIdsOfUseCase(String useCaseName) {
+        return this.sortedAcrossBlocks(this.blocks.stream().flatMapToLong(block -> block.traceIdsOfUseCase(useCaseName)));
+    }
+
+    private LongStream sortedAcrossBlocks(LongStream traceIds) {
+        // The IDs are only sorted within each block
+        return (this.blocks.size() > 1) ? traceIds.sorted() : traceIds;
+    }
+
+    /**
+     * Determines whether this file contains a trace with the given ID.
+     *
+     * @param traceId The ID of the desired trace
+     * @return {@code True} if a trace with the given ID exists, {@code false} otherwise
+     */
+    public boolean containsTrace(long traceId) {
+        return (this.findEntry(traceId) != null);
+    }
+
+    /**
+     * Returns the use case name of the trace with the given ID, as recorded in the index.
+     *
+     * @param traceId The ID of the desired trace
+     * @return The use case name, if the trace exists and has a use case
+     */
+    public Optional<String> useCaseNameOf(long traceId) {
+        var entry = this.findEntry(traceId);
+        return (entry != null) ? Optional.ofNullable(entry.block().useCaseNameAt(entry.entryIndex())) : Optional.empty();
+    }
+
+    /**
+     * Reads the trace with the given ID from this file.
+     *
+     * @param traceId The ID of the desired trace
+     * @return The decoded trace, if it exists
+     * @throws IOException If an I/O error occurs while reading the trace
+     */
+    public Optional<EventTrace> readTrace(long traceId) throws IOException {
+        var entry = this.findEntry(traceId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        // Use a separate decoder for each trace, so that traces can be read concurrently
+        var block = entry.block();
+        var decoder = new EventTraceDecoder(block.formatVersion);
+
+        try (var traceStream = this.openTraceStream(block, entry.entryIndex())) {
+            return Optional.of(decoder.decodeTrace(traceStream, block.stringTable, block.locationTable));
+        }
+    }
+
+    private DataInputStream openTraceStream(Block block, int entryIndex) throws IOException {
+        var entryPosition = entryPosition(entryIndex);
+        var traceOffset = block.indexBuffer.getLong(entryPosition + 8);
+        var traceLengthOrPositionInFrame = block.indexBuffer.getInt(entryPosition + 16);
+
+        if (block.compressionCodec == CompressionCodec.NONE) {
+            var traceBuffer = this.mapRegion(block.blockStart + traceOffset, traceLengthOrPositionInFrame);
+            return new DataInputStream(new ByteBufferInputStream(traceBuffer));
+        }
+
+        // For compressed blocks, decompress the frames starting at the frame in which the trace starts
+        var framesStart = block.blockStart + traceOffset;
+        var framesBuffer = this.mapRegion(framesStart, Math.min(Integer.MAX_VALUE, block.footerStart - framesStart));
+
+        var traceStream = new DataInputStream(new FramedDecompressionInputStream(new ByteBufferInputStream(framesBuffer), block.compressionCodec));
+        traceStream.skipNBytes(traceLengthOrPositionInFrame);
+        return traceStream;
+    }
+
+    /**
+     * Returns the IDs of the traces that read or write the given entity in ascending order. The type name and ID of the entity are compared on the raw
+     * bytes of the string tables, and the traces are scanned by string index, so that neither the events nor the strings of the traces are decoded.
+     *
+     * @param entityTypeName The type name of the desired entity
+     * @param entityId       The ID of the desired entity
+     * @return see above
+     * @throws IOException If an I/O error occurs while scanning the traces
+     */
+    public LongStream traceIdsAccessingEntity(String entityTypeName, String entityId) throws IOException {
+        var traceIds = LongStream.builder();
+
+        for (var block : this.blocks) {
+            var typeNameIndex = block.stringTable.indexOf(entityTypeName);
+            var entityIdIndex = block.stringTable.indexOf(entityId);
+            if (typeNameIndex == NO_STRING_INDEX || entityIdIndex == NO_STRING_INDEX) {
+                // If the strings do not occur in the block, no trace of the block can access the entity
+                continue;
+            }
+
+            var decoder = new EventTraceDecoder(block.formatVersion);
+            for (var entryIndex = 0; entryIndex < block.numberOfTraces; entryIndex++) {
+                try (var traceStream = this.openTraceStream(block, entryIndex)) {
+                    if (decoder.traceAccessesEntity(traceStream, typeNameIndex, entityIdIndex)) {
+                        traceIds.add(block.traceIdAt(entryIndex));
+                    }
+                }
+            }
+        }
+
+        return this.sortedAcrossBlocks(traceIds.build());
+    }
+
+    /**
+     * Maps the trace with the given ID from this file without decoding its events onto the heap. The events of the returned trace are decoded from the
+     * mapped file whenever they are accessed, so that traces that exceed the heap can be processed. The returned trace remains valid after this file is
+     * closed. Traces in compressed blocks cannot be mapped and are decoded as with {@link #readTrace(long)}.
+     *
+     * @param traceId The ID of the desired trace
+     * @return The mapped trace, if it exists
+     * @throws IOException If an I/O error occurs while mapping the trace
+     */
+    public Optional<EventTrace> mapTrace(long traceId) throws IOException {
+        var entry = this.findEntry(traceId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        var block = entry.block();
+        if (block.compressionCodec != CompressionCodec.NONE) {
+            return this.readTrace(traceId);
+        }
+
+        var entryPosition = entryPosition(entry.entryIndex());
+        var traceOffset = block.indexBuffer.getLong(entryPosition + 8);
+        var traceLength = block.indexBuffer.getInt(entryPosition + 16);
+
+        var traceBuffer = this.mapRegion(block.blockStart + traceOffset, traceLength);
+        return Optional.of(MappedEventTrace.map(traceBuffer, block.formatVersion, block.stringTable, block.locationTable));
+    }
+
+    private static int entryPosition(int entryIndex) {
+        return Integer.BYTES + (entryIndex * INDEX_ENTRY_SIZE);
+    }
+
+    private IndexEntry findEntry(long traceId) {
+        // Search the blocks in the order of the file, so that the first occurrence of a trace ID is found
+        for (var block : this.blocks) {
+            var entryIndex = block.findEntry(traceId);
+            if (entryIndex >= 0) {
+                return new IndexEntry(block, entryIndex);
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * The data of a block that is required to access its traces.
+     */
+    private static class Block {
+
+        private final long blockStart;
+
+        private final long footerStart;
+
+        private final int formatVersion;
+
+        private final CompressionCodec compressionCodec;
+
+        private final StringTable stringTable;
+
+        private final LocationTable locationTable;
+
+        private final ByteBuffer indexBuffer;
+
+        private final int numberOfTraces;
+
+        public Block(long blockStart, long footerStart, int formatVersion, CompressionCodec compressionCodec, StringTable stringTable,
+                LocationTable locationTable, ByteBuffer indexBuffer) {
+
+            this.blockStart = blockStart;
+            this.footerStart = footerStart;
+            this.formatVersion = formatVersion;
+            this.compressionCodec = compressionCodec;
+            this.stringTable = stringTable;
+            this.locationTable = locationTable;
+            this.indexBuffer = indexBuffer;
+            this.numberOfTraces = indexBuffer.getInt(0);
+        }
+
+        public LongStream traceIds() {
+            return IntStream.range(0, this.numberOfTraces).mapToLong(this::traceIdAt);
+        }
+
+        public LongStream traceIdsOfUseCase(String useCaseName) {
+            // Look up the index of the use case name on the raw strings, so that the names of the other traces need not be decoded
+            var useCaseNameIndex = (useCaseName == null) ? NO_STRING_INDEX : this.stringTable.indexOf(useCaseName);
+            if (useCaseName != null && useCaseNameIndex == NO_STRING_INDEX) {
+                return LongStream.empty();
+            }
+
+            return IntStream.range(0, this.numberOfTraces) //
+                    .filter(entryIndex -> this.useCaseNameIndexAt(entryIndex) == useCaseNameIndex) //
+                    .mapToLong(this::traceIdAt);
+        }
+
+        private long traceIdAt(int entryIndex) {
+            return this.indexBuffer.getLong(entryPosition(entryIndex));
+        }
+
+        private int useCaseNameIndexAt(int entryIndex) {
+            return this.indexBuffer.getInt(entryPosition(entryIndex) + 20);
+        }
+
+        public String useCaseNameAt(int entryIndex) {
+            var useCaseNameIndex = this.useCaseNameIndexAt(entryIndex);
+            return (useCaseNameIndex == NO_STRING_INDEX) ? null : this.stringTable.getEntry(useCaseNameIndex);
+        }
+
+        public int findEntry(long traceId) {
+            // Binary search on the index, which is sorted by trace ID
+            var low = 0;
+            var high = this.numberOfTraces - 1;
+
+            while (low <= high) {
+                var middle = (low + high) >>> 1;
+                var middleTraceId = this.traceIdAt(middle);
+
+                if (middleTraceId < traceId) {
+                    low = middle + 1;
+                } else if (middleTraceId > traceId) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+
+            return -1;
+        }
+
+    }
+
+    /**
+     * Location of a trace in the index of a block.
+     * 
+     * @param block      The block containing the trace
+     * @param entryIndex The index of the trace's entry in the block index
+     */
+    private record IndexEntry(Block block, int entryIndex) {
+    }
+
+}
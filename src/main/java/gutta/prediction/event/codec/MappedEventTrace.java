@@ -0,0 +1,238 @@
+package gutta.prediction.event.codec;
+
+import gutta.prediction.event.EventTrace;
+import gutta.prediction.event.MonitoringEvent;
+import gutta.prediction.event.codec.EventTraceDecoder.EventTraceDecodingException;
+import gutta.prediction.event.codec.EventTraceDecoder.LocationTable;
+import gutta.prediction.event.codec.EventTraceDecoder.StringTable;
+import gutta.prediction.util.EqualityUtil;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * A {@link MappedEventTrace} is an event trace whose events remain in their encoded form in a (typically memory-mapped) buffer outside the heap. Events
+ * are decoded whenever they are accessed. To support efficient random access, the trace records the position of every 64th event, and sequential access
+ * continues from the most recently decoded event. Each trace uses a single decoder for all accesses, so the events of a mapped trace must not be accessed
+ * concurrently. Mapped traces are obtained from an {@link IndexedEventTraceFile}.
+ * <p>
+ * Mapped traces are equal if they have the same encoded events in the same block, so that they can be used as keys without decoding their events. As with
+ * other subclasses of {@link EventTrace}, they are never equal to traces of a different type.
+ */
+public class MappedEventTrace extends EventTrace {
+
+    private static final int CHECKPOINT_INTERVAL = 64;
+
+    private final long traceId;
+
+    private final EncodedEvents encodedEvents;
+
+    /**
+     * Creates a mapped trace on the encoded trace in the given buffer.
+     *
+     * @param traceBuffer   The buffer containing the encoded trace, starting at position 0
+     * @param formatVersion The format version of the encoded trace
+     * @param stringTable   The string table of the block containing the trace
+     * @param locationTable The location table of the block containing the trace
+     * @return The mapped trace
+     * @throws IOException If the trace cannot be decoded
+     */
+    static MappedEventTrace map(ByteBuffer traceBuffer, int formatVersion, StringTable stringTable, LocationTable locationTable) throws IOException {
+        var encodedEvents = EncodedEvents.scan(traceBuffer, formatVersion, stringTable, locationTable);
+        return new MappedEventTrace(encodedEvents);
+    }
+
+    private MappedEventTrace(EncodedEvents encodedEvents) {
+        super(new EventView(encodedEvents));
+
+        this.traceId = encodedEvents.traceId;
+        this.encodedEvents = encodedEvents;
+    }
+
+    @Override
+    public int size() {
+        return this.encodedEvents.size;
+    }
+
+    @Override
+    public long traceId() {
+        return this.traceId;
+    }
+
+    @Override
+    public boolean storesEventObjects() {
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.traceId, this.encodedEvents.size);
+    }
+
+    @Override
+    public boolean equals(Object that) {
+        return EqualityUtil.equals(this, that, this::equalsInternal);
+    }
+
+    private boolean equalsInternal(MappedEventTrace that) {
+        if (this.traceId != that.traceId || this.encodedEvents.size != that.encodedEvents.size) {
+            return false;
+        }
+
+        // Strings and locations are encoded as references to the tables of the block, so traces from different blocks cannot be compared on the raw bytes
+        var theseEvents = this.encodedEvents;
+        var thoseEvents = that.encodedEvents;
+        if (theseEvents.stringTable != thoseEvents.stringTable || theseEvents.locationTable != thoseEvents.locationTable) {
+            return false;
+        }
+
+        return theseEvents.traceBuffer.equals(thoseEvents.traceBuffer);
+    }
+
+    /**
+     * The encoded events of a trace along with the information required to decode them.
+     */
+    private static class EncodedEvents {
+
+        private final ByteBuffer traceBuffer;
+
+        private final StringTable stringTable;
+
+        private final LocationTable locationTable;
+
+        private final int size;
+
+        private final long traceId;
+
+        private final int[] checkpointPositions;
+
+        private final long[] checkpointTimestamps;
+
+        // Decoding state, which is reused for all accesses
+        private final ByteBuffer buffer;
+
+        private final DataInputStream stream;
+
+        private final EventTraceDecoder decoder;
+
+        private int lastIndex = -1;
+
+        private MonitoringEvent lastEvent;
+
+        private EncodedEvents(ByteBuffer traceBuffer, int formatVersion, StringTable stringTable, LocationTable locationTable, int size, long traceId,
+                int[] checkpointPositions, long[] checkpointTimestamps) {
+            this.traceBuffer = traceBuffer;
+            this.stringTable = stringTable;
+            this.locationTable = locationTable;
+            this.size = size;
+            this.traceId = traceId;
+            this.checkpointPositions = checkpointPositions;
+            this.checkpointTimestamps = checkpointTimestamps;
+
+            this.buffer = traceBuffer.duplicate();
+            this.stream = new DataInputStream(new ByteBufferInputStream(this.buffer));
+            this.decoder = new EventTraceDecoder(formatVersion);
+        }
+
+        public static EncodedEvents scan(ByteBuffer traceBuffer, int formatVersion, StringTable stringTable, LocationTable locationTable)
+                throws IOException {
+            var buffer = traceBuffer.duplicate().position(0);
+            var stream = new DataInputStream(new ByteBufferInputStream(buffer));
+            var decoder = new EventTraceDecoder(formatVersion);
+
+            var size = decoder.readTraceHeader(stream);
+            var numberOfCheckpoints = (size + CHECKPOINT_INTERVAL - 1) / CHECKPOINT_INTERVAL;
+            var checkpointPositions = new int[numberOfCheckpoints];
+            var checkpointTimestamps = new long[numberOfCheckpoints];
+
+            // Skip all events once to record the checkpoints and the trace ID without creating the events
+            var traceId = decoder.currentTraceId();
+            var previousTimestamp = 0L;
+            for (var eventIndex = 0; eventIndex < size; eventIndex++) {
+                if ((eventIndex % CHECKPOINT_INTERVAL) == 0) {
+                    checkpointPositions[eventIndex / CHECKPOINT_INTERVAL] = buffer.position();
+                    checkpointTimestamps[eventIndex / CHECKPOINT_INTERVAL] = previousTimestamp;
+                }
+
+                previousTimestamp = decoder.skipEvent(stream);
+
+                if (eventIndex == 0) {
+                    traceId = decoder.currentTraceId();
+                }
+            }
+
+            return new EncodedEvents(traceBuffer, formatVersion, stringTable, locationTable, size, traceId, checkpointPositions, checkpointTimestamps);
+        }
+
+        public MonitoringEvent eventAt(int index) {
+            if (index == this.lastIndex) {
+                return this.lastEvent;
+            }
+
+            // Continue from the last decoded event if possible, otherwise start from the closest checkpoint
+            var checkpointIndex = index / CHECKPOINT_INTERVAL;
+            var currentIndex = this.lastIndex + 1;
+
+            if (this.lastIndex < 0 || this.lastIndex > index || this.lastIndex < (checkpointIndex * CHECKPOINT_INTERVAL)) {
+                currentIndex = checkpointIndex * CHECKPOINT_INTERVAL;
+                this.buffer.position(this.checkpointPositions[checkpointIndex]);
+                this.decoder.resumeTrace(this.traceId, this.checkpointTimestamps[checkpointIndex]);
+            }
+
+            try {
+                MonitoringEvent event;
+                do {
+                    if ((currentIndex % CHECKPOINT_INTERVAL) == 0) {
+                        // Only deduplicate entities between checkpoints, so that the decoder does not retain the entities of the entire trace
+                        this.decoder.clearKnownEntities();
+                    }
+
+                    event = this.decoder.decodeEvent(this.stream, this.stringTable, this.locationTable);
+                    currentIndex++;
+                } while (currentIndex <= index);
+
+                this.lastIndex = index;
+                this.lastEvent = event;
+                return event;
+            } catch (IOException e) {
+                // Make sure that decoding restarts from a checkpoint on the next access
+                this.lastIndex = -1;
+                this.lastEvent = null;
+                throw new EventTraceDecodingException("Error decoding event " + index + ".", e);
+            }
+        }
+
+    }
+
+    /**
+     * List view on the encoded events, which decodes the events on access.
+     */
+    private static class EventView extends AbstractList<MonitoringEvent> implements RandomAccess {
+
+        private final EncodedEvents encodedEvents;
+
+        public EventView(EncodedEvents encodedEvents) {
+            this.encodedEvents = encodedEvents;
+        }
+
+        @Override
+        public MonitoringEvent get(int index) {
+            if (index < 0 || index >= this.encodedEvents.size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+
+            return this.encodedEvents.eventAt(index);
+        }
+
+        @Override
+        public int size() {
+            return this.encodedEvents.size;
+        }
+
+    }
+
+}
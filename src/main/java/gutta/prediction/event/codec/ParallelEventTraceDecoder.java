@@ -0,0 +1,230 @@
+package gutta.prediction.event.codec;
+
+import gutta.prediction.event.EventTrace;
+import gutta.prediction.event.codec.BlockDirectory.BlockLocation;
+import gutta.prediction.event.codec.EventTraceDecoder.EventTraceDecodingException;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link ParallelEventTraceDecoder} decodes the blocks of a trace file concurrently. The blocks are located using the footers of the versioned blocks,
+ * and each block is decoded independently by an {@link EventTraceDecoder}. The traces are returned in the order in which they appear in the file. Files
+ * whose blocks cannot be located (e.g., legacy files) are decoded sequentially.
+ */
+public class ParallelEventTraceDecoder {
+
+    private static final int DEFAULT_MAX_BLOCKS_IN_FLIGHT = Runtime.getRuntime().availableProcessors();
+
+    private final Supplier<ExecutorService> executorServiceSupplier;
+
+    private final boolean shutdownExecutorService;
+
+    private final int maxBlocksInFlight;
+
+    /**
+     * Creates a new decoder that decodes the blocks in virtual threads.
+     */
+    public ParallelEventTraceDecoder() {
+        this(Executors::newVirtualThreadPerTaskExecutor, true, DEFAULT_MAX_BLOCKS_IN_FLIGHT);
+    }
+
+    /**
+     * Creates a new decoder that decodes the blocks using the given executor service. The executor service is not shut down by the decoder.
+     * 
+     * @param executorService   The executor service to use
+     * @param maxBlocksInFlight The maximal number of blocks that are decoded ahead when streaming traces
+     */
+    public ParallelEventTraceDecoder(ExecutorService executorService, int maxBlocksInFlight) {
+        this(() -> executorService, false, maxBlocksInFlight);
+        requireNonNull(executorService);
+    }
+
+    private ParallelEventTraceDecoder(Supplier<ExecutorService> executorServiceSupplier, boolean shutdownExecutorService, int maxBlocksInFlight) {
+        if (maxBlocksInFlight < 1) {
+            throw new IllegalArgumentException("The number of blocks in flight must be positive.");
+        }
+
+        this.executorServiceSupplier = executorServiceSupplier;
+        this.shutdownExecutorService = shutdownExecutorService;
+        this.maxBlocksInFlight = maxBlocksInFlight;
+    }
+
+    /**
+     * Decodes all traces from the given file, decoding all blocks concurrently.
+     * 
+     * @param path The path of the file to decode
+     * @return The decoded traces in the order of the file
+     * @throws IOException If an I/O error occurs while decoding the traces
+     */
+    public List<EventTrace> decodeTraces(Path path) throws IOException {
+        var executorService = this.executorServiceSupplier.get();
+
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var blocks = BlockDirectory.read(channel).blocks();
+
+            // Schedule all blocks for decoding
+            var futures = new ArrayList<Future<Collection<EventTrace>>>(blocks.size());
+            for (var block : blocks) {
+                futures.add(executorService.submit(() -> decodeBlock(channel, block)));
+            }
+
+            // Collect the results in block order
+            var traces = new ArrayList<EventTrace>();
+            for (var future : futures) {
+                traces.addAll(awaitBlock(future));
+            }
+
+            return traces;
+        } finally {
+            this.shutdownIfNecessary(executorService);
+        }
+    }
+
+    /**
+     * Decodes the traces from the given file as a stream. Blocks are decoded concurrently ahead of the consumer, but at most the configured number of
+     * blocks is held in memory at any time. The returned stream must be closed after use.
+     * 
+     * @param path The path of the file to decode
+     * @return A sequential stream of the decoded traces in the order of the file
+     * @throws IOException If an I/O error occurs while reading the block directory
+     */
+    public Stream<EventTrace> streamTraces(Path path) throws IOException {
+        var executorService = this.executorServiceSupplier.get();
+        var channel = FileChannel.open(path, StandardOpenOption.READ);
+
+        try {
+            var blocks = BlockDirectory.read(channel).blocks();
+            var iterator = new BlockTraceIterator(channel, blocks, executorService);
+            var spliterator = Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+
+            return StreamSupport.stream(spliterator, false).onClose(() -> this.closeStream(iterator, channel, executorService));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            this.shutdownIfNecessary(executorService);
+            throw e;
+        }
+    }
+
+    private static Collection<EventTrace> decodeBlock(FileChannel channel, BlockLocation block) throws IOException {
+        var inputStream = new FileChannelRegionInputStream(channel, block.start(), block.length());
+        return new EventTraceDecoder().decodeTraces(inputStream);
+    }
+
+    private static Collection<EventTrace> awaitBlock(Future<Collection<EventTrace>> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EventTraceDecodingException("Unexpected interrupt while waiting for a block to be decoded.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+
+            throw new EventTraceDecodingException("Error while decoding a block.", e.getCause());
+        }
+    }
+
+    private void closeStream(BlockTraceIterator iterator, FileChannel channel, ExecutorService executorService) {
+        try {
+            iterator.cancelPendingBlocks();
+            channel.close();
+        } catch (IOException e) {
+            throw new EventTraceDecodingException("Error closing the file.", e);
+        } finally {
+            this.shutdownIfNecessary(executorService);
+        }
+    }
+
+    private void shutdownIfNecessary(ExecutorService executorService) {
+        if (this.shutdownExecutorService) {
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * Iterator over the traces of a sequence of blocks, which schedules the decoding of the blocks ahead of the consumer.
+     */
+    private class BlockTraceIterator implements Iterator<EventTrace> {
+
+        private final FileChannel channel;
+
+        private final Iterator<BlockLocation> blocks;
+
+        private final ExecutorService executorService;
+
+        private final Deque<Future<Collection<EventTrace>>> pendingBlocks = new ArrayDeque<>();
+
+        private Iterator<EventTrace> currentTraces = List.<EventTrace>of().iterator();
+
+        public BlockTraceIterator(FileChannel channel, List<BlockLocation> blocks, ExecutorService executorService) {
+            this.channel = channel;
+            this.blocks = blocks.iterator();
+            this.executorService = executorService;
+        }
+
+        private void scheduleBlocks() {
+            while (this.pendingBlocks.size() < maxBlocksInFlight && this.blocks.hasNext()) {
+                var block = this.blocks.next();
+                this.pendingBlocks.add(this.executorService.submit(() -> decodeBlock(this.channel, block)));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!this.currentTraces.hasNext()) {
+                this.scheduleBlocks();
+
+                var nextBlock = this.pendingBlocks.poll();
+                if (nextBlock == null) {
+                    return false;
+                }
+
+                try {
+                    this.currentTraces = awaitBlock(nextBlock).iterator();
+                } catch (IOException e) {
+                    throw new EventTraceDecodingException("Error while decoding a block.", e);
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        public EventTrace next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return this.currentTraces.next();
+        }
+
+        public void cancelPendingBlocks() {
+            this.pendingBlocks.forEach(future -> future.cancel(true));
+            this.pendingBlocks.clear();
+        }
+
+    }
+
+}
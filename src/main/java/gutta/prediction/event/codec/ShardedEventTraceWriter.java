@@ -0,0 +1,263 @@
+package gutta.prediction.event.codec;
+
+import gutta.prediction.event.EventTrace;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link ShardedEventTraceWriter} writes traces from multiple producer threads to a trace file. The traces are collected in shards, which are selected
+ * by the producing thread to avoid contention. As soon as a shard contains the configured number of traces, it is encoded as a separate block by an
+ * {@link EventTraceEncoder} in a virtual thread and appended to the file. Each block is encoded into a temporary file next to the target file, which is
+ * then transferred to the target file, so that blocks need not be held in memory and only the transfer needs to be synchronized. The number of traces that
+ * have been accepted, but not yet written, is bounded, i.e., producers are blocked until enough traces have been written. The order of the traces in the
+ * resulting file is therefore not specified, but all traces can be accessed by their ID using an {@link IndexedEventTraceFile} if an indexed format is
+ * used.
+ */
+public class ShardedEventTraceWriter implements AutoCloseable {
+
+    private static final int DEFAULT_TRACES_PER_BLOCK = 1000;
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private static final int DEFAULT_NUMBER_OF_SHARDS = Runtime.getRuntime().availableProcessors();
+
+    private final FileChannel channel;
+
+    private final Path temporaryDirectory;
+
+    private final EventTraceFormat format;
+
+    private final CompressionCodec compressionCodec;
+
+    private final int tracesPerBlock;
+
+    private final Semaphore permits;
+
+    private final Shard[] shards;
+
+    private final ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final List<Throwable> errors = new ArrayList<>();
+
+    private volatile boolean failed = false;
+
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a new writer for the given file using the compact format and default limits.
+     *
+     * @param path The path of the file to write
+     * @throws IOException If an I/O error occurs while opening the file
+     */
+    public ShardedEventTraceWriter(Path path) throws IOException {
+        this(path, EventTraceFormat.COMPACT, CompressionCodec.NONE, DEFAULT_TRACES_PER_BLOCK, DEFAULT_NUMBER_OF_SHARDS,
+                2 * DEFAULT_NUMBER_OF_SHARDS * DEFAULT_TRACES_PER_BLOCK);
+    }
+
+    /**
+     * Creates a new writer for the given file.
+     *
+     * @param path              The path of the file to write. An existing file is overwritten.
+     * @param format            The format of the blocks to write
+     * @param compressionCodec  The compression codec to use for the blocks
+     * @param tracesPerBlock    The maximal number of traces per block
+     * @param numberOfShards    The number of shards to distribute the producers over
+     * @param maxTracesInFlight The maximal number of traces that are accepted, but not yet written. This number must be at least the number of shards times
+     *                          the number of traces per block, as otherwise, producers may be blocked indefinitely.
+     * @throws IOException If an I/O error occurs while opening the file
+     */
+    public ShardedEventTraceWriter(Path path, EventTraceFormat format, CompressionCodec compressionCodec, int tracesPerBlock, int numberOfShards,
+            int maxTracesInFlight) throws IOException {
+        if (tracesPerBlock < 1 || numberOfShards < 1) {
+            throw new IllegalArgumentException("The number of traces per block and the number of shards must be positive.");
+        }
+        if (maxTracesInFlight < ((long) numberOfShards * tracesPerBlock)) {
+            throw new IllegalArgumentException("The number of traces in flight must allow each shard to fill a block.");
+        }
+
+        // Validate the format and codec before opening the file
+        new EventTraceEncoder(format, compressionCodec);
+
+        this.format = format;
+        this.compressionCodec = compressionCodec;
+        this.tracesPerBlock = tracesPerBlock;
+        this.permits = new Semaphore(maxTracesInFlight);
+
+        this.shards = new Shard[numberOfShards];
+        for (var shardIndex = 0; shardIndex < numberOfShards; shardIndex++) {
+            this.shards[shardIndex] = new Shard();
+        }
+
+        this.temporaryDirectory = requireNonNull(path).toAbsolutePath().getParent();
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Writes the given trace. This method may be invoked concurrently, and blocks if the maximal number of traces in flight is reached.
+     *
+     * @param trace The trace to write
+     * @throws IOException If an error occurred while writing a previous block, if the writer has been closed, or if the thread is interrupted while waiting
+     */
+    public void write(EventTrace trace) throws IOException {
+        requireNonNull(trace);
+        this.throwIfClosed();
+        this.throwIfFailed();
+
+        try {
+            // Wait until enough traces have been written
+            this.permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for traces to be written.");
+        }
+
+        var shardIndex = (int) (Thread.currentThread().threadId() % this.shards.length);
+        try {
+            this.shards[shardIndex].add(trace);
+        } catch (IOException | RuntimeException e) {
+            this.permits.release();
+            throw e;
+        }
+    }
+
+    private void throwIfClosed() throws IOException {
+        if (this.closed) {
+            throw new IOException("The writer has already been closed.");
+        }
+    }
+
+    private void submitBlock(List<EventTrace> traces) {
+        this.executorService.execute(() -> this.writeBlock(traces));
+    }
+
+    private void writeBlock(List<EventTrace> traces) {
+        try {
+            if (this.failed) {
+                return;
+            }
+
+            // Encode the block into a temporary file, so that only the transfer to the target file needs to be synchronized
+            var temporaryFile = Files.createTempFile(this.temporaryDirectory, "block", ".tmp");
+            try (var blockChannel = FileChannel.open(temporaryFile, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE)) {
+                var blockStream = new BufferedOutputStream(Channels.newOutputStream(blockChannel), BUFFER_SIZE);
+                new EventTraceEncoder(this.format, this.compressionCodec).encodeTraces(traces, blockStream);
+                this.transferBlock(blockChannel);
+            }
+        } catch (Throwable e) {
+            this.recordError(e);
+        } finally {
+            this.permits.release(traces.size());
+        }
+    }
+
+    private void transferBlock(FileChannel blockChannel) throws IOException {
+        var blockSize = blockChannel.size();
+
+        synchronized (this.channel) {
+            var position = 0L;
+            while (position < blockSize) {
+                position += blockChannel.transferTo(position, blockSize - position, this.channel);
+            }
+        }
+    }
+
+    private synchronized void recordError(Throwable error) {
+        this.errors.add(error);
+        this.failed = true;
+    }
+
+    private synchronized void throwIfFailed() throws IOException {
+        var errorsIterator = this.errors.iterator();
+
+        if (errorsIterator.hasNext()) {
+            // Report the first error as the cause, and add the remaining errors as suppressed
+            var exception = new IOException("Error while writing traces.", errorsIterator.next());
+            errorsIterator.forEachRemaining(exception::addSuppressed);
+
+            throw exception;
+        }
+    }
+
+    /**
+     * Writes the remaining traces, waits until all blocks have been written and closes the file.
+     *
+     * @throws IOException If an error occurred while writing the traces
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+
+            this.closed = true;
+        }
+
+        try {
+            // Write the partially filled shards. As the shards are closed in the process, no further blocks are submitted afterwards, so that the executor
+            // service can wait for all blocks to be written
+            for (var shard : this.shards) {
+                shard.close();
+            }
+
+            this.executorService.close();
+            this.throwIfFailed();
+        } finally {
+            this.channel.close();
+        }
+    }
+
+    /**
+     * A shard collects the traces of a subset of the producers until a block is full. Full blocks are submitted while holding the lock of the shard, so that
+     * no block can be submitted after the shard has been closed.
+     */
+    private class Shard {
+
+        private List<EventTrace> traces = new ArrayList<>();
+
+        private boolean closed = false;
+
+        public synchronized void add(EventTrace trace) throws IOException {
+            if (this.closed) {
+                throw new IOException("The writer has already been closed.");
+            }
+
+            this.traces.add(trace);
+
+            if (this.traces.size() >= ShardedEventTraceWriter.this.tracesPerBlock) {
+                this.submitTraces();
+            }
+        }
+
+        public synchronized void close() {
+            this.closed = true;
+
+            if (!this.traces.isEmpty()) {
+                this.submitTraces();
+            }
+        }
+
+        private void submitTraces() {
+            var fullBlock = this.traces;
+            this.traces = new ArrayList<>();
+
+            ShardedEventTraceWriter.this.submitBlock(fullBlock);
+        }
+
+    }
+
+}
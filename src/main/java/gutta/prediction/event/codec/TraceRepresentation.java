@@ -0,0 +1,21 @@
+package gutta.prediction.event.codec;
+
+import gutta.prediction.event.ColumnarEventTrace;
+
+/**
+ * This enumeration lists the representations in which the {@link EventTraceDecoder} can create the decoded traces.
+ */
+public enum TraceRepresentation {
+
+    /**
+     * Denotes that the decoded traces store an object for each event.
+     */
+    EVENT_OBJECTS,
+
+    /**
+     * Denotes that the decoded traces are {@linkplain ColumnarEventTrace columnar traces}, which store the events in primitive arrays and require
+     * considerably less heap for large traces.
+     */
+    COLUMNAR
+
+}
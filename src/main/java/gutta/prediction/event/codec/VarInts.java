@@ -0,0 +1,124 @@
+package gutta.prediction.event.codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Utility functions for variable-length integers in LEB128 encoding, as used by the compact storage format. Each byte holds seven bits of the value, and
+ * the most significant bit denotes whether further bytes follow. Signed values are zigzag-encoded, so that small negative values are short as well.
+ */
+class VarInts {
+
+    private static final int PAYLOAD_MASK = 0x7F;
+
+    private static final int CONTINUATION_BIT = 0x80;
+
+    private VarInts() {
+        // Utility class
+    }
+
+    /**
+     * Writes the given value as an unsigned variable-length integer.
+     * 
+     * @param value  The value to write
+     * @param output The output to write to
+     * @throws IOException If an I/O error occurs
+     */
+    public static void writeUnsignedVarInt(int value, DataOutput output) throws IOException {
+        var remainingValue = value;
+
+        while ((remainingValue & ~PAYLOAD_MASK) != 0) {
+            output.writeByte((remainingValue & PAYLOAD_MASK) | CONTINUATION_BIT);
+            remainingValue >>>= 7;
+        }
+
+        output.writeByte(remainingValue);
+    }
+
+    /**
+     * Writes the given value as an unsigned variable-length long.
+     * 
+     * @param value  The value to write
+     * @param output The output to write to
+     * @throws IOException If an I/O error occurs
+     */
+    public static void writeUnsignedVarLong(long value, DataOutput output) throws IOException {
+        var remainingValue = value;
+
+        while ((remainingValue & ~PAYLOAD_MASK) != 0) {
+            output.writeByte((int) ((remainingValue & PAYLOAD_MASK) | CONTINUATION_BIT));
+            remainingValue >>>= 7;
+        }
+
+        output.writeByte((int) remainingValue);
+    }
+
+    /**
+     * Writes the given value as a zigzag-encoded variable-length long.
+     * 
+     * @param value  The value to write
+     * @param output The output to write to
+     * @throws IOException If an I/O error occurs
+     */
+    public static void writeSignedVarLong(long value, DataOutput output) throws IOException {
+        writeUnsignedVarLong((value << 1) ^ (value >> 63), output);
+    }
+
+    /**
+     * Reads an unsigned variable-length integer.
+     * 
+     * @param input The input to read from
+     * @return The value read
+     * @throws IOException If an I/O error occurs
+     */
+    public static int readUnsignedVarInt(DataInput input) throws IOException {
+        var value = 0;
+
+        for (var shift = 0; shift < 32; shift += 7) {
+            var currentByte = input.readUnsignedByte();
+            value |= (currentByte & PAYLOAD_MASK) << shift;
+
+            if ((currentByte & CONTINUATION_BIT) == 0) {
+                return value;
+            }
+        }
+
+        throw new EventTraceDecoder.EventTraceDecodingException("Malformed variable-length integer.");
+    }
+
+    /**
+     * Reads an unsigned variable-length long.
+     * 
+     * @param input The input to read from
+     * @return The value read
+     * @throws IOException If an I/O error occurs
+     */
+    public static long readUnsignedVarLong(DataInput input) throws IOException {
+        var value = 0L;
+
+        for (var shift = 0; shift < 64; shift += 7) {
+            var currentByte = input.readUnsignedByte();
+            value |= (long) (currentByte & PAYLOAD_MASK) << shift;
+
+            if ((currentByte & CONTINUATION_BIT) == 0) {
+                return value;
+            }
+        }
+
+        throw new EventTraceDecoder.EventTraceDecodingException("Malformed variable-length long.");
+    }
+
+    /**
+     * Reads a zigzag-encoded variable-length long.
+     * 
+     * @param input The input to read from
+     * @return The value read
+     * @throws IOException If an I/O error occurs
+     */
+    public static long readSignedVarLong(DataInput input) throws IOException {
+        var encodedValue = readUnsignedVarLong(input);
+        return (encodedValue >>> 1) ^ -(encodedValue & 1);
+    }
+
+}
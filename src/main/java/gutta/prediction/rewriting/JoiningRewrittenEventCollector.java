@@ -1,27 +1,24 @@
 package gutta.prediction.rewriting;
 
-import gutta.prediction.event.MonitoringEvent;
-
-import java.util.function.Function;
-
 /**
  * Specific {@link RewrittenEventCollector} that joins the rewritten element map with an existing one.
  * This is collector is used if a trace is rewritten multiple times.
  */
 class JoiningRewrittenEventCollector extends RewrittenEventCollector {
 
-    private final Function<MonitoringEvent, MonitoringEvent> existingEventMap;
+    private final RewrittenEventTrace existingTrace;
     
-    public JoiningRewrittenEventCollector(int expectedSize, Function<MonitoringEvent, MonitoringEvent> existingEventMap) {
-        super(expectedSize);
+    public JoiningRewrittenEventCollector(RewrittenEventTrace existingTrace) {
+        super(existingTrace, existingTrace.eventList());
         
-        this.existingEventMap = existingEventMap;
+        this.existingTrace = existingTrace;
     }
     
     @Override
-    public void addRewrittenEvent(MonitoringEvent rewrittenEvent, MonitoringEvent originalEvent) {
-        var actualOriginalEvent = this.existingEventMap.apply(originalEvent);
-        this.addEventAndCorrespondence(rewrittenEvent, actualOriginalEvent);        
+    public RewrittenEventTrace createTrace() {
+        // Since the rewritten events correspond to the events of the existing trace at the same position, the existing map can be reused
+        var rewrittenEvents = this.rewrittenEvents();
+        return new RewrittenEventTrace(rewrittenEvents, this.existingTrace.originalEvents(), this.existingTrace.storesEventObjects());
     }
 
 }
@@ -40,7 +40,7 @@ public class OverheadRewriter implements TraceRewriter {
         return new OverheadRewriterWorker().rewriteTrace(trace, this.deploymentModel);
     }
 
-    private static class OverheadRewriterWorker extends TraceRewriterWorker {
+    static class OverheadRewriterWorker extends TraceRewriterWorker {
 
         private long timeOffset;
 
@@ -49,32 +49,37 @@ public class OverheadRewriter implements TraceRewriter {
             this.timeOffset = 0;
         }
 
-        private long adjustTimestamp(long originalTimestamp) {
+        protected long timeOffset() {
+            return this.timeOffset;
+        }
+
+        protected long adjustTimestamp(long originalTimestamp) {
             return (originalTimestamp + this.timeOffset);
         }
 
-        private boolean requiresRewrite(MonitoringEvent event, TraceSimulationContext context) {
-            return (this.timeOffset != 0) || !(context.currentLocation().equals(event.location()));
+        private boolean requiresNewEvent(MonitoringEvent event, TraceSimulationContext context) {
+            // Events at an unchanged location are only shifted by the current time offset, so that no new event needs to be stored
+            return !(context.currentLocation().equals(event.location()));
         }
 
         @Override
         public void onUseCaseStartEvent(UseCaseStartEvent event, TraceSimulationContext context) {
-            if (this.requiresRewrite(event, context)) {
+            if (this.requiresNewEvent(event, context)) {
                 var rewrittenEvent = new UseCaseStartEvent(event.traceId(), this.adjustTimestamp(event.timestamp()), context.currentLocation(), event.name());
                 this.addRewrittenEvent(rewrittenEvent, event);
             } else {
-                this.addRewrittenEvent(event, event);
+                this.addShiftedEvent(event, this.timeOffset);
             }
         }
 
         @Override
         public void onServiceCandidateInvocationEvent(ServiceCandidateInvocationEvent event, TraceSimulationContext context) {
-            if (this.requiresRewrite(event, context)) {
+            if (this.requiresNewEvent(event, context)) {
                 var rewrittenEvent = new ServiceCandidateInvocationEvent(event.traceId(), this.adjustTimestamp(event.timestamp()), context.currentLocation(),
                         event.name());
                 this.addRewrittenEvent(rewrittenEvent, event);
             } else {
-                this.addRewrittenEvent(event, event);
+                this.addShiftedEvent(event, this.timeOffset);
             }
         }
 
@@ -86,23 +91,23 @@ public class OverheadRewriter implements TraceRewriter {
 
         @Override
         public void onServiceCandidateEntryEvent(ServiceCandidateEntryEvent event, TraceSimulationContext context) {
-            if (this.requiresRewrite(event, context)) {
+            if (this.requiresNewEvent(event, context)) {
                 var rewrittenEvent = new ServiceCandidateEntryEvent(event.traceId(), this.adjustTimestamp(event.timestamp()), context.currentLocation(),
                         event.name(), event.transactionStarted(), event.transactionId());
                 this.addRewrittenEvent(rewrittenEvent, event);
             } else {
-                this.addRewrittenEvent(event, event);
+                this.addShiftedEvent(event, this.timeOffset);
             }
         }
 
         @Override
         public void onServiceCandidateExitEvent(ServiceCandidateExitEvent event, TraceSimulationContext context) {
-            if (this.requiresRewrite(event, context)) {
+            if (this.requiresNewEvent(event, context)) {
                 var rewrittenEvent = new ServiceCandidateExitEvent(event.traceId(), this.adjustTimestamp(event.timestamp()), context.currentLocation(),
                         event.name());
                 this.addRewrittenEvent(rewrittenEvent, event);
             } else {
-                this.addRewrittenEvent(event, event);
+                this.addShiftedEvent(event, this.timeOffset);
             }
         }
 
@@ -124,86 +129,86 @@ public class OverheadRewriter implements TraceRewriter {
 
         @Override
         public void onServiceCandidateReturnEvent(ServiceCandidateReturnEvent event, TraceSimulationContext context) {
-            if (this.requiresRewrite(event, context)) {
+            if (this.requiresNewEvent(event, context)) {
                 var rewrittenEvent = new ServiceCandidateReturnEvent(event.traceId(), this.adjustTimestamp(event.timestamp()), context.currentLocation(),
                         event.name());
                 this.addRewrittenEvent(rewrittenEvent, event);
             } else {
-                this.addRewrittenEvent(event, event);
+                this.addShiftedEvent(event, this.timeOffset);
             }
         }
 
         @Override
         public void onTransactionStartEvent(TransactionStartEvent event, TraceSimulationContext context) {
-            if (this.requiresRewrite(event, context)) {
+            if (this.requiresNewEvent(event, context)) {
                 var rewrittenEvent = new TransactionStartEvent(event.traceId(), this.adjustTimestamp(event.timestamp()), context.currentLocation(),
                         event.transactionId());
                 this.addRewrittenEvent(rewrittenEvent, event);
             } else {
-                this.addRewrittenEvent(event, event);
+                this.addShiftedEvent(event, this.timeOffset);
             }
         }
 
         @Override
         public void onImplicitTransactionAbortEvent(ImplicitTransactionAbortEvent event, TraceSimulationContext context) {
-            if (this.requiresRewrite(event, context)) {
+            if (this.requiresNewEvent(event, context)) {
                 var rewrittenEvent = new ImplicitTransactionAbortEvent(event.traceId(), this.adjustTimestamp(event.timestamp()), context.currentLocation(),
                         event.transactionId(), event.cause());
                 this.addRewrittenEvent(rewrittenEvent, event);
             } else {
-                this.addRewrittenEvent(event, event);
+                this.addShiftedEvent(event, this.timeOffset);
             }
         }
 
         @Override
         public void onExplicitTransactionAbortEvent(ExplicitTransactionAbortEvent event, TraceSimulationContext context) {
-            if (this.requiresRewrite(event, context)) {
+            if (this.requiresNewEvent(event, context)) {
                 var rewrittenEvent = new ExplicitTransactionAbortEvent(event.traceId(), this.adjustTimestamp(event.timestamp()), context.currentLocation(),
                         event.transactionId());
                 this.addRewrittenEvent(rewrittenEvent, event);
             } else {
-                this.addRewrittenEvent(event, event);
+                this.addShiftedEvent(event, this.timeOffset);
             }
         }
 
         @Override
         public void onTransactionCommitEvent(TransactionCommitEvent event, TraceSimulationContext context) {
-            if (this.requiresRewrite(event, context)) {
+            if (this.requiresNewEvent(event, context)) {
                 var rewrittenEvent = new TransactionCommitEvent(event.traceId(), this.adjustTimestamp(event.timestamp()), context.currentLocation(),
                         event.transactionId());
                 this.addRewrittenEvent(rewrittenEvent, event);
             } else {
-                this.addRewrittenEvent(event, event);
+                this.addShiftedEvent(event, this.timeOffset);
             }
         }
 
         @Override
         public void onEntityReadEvent(EntityReadEvent event, TraceSimulationContext context) {
-            if (this.requiresRewrite(event, context)) {
+            if (this.requiresNewEvent(event, context)) {
                 var rewrittenEvent = new EntityReadEvent(event.traceId(), this.adjustTimestamp(event.timestamp()), context.currentLocation(), event.entity());
                 this.addRewrittenEvent(rewrittenEvent, event);
             } else {
-                this.addRewrittenEvent(event, event);
+                this.addShiftedEvent(event, this.timeOffset);
             }
         }
 
         @Override
         public void onEntityWriteEvent(EntityWriteEvent event, TraceSimulationContext context) {
-            if (this.requiresRewrite(event, context)) {
+            if (this.requiresNewEvent(event, context)) {
                 var rewrittenEvent = new EntityWriteEvent(event.traceId(), this.adjustTimestamp(event.timestamp()), context.currentLocation(), event.entity());
                 this.addRewrittenEvent(rewrittenEvent, event);
             } else {
-                this.addRewrittenEvent(event, event);
+                this.addShiftedEvent(event, this.timeOffset);
             }
         }
 
         @Override
         public void onUseCaseEndEvent(UseCaseEndEvent event, TraceSimulationContext context) {
-            if (this.requiresRewrite(event, context)) {
+            if (this.requiresNewEvent(event, context)) {
                 var rewrittenEvent = new UseCaseEndEvent(event.traceId(), this.adjustTimestamp(event.timestamp()), context.currentLocation(), event.name());
                 this.addRewrittenEvent(rewrittenEvent, event);
             } else {
-                this.addRewrittenEvent(event, event);
+                this.addShiftedEvent(event, this.timeOffset);
             }
         }
 
@@ -0,0 +1,294 @@
+package gutta.prediction.rewriting;
+
+import gutta.prediction.event.EntityReadEvent;
+import gutta.prediction.event.EntityWriteEvent;
+import gutta.prediction.event.ExplicitTransactionAbortEvent;
+import gutta.prediction.event.ImplicitTransactionAbortEvent;
+import gutta.prediction.event.MonitoringEvent;
+import gutta.prediction.event.ServiceCandidateEntryEvent;
+import gutta.prediction.event.ServiceCandidateExitEvent;
+import gutta.prediction.event.ServiceCandidateInvocationEvent;
+import gutta.prediction.event.ServiceCandidateReturnEvent;
+import gutta.prediction.event.TransactionCommitEvent;
+import gutta.prediction.event.TransactionStartEvent;
+import gutta.prediction.event.UseCaseEndEvent;
+import gutta.prediction.event.UseCaseStartEvent;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * An {@link OverlayEventList} is an unmodifiable list of events that is derived from a base list by two kinds of changes: The events at a (typically small)
+ * set of positions are replaced by other events, and runs of consecutive events are shifted in time by a constant offset. Shifted events are created on
+ * access, so that the memory required for the list is proportional to the number of replacements and runs rather than the length of the list. As a
+ * consequence, shifted events are not identical on repeated access.
+ */
+class OverlayEventList extends AbstractList<MonitoringEvent> implements RandomAccess {
+
+    // If more than one in this many events is a replacement or starts a run, a plain list is more efficient
+    private static final int MAX_CHANGED_FRACTION = 4;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final List<MonitoringEvent> baseEvents;
+
+    private final int[] replacedPositions;
+
+    private final MonitoringEvent[] replacingEvents;
+
+    private final int[] runStartPositions;
+
+    private final long[] runTimeOffsets;
+
+    private OverlayEventList(List<MonitoringEvent> baseEvents, int[] replacedPositions, MonitoringEvent[] replacingEvents, int[] runStartPositions,
+            long[] runTimeOffsets) {
+
+        this.baseEvents = baseEvents;
+        this.replacedPositions = replacedPositions;
+        this.replacingEvents = replacingEvents;
+        this.runStartPositions = runStartPositions;
+        this.runTimeOffsets = runTimeOffsets;
+    }
+
+    private static long timeOffsetAt(int position, int[] runStartPositions, long[] runTimeOffsets, int numberOfRuns) {
+        // Find the last run starting at or before the given position
+        var runIndex = Arrays.binarySearch(runStartPositions, 0, numberOfRuns, position);
+        if (runIndex < 0) {
+            runIndex = -runIndex - 2;
+        }
+
+        return (runIndex >= 0) ? runTimeOffsets[runIndex] : 0;
+    }
+
+    private static MonitoringEvent shiftEvent(MonitoringEvent event, long timeOffset) {
+        if (timeOffset == 0) {
+            return event;
+        }
+
+        var timestamp = event.timestamp() + timeOffset;
+
+        return switch (event) {
+        case EntityReadEvent readEvent -> new EntityReadEvent(readEvent.traceId(), timestamp, readEvent.location(), readEvent.entity());
+        case EntityWriteEvent writeEvent -> new EntityWriteEvent(writeEvent.traceId(), timestamp, writeEvent.location(), writeEvent.entity());
+        case ExplicitTransactionAbortEvent abortEvent -> new ExplicitTransactionAbortEvent(abortEvent.traceId(), timestamp, abortEvent.location(),
+                abortEvent.transactionId());
+        case ImplicitTransactionAbortEvent abortEvent -> new ImplicitTransactionAbortEvent(abortEvent.traceId(), timestamp, abortEvent.location(),
+                abortEvent.transactionId(), abortEvent.cause());
+        case ServiceCandidateEntryEvent entryEvent -> new ServiceCandidateEntryEvent(entryEvent.traceId(), timestamp, entryEvent.location(), entryEvent.name(),
+                entryEvent.transactionStarted(), entryEvent.transactionId());
+        case ServiceCandidateExitEvent exitEvent -> new ServiceCandidateExitEvent(exitEvent.traceId(), timestamp, exitEvent.location(), exitEvent.name());
+        case ServiceCandidateInvocationEvent invocationEvent -> new ServiceCandidateInvocationEvent(invocationEvent.traceId(), timestamp,
+                invocationEvent.location(), invocationEvent.name());
+        case ServiceCandidateReturnEvent returnEvent -> new ServiceCandidateReturnEvent(returnEvent.traceId(), timestamp, returnEvent.location(),
+                returnEvent.name());
+        case TransactionCommitEvent commitEvent -> new TransactionCommitEvent(commitEvent.traceId(), timestamp, commitEvent.location(),
+                commitEvent.transactionId());
+        case TransactionStartEvent startEvent -> new TransactionStartEvent(startEvent.traceId(), timestamp, startEvent.location(), startEvent.transactionId());
+        case UseCaseEndEvent endEvent -> new UseCaseEndEvent(endEvent.traceId(), timestamp, endEvent.location(), endEvent.name());
+        case UseCaseStartEvent startEvent -> new UseCaseStartEvent(startEvent.traceId(), timestamp, startEvent.location(), startEvent.name());
+        };
+    }
+
+    /**
+     * Returns the number of replaced events in this list.
+     *
+     * @return see above
+     */
+    public int numberOfReplacements() {
+        return this.replacedPositions.length;
+    }
+
+    /**
+     * Returns the number of runs of events with a common time offset in this list.
+     *
+     * @return see above
+     */
+    public int numberOfRuns() {
+        return this.runStartPositions.length;
+    }
+
+    /**
+     * Denotes whether this list contains shifted events, which are created on access.
+     *
+     * @return see above
+     */
+    public boolean containsShiftedEvents() {
+        // The first run always has a non-zero offset
+        return (this.runStartPositions.length > 0);
+    }
+
+    @Override
+    public MonitoringEvent get(int index) {
+        var replacementIndex = Arrays.binarySearch(this.replacedPositions, index);
+        if (replacementIndex >= 0) {
+            return this.replacingEvents[replacementIndex];
+        }
+
+        var timeOffset = timeOffsetAt(index, this.runStartPositions, this.runTimeOffsets, this.runStartPositions.length);
+        return shiftEvent(this.baseEvents.get(index), timeOffset);
+    }
+
+    @Override
+    public int size() {
+        return this.baseEvents.size();
+    }
+
+    /**
+     * Builder for overlay event lists. Changes must be added in ascending order of their positions.
+     */
+    static class Builder {
+
+        private final List<MonitoringEvent> baseEvents;
+
+        private int[] replacedPositions = new int[INITIAL_CAPACITY];
+
+        private MonitoringEvent[] replacingEvents = new MonitoringEvent[INITIAL_CAPACITY];
+
+        private int numberOfReplacements = 0;
+
+        private int[] runStartPositions = new int[INITIAL_CAPACITY];
+
+        private long[] runTimeOffsets = new long[INITIAL_CAPACITY];
+
+        private int numberOfRuns = 0;
+
+        /**
+         * Creates a new builder for an overlay of the given base list.
+         *
+         * @param baseEvents The base list
+         */
+        public Builder(List<MonitoringEvent> baseEvents) {
+            this.baseEvents = baseEvents;
+        }
+
+        /**
+         * Replaces the event at the given position.
+         *
+         * @param position The position of the replaced event
+         * @param event    The replacing event
+         * @return This builder
+         */
+        public Builder replaceEvent(int position, MonitoringEvent event) {
+            if (this.numberOfReplacements == this.replacedPositions.length) {
+                var newCapacity = 2 * this.numberOfReplacements;
+                this.replacedPositions = Arrays.copyOf(this.replacedPositions, newCapacity);
+                this.replacingEvents = Arrays.copyOf(this.replacingEvents, newCapacity);
+            }
+
+            this.replacedPositions[this.numberOfReplacements] = position;
+            this.replacingEvents[this.numberOfReplacements] = event;
+            this.numberOfReplacements++;
+            return this;
+        }
+
+        /**
+         * Shifts the events from the given position onwards by the given time offset, up to the next position at which a time offset is set.
+         *
+         * @param startPosition The position of the first event to shift
+         * @param timeOffset    The time offset to apply
+         * @return This builder
+         */
+        public Builder shiftEvents(int startPosition, long timeOffset) {
+            if (this.numberOfRuns > 0 && this.runStartPositions[this.numberOfRuns - 1] == startPosition) {
+                // Replace the offset of a run that starts at the same position
+                this.numberOfRuns--;
+            }
+
+            var currentOffset = (this.numberOfRuns > 0) ? this.runTimeOffsets[this.numberOfRuns - 1] : 0;
+            if (timeOffset == currentOffset) {
+                // No need to start a new run
+                return this;
+            }
+
+            if (this.numberOfRuns == this.runStartPositions.length) {
+                var newCapacity = 2 * this.numberOfRuns;
+                this.runStartPositions = Arrays.copyOf(this.runStartPositions, newCapacity);
+                this.runTimeOffsets = Arrays.copyOf(this.runTimeOffsets, newCapacity);
+            }
+
+            this.runStartPositions[this.numberOfRuns] = startPosition;
+            this.runTimeOffsets[this.numberOfRuns] = timeOffset;
+            this.numberOfRuns++;
+            return this;
+        }
+
+        /**
+         * Builds the list. If the base list is an overlay itself, the changes are merged with the changes of the base list, so that overlays are never
+         * stacked.
+         *
+         * @return The resulting list, which is a plain list if a large fraction of the events is changed
+         */
+        public List<MonitoringEvent> build() {
+            if (this.baseEvents instanceof OverlayEventList baseOverlay) {
+                return this.mergeWith(baseOverlay).build();
+            }
+
+            var overlay = new OverlayEventList(this.baseEvents, Arrays.copyOf(this.replacedPositions, this.numberOfReplacements),
+                    Arrays.copyOf(this.replacingEvents, this.numberOfReplacements), Arrays.copyOf(this.runStartPositions, this.numberOfRuns),
+                    Arrays.copyOf(this.runTimeOffsets, this.numberOfRuns));
+
+            if ((long) (this.numberOfReplacements + this.numberOfRuns) * MAX_CHANGED_FRACTION > this.baseEvents.size()) {
+                // If a large part of the events is changed, copy the events into a plain list
+                return new ArrayList<>(overlay);
+            }
+
+            return overlay;
+        }
+
+        private Builder mergeWith(OverlayEventList baseOverlay) {
+            var merged = new Builder(baseOverlay.baseEvents);
+
+            // The time offsets of both lists add up, so a merged run starts wherever a run of either list starts
+            var baseRunIndex = 0;
+            var newRunIndex = 0;
+            var baseNumberOfRuns = baseOverlay.runStartPositions.length;
+
+            while (baseRunIndex < baseNumberOfRuns || newRunIndex < this.numberOfRuns) {
+                var basePosition = (baseRunIndex < baseNumberOfRuns) ? baseOverlay.runStartPositions[baseRunIndex] : Integer.MAX_VALUE;
+                var newPosition = (newRunIndex < this.numberOfRuns) ? this.runStartPositions[newRunIndex] : Integer.MAX_VALUE;
+                var position = Math.min(basePosition, newPosition);
+
+                var baseOffset = timeOffsetAt(position, baseOverlay.runStartPositions, baseOverlay.runTimeOffsets, baseNumberOfRuns);
+                var newOffset = timeOffsetAt(position, this.runStartPositions, this.runTimeOffsets, this.numberOfRuns);
+                merged.shiftEvents(position, baseOffset + newOffset);
+
+                if (basePosition == position) {
+                    baseRunIndex++;
+                }
+                if (newPosition == position) {
+                    newRunIndex++;
+                }
+            }
+
+            // New replacements take precedence, and existing replacements are shifted by the new offset
+            var baseReplacementIndex = 0;
+            var newReplacementIndex = 0;
+            var baseNumberOfReplacements = baseOverlay.replacedPositions.length;
+
+            while (baseReplacementIndex < baseNumberOfReplacements || newReplacementIndex < this.numberOfReplacements) {
+                var basePosition = (baseReplacementIndex < baseNumberOfReplacements) ? baseOverlay.replacedPositions[baseReplacementIndex] : Integer.MAX_VALUE;
+                var newPosition = (newReplacementIndex < this.numberOfReplacements) ? this.replacedPositions[newReplacementIndex] : Integer.MAX_VALUE;
+
+                if (newPosition <= basePosition) {
+                    merged.replaceEvent(newPosition, this.replacingEvents[newReplacementIndex]);
+                    newReplacementIndex++;
+
+                    if (newPosition == basePosition) {
+                        baseReplacementIndex++;
+                    }
+                } else {
+                    var newOffset = timeOffsetAt(basePosition, this.runStartPositions, this.runTimeOffsets, this.numberOfRuns);
+                    merged.replaceEvent(basePosition, shiftEvent(baseOverlay.replacingEvents[baseReplacementIndex], newOffset));
+                    baseReplacementIndex++;
+                }
+            }
+
+            return merged;
+        }
+
+    }
+
+}
@@ -1,35 +1,71 @@
 package gutta.prediction.rewriting;
 
+import gutta.prediction.event.EventTrace;
 import gutta.prediction.event.MonitoringEvent;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
- * Supertype for objects that collect the rewritten events during the rewriting process.
+ * Supertype for objects that collect the rewritten events during the rewriting process. As rewriting does not add or remove events, each rewritten event
+ * corresponds to the input event at the same position. Only the events that differ from the input events are recorded, so that the unchanged events can be
+ * shared with the input trace. Events that are merely shifted in time are recorded as runs with a common time offset, so that they need not be stored either.
  */
 abstract class RewrittenEventCollector {
 
-    private final List<MonitoringEvent> rewrittenEvents;
-    
-    private final Map<MonitoringEvent, MonitoringEvent> eventCorrespondence;
-    
-    protected RewrittenEventCollector(int expectedSize) {
-        this.rewrittenEvents = new ArrayList<>(expectedSize);
-        this.eventCorrespondence = new HashMap<>(expectedSize);
+    private final EventTrace inputTrace;
+
+    private final List<MonitoringEvent> inputEvents;
+
+    private final OverlayEventList.Builder rewrittenEventsBuilder;
+
+    private int numberOfEvents = 0;
+
+    protected RewrittenEventCollector(EventTrace inputTrace, List<MonitoringEvent> inputEvents) {
+        this.inputTrace = inputTrace;
+        this.inputEvents = inputEvents;
+        this.rewrittenEventsBuilder = new OverlayEventList.Builder(inputEvents);
+    }
+
+    public void addRewrittenEvent(MonitoringEvent rewrittenEvent, MonitoringEvent originalEvent) {
+        var position = this.nextPosition(originalEvent);
+
+        if (rewrittenEvent == originalEvent) {
+            // Unchanged events end a run of shifted events
+            this.rewrittenEventsBuilder.shiftEvents(position, 0);
+        } else {
+            this.rewrittenEventsBuilder.replaceEvent(position, rewrittenEvent);
+        }
+    }
+
+    public void addShiftedEvent(MonitoringEvent originalEvent, long timeOffset) {
+        var position = this.nextPosition(originalEvent);
+        this.rewrittenEventsBuilder.shiftEvents(position, timeOffset);
     }
-    
-    public abstract void addRewrittenEvent(MonitoringEvent rewrittenEvent, MonitoringEvent originalEvent);
-    
-    protected void addEventAndCorrespondence(MonitoringEvent rewrittenEvent, MonitoringEvent originalEvent) {
-        this.rewrittenEvents.add(rewrittenEvent);
-        this.eventCorrespondence.put(rewrittenEvent, originalEvent);        
+
+    private int nextPosition(MonitoringEvent originalEvent) {
+        var position = this.numberOfEvents;
+
+        // Make sure that the correspondence is positional. Event objects are only compared if the trace stores them, as they are created on access otherwise
+        if (this.inputTrace.storesEventObjects() && (position >= this.inputTrace.size() || this.inputTrace.events().get(position) != originalEvent)) {
+            throw new TraceRewriteException(originalEvent, "Event does not correspond to the input event at position " + position + ".");
+        }
+
+        this.numberOfEvents++;
+        return position;
     }
-    
-    public RewrittenEventTrace createTrace() {
-        return new RewrittenEventTrace(this.rewrittenEvents, this.eventCorrespondence);
+
+    protected EventTrace inputTrace() {
+        return this.inputTrace;
     }
-    
+
+    protected List<MonitoringEvent> rewrittenEvents() {
+        if (this.numberOfEvents != this.inputEvents.size()) {
+            throw new IllegalStateException("Expected " + this.inputEvents.size() + " rewritten events, but got " + this.numberOfEvents + ".");
+        }
+
+        return this.rewrittenEventsBuilder.build();
+    }
+
+    public abstract RewrittenEventTrace createTrace();
+
 }
@@ -3,39 +3,168 @@ package gutta.prediction.rewriting;
 import gutta.prediction.event.EventTrace;
 import gutta.prediction.event.MonitoringEvent;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 /**
  * A {@link RewrittenEventTrace} is a special event trace that contains an event map in addition to the actual events. This allows to map a rewritten event to
- * its original event.
+ * its original event. As rewriting does not add or remove events, the map is positional, i.e., it maps the index of a rewritten event to the index of the
+ * corresponding original event. Rewritten traces created by rewriters share the unchanged events with the original trace.
  */
 public class RewrittenEventTrace extends EventTrace {
 
-    private final Map<MonitoringEvent, MonitoringEvent> eventMap;
+    private final List<MonitoringEvent> eventList;
+
+    private final List<MonitoringEvent> originalEvents;
+
+    private final boolean sortedByTimestamp;
+
+    private final boolean storesEventObjects;
 
     /**
      * Creates a new rewritten event trace from the given data.
-     * 
+     *
      * @param events   The events in the trace
      * @param eventMap The map of the events in the trace to the original events prior to rewriting
+     * @deprecated Mapping the events requires hashing them, and equal events at different positions cannot be distinguished. Use
+     *             {@link #RewrittenEventTrace(List, List)} instead.
      */
+    @Deprecated
     public RewrittenEventTrace(List<MonitoringEvent> events, Map<MonitoringEvent, MonitoringEvent> eventMap) {
+        this(events, mapEvents(events, eventMap), true);
+    }
+
+    /**
+     * Creates a new rewritten event trace from the given data.
+     *
+     * @param events         The events in the trace
+     * @param originalEvents The events of the original trace prior to rewriting, where each original event is located at the same index as its rewritten
+     *                       event
+     */
+    public RewrittenEventTrace(List<MonitoringEvent> events, List<MonitoringEvent> originalEvents) {
+        this(events, checkSameSize(events, originalEvents), true);
+    }
+
+    /**
+     * Creates a new rewritten event trace from the given data.
+     *
+     * @param events             The events in the trace
+     * @param originalEvents     The events of the original trace prior to rewriting
+     * @param storesEventObjects Denotes whether the given events are stored as objects (see {@link #storesEventObjects()})
+     */
+    RewrittenEventTrace(List<MonitoringEvent> events, List<MonitoringEvent> originalEvents, boolean storesEventObjects) {
         super(events);
 
-        this.eventMap = eventMap;
+        this.eventList = events;
+        // Shifted events are created on access
+        this.storesEventObjects = storesEventObjects && !(events instanceof OverlayEventList overlay && overlay.containsShiftedEvents());
+        this.originalEvents = originalEvents;
+        this.sortedByTimestamp = isSortedByTimestamp(events);
+    }
+
+    private static List<MonitoringEvent> checkSameSize(List<MonitoringEvent> events, List<MonitoringEvent> originalEvents) {
+        if (events.size() != originalEvents.size()) {
+            throw new IllegalArgumentException("The number of original events (" + originalEvents.size() + ") does not match the number of events (" +
+                    events.size() + ").");
+        }
+
+        return originalEvents;
+    }
+
+    private static List<MonitoringEvent> mapEvents(List<MonitoringEvent> events, Map<MonitoringEvent, MonitoringEvent> eventMap) {
+        var originalEvents = new ArrayList<MonitoringEvent>(events.size());
+        events.forEach(event -> originalEvents.add(eventMap.get(event)));
+
+        return originalEvents;
+    }
+
+    private static boolean isSortedByTimestamp(List<MonitoringEvent> events) {
+        for (var eventIndex = 1; eventIndex < events.size(); eventIndex++) {
+            if (events.get(eventIndex).timestamp() < events.get(eventIndex - 1).timestamp()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean storesEventObjects() {
+        return this.storesEventObjects;
+    }
+
+    List<MonitoringEvent> eventList() {
+        return this.eventList;
+    }
+
+    List<MonitoringEvent> originalEvents() {
+        return this.originalEvents;
     }
 
     /**
-     * Obtains the original event for the given rewritten event from this trace.
-     * 
-     * @param <T>            The type of the event
-     * @param rewrittenEvent The rewritten event to obtain the original event for
+     * Obtains the original event for the rewritten event at the given index. This is the preferred way of mapping events, as the original event is located
+     * at the same index.
+     *
+     * @param <T>   The expected type of the event
+     * @param index The index of the rewritten event
      * @return The original event
      */
     @SuppressWarnings("unchecked")
+    public <T extends MonitoringEvent> T obtainOriginalEvent(int index) {
+        return (T) this.originalEvents.get(index);
+    }
+
+    /**
+     * Obtains the original event for the given rewritten event from this trace. As this requires searching the event in this trace, this method should only be
+     * used if the index of the event is not known.
+     *
+     * @param <T>            The type of the event
+     * @param rewrittenEvent The rewritten event to obtain the original event for
+     * @return The original event, or {@code null} if the given event is not contained in this trace
+     * @deprecated Searching the event is expensive, and equal events at different positions cannot be distinguished. Use {@link #obtainOriginalEvent(int)}
+     *             with the index of the event instead.
+     */
+    @Deprecated
     public <T extends MonitoringEvent> T obtainOriginalEvent(T rewrittenEvent) {
-        return (T) this.eventMap.get(rewrittenEvent);
+        var index = this.indexOf(rewrittenEvent);
+        return (index >= 0) ? this.obtainOriginalEvent(index) : null;
+    }
+
+    /**
+     * Returns the index of the given event in this trace.
+     *
+     * @param event The event to look for
+     * @return The index of the event, or -1 if the event is not contained in this trace
+     */
+    public int indexOf(MonitoringEvent event) {
+        var events = this.events();
+
+        if (!this.sortedByTimestamp) {
+            return events.indexOf(event);
+        }
+
+        // Find the first event with the same timestamp, and search the events with this timestamp
+        var timestamp = event.timestamp();
+        var low = 0;
+        var high = events.size();
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+
+            if (events.get(middle).timestamp() < timestamp) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        for (var eventIndex = low; eventIndex < events.size() && events.get(eventIndex).timestamp() == timestamp; eventIndex++) {
+            if (events.get(eventIndex).equals(event)) {
+                return eventIndex;
+            }
+        }
+
+        return -1;
     }
 
 }
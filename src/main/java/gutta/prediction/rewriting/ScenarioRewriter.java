@@ -0,0 +1,65 @@
+package gutta.prediction.rewriting;
+
+import gutta.prediction.domain.DeploymentModel;
+import gutta.prediction.event.EventTrace;
+import gutta.prediction.event.ImplicitTransactionAbortEvent;
+import gutta.prediction.event.ServiceCandidateEntryEvent;
+import gutta.prediction.rewriting.OverheadRewriter.OverheadRewriterWorker;
+import gutta.prediction.simulation.TraceSimulationContext;
+import gutta.prediction.simulation.TraceSimulationMode;
+
+/**
+ * This rewriter adapts a trace to a given scenario model by applying the rewrites of the {@link OverheadRewriter} and the
+ * {@link TransactionContextRewriter} in a single simulation pass. The result is the same as applying both rewriters in sequence, but the trace is simulated
+ * only once, and only a single map from the rewritten events to the original events is created.
+ */
+public class ScenarioRewriter implements TraceRewriter {
+
+    private final DeploymentModel deploymentModel;
+
+    /**
+     * Creates a new scenario rewriter using the given deployment model.
+     *
+     * @param deploymentModel The deployment model to use during rewriting
+     */
+    public ScenarioRewriter(DeploymentModel deploymentModel) {
+        this.deploymentModel = deploymentModel;
+    }
+
+    @Override
+    public RewrittenEventTrace rewriteTrace(EventTrace inputTrace) {
+        return new ScenarioRewriterWorker().rewriteTrace(inputTrace, this.deploymentModel);
+    }
+
+    private static class ScenarioRewriterWorker extends OverheadRewriterWorker {
+
+        @Override
+        protected TraceSimulationMode requiredSimulationMode() {
+            return TraceSimulationMode.WITH_TRANSACTIONS;
+        }
+
+        @Override
+        public void onServiceCandidateEntryEvent(ServiceCandidateEntryEvent event, TraceSimulationContext context) {
+            if (TransactionContextRewriter.transactionContextChanged(event, context)) {
+                var rewrittenEvent = TransactionContextRewriter.rewriteTransactionContext(event, this.adjustTimestamp(event.timestamp()), context);
+                this.addRewrittenEvent(rewrittenEvent, event);
+            } else {
+                // If the transaction context is unchanged, the event is only shifted
+                this.addShiftedEvent(event, this.timeOffset());
+            }
+        }
+
+        @Override
+        public void onImplicitTransactionAbortEvent(ImplicitTransactionAbortEvent event, TraceSimulationContext context) {
+            if (TransactionContextRewriter.transactionContextChanged(event, context)) {
+                var rewrittenEvent = TransactionContextRewriter.rewriteTransactionContext(event, this.adjustTimestamp(event.timestamp()), context);
+                this.addRewrittenEvent(rewrittenEvent, event);
+            } else {
+                // If the transaction context is unchanged, the event is only shifted
+                this.addShiftedEvent(event, this.timeOffset());
+            }
+        }
+
+    }
+
+}
@@ -1,20 +1,21 @@
 package gutta.prediction.rewriting;
 
-import gutta.prediction.event.MonitoringEvent;
+import gutta.prediction.event.EventTrace;
 
 /**
- * Specific {@link RewrittenEventCollector} that builds an immediate event map during rewriting.
+ * Specific {@link RewrittenEventCollector} that maps the rewritten events to the events of the input trace.
  * This collector is used for the first rewrite of a trace.
  */
 class SimpleRewrittenEventCollector extends RewrittenEventCollector {
     
-    public SimpleRewrittenEventCollector(int expectedSize) {
-        super(expectedSize);
+    public SimpleRewrittenEventCollector(EventTrace inputTrace) {
+        super(inputTrace, inputTrace.events());
     }
 
     @Override
-    public void addRewrittenEvent(MonitoringEvent rewrittenEvent, MonitoringEvent originalEvent) {
-        this.addEventAndCorrespondence(rewrittenEvent, originalEvent);
+    public RewrittenEventTrace createTrace() {
+        var inputEvents = this.inputTrace().events();
+        return new RewrittenEventTrace(this.rewrittenEvents(), inputEvents, this.inputTrace().storesEventObjects());
     }
 
 }
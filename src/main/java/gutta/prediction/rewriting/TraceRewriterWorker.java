@@ -39,12 +39,10 @@ abstract class TraceRewriterWorker implements TraceSimulationListener {
     }
 
     public RewrittenEventTrace rewriteTrace(EventTrace trace, DeploymentModel deploymentModel) {
-        var expectedSize = trace.size();
-
         if (trace instanceof RewrittenEventTrace rewrittenTrace) {
-            this.rewrittenEventCollector = new JoiningRewrittenEventCollector(expectedSize, rewrittenTrace::obtainOriginalEvent);
+            this.rewrittenEventCollector = new JoiningRewrittenEventCollector(rewrittenTrace);
         } else {
-            this.rewrittenEventCollector = new SimpleRewrittenEventCollector(expectedSize);
+            this.rewrittenEventCollector = new SimpleRewrittenEventCollector(trace);
         }
 
         runSimulationOf(trace, deploymentModel, this.requiredSimulationMode(), this);
@@ -73,6 +71,11 @@ abstract class TraceRewriterWorker implements TraceSimulationListener {
         this.rewrittenEventCollector.addRewrittenEvent(rewrittenEvent, originalEvent);
     }
 
+    protected void addShiftedEvent(MonitoringEvent originalEvent, long timeOffset) {
+        // Shifted events are only created when they are accessed
+        this.rewrittenEventCollector.addShiftedEvent(originalEvent, timeOffset);
+    }
+
     @Override
     public void onEntityReadEvent(EntityReadEvent event, TraceSimulationContext context) {
         // By default, copy the event just adjusting the location if necessary
@@ -3,10 +3,13 @@ package gutta.prediction.rewriting;
 import gutta.prediction.domain.DeploymentModel;
 import gutta.prediction.event.EventTrace;
 import gutta.prediction.event.ImplicitTransactionAbortEvent;
+import gutta.prediction.event.Location;
 import gutta.prediction.event.ServiceCandidateEntryEvent;
 import gutta.prediction.simulation.TraceSimulationContext;
 import gutta.prediction.simulation.TraceSimulationMode;
 
+import java.util.Objects;
+
 /**
  * This rewriter adjusts the transaction start flag as well as the transaction ID for service candidate entry events according to a given deployment model.
  */
@@ -28,6 +31,111 @@ public class TransactionContextRewriter implements TraceRewriter {
         return new TransactionContextRewriterWorker().rewriteTrace(inputTrace, this.deploymentModel);
     }
 
+    /**
+     * Determines whether the transaction context of the given entry event (including its location) differs from the current state of the simulation, i.e.,
+     * whether {@link #rewriteTransactionContext(ServiceCandidateEntryEvent, long, TraceSimulationContext)} would rewrite the event at its original timestamp.
+     * 
+     * @param event   The event to check
+     * @param context The current simulation context
+     * @return {@code true} if the transaction context has changed, {@code false} otherwise
+     */
+    static boolean transactionContextChanged(ServiceCandidateEntryEvent event, TraceSimulationContext context) {
+        var transactionStarted = startsCurrentTransaction(event, context);
+        var transactionId = rewrittenTransactionId(event, transactionStarted, context);
+
+        return transactionContextChanged(event, context.currentLocation(), transactionStarted, transactionId);
+    }
+
+    private static boolean transactionContextChanged(ServiceCandidateEntryEvent event, Location location, boolean transactionStarted, String transactionId) {
+        return !location.equals(event.location()) || (transactionStarted != event.transactionStarted()) ||
+                !Objects.equals(transactionId, event.transactionId());
+    }
+
+    /**
+     * Determines whether the transaction context of the given abort event (including its location) differs from the current state of the simulation, i.e.,
+     * whether {@link #rewriteTransactionContext(ImplicitTransactionAbortEvent, long, TraceSimulationContext)} would rewrite the event at its original
+     * timestamp.
+     * 
+     * @param event   The event to check
+     * @param context The current simulation context
+     * @return {@code true} if the transaction context has changed, {@code false} otherwise
+     */
+    static boolean transactionContextChanged(ImplicitTransactionAbortEvent event, TraceSimulationContext context) {
+        return transactionContextChanged(event, context.currentLocation(), currentTransactionId(event, context));
+    }
+
+    private static boolean transactionContextChanged(ImplicitTransactionAbortEvent event, Location location, String transactionId) {
+        return !location.equals(event.location()) || !transactionId.equals(event.transactionId());
+    }
+
+    /**
+     * Rewrites the transaction context of the given entry event according to the current state of the simulation. The rewritten event is placed at the given
+     * timestamp and the current location, so that other rewrites can be applied at the same time.
+     * 
+     * @param event     The event to rewrite
+     * @param timestamp The timestamp of the rewritten event
+     * @param context   The current simulation context
+     * @return The rewritten event, or the given event if no rewrite is necessary
+     */
+    static ServiceCandidateEntryEvent rewriteTransactionContext(ServiceCandidateEntryEvent event, long timestamp, TraceSimulationContext context) {
+        var transactionStarted = startsCurrentTransaction(event, context);
+        var transactionId = rewrittenTransactionId(event, transactionStarted, context);
+        var location = context.currentLocation();
+
+        if ((timestamp != event.timestamp()) || transactionContextChanged(event, location, transactionStarted, transactionId)) {
+            return new ServiceCandidateEntryEvent(event.traceId(), timestamp, location, event.name(), transactionStarted, transactionId);
+        } else {
+            return event;
+        }
+    }
+
+    /**
+     * Rewrites the transaction ID of the given abort event to match the current transaction. The rewritten event is placed at the given timestamp and the
+     * current location, so that other rewrites can be applied at the same time.
+     * 
+     * @param event     The event to rewrite
+     * @param timestamp The timestamp of the rewritten event
+     * @param context   The current simulation context
+     * @return The rewritten event, or the given event if no rewrite is necessary
+     */
+    static ImplicitTransactionAbortEvent rewriteTransactionContext(ImplicitTransactionAbortEvent event, long timestamp, TraceSimulationContext context) {
+        var transactionId = currentTransactionId(event, context);
+        var location = context.currentLocation();
+
+        if ((timestamp != event.timestamp()) || transactionContextChanged(event, location, transactionId)) {
+            return new ImplicitTransactionAbortEvent(event.traceId(), timestamp, location, transactionId, event.cause());
+        } else {
+            return event;
+        }
+    }
+
+    private static boolean startsCurrentTransaction(ServiceCandidateEntryEvent event, TraceSimulationContext context) {
+        var currentTransaction = context.currentTransaction();
+        return (currentTransaction != null && event.equals(currentTransaction.startEvent()));
+    }
+
+    private static String rewrittenTransactionId(ServiceCandidateEntryEvent event, boolean startsCurrentTransaction, TraceSimulationContext context) {
+        if (startsCurrentTransaction) {
+            // If the event starts a transaction, it must carry the ID of the current transaction
+            return context.currentTransaction().id();
+        } else if (event.transactionStarted()) {
+            // If the event originally started a transaction, but does not now, we remove the transaction info
+            return null;
+        } else {
+            // Otherwise, we keep the transaction info
+            return event.transactionId();
+        }
+    }
+
+    private static String currentTransactionId(ImplicitTransactionAbortEvent event, TraceSimulationContext context) {
+        var currentTransaction = context.currentTransaction();
+        if (currentTransaction == null) {
+            throw new TraceRewriteException(event, "No active transaction was available.");
+        }
+
+        return currentTransaction.id();
+    }
+
     private static class TransactionContextRewriterWorker extends TraceRewriterWorker {
 
         @Override
@@ -39,55 +147,13 @@ public class TransactionContextRewriter implements TraceRewriter {
 
         @Override
         public void onServiceCandidateEntryEvent(ServiceCandidateEntryEvent event, TraceSimulationContext context) {
-            var currentTransaction = context.currentTransaction();
-
-            var transactionStartedByCurrentEvent = (currentTransaction != null && event.equals(currentTransaction.startEvent()));
-
-            // Rewrite the transaction state if necessary
-            ServiceCandidateEntryEvent rewrittenEvent;
-            if (!event.transactionStarted() && transactionStartedByCurrentEvent) {
-                // If the event originally did not start a transaction, but does now, we add the transaction info
-                rewrittenEvent = new ServiceCandidateEntryEvent(event.traceId(), event.timestamp(), event.location(), event.name(), true,
-                        currentTransaction.id());
-            } else if (event.transactionStarted() && transactionStartedByCurrentEvent && !currentTransaction.id().equals(event.transactionId())) {
-                // If the creation state matches, but the IDs differ, we adjust the ID
-                rewrittenEvent = new ServiceCandidateEntryEvent(event.traceId(), event.timestamp(), event.location(), event.name(), true,
-                        currentTransaction.id());
-            } else if (event.transactionStarted() && !transactionStartedByCurrentEvent) {
-                // If the event originally start a transaction, but does not now, we remove the transaction info
-                rewrittenEvent = new ServiceCandidateEntryEvent(event.traceId(), event.timestamp(), event.location(), event.name(), false, null);
-            } else {
-                // Otherwise, we do not need to rewrite
-                rewrittenEvent = event;
-            }
-
-            // Adjust the location, if necessary
-            rewrittenEvent = this.adjustLocation(rewrittenEvent, context);
+            var rewrittenEvent = rewriteTransactionContext(event, event.timestamp(), context);
             this.addRewrittenEvent(rewrittenEvent, event);
         }
 
         @Override
         public void onImplicitTransactionAbortEvent(ImplicitTransactionAbortEvent event, TraceSimulationContext context) {
-            var currentTransaction = context.currentTransaction();
-
-            ImplicitTransactionAbortEvent rewrittenEvent;
-            if (currentTransaction != null) {
-                var requiredTransactionId = currentTransaction.id();
-
-                if (!requiredTransactionId.equals(event.transactionId())) {
-                    // If the event's transaction ID does not match the one of the current transaction, we need to rewrite it
-                    rewrittenEvent = new ImplicitTransactionAbortEvent(event.traceId(), event.timestamp(), event.location(), requiredTransactionId,
-                            event.cause());
-                } else {
-                    // Otherwise, we can keep the event
-                    rewrittenEvent = event;
-                }
-            } else {
-                throw new TraceRewriteException(event, "No active transaction was available.");
-            }
-
-            // Adjust the location, if necessary
-            rewrittenEvent = this.adjustLocation(rewrittenEvent, context);
+            var rewrittenEvent = rewriteTransactionContext(event, event.timestamp(), context);
             this.addRewrittenEvent(rewrittenEvent, event);
         }
 
@@ -1,5 +1,6 @@
 package gutta.prediction.simulation;
 
+import gutta.prediction.domain.CompiledDeploymentModel;
 import gutta.prediction.domain.Component;
 import gutta.prediction.domain.ComponentConnection;
 import gutta.prediction.domain.DeploymentModel;
@@ -31,6 +32,8 @@ class BasicTraceSimulatorWorker extends MonitoringEventVisitor implements TraceS
 
     protected final DeploymentModel deploymentModel;
 
+    protected final CompiledDeploymentModel compiledModel;
+
     protected final TraceSimulationContext context;
 
     private final EventStream events;
@@ -42,19 +45,30 @@ class BasicTraceSimulatorWorker extends MonitoringEventVisitor implements TraceS
     }
 
     public BasicTraceSimulatorWorker(List<TraceSimulationListener> listeners, EventTrace trace, DeploymentModel deploymentModel) {
+        this(listeners, new EventStream(trace), deploymentModel);
+    }
+
+    BasicTraceSimulatorWorker(List<TraceSimulationListener> listeners, EventStream events, DeploymentModel deploymentModel) {
         this.listeners = listeners;
-        this.events = new EventStream(trace);
+        this.events = events;
         this.deploymentModel = deploymentModel;
+        this.compiledModel = deploymentModel.compile();
         this.context = new TraceSimulationContext(deploymentModel, this.events);
     }
 
+    public void reset(EventTrace trace) {
+        this.events.reset(trace);
+        this.context.reset(this.deploymentModel, this.events);
+        this.syntheticLocationIdCount = 0;
+    }
+
     public void processEvents() {
         this.onStartOfProcessing();
         this.processEventsInStream();
         this.onEndOfProcessing();
     }
 
-    private void onStartOfProcessing() {
+    void onStartOfProcessing() {
         // Notify listeners
         this.listeners.forEach(TraceSimulationListener::onStartOfProcessing);
     }
@@ -63,7 +77,11 @@ class BasicTraceSimulatorWorker extends MonitoringEventVisitor implements TraceS
         this.events.forEachRemaining(this::handleMonitoringEvent);
     }
 
-    private void onEndOfProcessing() {
+    void processEvent(MonitoringEvent event) {
+        this.handleMonitoringEvent(event);
+    }
+
+    void onEndOfProcessing() {
         // Notify listeners
         this.listeners.forEach(TraceSimulationListener::onEndOfProcessing);
     }
@@ -113,17 +131,19 @@ class BasicTraceSimulatorWorker extends MonitoringEventVisitor implements TraceS
 
         var nextEvent = this.events.lookahead(1);
         if (nextEvent instanceof ServiceCandidateReturnEvent returnEvent) {
-            var sourceComponent = this.currentComponent();
+            var sourceComponentId = this.context.currentComponentId();
             // Determine the component to return to from the top of the stack
-            var targetComponent = this.context.peek().component();
+            var targetComponentId = this.context.peekComponentId();
 
             // If the allocation of the current service candidate is synthetic, we need to take this into account for the connection
-            var currentCandidate = this.context.currentServiceCandidate();
-            var candidateAllocation = this.deploymentModel.getComponentAllocationForServiceCandidate(currentCandidate)
-                    .orElseThrow(() -> new TraceProcessingException(event, "Service candidate '" + currentCandidate + "' is not assigned to a component."));
+            var currentCandidateId = this.context.currentServiceCandidateId();
+            if (currentCandidateId == CompiledDeploymentModel.NO_ID) {
+                var currentCandidate = this.context.currentServiceCandidate();
+                throw new TraceProcessingException(event, "Service candidate '" + currentCandidate + "' is not assigned to a component.");
+            }
 
-            var connection = this.deploymentModel.getConnection(sourceComponent, targetComponent, candidateAllocation.modified())
-                    .orElseThrow(() -> new TraceProcessingException(event, "No connection from '" + sourceComponent + "' to '" + targetComponent + "'."));
+            var modifiedAllocation = this.compiledModel.isServiceCandidateAllocationModified(currentCandidateId);
+            var connection = this.findConnection(sourceComponentId, targetComponentId, modifiedAllocation, event);
 
             this.performComponentReturn(event, returnEvent, connection);
         } else {
@@ -158,32 +178,38 @@ class BasicTraceSimulatorWorker extends MonitoringEventVisitor implements TraceS
         var nextEvent = this.events.lookahead(1);
         if (nextEvent instanceof ServiceCandidateEntryEvent entryEvent) {
             var invokedCandidateName = entryEvent.name();
+            var invokedCandidateId = this.compiledModel.serviceCandidateId(invokedCandidateName);
+            if (invokedCandidateId == CompiledDeploymentModel.NO_ID) {
+                throw new TraceProcessingException(event, "Service candidate '" + invokedCandidateName + "' does not exist.");
+            }
 
-            var sourceComponent = this.currentComponent();
-            var connection = this.findConnectionForCandidateEntry(invokedCandidateName, sourceComponent, event);
+            var sourceComponentId = this.context.currentComponentId();
+            var targetComponentId = this.compiledModel.componentIdOfServiceCandidate(invokedCandidateId);
+            var modifiedAllocation = this.compiledModel.isServiceCandidateAllocationModified(invokedCandidateId);
+            var connection = this.findConnection(sourceComponentId, targetComponentId, modifiedAllocation, event);
 
-            this.performComponentTransition(event, entryEvent, connection);
+            this.performComponentTransition(event, entryEvent, invokedCandidateId, connection);
         } else {
             throw new IllegalStateException("A service candidate invocation event is not followed by a service candidate entry event.");
         }
     }
 
-    private ComponentConnection findConnectionForCandidateEntry(String candidateName, Component sourceComponent, MonitoringEvent event) {
-        var invokedCandidate = this.deploymentModel.resolveServiceCandidateByName(candidateName)
-                .orElseThrow(() -> new TraceProcessingException(event, "Service candidate '" + candidateName + "' does not exist."));
-        var candidateAllocation = this.deploymentModel.getComponentAllocationForServiceCandidate(invokedCandidate)
-                .orElseThrow(() -> new TraceProcessingException(event, "Service candidate '" + invokedCandidate + "' is not assigned to a component."));
+    private ComponentConnection findConnection(int sourceComponentId, int targetComponentId, boolean modifiedAllocation, MonitoringEvent event) {
+        var componentsKnown = (sourceComponentId != CompiledDeploymentModel.NO_ID && targetComponentId != CompiledDeploymentModel.NO_ID);
+        var connection = (componentsKnown) ? this.compiledModel.connection(sourceComponentId, targetComponentId, modifiedAllocation) : null;
+
+        if (connection == null) {
+            var sourceComponent = this.currentComponent();
+            var targetComponent = (targetComponentId != CompiledDeploymentModel.NO_ID) ? this.compiledModel.component(targetComponentId) : null;
+            throw new TraceProcessingException(event, "No connection from '" + sourceComponent + "' to '" + targetComponent + "'.");
+        }
 
-        var targetComponent = candidateAllocation.component();
-        return this.deploymentModel.getConnection(sourceComponent, targetComponent, candidateAllocation.modified())
-                .orElseThrow(() -> new TraceProcessingException(event, "No connection from '" + sourceComponent + "' to '" + targetComponent + "'."));
+        return connection;
     }
 
     private void performComponentTransition(ServiceCandidateInvocationEvent invocationEvent, ServiceCandidateEntryEvent entryEvent,
-            ComponentConnection connection) {
-        var enteredCandidateName = entryEvent.name();
-        var enteredServiceCandidate = this.deploymentModel.resolveServiceCandidateByName(entryEvent.name())
-                .orElseThrow(() -> new TraceProcessingException(entryEvent, "Service candidate '" + enteredCandidateName + "' does not exist."));
+            int enteredServiceCandidateId, ComponentConnection connection) {
+        var enteredServiceCandidate = this.compiledModel.serviceCandidate(enteredServiceCandidateId);
 
         this.handlePossibleTransactionSuspensionOnCandidateInvocation(invocationEvent, entryEvent, enteredServiceCandidate, connection);
 
@@ -193,15 +219,16 @@ class BasicTraceSimulatorWorker extends MonitoringEventVisitor implements TraceS
         this.listeners.forEach(listener -> listener.beforeComponentTransition(invocationEvent, entryEvent, connection, this.context));
 
         // Update the current location and transaction state
-        this.updateLocationOnTransition(invocationEvent, entryEvent, enteredServiceCandidate, connection);
+        this.updateLocationOnTransition(invocationEvent, entryEvent, enteredServiceCandidate, enteredServiceCandidateId, connection);
         this.handlePossibleTransactionCreationOnCandidateEntry(entryEvent);
 
         this.listeners.forEach(listener -> listener.afterComponentTransition(invocationEvent, entryEvent, connection, this.context));
     }
 
     private void updateLocationOnTransition(ServiceCandidateInvocationEvent invocationEvent, ServiceCandidateEntryEvent entryEvent,
-            ServiceCandidate enteredServiceCandidate, ComponentConnection connection) {
+            ServiceCandidate enteredServiceCandidate, int enteredServiceCandidateId, ComponentConnection connection) {
         var targetComponent = connection.target();
+        var targetComponentId = this.compiledModel.componentIdOfServiceCandidate(enteredServiceCandidateId);
         var sourceLocation = this.currentLocation();
         var targetLocation = entryEvent.location();
 
@@ -219,8 +246,8 @@ class BasicTraceSimulatorWorker extends MonitoringEventVisitor implements TraceS
         // Ensure that the transition is valid
         this.ensureValidLocationTransition(sourceLocation, targetLocation, connection, entryEvent);
 
-        this.context.currentServiceCandidate(enteredServiceCandidate);
-        this.context.currentComponent(targetComponent);
+        this.context.currentServiceCandidate(enteredServiceCandidate, enteredServiceCandidateId);
+        this.context.currentComponent(targetComponent, targetComponentId);
         this.context.currentLocation(targetLocation);
     }
 
@@ -297,12 +324,13 @@ class BasicTraceSimulatorWorker extends MonitoringEventVisitor implements TraceS
     @Override
     protected void handleUseCaseStartEvent(UseCaseStartEvent event) {
         // Determine the component providing the given use case
-        var useCase = new UseCase(event.name());
-
-        var componentAllocation = this.deploymentModel.getComponentAllocationForUseCase(useCase)
-                .orElseThrow(() -> new TraceProcessingException(event, "Use case '" + useCase + "' is not assigned to a component."));
+        var useCaseId = this.compiledModel.useCaseId(event.name());
+        if (useCaseId == CompiledDeploymentModel.NO_ID) {
+            throw new TraceProcessingException(event, "Use case '" + new UseCase(event.name()) + "' is not assigned to a component.");
+        }
 
-        this.context.currentComponent(componentAllocation.component());
+        var componentId = this.compiledModel.componentIdOfUseCase(useCaseId);
+        this.context.currentComponent(this.compiledModel.component(componentId), componentId);
         this.context.currentLocation(event.location());
 
         this.listeners.forEach(listener -> listener.onUseCaseStartEvent(event, this.context));
@@ -312,8 +340,8 @@ class BasicTraceSimulatorWorker extends MonitoringEventVisitor implements TraceS
     protected void handleUseCaseEndEvent(UseCaseEndEvent event) {
         this.listeners.forEach(listener -> listener.onUseCaseEndEvent(event, this.context));
 
-        this.context.currentServiceCandidate(null);
-        this.context.currentComponent(null);
+        this.context.currentServiceCandidate(null, CompiledDeploymentModel.NO_ID);
+        this.context.currentComponent(null, CompiledDeploymentModel.NO_ID);
         this.context.currentLocation(null);
     }
 
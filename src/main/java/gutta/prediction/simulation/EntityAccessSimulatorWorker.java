@@ -17,6 +17,10 @@ class EntityAccessSimulatorWorker extends TransactionTraceSimulatorWorker {
         super(listeners, trace, deploymentModel);
     }
 
+    EntityAccessSimulatorWorker(List<TraceSimulationListener> listeners, EventStream events, DeploymentModel deploymentModel) {
+        super(listeners, events, deploymentModel);
+    }
+
     @Override
     protected void updateSimulationOnReadEvent(EntityReadEvent event) {
         super.updateSimulationOnReadEvent(event);
@@ -83,11 +87,23 @@ class EntityAccessSimulatorWorker extends TransactionTraceSimulatorWorker {
 
     private void notifyListenersOfWrite(Transaction transaction, boolean asynchronous, WriteListenerNotifier notifier) {
         var pendingWrites = this.context.getAndRemovePendingWritesFor(transaction);
-        pendingWrites.forEach(writeEvent -> this.listeners.forEach(listener -> notifier.notifyListener(listener, writeEvent, this.context)));
+        // Listeners may complete further transactions, so restore the index of an enclosing notification afterwards
+        var previousWriteIndex = this.context.notifiedWriteIndex();
 
-        if (asynchronous) {
-            pendingWrites.stream().map(EntityWriteEvent::entity).forEach(this.context::registerAsynchronouslyChangedEntity);
+        for (var writeIndex = 0; writeIndex < pendingWrites.size(); writeIndex++) {
+            var writeEvent = pendingWrites.events()[writeIndex];
+            this.context.notifiedWriteIndex(pendingWrites.eventIndexes()[writeIndex]);
+
+            for (var listener : this.listeners) {
+                notifier.notifyListener(listener, writeEvent, this.context);
+            }
+
+            if (asynchronous) {
+                this.context.registerAsynchronouslyChangedEntity(writeEvent.entity());
+            }
         }
+
+        this.context.notifiedWriteIndex(previousWriteIndex);
     }
 
     private interface WriteListenerNotifier {
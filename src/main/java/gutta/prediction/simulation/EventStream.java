@@ -3,6 +3,7 @@ package gutta.prediction.simulation;
 import gutta.prediction.event.EventTrace;
 import gutta.prediction.event.MonitoringEvent;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -11,7 +12,17 @@ import java.util.function.Consumer;
  */
 public class EventStream {
 
-    private final List<MonitoringEvent> events;
+    private static final int CACHE_SIZE = 4;
+
+    private static final int CACHE_MASK = CACHE_SIZE - 1;
+
+    private List<MonitoringEvent> events;
+
+    private int[] cachedPositions;
+
+    private MonitoringEvent[] cachedEvents;
+
+    private boolean cacheEvents;
 
     private int maxPosition;
 
@@ -23,12 +34,84 @@ public class EventStream {
      * @param trace The trace to create the stream from
      */
     public EventStream(EventTrace trace) {
-        this(trace.events());
+        this(trace.events(), !trace.storesEventObjects());
+    }
+
+    private EventStream() {
+        // Online streams only retain the events around the current position, which are appended as they arrive
+        this.events = null;
+        this.maxPosition = -1;
+        this.cacheEvents = true;
+        this.cachedPositions = new int[CACHE_SIZE];
+        this.cachedEvents = new MonitoringEvent[CACHE_SIZE];
+        Arrays.fill(this.cachedPositions, -1);
+    }
+
+    /**
+     * Creates a new, empty stream to which events are {@linkplain #append(MonitoringEvent) appended} as they arrive. The stream only retains a few events
+     * around the current position, so that the events must be consumed while they are appended.
+     * 
+     * @return The created stream
+     */
+    static EventStream online() {
+        return new EventStream();
+    }
+
+    /**
+     * Appends the given event to this online stream.
+     * 
+     * @param event The event to append
+     * @throws IllegalStateException If this stream is not an online stream or if the event would displace an unconsumed event
+     */
+    void append(MonitoringEvent event) {
+        if (this.events != null) {
+            throw new IllegalStateException("Events can only be appended to online streams.");
+        }
+
+        var position = (this.maxPosition + 1);
+        // Retain the current and the previous event for lookback
+        if (position - this.currentPosition >= CACHE_SIZE - 1) {
+            throw new IllegalStateException("Too many unconsumed events in the stream.");
+        }
+
+        var cacheSlot = (position & CACHE_MASK);
+        this.cachedPositions[cacheSlot] = position;
+        this.cachedEvents[cacheSlot] = event;
+        this.maxPosition = position;
     }
     
-    private EventStream(List<MonitoringEvent> events) {
+    private EventStream(List<MonitoringEvent> events, boolean cacheEvents) {
+        this.initialize(events, cacheEvents);
+    }
+
+    /**
+     * Resets this stream to the beginning of the given trace, so that the stream can be reused.
+     * 
+     * @param trace The trace to iterate over
+     */
+    void reset(EventTrace trace) {
+        this.initialize(trace.events(), !trace.storesEventObjects());
+    }
+
+    private void initialize(List<MonitoringEvent> events, boolean cacheEvents) {
         this.events = events;
         this.maxPosition = (events.size() - 1);
+        this.currentPosition = 0;
+        this.cacheEvents = cacheEvents;
+
+        if (cacheEvents) {
+            // If the trace creates event objects on access, cache the events around the current position, as they are usually accessed several times
+            if (this.cachedEvents == null) {
+                this.cachedPositions = new int[CACHE_SIZE];
+                this.cachedEvents = new MonitoringEvent[CACHE_SIZE];
+            }
+
+            Arrays.fill(this.cachedPositions, -1);
+            Arrays.fill(this.cachedEvents, null);
+        } else if (this.cachedEvents != null) {
+            // Release the cached events of a previous trace
+            Arrays.fill(this.cachedEvents, null);
+        }
     }
 
     /**
@@ -37,7 +120,7 @@ public class EventStream {
      * @return see above
      */
     public int size() {
-        return this.events.size();
+        return (this.maxPosition + 1);
     }
 
     /***
@@ -52,9 +135,28 @@ public class EventStream {
             return null;
         }
 
-        return this.events.get(desiredPosition);
+        if (!this.cacheEvents) {
+            return this.events.get(desiredPosition);
+        }
+
+        var cacheSlot = (desiredPosition & CACHE_MASK);
+        if (this.cachedPositions[cacheSlot] != desiredPosition) {
+            if (this.events == null) {
+                // Online streams cannot reload events that have already been displaced
+                return null;
+            }
+
+            this.cachedPositions[cacheSlot] = desiredPosition;
+            this.cachedEvents[cacheSlot] = this.events.get(desiredPosition);
+        }
+
+        return this.cachedEvents[cacheSlot];
     }
     
+    int currentPosition() {
+        return this.currentPosition;
+    }
+
     /**
      * Consumes the current event, i.e., moves to the next element if the stream.
      */
@@ -0,0 +1,64 @@
+package gutta.prediction.simulation;
+
+import gutta.prediction.domain.DeploymentModel;
+import gutta.prediction.event.EventTrace;
+import gutta.prediction.event.MergedEventIterator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A {@link MultiTraceSimulator} simulates several traces concurrently on the same deployment model. The events of all traces are processed in the order of
+ * their timestamps, and the simulations share their pending writes, so that conflicting entity accesses of concurrent use cases are detected.
+ */
+public class MultiTraceSimulator {
+
+    /**
+     * Runs an interleaved simulation of the given traces on the given deployment model. Each trace is notified to its own listeners, which are created using
+     * the given factory. Events with the same timestamp are processed in the order of the traces in the given collection.
+     *
+     * @param traces          The traces to simulate, each of which must be ordered by timestamp
+     * @param deploymentModel The deployment model to simulate the traces on
+     * @param mode            The simulation mode to use
+     * @param listenerFactory The factory for the listeners of each trace
+     */
+    public static void runSimulationOf(Collection<? extends EventTrace> traces, DeploymentModel deploymentModel, TraceSimulationMode mode,
+            Function<EventTrace, ? extends TraceSimulationListener> listenerFactory) {
+
+        var sharedPendingWrites = new SharedPendingWrites();
+        var simulations = new ArrayList<OnlineTraceSimulation>(traces.size());
+        var traceSizes = new int[traces.size()];
+
+        for (var trace : traces) {
+            var listener = listenerFactory.apply(trace);
+            var simulation = new OnlineTraceSimulation(deploymentModel, mode, List.of(listener), sharedPendingWrites);
+
+            traceSizes[simulations.size()] = trace.size();
+            simulations.add(simulation);
+
+            if (trace.size() == 0) {
+                simulation.complete();
+            }
+        }
+
+        // Process the events of all traces in the order of their timestamps, and complete each simulation after the last event of its trace
+        var events = new MergedEventIterator(traces);
+        while (events.hasNext()) {
+            var event = events.next();
+            var traceIndex = events.lastTraceIndex();
+            var simulation = simulations.get(traceIndex);
+
+            simulation.accept(event);
+            if (events.lastPosition() == traceSizes[traceIndex] - 1) {
+                simulation.complete();
+            }
+        }
+    }
+
+    private MultiTraceSimulator() {
+        // Private constructor, as we only have static methods
+    }
+
+}
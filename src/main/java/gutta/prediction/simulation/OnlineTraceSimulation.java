@@ -0,0 +1,136 @@
+package gutta.prediction.simulation;
+
+import gutta.prediction.domain.DeploymentModel;
+import gutta.prediction.event.MonitoringEvent;
+import gutta.prediction.event.ServiceCandidateExitEvent;
+import gutta.prediction.event.ServiceCandidateInvocationEvent;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An {@link OnlineTraceSimulation} simulates a trace whose events are pushed one by one, e.g., while the trace is still being captured. Each event is
+ * processed as soon as it is complete, i.e., immediately for most events, and upon arrival of the successor for invocation and exit events, which are
+ * processed together with their entry and return events. Thus, at most two events are buffered at any time.
+ * <p>
+ * As the remainder of the trace is not yet known, {@link TraceSimulationContext#lookahead(int)} returns {@code null} for events that have not arrived yet.
+ * Online simulations are not thread-safe.
+ */
+public class OnlineTraceSimulation {
+
+    private final EventStream events;
+
+    private final BasicTraceSimulatorWorker worker;
+
+    private State state = State.NEW;
+
+    /**
+     * Creates a new online simulation with a single listener.
+     *
+     * @param deploymentModel The deployment model to simulate the trace on
+     * @param mode            The simulation mode to use
+     * @param listener        The listener to receive simulation events
+     */
+    public OnlineTraceSimulation(DeploymentModel deploymentModel, TraceSimulationMode mode, TraceSimulationListener listener) {
+        this(deploymentModel, mode, List.of(listener));
+    }
+
+    /**
+     * Creates a new online simulation with the given listeners, which are notified in the given order.
+     *
+     * @param deploymentModel The deployment model to simulate the trace on
+     * @param mode            The simulation mode to use
+     * @param listeners       The listeners to receive simulation events
+     */
+    public OnlineTraceSimulation(DeploymentModel deploymentModel, TraceSimulationMode mode, List<? extends TraceSimulationListener> listeners) {
+        this(deploymentModel, mode, listeners, null);
+    }
+
+    /**
+     * Creates a new online simulation with the given listeners, which shares its pending writes with other simulations, so that conflicts with concurrently
+     * simulated traces are detected.
+     *
+     * @param deploymentModel     The deployment model to simulate the trace on
+     * @param mode                The simulation mode to use
+     * @param listeners           The listeners to receive simulation events
+     * @param sharedPendingWrites The pending writes to share, may be {@code null} if no writes are shared
+     */
+    public OnlineTraceSimulation(DeploymentModel deploymentModel, TraceSimulationMode mode, List<? extends TraceSimulationListener> listeners,
+            SharedPendingWrites sharedPendingWrites) {
+        requireNonNull(deploymentModel);
+        var listenersCopy = List.<TraceSimulationListener>copyOf(listeners);
+
+        this.events = EventStream.online();
+        this.worker = switch (mode) {
+        case BASIC -> new BasicTraceSimulatorWorker(listenersCopy, this.events, deploymentModel);
+        case WITH_TRANSACTIONS -> new TransactionTraceSimulatorWorker(listenersCopy, this.events, deploymentModel);
+        case WITH_ENTITY_ACCESSES -> new EntityAccessSimulatorWorker(listenersCopy, this.events, deploymentModel);
+        };
+
+        this.worker.context.shareWith(sharedPendingWrites);
+    }
+
+    private static boolean requiresSuccessor(MonitoringEvent event) {
+        // Invocation and exit events are processed together with their respective successors
+        return (event instanceof ServiceCandidateInvocationEvent || event instanceof ServiceCandidateExitEvent);
+    }
+
+    /**
+     * Pushes the next event of the trace into the simulation, processing all events that are complete.
+     *
+     * @param event The next event of the trace
+     * @throws IllegalStateException If the simulation is already complete
+     */
+    public void accept(MonitoringEvent event) {
+        requireNonNull(event);
+
+        if (this.state == State.COMPLETE) {
+            throw new IllegalStateException("The simulation is already complete.");
+        } else if (this.state == State.NEW) {
+            this.worker.onStartOfProcessing();
+            this.state = State.RUNNING;
+        }
+
+        this.events.append(event);
+        this.processCompleteEvents(false);
+    }
+
+    /**
+     * Signals the end of the trace, processing the remaining events. This method has no effect if the simulation is already complete.
+     */
+    public void complete() {
+        if (this.state == State.COMPLETE) {
+            return;
+        } else if (this.state == State.NEW) {
+            this.worker.onStartOfProcessing();
+        }
+
+        this.state = State.COMPLETE;
+        this.processCompleteEvents(true);
+        this.worker.context.releaseSharedPendingWrites();
+        this.worker.onEndOfProcessing();
+    }
+
+    private void processCompleteEvents(boolean endOfTrace) {
+        while (true) {
+            var currentEvent = this.events.lookahead(0);
+            if (currentEvent == null) {
+                return;
+            }
+
+            if (!endOfTrace && requiresSuccessor(currentEvent) && this.events.lookahead(1) == null) {
+                // Wait for the successor to arrive
+                return;
+            }
+
+            this.worker.processEvent(currentEvent);
+            this.events.consume();
+        }
+    }
+
+    private enum State {
+        NEW, RUNNING, COMPLETE
+    }
+
+}
@@ -0,0 +1,155 @@
+package gutta.prediction.simulation;
+
+import java.util.Arrays;
+
+/**
+ * An {@link OpenAddressingMap} is a map based on open addressing with linear probing, which is used for the entities and transactions of a simulation.
+ * Unlike a {@link java.util.HashMap}, it does not allocate an entry object per mapping, and it retains its capacity when it is cleared, so that it can be
+ * reused for several traces without allocation.
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the mapped values
+ */
+class OpenAddressingMap<K, V> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Object[] keys = new Object[INITIAL_CAPACITY];
+
+    private Object[] values = new Object[INITIAL_CAPACITY];
+
+    private int size = 0;
+
+    private static int hash(Object key) {
+        // Spread the bits of the hash code, as the capacity is a power of two
+        var hashCode = key.hashCode();
+        return hashCode ^ (hashCode >>> 16);
+    }
+
+    private int slotOf(Object key) {
+        var mask = this.keys.length - 1;
+        var slot = hash(key) & mask;
+
+        while (this.keys[slot] != null && !this.keys[slot].equals(key)) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    /**
+     * Returns the value mapped to the given key.
+     *
+     * @param key The key to look up
+     * @return The mapped value or {@code null} if no value is mapped
+     */
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        return (V) this.values[this.slotOf(key)];
+    }
+
+    /**
+     * Determines whether a value is mapped to the given key.
+     *
+     * @param key The key to look up
+     * @return see above
+     */
+    public boolean containsKey(K key) {
+        return (this.keys[this.slotOf(key)] != null);
+    }
+
+    /**
+     * Maps the given value to the given key, replacing an existing mapping.
+     *
+     * @param key   The key to map the value to
+     * @param value The value to map, must not be {@code null}
+     */
+    public void put(K key, V value) {
+        var slot = this.slotOf(key);
+
+        if (this.keys[slot] == null) {
+            this.keys[slot] = key;
+            this.size++;
+        }
+        this.values[slot] = value;
+
+        // Keep the load factor below 1/2 to keep the probe sequences short
+        if (2 * this.size > this.keys.length) {
+            this.resize(2 * this.keys.length);
+        }
+    }
+
+    /**
+     * Removes the mapping for the given key, if any.
+     *
+     * @param key The key to remove the mapping for
+     */
+    public void remove(K key) {
+        var slot = this.slotOf(key);
+        if (this.keys[slot] == null) {
+            return;
+        }
+
+        this.keys[slot] = null;
+        this.values[slot] = null;
+        this.size--;
+
+        // Shift back the subsequent entries of the probe sequence, so that they remain reachable
+        var mask = this.keys.length - 1;
+        var freeSlot = slot;
+        var currentSlot = (slot + 1) & mask;
+
+        while (this.keys[currentSlot] != null) {
+            var homeSlot = hash(this.keys[currentSlot]) & mask;
+
+            // The entry can be moved to the free slot if its home slot is not located cyclically within (freeSlot, currentSlot]
+            var movable = (freeSlot <= currentSlot) ? (homeSlot <= freeSlot || homeSlot > currentSlot) : (homeSlot <= freeSlot && homeSlot > currentSlot);
+            if (movable) {
+                this.keys[freeSlot] = this.keys[currentSlot];
+                this.values[freeSlot] = this.values[currentSlot];
+                this.keys[currentSlot] = null;
+                this.values[currentSlot] = null;
+                freeSlot = currentSlot;
+            }
+
+            currentSlot = (currentSlot + 1) & mask;
+        }
+    }
+
+    /**
+     * Returns the number of mappings in this map.
+     *
+     * @return see above
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Removes all mappings from this map, retaining its capacity.
+     */
+    public void clear() {
+        if (this.size > 0) {
+            Arrays.fill(this.keys, null);
+            Arrays.fill(this.values, null);
+            this.size = 0;
+        }
+    }
+
+    private void resize(int newCapacity) {
+        var oldKeys = this.keys;
+        var oldValues = this.values;
+
+        this.keys = new Object[newCapacity];
+        this.values = new Object[newCapacity];
+
+        for (var oldSlot = 0; oldSlot < oldKeys.length; oldSlot++) {
+            if (oldKeys[oldSlot] != null) {
+                var newSlot = this.slotOf(oldKeys[oldSlot]);
+                this.keys[newSlot] = oldKeys[oldSlot];
+                this.values[newSlot] = oldValues[oldSlot];
+            }
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+package gutta.prediction.simulation;
+
+import gutta.prediction.domain.Entity;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link SharedPendingWrites} is a table of pending entity writes that is shared by the simulations of several traces, so that conflicting accesses of
+ * concurrent use cases can be detected. The table is backed by a {@link ConcurrentHashMap}, which locks only individual bins on update, so that it can be
+ * used by simulations running in different threads.
+ */
+public final class SharedPendingWrites {
+
+    private final ConcurrentHashMap<Entity, Transaction> pendingEntitiesToTransaction = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the transaction that has a pending write to the given entity, if any.
+     *
+     * @param entity The entity to look up
+     * @return The transaction or {@code null} if there is no pending write to the entity
+     */
+    public Transaction transactionWithPendingWriteTo(Entity entity) {
+        return this.pendingEntitiesToTransaction.get(entity);
+    }
+
+    /**
+     * Returns the number of entities with pending writes.
+     *
+     * @return see above
+     */
+    public int size() {
+        return this.pendingEntitiesToTransaction.size();
+    }
+
+    void registerPendingWrite(Entity entity, Transaction transaction) {
+        this.pendingEntitiesToTransaction.put(entity, requireNonNull(transaction));
+    }
+
+    void releasePendingWrite(Entity entity, Transaction transaction) {
+        // Only remove the entry if it still belongs to the given transaction
+        this.pendingEntitiesToTransaction.remove(entity, transaction);
+    }
+
+}
@@ -0,0 +1,25 @@
+package gutta.prediction.simulation;
+
+/**
+ * A {@link SimulationConsumer} is a simulation listener that computes a result from a single simulation pass over a trace. Several consumers for the same
+ * trace and deployment model can share a simulation pass using a {@link SimulationPipeline}.
+ *
+ * @param <R> The type of the result
+ */
+public interface SimulationConsumer<R> extends TraceSimulationListener {
+
+    /**
+     * Returns the minimal simulation mode this consumer requires.
+     *
+     * @return see above
+     */
+    TraceSimulationMode requiredSimulationMode();
+
+    /**
+     * Returns the result of this consumer. This method may only be invoked after the simulation has completed.
+     *
+     * @return see above
+     */
+    R result();
+
+}
@@ -0,0 +1,78 @@
+package gutta.prediction.simulation;
+
+import gutta.prediction.domain.DeploymentModel;
+import gutta.prediction.event.EventTrace;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link SimulationPipeline} fuses several {@linkplain SimulationConsumer simulation consumers} for the same trace and deployment model into a single
+ * simulation pass. The pass is performed in the most comprehensive simulation mode required by any of the consumers. Consumers that require a less
+ * comprehensive mode are not affected by this, as the additional listener methods have no effect by default.
+ */
+public class SimulationPipeline {
+
+    private final EventTrace trace;
+
+    private final DeploymentModel deploymentModel;
+
+    private final List<SimulationConsumer<?>> consumers = new ArrayList<>();
+
+    private boolean executed = false;
+
+    /**
+     * Creates a new pipeline for the given trace and deployment model.
+     *
+     * @param trace           The trace to simulate
+     * @param deploymentModel The deployment model to simulate the trace on
+     */
+    public SimulationPipeline(EventTrace trace, DeploymentModel deploymentModel) {
+        this.trace = requireNonNull(trace);
+        this.deploymentModel = requireNonNull(deploymentModel);
+    }
+
+    /**
+     * Adds the given consumer to this pipeline.
+     *
+     * @param <C>      The type of the consumer
+     * @param consumer The consumer to add
+     * @return The given consumer, whose result is available after the pipeline has been run
+     */
+    public <C extends SimulationConsumer<?>> C add(C consumer) {
+        if (this.executed) {
+            throw new IllegalStateException("Consumers cannot be added after the pipeline has been run.");
+        }
+
+        this.consumers.add(requireNonNull(consumer));
+        return consumer;
+    }
+
+    /**
+     * Runs the simulation for all consumers of this pipeline in a single pass. A pipeline can only be run once.
+     */
+    public void run() {
+        if (this.executed) {
+            throw new IllegalStateException("The pipeline has already been run.");
+        }
+
+        this.executed = true;
+        if (this.consumers.isEmpty()) {
+            return;
+        }
+
+        // The simulation modes are ordered by increasing comprehensiveness
+        var simulationMode = TraceSimulationMode.BASIC;
+        for (var consumer : this.consumers) {
+            var requiredMode = consumer.requiredSimulationMode();
+            if (requiredMode.compareTo(simulationMode) > 0) {
+                simulationMode = requiredMode;
+            }
+        }
+
+        TraceSimulator.runSimulationOf(this.trace, this.deploymentModel, simulationMode, this.consumers);
+    }
+
+}
@@ -1,5 +1,6 @@
 package gutta.prediction.simulation;
 
+import gutta.prediction.domain.CompiledDeploymentModel;
 import gutta.prediction.domain.Component;
 import gutta.prediction.domain.DeploymentModel;
 import gutta.prediction.domain.Entity;
@@ -8,43 +9,126 @@ import gutta.prediction.event.EntityWriteEvent;
 import gutta.prediction.event.Location;
 import gutta.prediction.event.MonitoringEvent;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * A {@link TraceSimulationContext} provides information about the current state of the simulation to {@linkplain TraceSimulationListener simulation listeners}.
+ * The internal state is kept in arrays and open-addressing maps, which retain their capacity when the context is {@linkplain #reset reset}, so that a context
+ * can be reused for several traces without allocating new state.
  */
 public class TraceSimulationContext {
 
-    private final DeploymentModel deploymentModel;
+    private static final int INITIAL_STACK_CAPACITY = 16;
 
-    private final EventStream eventStream;
+    private static final int NO_SLOT = -1;
 
-    private final Deque<StackEntry> stack = new ArrayDeque<>();
+    private static final int NO_INDEX = -1;
 
-    private final Map<Transaction, Set<EntityWriteEvent>> pendingWritesPerTransaction = new HashMap<>();
+    private DeploymentModel deploymentModel;
 
-    private final Map<Entity, Transaction> pendingEntitiesToTransaction = new HashMap<>();
+    private EventStream eventStream;
 
-    private final Set<Entity> asynchronouslyChangedEntities = new HashSet<>();
+    // The state stack is stored in parallel arrays to avoid an allocation per transition
+    private ServiceCandidate[] stackServiceCandidates = new ServiceCandidate[INITIAL_STACK_CAPACITY];
+
+    private int[] stackServiceCandidateIds = new int[INITIAL_STACK_CAPACITY];
+
+    private Component[] stackComponents = new Component[INITIAL_STACK_CAPACITY];
+
+    private int[] stackComponentIds = new int[INITIAL_STACK_CAPACITY];
+
+    private Location[] stackLocations = new Location[INITIAL_STACK_CAPACITY];
+
+    private Transaction[] stackTransactions = new Transaction[INITIAL_STACK_CAPACITY];
+
+    private int stackSize = 0;
+
+    // Pending writes are stored in parallel arrays, in which the writes of each transaction are linked to a chain in the order of their registration. Thus,
+    // removing the writes of a transaction only visits its own writes. The slots of removed writes are reused via a free list
+    private EntityWriteEvent[] pendingWriteEvents = new EntityWriteEvent[INITIAL_STACK_CAPACITY];
+
+    private Transaction[] pendingWriteTransactions = new Transaction[INITIAL_STACK_CAPACITY];
+
+    private int[] pendingWriteIndexes = new int[INITIAL_STACK_CAPACITY];
+
+    private int[] nextPendingWrites = new int[INITIAL_STACK_CAPACITY];
+
+    private int numberOfUsedPendingWriteSlots = 0;
+
+    private int firstFreePendingWriteSlot = NO_SLOT;
+
+    private final OpenAddressingMap<Transaction, PendingWriteChain> pendingWritesPerTransaction = new OpenAddressingMap<>();
+
+    // Pending write events are registered only once per transaction, as the writes of a transaction formerly were a set
+    private final OpenAddressingMap<EntityWriteEvent, Transaction> pendingWriteEventsToTransaction = new OpenAddressingMap<>();
+
+    private final List<PendingWriteChain> unusedPendingWriteChains = new ArrayList<>();
+
+    private final OpenAddressingMap<Entity, Transaction> pendingEntitiesToTransaction = new OpenAddressingMap<>();
+
+    private final OpenAddressingMap<Entity, Boolean> asynchronouslyChangedEntities = new OpenAddressingMap<>();
+
+    // Pending writes of other traces that are simulated concurrently, if any
+    private SharedPendingWrites sharedPendingWrites;
 
     private ServiceCandidate currentServiceCandidate;
 
+    private int currentServiceCandidateId = CompiledDeploymentModel.NO_ID;
+
     private Component currentComponent;
 
+    private int currentComponentId = CompiledDeploymentModel.NO_ID;
+
     private Location currentLocation;
 
     private Transaction currentTransaction;
 
+    // Index of the write event whose outcome is currently notified, if any
+    private int notifiedWriteIndex = NO_INDEX;
+
     TraceSimulationContext(DeploymentModel deploymentModel, EventStream eventStream) {
         this.deploymentModel = deploymentModel;
         this.eventStream = eventStream;
     }
 
+    /**
+     * Resets this context for the simulation of another trace, retaining the capacity of the internal state.
+     * 
+     * @param deploymentModel The deployment model to use for the next simulation
+     * @param eventStream     The event stream of the next simulation
+     */
+    void reset(DeploymentModel deploymentModel, EventStream eventStream) {
+        this.deploymentModel = deploymentModel;
+        this.eventStream = eventStream;
+
+        Arrays.fill(this.stackServiceCandidates, 0, this.stackSize, null);
+        Arrays.fill(this.stackComponents, 0, this.stackSize, null);
+        Arrays.fill(this.stackLocations, 0, this.stackSize, null);
+        Arrays.fill(this.stackTransactions, 0, this.stackSize, null);
+        this.stackSize = 0;
+
+        Arrays.fill(this.pendingWriteEvents, 0, this.numberOfUsedPendingWriteSlots, null);
+        Arrays.fill(this.pendingWriteTransactions, 0, this.numberOfUsedPendingWriteSlots, null);
+        this.numberOfUsedPendingWriteSlots = 0;
+        this.firstFreePendingWriteSlot = NO_SLOT;
+        this.pendingWritesPerTransaction.clear();
+        this.pendingWriteEventsToTransaction.clear();
+
+        this.pendingEntitiesToTransaction.clear();
+        this.asynchronouslyChangedEntities.clear();
+        this.sharedPendingWrites = null;
+
+        this.currentServiceCandidate = null;
+        this.currentServiceCandidateId = CompiledDeploymentModel.NO_ID;
+        this.currentComponent = null;
+        this.currentComponentId = CompiledDeploymentModel.NO_ID;
+        this.currentLocation = null;
+        this.currentTransaction = null;
+        this.notifiedWriteIndex = NO_INDEX;
+    }
+
     /**
      * Returns the current service candidate, if any.
      * 
@@ -54,8 +138,13 @@ public class TraceSimulationContext {
         return this.currentServiceCandidate;
     }
 
-    void currentServiceCandidate(ServiceCandidate candidate) {
+    void currentServiceCandidate(ServiceCandidate candidate, int candidateId) {
         this.currentServiceCandidate = candidate;
+        this.currentServiceCandidateId = candidateId;
+    }
+
+    int currentServiceCandidateId() {
+        return this.currentServiceCandidateId;
     }
 
     /**
@@ -67,8 +156,13 @@ public class TraceSimulationContext {
         return this.currentComponent;
     }
 
-    void currentComponent(Component component) {
+    void currentComponent(Component component, int componentId) {
         this.currentComponent = component;
+        this.currentComponentId = componentId;
+    }
+
+    int currentComponentId() {
+        return this.currentComponentId;
     }
 
     /**
@@ -116,54 +210,234 @@ public class TraceSimulationContext {
         return this.eventStream.lookahead(amount);
     }
 
-    StackEntry peek() {
-        return this.stack.peek();
+    /**
+     * Returns the index of the event within the trace to which the current notification refers. For notifications about committed or reverted writes, this
+     * is the index of the respective write event, which may have occurred long before. Otherwise, it is the index of the current event. Thus, listeners can
+     * refer to events by their position instead of searching them in the trace.
+     * 
+     * @return see above
+     */
+    public int eventIndex() {
+        return (this.notifiedWriteIndex != NO_INDEX) ? this.notifiedWriteIndex : this.eventStream.currentPosition();
+    }
+
+    int notifiedWriteIndex() {
+        return this.notifiedWriteIndex;
     }
 
-    void pushCurrentState() {
-        this.stack.push(new StackEntry(this.currentServiceCandidate, this.currentComponent, this.currentLocation, this.currentTransaction));
+    void notifiedWriteIndex(int writeIndex) {
+        this.notifiedWriteIndex = writeIndex;
     }
 
-    StackEntry popCurrentState() {
-        var entry = this.stack.pop();
+    int peekComponentId() {
+        return this.stackComponentIds[this.stackSize - 1];
+    }
+
+    Transaction peekTransaction() {
+        return this.stackTransactions[this.stackSize - 1];
+    }
+
+    void pushCurrentState() {
+        if (this.stackSize == this.stackComponents.length) {
+            var newCapacity = 2 * this.stackSize;
+            this.stackServiceCandidates = Arrays.copyOf(this.stackServiceCandidates, newCapacity);
+            this.stackServiceCandidateIds = Arrays.copyOf(this.stackServiceCandidateIds, newCapacity);
+            this.stackComponents = Arrays.copyOf(this.stackComponents, newCapacity);
+            this.stackComponentIds = Arrays.copyOf(this.stackComponentIds, newCapacity);
+            this.stackLocations = Arrays.copyOf(this.stackLocations, newCapacity);
+            this.stackTransactions = Arrays.copyOf(this.stackTransactions, newCapacity);
+        }
+
+        var index = this.stackSize++;
+        this.stackServiceCandidates[index] = this.currentServiceCandidate;
+        this.stackServiceCandidateIds[index] = this.currentServiceCandidateId;
+        this.stackComponents[index] = this.currentComponent;
+        this.stackComponentIds[index] = this.currentComponentId;
+        this.stackLocations[index] = this.currentLocation;
+        this.stackTransactions[index] = this.currentTransaction;
+    }
 
-        this.currentServiceCandidate = entry.serviceCandidate();
-        this.currentComponent = entry.component();
-        this.currentLocation = entry.location();
-        this.currentTransaction = entry.transaction();
+    void popCurrentState() {
+        var index = --this.stackSize;
+
+        this.currentServiceCandidate = this.stackServiceCandidates[index];
+        this.currentServiceCandidateId = this.stackServiceCandidateIds[index];
+        this.currentComponent = this.stackComponents[index];
+        this.currentComponentId = this.stackComponentIds[index];
+        this.currentLocation = this.stackLocations[index];
+        this.currentTransaction = this.stackTransactions[index];
+
+        // Release the references, so that the state can be garbage-collected
+        this.stackServiceCandidates[index] = null;
+        this.stackComponents[index] = null;
+        this.stackLocations[index] = null;
+        this.stackTransactions[index] = null;
+    }
 
-        return entry;
+    void shareWith(SharedPendingWrites sharedPendingWrites) {
+        this.sharedPendingWrites = sharedPendingWrites;
     }
 
     Transaction getTransactionWithPendingWriteTo(Entity entity) {
-        return this.pendingEntitiesToTransaction.get(entity);
+        var transaction = this.pendingEntitiesToTransaction.get(entity);
+        if (transaction == null && this.sharedPendingWrites != null) {
+            transaction = this.sharedPendingWrites.transactionWithPendingWriteTo(entity);
+        }
+
+        return transaction;
     }
 
     void registerPendingWrite(EntityWriteEvent event) {
-        var pendingWritesInTransaction = this.pendingWritesPerTransaction.computeIfAbsent(this.currentTransaction, tx -> new HashSet<EntityWriteEvent>());
-        pendingWritesInTransaction.add(event);
+        var transaction = this.currentTransaction;
+        if (transaction.equals(this.pendingWriteEventsToTransaction.get(event))) {
+            // The event is already pending in this transaction
+            return;
+        }
+
+        var slot = this.allocatePendingWriteSlot();
+        this.pendingWriteEvents[slot] = event;
+        this.pendingWriteTransactions[slot] = transaction;
+        this.pendingWriteIndexes[slot] = this.eventStream.currentPosition();
+        this.nextPendingWrites[slot] = NO_SLOT;
+
+        // Append the write to the chain of its transaction
+        var chain = this.pendingWritesPerTransaction.get(transaction);
+        if (chain == null) {
+            chain = this.obtainPendingWriteChain();
+            chain.firstSlot = slot;
+            this.pendingWritesPerTransaction.put(transaction, chain);
+        } else {
+            this.nextPendingWrites[chain.lastSlot] = slot;
+        }
+        chain.lastSlot = slot;
+        chain.length++;
 
-        this.pendingEntitiesToTransaction.put(event.entity(), this.currentTransaction);
+        this.pendingWriteEventsToTransaction.put(event, transaction);
+        this.pendingEntitiesToTransaction.put(event.entity(), transaction);
+        if (this.sharedPendingWrites != null) {
+            this.sharedPendingWrites.registerPendingWrite(event.entity(), transaction);
+        }
     }
 
-    Set<EntityWriteEvent> getAndRemovePendingWritesFor(Transaction transaction) {
-        var pendingWrites = this.pendingWritesPerTransaction.remove(transaction);
-        if (pendingWrites == null) {
-            return Set.of();
+    private int allocatePendingWriteSlot() {
+        if (this.firstFreePendingWriteSlot != NO_SLOT) {
+            var slot = this.firstFreePendingWriteSlot;
+            this.firstFreePendingWriteSlot = this.nextPendingWrites[slot];
+            return slot;
+        }
+
+        if (this.numberOfUsedPendingWriteSlots == this.pendingWriteEvents.length) {
+            var newCapacity = 2 * this.numberOfUsedPendingWriteSlots;
+            this.pendingWriteEvents = Arrays.copyOf(this.pendingWriteEvents, newCapacity);
+            this.pendingWriteTransactions = Arrays.copyOf(this.pendingWriteTransactions, newCapacity);
+            this.pendingWriteIndexes = Arrays.copyOf(this.pendingWriteIndexes, newCapacity);
+            this.nextPendingWrites = Arrays.copyOf(this.nextPendingWrites, newCapacity);
+        }
+
+        return this.numberOfUsedPendingWriteSlots++;
+    }
+
+    private PendingWriteChain obtainPendingWriteChain() {
+        var numberOfUnusedChains = this.unusedPendingWriteChains.size();
+        return (numberOfUnusedChains > 0) ? this.unusedPendingWriteChains.remove(numberOfUnusedChains - 1) : new PendingWriteChain();
+    }
+
+    /**
+     * Removes the pending writes of the given transaction and returns them in the order of their registration, along with the indexes of the write events
+     * in the trace. Only the writes of the given transaction are visited. The returned writes are not affected by subsequent invocations, so that listeners
+     * notified about the writes may complete further transactions.
+     * 
+     * @param transaction The transaction whose pending writes are to be removed
+     * @return The removed writes
+     */
+    PendingWrites getAndRemovePendingWritesFor(Transaction transaction) {
+        var chain = this.pendingWritesPerTransaction.get(transaction);
+        if (chain == null) {
+            return PendingWrites.NONE;
+        }
+
+        this.pendingWritesPerTransaction.remove(transaction);
+        var removedWrites = new EntityWriteEvent[chain.length];
+        var removedWriteIndexes = new int[chain.length];
+
+        var slot = chain.firstSlot;
+        for (var writeIndex = 0; writeIndex < removedWrites.length; writeIndex++) {
+            var writeEvent = this.pendingWriteEvents[slot];
+            var nextSlot = this.nextPendingWrites[slot];
+            removedWrites[writeIndex] = writeEvent;
+            removedWriteIndexes[writeIndex] = this.pendingWriteIndexes[slot];
+
+            // Remove the changed entity from the appropriate maps
+            this.pendingWriteEventsToTransaction.remove(writeEvent);
+            this.pendingEntitiesToTransaction.remove(writeEvent.entity());
+            if (this.sharedPendingWrites != null) {
+                this.sharedPendingWrites.releasePendingWrite(writeEvent.entity(), transaction);
+            }
+
+            // Put the slot on the free list
+            this.pendingWriteEvents[slot] = null;
+            this.pendingWriteTransactions[slot] = null;
+            this.nextPendingWrites[slot] = this.firstFreePendingWriteSlot;
+            this.firstFreePendingWriteSlot = slot;
+
+            slot = nextSlot;
         }
 
-        // Remove the changed entities from the appropriate map
-        pendingWrites.stream().map(EntityWriteEvent::entity).forEach(this.pendingEntitiesToTransaction::remove);
+        chain.length = 0;
+        this.unusedPendingWriteChains.add(chain);
 
-        return pendingWrites;
+        return new PendingWrites(removedWrites, removedWriteIndexes);
+    }
+
+    /**
+     * Releases all remaining pending writes of this trace from the shared pending writes, e.g., at the end of a trace with unfinished transactions.
+     */
+    void releaseSharedPendingWrites() {
+        if (this.sharedPendingWrites == null) {
+            return;
+        }
+
+        // Free slots do not contain an event
+        for (var slot = 0; slot < this.numberOfUsedPendingWriteSlots; slot++) {
+            var writeEvent = this.pendingWriteEvents[slot];
+            if (writeEvent != null) {
+                this.sharedPendingWrites.releasePendingWrite(writeEvent.entity(), this.pendingWriteTransactions[slot]);
+            }
+        }
     }
 
     boolean isAsynchronouslyChanged(Entity entity) {
-        return this.asynchronouslyChangedEntities.contains(entity);
+        return this.asynchronouslyChangedEntities.containsKey(entity);
     }
 
     void registerAsynchronouslyChangedEntity(Entity entity) {
-        this.asynchronouslyChangedEntities.add(entity);
+        this.asynchronouslyChangedEntities.put(entity, Boolean.TRUE);
+    }
+
+    /**
+     * Pending writes removed from the context, along with the indexes of the write events in the trace.
+     * 
+     * @param events       The write events in the order of their registration
+     * @param eventIndexes The index of each write event in the trace
+     */
+    record PendingWrites(EntityWriteEvent[] events, int[] eventIndexes) {
+
+        static final PendingWrites NONE = new PendingWrites(new EntityWriteEvent[0], new int[0]);
+
+        int size() {
+            return this.events.length;
+        }
+
+    }
+
+    private static class PendingWriteChain {
+
+        private int firstSlot;
+
+        private int lastSlot;
+
+        private int length;
+
     }
 
 }
@@ -0,0 +1,77 @@
+package gutta.prediction.simulation;
+
+import gutta.prediction.domain.DeploymentModel;
+import gutta.prediction.event.EventTrace;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link TraceSimulationSession} simulates a sequence of traces on the same deployment model with the same listeners. In contrast to
+ * {@link TraceSimulator#runSimulationOf(EventTrace, DeploymentModel, TraceSimulationMode, TraceSimulationListener)}, the simulation state is reset and reused
+ * for each trace, so that simulating many short traces does not allocate a new simulator each time.
+ * <p>
+ * Sessions are not thread-safe, so each session must only be used by one thread at a time. As the listeners are also reused, they must reset their own state
+ * in {@link TraceSimulationListener#onStartOfProcessing()}.
+ */
+public class TraceSimulationSession {
+
+    private final DeploymentModel deploymentModel;
+
+    private final TraceSimulationMode mode;
+
+    private final List<TraceSimulationListener> listeners;
+
+    private TraceSimulatorWorker worker;
+
+    /**
+     * Creates a new session with a single listener.
+     *
+     * @param deploymentModel The deployment model to simulate the traces on
+     * @param mode            The simulation mode to use
+     * @param listener        The listener to receive simulation events
+     */
+    public TraceSimulationSession(DeploymentModel deploymentModel, TraceSimulationMode mode, TraceSimulationListener listener) {
+        this(deploymentModel, mode, List.of(listener));
+    }
+
+    /**
+     * Creates a new session with the given listeners, which are notified in the given order.
+     *
+     * @param deploymentModel The deployment model to simulate the traces on
+     * @param mode            The simulation mode to use
+     * @param listeners       The listeners to receive simulation events
+     */
+    public TraceSimulationSession(DeploymentModel deploymentModel, TraceSimulationMode mode, List<? extends TraceSimulationListener> listeners) {
+        this.deploymentModel = requireNonNull(deploymentModel);
+        this.mode = requireNonNull(mode);
+        this.listeners = List.copyOf(listeners);
+    }
+
+    /**
+     * Returns the deployment model of this session.
+     *
+     * @return see above
+     */
+    public DeploymentModel deploymentModel() {
+        return this.deploymentModel;
+    }
+
+    /**
+     * Simulates the given trace, notifying the listeners of this session.
+     *
+     * @param trace The trace to simulate
+     */
+    public void simulate(EventTrace trace) {
+        if (this.worker == null) {
+            // The worker is created with the first trace and reset for all subsequent ones
+            this.worker = TraceSimulator.createWorker(this.mode, this.listeners, trace, this.deploymentModel);
+        } else {
+            this.worker.reset(trace);
+        }
+
+        this.worker.processEvents();
+    }
+
+}
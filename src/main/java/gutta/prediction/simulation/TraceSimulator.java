@@ -27,6 +27,23 @@ public class TraceSimulator {
         new TraceSimulator(deploymentModel).addListener(listener).processEvents(trace, mode);
     }
 
+    /**
+     * Runs a simulation of the given trace on the given deployment model with the given parameters, notifying all given listeners in a single pass. The
+     * listeners are notified in the given order.
+     * 
+     * @param trace           The trace to simulate
+     * @param deploymentModel The deployment model to simulate the trace on
+     * @param mode            The simulation mode to use
+     * @param listeners       The listeners to receive simulation events
+     */
+    public static void runSimulationOf(EventTrace trace, DeploymentModel deploymentModel, TraceSimulationMode mode,
+            List<? extends TraceSimulationListener> listeners) {
+        var simulator = new TraceSimulator(deploymentModel);
+        listeners.forEach(simulator::addListener);
+
+        simulator.processEvents(trace, mode);
+    }
+
     private TraceSimulator(DeploymentModel deploymentModel) {
         this.deploymentModel = deploymentModel;
         this.listeners = new ArrayList<>();
@@ -38,14 +55,19 @@ public class TraceSimulator {
     }
 
     private void processEvents(EventTrace trace, TraceSimulationMode mode) {
+        var worker = createWorker(mode, List.copyOf(this.listeners), trace, this.deploymentModel);
+        worker.processEvents();
+    }
+
+    static TraceSimulatorWorker createWorker(TraceSimulationMode mode, List<TraceSimulationListener> listeners, EventTrace trace,
+            DeploymentModel deploymentModel) {
         WorkerCreator workerCreator = switch (mode) {
         case BASIC -> BasicTraceSimulatorWorker::new;
         case WITH_TRANSACTIONS -> TransactionTraceSimulatorWorker::new;
         case WITH_ENTITY_ACCESSES -> EntityAccessSimulatorWorker::new;
         };
 
-        var worker = workerCreator.createWorker(List.copyOf(this.listeners), trace, this.deploymentModel);
-        worker.processEvents();
+        return workerCreator.createWorker(listeners, trace, deploymentModel);
     }
 
     private interface WorkerCreator {
@@ -1,7 +1,11 @@
 package gutta.prediction.simulation;
 
+import gutta.prediction.event.EventTrace;
+
 interface TraceSimulatorWorker {
     
     void processEvents();
 
+    void reset(EventTrace trace);
+
 }
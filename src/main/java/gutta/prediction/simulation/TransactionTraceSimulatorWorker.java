@@ -36,6 +36,19 @@ class TransactionTraceSimulatorWorker extends BasicTraceSimulatorWorker {
         this(List.of(listener), trace, deploymentModel);
     }
 
+    TransactionTraceSimulatorWorker(List<TraceSimulationListener> listeners, EventStream events, DeploymentModel deploymentModel) {
+        super(listeners, events, deploymentModel);
+    }
+
+    @Override
+    public void reset(EventTrace trace) {
+        super.reset(trace);
+
+        this.syntheticTransactionIdCount = 0;
+        this.previousTransaction = null;
+        this.newTransaction = null;
+    }
+
     protected Transaction currentTransaction() {
         return this.context.currentTransaction();
     }
@@ -75,10 +88,10 @@ class TransactionTraceSimulatorWorker extends BasicTraceSimulatorWorker {
     @Override
     protected void handlePossibleTransactionCompletionOnCandidateExit(ServiceCandidateExitEvent exitEvent) {
         var transaction = this.currentTransaction();
-        var stackEntry = this.context.peek();
+        var enclosingTransaction = this.context.peekTransaction();
 
         var implicitTopLevelTransactionAvailable = (transaction != null && transaction.demarcation() == Demarcation.IMPLICIT && transaction.isTopLevel());
-        if (implicitTopLevelTransactionAvailable && !transaction.equals(stackEntry.transaction())) {
+        if (implicitTopLevelTransactionAvailable && !transaction.equals(enclosingTransaction)) {
             // If a top-level transaction was implicitly created on entry, we need to complete it
             var asynchronous = this.context.currentServiceCandidate().asynchronous();
             this.completeTransactionAndNotifyListeners(exitEvent, transaction, asynchronous);
@@ -7,6 +7,7 @@ import gutta.prediction.dsl.DeploymentModelReader;
 import gutta.prediction.event.EntityWriteEvent;
 import gutta.prediction.event.EventTrace;
 import gutta.prediction.event.MonitoringEvent;
+import gutta.prediction.simulation.SimulationPipeline;
 import gutta.prediction.span.TraceBuilder;
 import gutta.prediction.ui.analysis.RemoteCall;
 import gutta.prediction.ui.analysis.RemoteCallsLister;
@@ -194,21 +195,28 @@ class TraceAnalysisFrame extends UIFrameTemplate {
         var rewrittenTrace = analysis.rewriteTrace(originalTrace, modifiedDeploymentModel);
 
         var originalTraceIssues = analysis.analyzeTrace(originalTrace, this.originalDeploymentModel);
-        var rewrittenTraceIssues = analysis.analyzeTrace(rewrittenTrace, modifiedDeploymentModel);
 
-        var diff = analysis.diffAnalyzerResults(originalTraceIssues, rewrittenTraceIssues, rewrittenTrace::obtainOriginalEvent);
+        // Analyze the rewritten trace and list its remote calls in a single simulation pass
+        var rewrittenTracePipeline = new SimulationPipeline(rewrittenTrace, modifiedDeploymentModel);
+        var rewrittenTraceAnalyzer = rewrittenTracePipeline.add(analysis.createAnalyzer(modifiedDeploymentModel));
+        var listEvents = (rewrittenTrace.size() < MAX_EVENTS_FOR_LIST);
+        var remoteCallsLister = (listEvents) ? rewrittenTracePipeline.add(new RemoteCallsLister().createLister(modifiedDeploymentModel)) : null;
+        rewrittenTracePipeline.run();
+
+        var rewrittenTraceIssues = rewrittenTraceAnalyzer.result();
+
+        var diff = analysis.diffAnalyzerResults(originalTraceIssues, rewrittenTraceIssues, rewrittenTrace);
 
         if (rewrittenTrace.size() < MAX_EVENTS_FOR_VISUALIZATION) {
             var spanTrace = new TraceBuilder().buildTrace(rewrittenTrace, modifiedDeploymentModel, rewrittenTraceIssues.issues());
             this.traceView.get().trace(spanTrace);
         }
 
-        if (rewrittenTrace.size() < MAX_EVENTS_FOR_LIST) {
+        if (listEvents) {
             var eventViews = rewrittenTrace.events().stream().map(EventView::new).sorted().collect(Collectors.toList());
             this.eventsTable.get().setModel(new EventTableModel(eventViews));
 
-            var remoteCalls = new RemoteCallsLister().listRemoteCalls(rewrittenTrace, modifiedDeploymentModel);
-            this.remoteCallsTable.get().setModel(new RemoteCallsTableModel(remoteCalls));
+            this.remoteCallsTable.get().setModel(new RemoteCallsTableModel(remoteCallsLister.result()));
         }
 
         var consistencyIssueViews = new ArrayList<ConsistencyIssueView>();
@@ -1,5 +1,7 @@
 package gutta.prediction.ui;
 
+import gutta.prediction.analysis.consistency.CheckCrossComponentAccesses;
+import gutta.prediction.analysis.consistency.CheckInterleavingAccesses;
 import gutta.prediction.analysis.consistency.ConsistencyIssuesAnalysis;
 import gutta.prediction.domain.DeploymentModel;
 import gutta.prediction.event.EventTrace;
@@ -17,10 +19,16 @@ class UseCaseConsistencyAnalysisFrame extends UseCaseAnalysisFrameTemplate<UseCa
 
     private static final long serialVersionUID = 887307194797918432L;
 
+    // The analysis is kept across scenarios, so that the results of the original traces are only computed once
+    private final ConsistencyIssuesAnalysis analysis;
+
     public UseCaseConsistencyAnalysisFrame(Map<String, Collection<EventTrace>> tracesPerUseCase, String originalDeploymentModelSpec,
             DeploymentModel originalDeploymentModel) {
         super(tracesPerUseCase, originalDeploymentModelSpec, originalDeploymentModel);
 
+        var numberOfTraces = tracesPerUseCase.values().stream().mapToInt(Collection::size).sum();
+        this.analysis = new ConsistencyIssuesAnalysis(CheckCrossComponentAccesses.YES, CheckInterleavingAccesses.YES, Math.max(1, numberOfTraces));
+
         this.initialize();
         this.initializeControls();
         this.initializeDefaults();
@@ -46,19 +54,11 @@ class UseCaseConsistencyAnalysisFrame extends UseCaseAnalysisFrameTemplate<UseCa
     protected UseCaseConsistencyAnalysisResultView analyzeScenario(String useCaseName, Collection<EventTrace> traces, DeploymentModel originalDeploymentModel,
             DeploymentModel modifiedDeploymentModel) {
 
-        var numberOfTracesWithChangeInIssues = 0;
-        var numberOfTracesWithChangeInWrites = 0;
-
-        var analysisResults = new ConsistencyIssuesAnalysis().analyzeTraces(traces, originalDeploymentModel, modifiedDeploymentModel);
-        for (var result : analysisResults.values()) {
-            if (!result.newIssues().isEmpty() || !result.obsoleteIssues().isEmpty()) {
-                numberOfTracesWithChangeInIssues++;
-            }
-            if (!result.nowCommittedWrites().isEmpty() || !result.nowRevertedWrites().isEmpty()) {
-                numberOfTracesWithChangeInWrites++;
-            }
-        }
-        
+        var statistics = this.analysis.summarizeTraces(traces.stream(), originalDeploymentModel, modifiedDeploymentModel);
+        var counts = statistics.totalCounts();
+        var numberOfTracesWithChangeInIssues = counts.numberOfTracesWithChangeInIssues();
+        var numberOfTracesWithChangeInWrites = counts.numberOfTracesWithChangeInWrites();
+
         var numberOfTraces = traces.size();
         var percentageWithChangeInIssues = (double) numberOfTracesWithChangeInIssues / (double) numberOfTraces;
         var percentageWithChangeInWrites = (double) numberOfTracesWithChangeInWrites / (double) numberOfTraces;
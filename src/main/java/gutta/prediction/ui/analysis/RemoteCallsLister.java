@@ -5,8 +5,9 @@ import gutta.prediction.domain.DeploymentModel;
 import gutta.prediction.event.EventTrace;
 import gutta.prediction.event.ServiceCandidateEntryEvent;
 import gutta.prediction.event.ServiceCandidateInvocationEvent;
+import gutta.prediction.simulation.SimulationConsumer;
+import gutta.prediction.simulation.SimulationPipeline;
 import gutta.prediction.simulation.TraceSimulationContext;
-import gutta.prediction.simulation.TraceSimulationListener;
 import gutta.prediction.simulation.TraceSimulationMode;
 import gutta.prediction.simulation.TraceSimulator;
 
@@ -29,7 +30,17 @@ public class RemoteCallsLister {
         return new RemoteCallsListerWorker(deploymentModel).findCalls(trace);
     }
 
-    private static class RemoteCallsListerWorker implements TraceSimulationListener {
+    /**
+     * Creates a consumer that searches a trace for remote calls as part of a {@link SimulationPipeline}.
+     * 
+     * @param deploymentModel The deployment model to use for the analysis
+     * @return The consumer, which provides the (possibly empty) list of found remote calls after the pipeline has been run
+     */
+    public SimulationConsumer<List<RemoteCall>> createLister(DeploymentModel deploymentModel) {
+        return new RemoteCallsListerWorker(deploymentModel);
+    }
+
+    private static class RemoteCallsListerWorker implements SimulationConsumer<List<RemoteCall>> {
 
         private final DeploymentModel deploymentModel;
 
@@ -40,7 +51,17 @@ public class RemoteCallsLister {
         }
 
         public List<RemoteCall> findCalls(EventTrace trace) {
-            TraceSimulator.runSimulationOf(trace, this.deploymentModel, TraceSimulationMode.BASIC, this);
+            TraceSimulator.runSimulationOf(trace, this.deploymentModel, this.requiredSimulationMode(), this);
+            return this.result();
+        }
+
+        @Override
+        public TraceSimulationMode requiredSimulationMode() {
+            return TraceSimulationMode.BASIC;
+        }
+
+        @Override
+        public List<RemoteCall> result() {
             return this.calls;
         }
 
@@ -0,0 +1,153 @@
+package gutta.prediction.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link BoundedTaskProcessor} processes the elements of a (potentially lazy) stream in parallel, while bounding the number of elements that are in flight
+ * at the same time. In contrast to the {@link SimpleTaskScope}, the elements are only pulled from the stream when a slot becomes available, so that the
+ * memory required for processing does not depend on the total number of elements. The results are handed to a result handler as soon as they are available,
+ * and the result handler is never invoked concurrently.
+ *
+ * @param <T> The type of the elements to process
+ * @param <R> The type of the results
+ */
+public class BoundedTaskProcessor<T, R> {
+
+    private static final int DEFAULT_MAX_ELEMENTS_IN_FLIGHT = 2 * Runtime.getRuntime().availableProcessors();
+
+    private final int maxElementsInFlight;
+
+    /**
+     * Creates a new processor with a default bound that is derived from the number of available processors.
+     */
+    public BoundedTaskProcessor() {
+        this(DEFAULT_MAX_ELEMENTS_IN_FLIGHT);
+    }
+
+    /**
+     * Creates a new processor with the given bound.
+     *
+     * @param maxElementsInFlight The maximal number of elements that are processed at the same time
+     */
+    public BoundedTaskProcessor(int maxElementsInFlight) {
+        if (maxElementsInFlight < 1) {
+            throw new IllegalArgumentException("The number of elements in flight must be positive.");
+        }
+
+        this.maxElementsInFlight = maxElementsInFlight;
+    }
+
+    /**
+     * Processes the given elements using the given action. Each element is processed in a virtual thread. If processing of an element fails, no further
+     * elements are taken from the stream, and the error is reported after all running tasks have completed.
+     *
+     * @param elements      The elements to process
+     * @param action        The action to perform on each element
+     * @param resultHandler The handler to invoke for each result
+     * @throws InterruptedException If an interrupt occurs while waiting for the tasks to complete
+     * @throws ExecutionException   If one or more errors occurred during the processing of the elements
+     */
+    public void process(Stream<T> elements, Function<T, R> action, ResultHandler<T, R> resultHandler) throws InterruptedException, ExecutionException {
+        requireNonNull(action);
+        requireNonNull(resultHandler);
+
+        var state = new ProcessingState<T, R>(resultHandler);
+        var permits = new Semaphore(this.maxElementsInFlight);
+
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            var iterator = elements.iterator();
+
+            while (!state.hasFailed() && iterator.hasNext()) {
+                // Wait for a free slot before pulling the next element from the stream
+                permits.acquire();
+
+                var element = iterator.next();
+                executorService.execute(() -> this.processElement(element, action, state, permits));
+            }
+
+            executorService.shutdown();
+            executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+
+        state.throwIfFailed();
+    }
+
+    private void processElement(T element, Function<T, R> action, ProcessingState<T, R> state, Semaphore permits) {
+        try {
+            var result = action.apply(element);
+            state.handleResult(element, result);
+        } catch (Throwable e) {
+            state.recordError(e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Handler for the results of the processing, which is invoked once per element.
+     *
+     * @param <T> The type of the processed elements
+     * @param <R> The type of the results
+     */
+    public interface ResultHandler<T, R> {
+
+        /**
+         * Handles the given result for the given element.
+         *
+         * @param element The element the result belongs to
+         * @param result  The result to handle
+         */
+        void handle(T element, R result);
+
+    }
+
+    private static class ProcessingState<T, R> {
+
+        private final ResultHandler<T, R> resultHandler;
+
+        private final List<Throwable> errors = new ArrayList<>();
+
+        private volatile boolean failed = false;
+
+        public ProcessingState(ResultHandler<T, R> resultHandler) {
+            this.resultHandler = resultHandler;
+        }
+
+        public boolean hasFailed() {
+            return this.failed;
+        }
+
+        public synchronized void handleResult(T element, R result) {
+            this.resultHandler.handle(element, result);
+        }
+
+        public synchronized void recordError(Throwable error) {
+            this.errors.add(error);
+            this.failed = true;
+        }
+
+        public synchronized void throwIfFailed() throws ExecutionException {
+            var errorsIterator = this.errors.iterator();
+
+            if (errorsIterator.hasNext()) {
+                // Build an execution exception with the first error as its cause, and add the remaining errors as suppressed
+                var executionException = new ExecutionException("Error while processing elements.", errorsIterator.next());
+                errorsIterator.forEachRemaining(executionException::addSuppressed);
+
+                throw executionException;
+            }
+        }
+
+    }
+
+}
@@ -22,9 +22,12 @@ import gutta.prediction.event.UseCaseEndEvent;
 import gutta.prediction.event.UseCaseStartEvent;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Test cases for the class {@link ConsistencyIssuesAnalysis}.
@@ -153,4 +156,117 @@ class ConsistencyIssuesAnalysisTest {
         assertEquals(expectedResult, result);
     }
 
+    
+    /**
+     * Test case: The results of the positional analysis correspond to the traces at the same positions, even if traces are equal.
+     */
+    @Test
+    void resultsInOrderOfTraces() {
+        var location = new ObservedLocation("test", 1234, 1);
+        var entity = new Entity("et1", "e1");
+
+        var unchangedTrace = EventTrace.of(
+                new UseCaseStartEvent(1, 0, location, "uc1"),
+                new UseCaseEndEvent(1, 100, location, "uc1")
+                );
+        var changedTrace = EventTrace.of(
+                new UseCaseStartEvent(2, 0, location, "uc1"),
+                new TransactionStartEvent(2, 100, location, "tx1"),
+                new ServiceCandidateInvocationEvent(2, 200, location, "sc1"),
+                new ServiceCandidateEntryEvent(2, 200, location, "sc1"),
+                new EntityWriteEvent(2, 300, location, entity),
+                new ServiceCandidateExitEvent(2, 400, location, "sc1"),
+                new ServiceCandidateReturnEvent(2, 400, location, "sc1"),
+                new ExplicitTransactionAbortEvent(2, 500, location, "tx1"),
+                new UseCaseEndEvent(2, 600, location, "uc1")
+                );
+
+        var useCase = new UseCase("uc1");
+        var serviceCandidate = new ServiceCandidate("sc1", TransactionBehavior.REQUIRED);
+
+        var component1 = new Component("c1");
+        var component2 = new Component("c2");
+
+        var deploymentModel = new DeploymentModel.Builder()
+                .assignUseCaseToComponent(useCase, component1)
+                .assignServiceCandidateToComponent(serviceCandidate, component1)
+                .build();
+
+        var modifiedDeploymentModel = deploymentModel.applyModifications()
+                .assignServiceCandidateToComponent(serviceCandidate, component2)
+                .addSymmetricRemoteConnection(component1, component2, 0, TransactionPropagation.NONE)
+                .build();
+
+        var analysis = new ConsistencyIssuesAnalysis(CheckCrossComponentAccesses.NO, CheckInterleavingAccesses.NO);
+        var traces = List.of(changedTrace, unchangedTrace, changedTrace);
+        var results = analysis.analyzeTracesInOrder(traces, deploymentModel, modifiedDeploymentModel);
+
+        assertEquals(traces.size(), results.size());
+        for (var traceIndex = 0; traceIndex < traces.size(); traceIndex++) {
+            var expectedResult = analysis.analyzeTrace(traces.get(traceIndex), deploymentModel, modifiedDeploymentModel);
+            assertEquals(expectedResult, results.get(traceIndex));
+        }
+
+        assertEquals(1, results.get(0).nowCommittedWrites().size());
+        assertEquals(0, results.get(1).nowCommittedWrites().size());
+    }
+
+    /**
+     * Test case: The early-exit change detection agrees with the full analysis for traces with and without changes.
+     */
+    @Test
+    void changeDetectionAgreesWithFullAnalysis() {
+        var location = new ObservedLocation("test", 1234, 1);
+        var entity = new Entity("et1", "e1");
+
+        var unchangedTrace = EventTrace.of(
+                new UseCaseStartEvent(1, 0, location, "uc1"),
+                new TransactionStartEvent(1, 100, location, "tx1"),
+                new EntityWriteEvent(1, 200, location, entity),
+                new TransactionCommitEvent(1, 300, location, "tx1"),
+                new UseCaseEndEvent(1, 400, location, "uc1")
+                );
+        var changedTrace = EventTrace.of(
+                new UseCaseStartEvent(2, 0, location, "uc1"),
+                new TransactionStartEvent(2, 100, location, "tx1"),
+                new ServiceCandidateInvocationEvent(2, 200, location, "sc1"),
+                new ServiceCandidateEntryEvent(2, 200, location, "sc1"),
+                new EntityWriteEvent(2, 300, location, entity),
+                new ServiceCandidateExitEvent(2, 400, location, "sc1"),
+                new ServiceCandidateReturnEvent(2, 400, location, "sc1"),
+                new ExplicitTransactionAbortEvent(2, 500, location, "tx1"),
+                new UseCaseEndEvent(2, 600, location, "uc1")
+                );
+
+        var useCase = new UseCase("uc1");
+        var serviceCandidate = new ServiceCandidate("sc1", TransactionBehavior.REQUIRED);
+
+        var component1 = new Component("c1");
+        var component2 = new Component("c2");
+
+        var deploymentModel = new DeploymentModel.Builder()
+                .assignUseCaseToComponent(useCase, component1)
+                .assignServiceCandidateToComponent(serviceCandidate, component1)
+                .build();
+
+        var modifiedDeploymentModel = deploymentModel.applyModifications()
+                .assignServiceCandidateToComponent(serviceCandidate, component2)
+                .addSymmetricRemoteConnection(component1, component2, 0, TransactionPropagation.NONE)
+                .build();
+
+        var analysis = new ConsistencyIssuesAnalysis(CheckCrossComponentAccesses.NO, CheckInterleavingAccesses.YES);
+        for (var scenarioModel : List.of(deploymentModel, modifiedDeploymentModel)) {
+            for (var trace : List.of(unchangedTrace, changedTrace)) {
+                var result = analysis.analyzeTrace(trace, deploymentModel, scenarioModel);
+                var expectedChanges = !(result.newIssues().isEmpty() && result.obsoleteIssues().isEmpty() && result.nowCommittedWrites().isEmpty() &&
+                        result.nowRevertedWrites().isEmpty());
+
+                assertEquals(expectedChanges, analysis.hasConsistencyChanges(trace, deploymentModel, scenarioModel));
+            }
+        }
+
+        assertTrue(analysis.hasConsistencyChanges(changedTrace, deploymentModel, modifiedDeploymentModel));
+        assertFalse(analysis.hasConsistencyChanges(unchangedTrace, deploymentModel, modifiedDeploymentModel));
+    }
+
 }
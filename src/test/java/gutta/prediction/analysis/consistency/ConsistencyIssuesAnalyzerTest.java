@@ -26,6 +26,7 @@ import gutta.prediction.event.UseCaseEndEvent;
 import gutta.prediction.event.UseCaseStartEvent;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -200,6 +201,7 @@ class ConsistencyIssuesAnalyzerTest {
     
     /**
      * Test case: If an entity is changed in an uncommitted transaction, and the same entity is written again in a nested transaction, a "write conflict" issue is created.
+     * The result also provides the indexes of the events of the issue and the writes.
      */
     @Test
     void writeConflict() {
@@ -243,6 +245,11 @@ class ConsistencyIssuesAnalyzerTest {
         var expectedResult = new ConsistencyAnalyzerResult(Set.of(new WriteConflictIssue(entity, conflictCausingEvent)), Set.of(committedEvent), Set.of(conflictCausingEvent));
         
         assertEquals(expectedResult, result);
+        
+        // The writes are only committed at the end of the trace, but the result must provide the indexes of the write events
+        assertEquals(List.of(new ConsistencyAnalyzerResult.IndexedIssue(new WriteConflictIssue(entity, conflictCausingEvent), 6)), result.indexedIssues());
+        assertEquals(List.of(new ConsistencyAnalyzerResult.IndexedWrite(committedEvent, 2)), result.indexedCommittedWrites());
+        assertEquals(List.of(new ConsistencyAnalyzerResult.IndexedWrite(conflictCausingEvent, 6)), result.indexedRevertedWrites());
     }
     
     /**
@@ -602,6 +609,58 @@ class ConsistencyIssuesAnalyzerTest {
         assertEquals(expectedResult, result);
     }
     
+    /**
+     * Test case: Only changes that were made before a write in a suspended phase of the transaction are interleaved, i.e., changes made after resuming the
+     * transaction and suspensions without writes do not raise an issue.
+     */
+    @Test
+    void interleavingOnlyForChangesBeforeInterleavingWrite() {
+        var traceId = 1234;
+        var location = new ObservedLocation("test", 1, 0);
+
+        var entity1 = new Entity("et1", "e1");
+        var entity2 = new Entity("et1", "e2");
+        var entity3 = new Entity("et1", "e3");
+
+        var trace = EventTrace.of(
+                new UseCaseStartEvent(traceId, 0, location, "uc"),
+                new TransactionStartEvent(traceId, 10, location, "tx1"),
+                new EntityWriteEvent(traceId, 20, location, entity1),
+                new ServiceCandidateInvocationEvent(traceId, 30, location, "sc"),
+                new ServiceCandidateEntryEvent(traceId, 40, location, "sc"),
+                new EntityWriteEvent(traceId, 50, location, entity2),
+                new ServiceCandidateExitEvent(traceId, 60, location, "sc"),
+                new ServiceCandidateReturnEvent(traceId, 70, location, "sc"),
+                new EntityWriteEvent(traceId, 80, location, entity3),
+                new ServiceCandidateInvocationEvent(traceId, 90, location, "sc"),
+                new ServiceCandidateEntryEvent(traceId, 100, location, "sc"),
+                new ServiceCandidateExitEvent(traceId, 110, location, "sc"),
+                new ServiceCandidateReturnEvent(traceId, 120, location, "sc"),
+                new EntityWriteEvent(traceId, 130, location, entity3),
+                new EntityWriteEvent(traceId, 140, location, entity1),
+                new TransactionCommitEvent(traceId, 150, location, "tx1"),
+                new UseCaseEndEvent(traceId, 160, location, "uc")
+                );
+
+        var useCase = new UseCase("uc");
+        var serviceCandidate = new ServiceCandidate("sc", TransactionBehavior.REQUIRES_NEW);
+        var component = new Component("component");
+        var entityType = new EntityType("et1");
+
+        var deploymentModel = new DeploymentModel.Builder()
+                .assignUseCaseToComponent(useCase, component)
+                .assignServiceCandidateToComponent(serviceCandidate, component)
+                .assignEntityTypeToComponent(entityType, component)
+                .build();
+
+        var analyzer = new ConsistencyIssuesAnalyzer(CheckCrossComponentAccesses.NO, CheckInterleavingAccesses.YES);
+        var result = analyzer.analyzeTrace(trace, deploymentModel);
+
+        var expectedIssue = new InterleavedWriteIssue(entity1, new EntityWriteEvent(traceId, 140, location, entity1));
+
+        assertEquals(Set.of(expectedIssue), result.issues());
+    }
+
     /**
      * Test case: An interleaved access to an entity in the same aggregate raises an issue if the appropriate option is active.
      */
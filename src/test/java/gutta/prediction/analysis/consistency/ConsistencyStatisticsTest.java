@@ -0,0 +1,61 @@
+package gutta.prediction.analysis.consistency;
+
+import gutta.prediction.analysis.consistency.ConsistencyStatistics.IssueCounts;
+import gutta.prediction.analysis.consistency.ConsistencyStatistics.TraceCounts;
+import gutta.prediction.domain.Entity;
+import gutta.prediction.event.EntityReadEvent;
+import gutta.prediction.event.EntityWriteEvent;
+import gutta.prediction.event.EventTrace;
+import gutta.prediction.event.ObservedLocation;
+import gutta.prediction.event.UseCaseEndEvent;
+import gutta.prediction.event.UseCaseStartEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test cases for the class {@link ConsistencyStatistics}.
+ */
+class ConsistencyStatisticsTest {
+
+    /**
+     * Test case: Results are counted per use case, issue type and entity type, and statistics of separate sets of traces can be merged.
+     */
+    @Test
+    void countAndMerge() {
+        var location = new ObservedLocation("test", 1234, 1);
+        var entity1 = new Entity("et1", "e1");
+        var entity2 = new Entity("et2", "e2");
+
+        var trace1 = EventTrace.of(new UseCaseStartEvent(1, 0, location, "uc1"), new UseCaseEndEvent(1, 10, location, "uc1"));
+        var trace2 = EventTrace.of(new UseCaseStartEvent(2, 0, location, "uc2"), new UseCaseEndEvent(2, 10, location, "uc2"));
+        var trace3 = EventTrace.of(new UseCaseStartEvent(3, 0, location, "uc1"), new UseCaseEndEvent(3, 10, location, "uc1"));
+
+        var write = new EntityWriteEvent(1, 5, location, entity1);
+        var read = new EntityReadEvent(1, 6, location, entity2);
+
+        // Trace 1 has a new and an obsolete issue, trace 2 has a now committed write, and trace 3 is unchanged
+        var result1 = new ConsistencyAnalysisResult(1, 1, Set.of(new WriteConflictIssue(entity1, write)), Set.of(new StaleReadIssue(entity2, read)),
+                Set.of(), Set.of(), Set.of(), Set.of(), Set.of());
+        var result2 = new ConsistencyAnalysisResult(0, 0, Set.of(), Set.of(), Set.of(), Set.of(write), Set.of(), Set.of(), Set.of());
+        var result3 = new ConsistencyAnalysisResult(0, 0, Set.of(), Set.of(), Set.of(), Set.of(), Set.of(), Set.of(), Set.of());
+
+        var statistics = new ConsistencyStatistics();
+        statistics.add(trace1, result1);
+        statistics.add(trace2, result2);
+
+        var otherStatistics = new ConsistencyStatistics();
+        otherStatistics.add(trace3, result3);
+
+        statistics.merge(otherStatistics);
+
+        assertEquals(new TraceCounts(3, 1, 1), statistics.totalCounts());
+        assertEquals(Map.of("uc1", new TraceCounts(2, 1, 0), "uc2", new TraceCounts(1, 0, 1)), statistics.countsPerUseCase());
+        assertEquals(Map.of("Write Conflict", new IssueCounts(1, 0), "Stale Read", new IssueCounts(0, 1)), statistics.countsPerIssueType());
+        assertEquals(Map.of("et1", new IssueCounts(1, 0), "et2", new IssueCounts(0, 1)), statistics.countsPerEntityType());
+    }
+
+}
@@ -0,0 +1,104 @@
+package gutta.prediction.analysis.consistency;
+
+import gutta.prediction.domain.Component;
+import gutta.prediction.domain.DeploymentModel;
+import gutta.prediction.domain.UseCase;
+import gutta.prediction.event.EventTrace;
+import gutta.prediction.event.ObservedLocation;
+import gutta.prediction.event.UseCaseEndEvent;
+import gutta.prediction.event.UseCaseStartEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Test cases for the class {@link OriginalResultCache}.
+ */
+class OriginalResultCacheTest {
+
+    private static EventTrace createTrace(long traceId) {
+        return createTrace(traceId, 100);
+    }
+
+    private static EventTrace createTrace(long traceId, long endTimestamp) {
+        var location = new ObservedLocation("test", 1234, 1);
+
+        return EventTrace.of(
+                new UseCaseStartEvent(traceId, 0, location, "uc1"),
+                new UseCaseEndEvent(traceId, endTimestamp, location, "uc1")
+                );
+    }
+
+    private static DeploymentModel createDeploymentModel() {
+        return new DeploymentModel.Builder()
+                .assignUseCaseToComponent(new UseCase("uc1"), new Component("c1"))
+                .build();
+    }
+
+    /**
+     * Test case: The result is computed only once for the same trace and deployment model, but again for an equal deployment model instance.
+     */
+    @Test
+    void resultComputedOncePerTraceAndModel() {
+        var computationCount = new AtomicInteger();
+        var cache = new OriginalResultCache(10);
+
+        var trace = createTrace(1);
+        var deploymentModel = createDeploymentModel();
+        var equalDeploymentModel = createDeploymentModel();
+
+        var firstResult = cache.obtainResult(trace, deploymentModel, (t, m) -> this.countingAnalysis(computationCount));
+        var secondResult = cache.obtainResult(trace, deploymentModel, (t, m) -> this.countingAnalysis(computationCount));
+        assertSame(firstResult, secondResult);
+        assertEquals(1, computationCount.get());
+
+        cache.obtainResult(trace, equalDeploymentModel, (t, m) -> this.countingAnalysis(computationCount));
+        assertEquals(2, computationCount.get());
+
+        // A trace that is decoded again must reuse the cached result
+        cache.obtainResult(createTrace(1), deploymentModel, (t, m) -> this.countingAnalysis(computationCount));
+        assertEquals(2, computationCount.get());
+
+        // A different trace with the same ID must not reuse the cached result
+        cache.obtainResult(createTrace(1, 200), deploymentModel, (t, m) -> this.countingAnalysis(computationCount));
+        assertEquals(3, computationCount.get());
+    }
+
+    /**
+     * Test case: The least recently used result is evicted when the cache is full.
+     */
+    @Test
+    void leastRecentlyUsedResultEvicted() {
+        var computationCount = new AtomicInteger();
+        var cache = new OriginalResultCache(2);
+
+        var trace1 = createTrace(1);
+        var trace2 = createTrace(2);
+        var trace3 = createTrace(3);
+        var deploymentModel = createDeploymentModel();
+
+        cache.obtainResult(trace1, deploymentModel, (t, m) -> this.countingAnalysis(computationCount));
+        cache.obtainResult(trace2, deploymentModel, (t, m) -> this.countingAnalysis(computationCount));
+        // Access the first trace again, so that the second one is the least recently used
+        cache.obtainResult(trace1, deploymentModel, (t, m) -> this.countingAnalysis(computationCount));
+        cache.obtainResult(trace3, deploymentModel, (t, m) -> this.countingAnalysis(computationCount));
+        assertEquals(3, computationCount.get());
+        assertEquals(2, cache.size());
+
+        cache.obtainResult(trace1, deploymentModel, (t, m) -> this.countingAnalysis(computationCount));
+        assertEquals(3, computationCount.get());
+
+        cache.obtainResult(trace2, deploymentModel, (t, m) -> this.countingAnalysis(computationCount));
+        assertEquals(4, computationCount.get());
+    }
+
+    private ConsistencyAnalyzerResult countingAnalysis(AtomicInteger computationCount) {
+        computationCount.incrementAndGet();
+        return new ConsistencyAnalyzerResult(Set.of(), Set.of(), Set.of());
+    }
+
+}
@@ -0,0 +1,80 @@
+package gutta.prediction.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the class {@link CompiledDeploymentModel}.
+ */
+class CompiledDeploymentModelTest {
+
+    /**
+     * Test case: The lookups of the compiled model provide the same information as the deployment model.
+     */
+    @Test
+    void lookupsMatchDeploymentModel() {
+        var component1 = new Component("c1");
+        var component2 = new Component("c2");
+        var component3 = new Component("c3");
+
+        var useCase = new UseCase("uc1");
+        var candidate1 = new ServiceCandidate("sc1", TransactionBehavior.SUPPORTED);
+        var candidate2 = new ServiceCandidate("sc2", TransactionBehavior.REQUIRED);
+        var entityType = new EntityType("et1");
+        var dataStore = new DataStore("ds1", ReadWriteConflictBehavior.STALE_READ);
+
+        var originalModel = new DeploymentModel.Builder()
+                .assignUseCaseToComponent(useCase, component1)
+                .assignServiceCandidateToComponent(candidate1, component1)
+                .assignServiceCandidateToComponent(candidate2, component2)
+                .assignEntityTypeToComponent(entityType, component2)
+                .assignEntityTypeToDataStore(entityType, dataStore)
+                .addSymmetricRemoteConnection(component1, component2, 10, TransactionPropagation.NONE)
+                .addLocalConnection(component2, component3)
+                .build();
+
+        var modifiedModel = originalModel.applyModifications()
+                .assignServiceCandidateToComponent(candidate1, component2)
+                .build();
+
+        var compiledModel = modifiedModel.compile();
+
+        // The compiled model is created only once
+        assertSame(compiledModel, modifiedModel.compile());
+
+        assertEquals(3, compiledModel.numberOfComponents());
+        var componentId1 = compiledModel.componentId(component1);
+        var componentId2 = compiledModel.componentId(component2);
+        var componentId3 = compiledModel.componentId(component3);
+
+        var useCaseId = compiledModel.useCaseId("uc1");
+        assertEquals(componentId1, compiledModel.componentIdOfUseCase(useCaseId));
+        assertEquals(CompiledDeploymentModel.NO_ID, compiledModel.useCaseId("uc2"));
+
+        var candidateId1 = compiledModel.serviceCandidateId("sc1");
+        assertEquals(candidate1, compiledModel.serviceCandidate(candidateId1));
+        assertEquals(componentId2, compiledModel.componentIdOfServiceCandidate(candidateId1));
+        assertTrue(compiledModel.isServiceCandidateAllocationModified(candidateId1));
+
+        var candidateId2 = compiledModel.serviceCandidateId("sc2");
+        assertFalse(compiledModel.isServiceCandidateAllocationModified(candidateId2));
+        assertEquals(CompiledDeploymentModel.NO_ID, compiledModel.serviceCandidateId("sc3"));
+
+        var entityTypeId = compiledModel.entityTypeId("et1");
+        assertEquals(componentId2, compiledModel.componentIdOfEntityType(entityTypeId));
+        assertEquals(dataStore, compiledModel.dataStoreOfEntityType(entityTypeId));
+
+        // Connections are the same as in the deployment model, and local connections are not created on each lookup
+        assertEquals(modifiedModel.getConnection(component1, component2, false).orElseThrow(), compiledModel.connection(componentId1, componentId2, false));
+        assertEquals(modifiedModel.getConnection(component2, component3, false).orElseThrow(), compiledModel.connection(componentId2, componentId3, false));
+        assertEquals(modifiedModel.getConnection(component2, component2, true).orElseThrow(), compiledModel.connection(componentId2, componentId2, true));
+        assertSame(compiledModel.connection(componentId2, componentId2, true), compiledModel.connection(componentId2, componentId2, true));
+        assertNull(compiledModel.connection(componentId1, componentId3, false));
+    }
+
+}
@@ -0,0 +1,90 @@
+package gutta.prediction.event;
+
+import gutta.prediction.domain.Entity;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Test cases for the class {@link ColumnarEventTrace}.
+ */
+class ColumnarEventTraceTest {
+
+    /**
+     * Test case: A columnar trace with all event types provides the same events as the corresponding trace of event objects.
+     */
+    @Test
+    void allEventTypes() {
+        var traceId = 1234L;
+        var location1 = new ObservedLocation("test", 1234, 1);
+        var location2 = new SyntheticLocation(1);
+        var entity = new Entity("type", "1");
+        var subEntity = new Entity("type", "2", entity);
+
+        var events = List.<MonitoringEvent>of(
+                new UseCaseStartEvent(traceId, 0, location1, "uc"),
+                new TransactionStartEvent(traceId, 10, location1, "tx1"),
+                new EntityReadEvent(traceId, 20, location1, entity),
+                new EntityWriteEvent(traceId, 30, location1, subEntity),
+                new ServiceCandidateInvocationEvent(traceId, 40, location1, "sc1"),
+                new ServiceCandidateEntryEvent(traceId, 50, location2, "sc1", true, "tx2"),
+                new ImplicitTransactionAbortEvent(traceId, 60, location2, "tx2", "cause"),
+                new ServiceCandidateExitEvent(traceId, 70, location2, "sc1"),
+                new ServiceCandidateReturnEvent(traceId, 80, location1, "sc1"),
+                new ServiceCandidateInvocationEvent(traceId, 90, location1, "sc2"),
+                new ServiceCandidateEntryEvent(traceId, 100, location1, "sc2"),
+                new ServiceCandidateExitEvent(traceId, 110, location1, "sc2"),
+                new ServiceCandidateReturnEvent(traceId, 120, location1, "sc2"),
+                new ExplicitTransactionAbortEvent(traceId, 130, location1, "tx1"),
+                new TransactionCommitEvent(traceId, 140, location1, "tx3"),
+                new UseCaseEndEvent(traceId, 150, location1, "uc")
+                );
+
+        var expectedTrace = EventTrace.of(events);
+        var columnarTrace = ColumnarEventTrace.of(events);
+
+        assertEquals(expectedTrace.events(), columnarTrace.events());
+        assertEquals(ColumnarEventTrace.of(expectedTrace), columnarTrace);
+        assertEquals(traceId, columnarTrace.traceId());
+        assertEquals(events.size(), columnarTrace.size());
+        assertFalse(columnarTrace.storesEventObjects());
+
+        // Check the primitive accessors
+        assertEquals(60, columnarTrace.timestampAt(6));
+        assertEquals(location2, columnarTrace.locationAt(6));
+        assertEquals(ImplicitTransactionAbortEvent.class, columnarTrace.eventTypeAt(6));
+    }
+
+    /**
+     * Test case: Events with different trace IDs are retained.
+     */
+    @Test
+    void nonUniformTraceIds() {
+        var location = new ObservedLocation("test", 1234, 1);
+        var events = List.<MonitoringEvent>of(
+                new UseCaseStartEvent(1, 0, location, "uc"),
+                new UseCaseEndEvent(2, 10, location, "uc")
+                );
+
+        var columnarTrace = ColumnarEventTrace.of(events);
+
+        assertEquals(events, columnarTrace.events());
+        assertEquals(1, columnarTrace.traceIdAt(0));
+        assertEquals(2, columnarTrace.traceIdAt(1));
+    }
+
+    /**
+     * Test case: Converting a columnar trace returns the trace itself.
+     */
+    @Test
+    void convertColumnarTrace() {
+        var trace = ColumnarEventTrace.of(EventTrace.of(new UseCaseStartEvent(1, 0, new SyntheticLocation(0), "uc")));
+
+        assertSame(trace, ColumnarEventTrace.of(trace));
+    }
+
+}
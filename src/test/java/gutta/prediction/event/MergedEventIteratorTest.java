@@ -0,0 +1,71 @@
+package gutta.prediction.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test cases for the class {@link MergedEventIterator}.
+ */
+class MergedEventIteratorTest {
+
+    /**
+     * Test case: The events of several traces (including an empty and a columnar one) are returned in the order of their timestamps, where events with the
+     * same timestamp are returned in the order of the traces, and the origin of each event is reported.
+     */
+    @Test
+    void mergeByTimestamp() {
+        var location = new ObservedLocation("test", 1234, 1);
+
+        var trace1 = EventTrace.of(
+                new UseCaseStartEvent(1, 0, location, "uc"),
+                new UseCaseEndEvent(1, 20, location, "uc")
+                );
+        var trace2 = ColumnarEventTrace.of(EventTrace.of(
+                new UseCaseStartEvent(2, 10, location, "uc"),
+                new TransactionStartEvent(2, 20, location, "tx"),
+                new TransactionCommitEvent(2, 25, location, "tx"),
+                new UseCaseEndEvent(2, 30, location, "uc")
+                ));
+        var trace3 = EventTrace.of();
+        var trace4 = EventTrace.of(
+                new UseCaseStartEvent(4, 5, location, "uc"),
+                new UseCaseEndEvent(4, 20, location, "uc")
+                );
+
+        var iterator = new MergedEventIterator(List.of(trace1, trace2, trace3, trace4));
+        var events = new ArrayList<MonitoringEvent>();
+        var origins = new ArrayList<List<Integer>>();
+
+        while (iterator.hasNext()) {
+            events.add(iterator.next());
+            origins.add(List.of(iterator.lastTraceIndex(), iterator.lastPosition()));
+        }
+
+        var expectedEvents = List.<MonitoringEvent>of(
+                trace1.events().get(0),
+                trace4.events().get(0),
+                trace2.events().get(0),
+                trace1.events().get(1),
+                trace2.events().get(1),
+                trace4.events().get(1),
+                trace2.events().get(2),
+                trace2.events().get(3)
+                );
+        var expectedOrigins = List.of(List.of(0, 0), List.of(3, 0), List.of(1, 0), List.of(0, 1), List.of(1, 1), List.of(3, 1), List.of(1, 2),
+                List.of(1, 3));
+
+        assertEquals(expectedEvents, events);
+        assertEquals(expectedOrigins, origins);
+
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+}
@@ -1,14 +1,21 @@
 package gutta.prediction.event.codec;
 
+import gutta.prediction.event.ColumnarEventTrace;
 import gutta.prediction.event.EventTrace;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 /**
@@ -83,6 +90,65 @@ class EventTraceDecoderTest extends EventTraceCodecTestTemplate {
         this.runDecoderTest(traceBytes, expectedTraces);
     }
     
+    /**
+     * Test case: A block consisting of multiple traces is decoded as a stream of traces.
+     */
+    @Test
+    void streamMultipleTraces() {
+        var traceBytes = serializedBlockWithMultipleTraces();
+        var expectedTraces = blockWithMultipleTraces();
+
+        try (var decodedTraces = new EventTraceDecoder().streamTraces(new ByteArrayInputStream(traceBytes))) {
+            assertEquals(expectedTraces, decodedTraces.collect(Collectors.toList()));
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Test case: Entries of a string table are compared on their raw bytes and decoded on demand.
+     * 
+     * @throws IOException Not expected
+     */
+    @Test
+    void compareStringTableEntries() throws IOException {
+        var tableBytes = new byte[] { 0x00, 0x00, 0x00, 0x02, //
+                0x00, 0x00, 0x00, 0x02, 0x61, 0x62, //
+                0x00, 0x00, 0x00, 0x03, 0x63, (byte) 0xC3, (byte) 0xA4 };
+        var stringTable = new EventTraceDecoder().readStringTable(new DataInputStream(new ByteArrayInputStream(tableBytes)));
+
+        assertTrue(stringTable.entryEquals(0, "ab".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(stringTable.entryEquals(0, "abc".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(1, stringTable.indexOf("c\u00E4"));
+        assertEquals(-1, stringTable.indexOf("x"));
+
+        assertEquals("ab", stringTable.getEntry(0));
+        assertEquals("c\u00E4", stringTable.getEntry(1));
+
+        // Inline definitions are compared as well
+        stringTable.defineEntry(2, "def");
+        assertEquals(2, stringTable.indexOf("def"));
+    }
+
+    /**
+     * Test case: Traces can be decoded as columnar traces, which provide the same events.
+     * 
+     * @throws IOException Not expected
+     */
+    @Test
+    void decodeColumnarTraces() throws IOException {
+        var expectedTrace = traceWithAllEventTypes();
+
+        try (var inputStream = new ByteArrayInputStream(serializedTraceWithAllEventTypes())) {
+            var decodedTraces = new EventTraceDecoder(TraceRepresentation.COLUMNAR).decodeTraces(inputStream);
+            var decodedTrace = decodedTraces.iterator().next();
+
+            assertEquals(1, decodedTraces.size());
+            assertInstanceOf(ColumnarEventTrace.class, decodedTrace);
+            assertEquals(expectedTrace.events(), decodedTrace.events());
+        }
+    }
+
     private void runDecoderTest(byte[] serializedTraces, Collection<EventTrace> expectedTraces) {
         try (var inputStream = new ByteArrayInputStream(serializedTraces)) {
             var decodedTraces = new EventTraceDecoder().decodeTraces(inputStream);
@@ -0,0 +1,327 @@
+package gutta.prediction.event.codec;
+
+import gutta.prediction.domain.Entity;
+import gutta.prediction.event.EntityReadEvent;
+import gutta.prediction.event.EntityWriteEvent;
+import gutta.prediction.event.EventTrace;
+import gutta.prediction.event.ImplicitTransactionAbortEvent;
+import gutta.prediction.event.MonitoringEvent;
+import gutta.prediction.event.ObservedLocation;
+import gutta.prediction.event.ServiceCandidateEntryEvent;
+import gutta.prediction.event.ServiceCandidateExitEvent;
+import gutta.prediction.event.ServiceCandidateInvocationEvent;
+import gutta.prediction.event.ServiceCandidateReturnEvent;
+import gutta.prediction.event.SyntheticLocation;
+import gutta.prediction.event.TransactionCommitEvent;
+import gutta.prediction.event.TransactionStartEvent;
+import gutta.prediction.event.UseCaseEndEvent;
+import gutta.prediction.event.UseCaseStartEvent;
+import gutta.prediction.event.codec.EventTraceDecoder.EventTraceDecodingException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the class {@link IndexedEventTraceFile} and the indexed formats.
+ */
+class IndexedEventTraceFileTest extends EventTraceCodecTestTemplate {
+
+    /**
+     * Test case: Traces encoded in one of the indexed formats can be read by their ID.
+     * 
+     * @param format           The format to encode the traces in
+     * @param compressionCodec The compression codec to use
+     * @param tempDir          Temporary directory for the trace file
+     * @throws IOException Not expected
+     */
+    @ParameterizedTest
+    @CsvSource({ "INDEXED, NONE", "STREAMING, NONE", "COMPACT, NONE", "INDEXED, DEFLATE", "STREAMING, DEFLATE", "COMPACT, DEFLATE" })
+    void readTracesById(EventTraceFormat format, CompressionCodec compressionCodec, @TempDir Path tempDir) throws IOException {
+        var traces = this.tracesToEncode();
+        var traceFile = tempDir.resolve("traces.dat");
+
+        new EventTraceEncoder(format, compressionCodec).encodeTraces(traces, traceFile);
+
+        try (var indexedFile = IndexedEventTraceFile.open(traceFile)) {
+            assertEquals(traces.size(), indexedFile.numberOfTraces());
+            assertArrayEquals(new long[] { 1234, 5678, 9999 }, indexedFile.traceIds().toArray());
+
+            for (var trace : traces) {
+                assertEquals(Optional.of(trace), indexedFile.readTrace(trace.traceId()));
+            }
+
+            assertEquals(Optional.of("uc"), indexedFile.useCaseNameOf(5678));
+            assertArrayEquals(new long[] { 1234, 5678 }, indexedFile.traceIdsOfUseCase("uc").toArray());
+
+            assertFalse(indexedFile.containsTrace(42));
+            assertEquals(Optional.empty(), indexedFile.readTrace(42));
+        }
+    }
+
+    /**
+     * Test case: Traces encoded in one of the indexed formats can be read sequentially by the decoder.
+     * 
+     * @param format           The format to encode the traces in
+     * @param compressionCodec The compression codec to use
+     * @throws IOException Not expected
+     */
+    @ParameterizedTest
+    @CsvSource({ "INDEXED, NONE", "STREAMING, NONE", "COMPACT, NONE", "INDEXED, DEFLATE", "STREAMING, DEFLATE", "COMPACT, DEFLATE" })
+    void decodeIndexedBlock(EventTraceFormat format, CompressionCodec compressionCodec) throws IOException {
+        var traces = this.tracesToEncode();
+
+        var outputStream = new ByteArrayOutputStream();
+        new EventTraceEncoder(format, compressionCodec).encodeTraces(traces, outputStream);
+
+        try (var inputStream = new ByteArrayInputStream(outputStream.toByteArray())) {
+            var decodedTraces = new EventTraceDecoder().decodeTraces(inputStream);
+
+            assertEquals(traces, decodedTraces);
+        }
+    }
+
+    /**
+     * Test case: The compact format requires less space than the uncompressed formats.
+     * 
+     * @throws IOException Not expected
+     */
+    @Test
+    void compactFormatIsSmaller() throws IOException {
+        var traces = List.of(traceWithAllEventTypes());
+
+        var indexedStream = new ByteArrayOutputStream();
+        new EventTraceEncoder(EventTraceFormat.INDEXED).encodeTraces(traces, indexedStream);
+
+        var compactStream = new ByteArrayOutputStream();
+        new EventTraceEncoder(EventTraceFormat.COMPACT).encodeTraces(traces, compactStream);
+
+        assertTrue(compactStream.size() < indexedStream.size());
+        assertEquals(traces, new EventTraceDecoder().decodeTraces(new ByteArrayInputStream(compactStream.toByteArray())));
+    }
+
+    /**
+     * Test case: Compressed traces spanning multiple frames can be read sequentially and by their ID.
+     * 
+     * @param tempDir Temporary directory for the trace file
+     * @throws IOException Not expected
+     */
+    @Test
+    void readTracesAcrossCompressionFrames(@TempDir Path tempDir) throws IOException {
+        var location = new ObservedLocation("test", 1, 2);
+        var traces = new ArrayList<EventTrace>();
+
+        // Create enough data to fill several frames, with traces starting in the middle of frames
+        for (var traceId = 1; traceId <= 20; traceId++) {
+            var events = new ArrayList<MonitoringEvent>();
+            for (var eventIndex = 0; eventIndex < 1000; eventIndex++) {
+                events.add(new EntityWriteEvent(traceId, eventIndex, location, new Entity("type", traceId + "-" + eventIndex)));
+            }
+
+            traces.add(EventTrace.of(events));
+        }
+
+        var traceFile = tempDir.resolve("traces.dat");
+        new EventTraceEncoder(EventTraceFormat.STREAMING, CompressionCodec.DEFLATE).encodeTraces(traces, traceFile);
+
+        try (var indexedFile = IndexedEventTraceFile.open(traceFile)) {
+            for (var trace : traces) {
+                assertEquals(Optional.of(trace), indexedFile.readTrace(trace.traceId()));
+            }
+        }
+
+        try (var inputStream = new FileInputStream(traceFile.toFile())) {
+            assertEquals(traces, new EventTraceDecoder().decodeTraces(inputStream));
+        }
+    }
+
+    /**
+     * Test case: Traces can be mapped from the file and provide the same events as the decoded traces, both for sequential and random access.
+     * 
+     * @param format           The format to encode the traces in
+     * @param compressionCodec The compression codec to use
+     * @param tempDir          Temporary directory for the trace file
+     * @throws IOException Not expected
+     */
+    @ParameterizedTest
+    @CsvSource({ "INDEXED, NONE", "STREAMING, NONE", "COMPACT, NONE", "COMPACT, DEFLATE" })
+    void mapTracesById(EventTraceFormat format, CompressionCodec compressionCodec, @TempDir Path tempDir) throws IOException {
+        var location = new ObservedLocation("test", 1, 2);
+        var events = new ArrayList<MonitoringEvent>();
+        for (var eventIndex = 0; eventIndex < 1000; eventIndex++) {
+            events.add(new EntityWriteEvent(4711, 10 * eventIndex, location, new Entity("type", String.valueOf(eventIndex % 100))));
+        }
+
+        var largeTrace = EventTrace.of(events);
+        var traces = this.tracesToEncode();
+        traces.add(largeTrace);
+
+        var traceFile = tempDir.resolve("traces.dat");
+        new EventTraceEncoder(format, compressionCodec).encodeTraces(traces, traceFile);
+
+        try (var indexedFile = IndexedEventTraceFile.open(traceFile)) {
+            for (var trace : traces) {
+                var mappedTrace = indexedFile.mapTrace(trace.traceId()).orElseThrow();
+
+                assertEquals(trace.traceId(), mappedTrace.traceId());
+                assertEquals(trace.events(), mappedTrace.events());
+            }
+
+            assertEquals(Optional.empty(), indexedFile.mapTrace(42));
+
+            // Access the events of the large trace in random order
+            var mappedTrace = indexedFile.mapTrace(4711).orElseThrow();
+            for (var eventIndex : new int[] { 999, 500, 10, 11, 64, 63, 0 }) {
+                assertEquals(events.get(eventIndex), mappedTrace.events().get(eventIndex));
+            }
+
+            // Mapped traces are compared without decoding their events
+            var mappedAgain = indexedFile.mapTrace(4711).orElseThrow();
+            if (mappedTrace instanceof MappedEventTrace) {
+                assertEquals(mappedTrace, mappedAgain);
+                assertEquals(mappedTrace.hashCode(), mappedAgain.hashCode());
+            }
+            assertNotEquals(mappedTrace, indexedFile.mapTrace(1234).orElseThrow());
+        }
+    }
+
+    /**
+     * Test case: The traces accessing an entity can be determined without decoding the traces.
+     * 
+     * @param format           The format to encode the traces in
+     * @param compressionCodec The compression codec to use
+     * @param tempDir          Temporary directory for the trace file
+     * @throws IOException Not expected
+     */
+    @ParameterizedTest
+    @CsvSource({ "INDEXED, NONE", "STREAMING, NONE", "COMPACT, NONE", "COMPACT, DEFLATE" })
+    void findTracesAccessingEntity(EventTraceFormat format, CompressionCodec compressionCodec, @TempDir Path tempDir) throws IOException {
+        var location = new ObservedLocation("test", 1, 2);
+        var otherLocation = new SyntheticLocation(3);
+
+        // Place the entity access after events of all other types, so that these events must be skipped
+        var traceWithOtherEvents = EventTrace.of(
+                new UseCaseStartEvent(1, 100, location, "uc"),
+                new TransactionStartEvent(1, 200, location, "tx"),
+                new ServiceCandidateInvocationEvent(1, 300, location, "sc"),
+                new ServiceCandidateEntryEvent(1, 300, otherLocation, "sc", true, "tx2"),
+                new ImplicitTransactionAbortEvent(1, 400, otherLocation, "tx2", "cause"),
+                new ServiceCandidateExitEvent(1, 500, otherLocation, "sc"),
+                new ServiceCandidateReturnEvent(1, 500, location, "sc"),
+                new TransactionCommitEvent(1, 600, location, "tx"),
+                new EntityWriteEvent(1, 700, location, new Entity("et", "2")),
+                new UseCaseEndEvent(1, 800, location, "uc")
+                );
+
+        var traces = List.of(
+                traceWithOtherEvents,
+                EventTrace.of(new EntityReadEvent(2, 100, location, new Entity("sub", "2", true, "1"))),
+                EventTrace.of(new EntityReadEvent(3, 100, location, new Entity("et", "1")))
+                );
+
+        var traceFile = tempDir.resolve("traces.dat");
+        new EventTraceEncoder(format, compressionCodec).encodeTraces(traces, traceFile);
+
+        try (var indexedFile = IndexedEventTraceFile.open(traceFile)) {
+            assertArrayEquals(new long[] { 1 }, indexedFile.traceIdsAccessingEntity("et", "2").toArray());
+            assertArrayEquals(new long[] { 2 }, indexedFile.traceIdsAccessingEntity("sub", "2").toArray());
+            assertArrayEquals(new long[] { 3 }, indexedFile.traceIdsAccessingEntity("et", "1").toArray());
+            assertArrayEquals(new long[0], indexedFile.traceIdsAccessingEntity("et", "3").toArray());
+            // The root ID is not an entity ID of the type "sub"
+            assertArrayEquals(new long[0], indexedFile.traceIdsAccessingEntity("sub", "1").toArray());
+        }
+    }
+
+    /**
+     * Test case: Traces can be read from all blocks of a file consisting of several indexed blocks.
+     * 
+     * @param tempDir Temporary directory for the trace file
+     * @throws IOException Not expected
+     */
+    @Test
+    void readTracesFromMultipleBlocks(@TempDir Path tempDir) throws IOException {
+        var firstBlock = this.tracesToEncode();
+
+        var location = new ObservedLocation("second", 3, 4);
+        var secondBlock = List.of(
+                EventTrace.of(new EntityWriteEvent(42, 100, location, new Entity("other", "2"))),
+                EventTrace.of(new EntityReadEvent(7000, 100, location, new Entity("other", "3")))
+                );
+
+        var traceFile = tempDir.resolve("traces.dat");
+        try (var outputStream = Files.newOutputStream(traceFile)) {
+            new EventTraceEncoder(EventTraceFormat.COMPACT).encodeTraces(firstBlock, outputStream);
+            new EventTraceEncoder(EventTraceFormat.INDEXED, CompressionCodec.DEFLATE).encodeTraces(secondBlock, outputStream);
+        }
+
+        try (var indexedFile = IndexedEventTraceFile.open(traceFile)) {
+            assertEquals(firstBlock.size() + secondBlock.size(), indexedFile.numberOfTraces());
+            assertArrayEquals(new long[] { 42, 1234, 5678, 7000, 9999 }, indexedFile.traceIds().toArray());
+            assertArrayEquals(new long[] { 1234, 5678 }, indexedFile.traceIdsOfUseCase("uc").toArray());
+
+            for (var trace : firstBlock) {
+                assertEquals(Optional.of(trace), indexedFile.readTrace(trace.traceId()));
+                assertEquals(trace.events(), indexedFile.mapTrace(trace.traceId()).orElseThrow().events());
+            }
+
+            for (var trace : secondBlock) {
+                assertTrue(indexedFile.containsTrace(trace.traceId()));
+                assertEquals(Optional.of(trace), indexedFile.readTrace(trace.traceId()));
+                assertEquals(Optional.of(trace), indexedFile.mapTrace(trace.traceId()));
+            }
+        }
+    }
+
+    /**
+     * Test case: A file containing a legacy block is rejected, as the traces of the legacy block cannot be accessed by their ID.
+     * 
+     * @param tempDir Temporary directory for the trace file
+     * @throws IOException Not expected
+     */
+    @Test
+    void rejectFileWithLegacyBlock(@TempDir Path tempDir) throws IOException {
+        var traces = blockWithMultipleTraces();
+
+        var traceFile = tempDir.resolve("traces.dat");
+        try (var outputStream = Files.newOutputStream(traceFile)) {
+            new EventTraceEncoder().encodeTraces(traces, outputStream);
+            new EventTraceEncoder(EventTraceFormat.INDEXED).encodeTraces(traces, outputStream);
+        }
+
+        assertThrows(EventTraceDecodingException.class, () -> IndexedEventTraceFile.open(traceFile));
+    }
+
+    private List<EventTrace> tracesToEncode() {
+        var location = new ObservedLocation("other", 1, 2);
+        var entity = new Entity("type", "1");
+        var traceWithoutUseCase = EventTrace.of(
+                new EntityReadEvent(9999, 100, location, entity),
+                new EntityWriteEvent(9999, 200, location, entity)
+                );
+
+        // Add the trace without use case first to ensure that the index is sorted
+        var traces = new ArrayList<EventTrace>();
+        traces.add(traceWithoutUseCase);
+        traces.addAll(blockWithMultipleTraces());
+
+        return traces;
+    }
+
+}
@@ -0,0 +1,122 @@
+package gutta.prediction.event.codec;
+
+import gutta.prediction.domain.Entity;
+import gutta.prediction.event.EntityWriteEvent;
+import gutta.prediction.event.EventTrace;
+import gutta.prediction.event.ObservedLocation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test cases for the class {@link ParallelEventTraceDecoder}.
+ */
+class ParallelEventTraceDecoderTest extends EventTraceCodecTestTemplate {
+
+    /**
+     * Test case: A file consisting of multiple blocks in different formats is decoded in file order.
+     * 
+     * @param tempDir Temporary directory for the trace file
+     * @throws IOException Not expected
+     */
+    @Test
+    void decodeMultipleBlocks(@TempDir Path tempDir) throws IOException {
+        var traceFile = tempDir.resolve("traces.dat");
+        var expectedTraces = writeMultipleBlocks(traceFile);
+
+        assertEquals(expectedTraces, new ParallelEventTraceDecoder().decodeTraces(traceFile));
+
+        try (var executorService = Executors.newFixedThreadPool(2)) {
+            assertEquals(expectedTraces, new ParallelEventTraceDecoder(executorService, 1).decodeTraces(traceFile));
+        }
+
+        // The sequential decoder must produce the same result
+        try (var inputStream = new FileInputStream(traceFile.toFile())) {
+            assertEquals(expectedTraces, new EventTraceDecoder().decodeTraces(inputStream));
+        }
+    }
+
+    /**
+     * Test case: A file consisting of multiple blocks is streamed in file order with a limited number of blocks in flight.
+     * 
+     * @param tempDir Temporary directory for the trace file
+     * @throws IOException Not expected
+     */
+    @Test
+    void streamMultipleBlocks(@TempDir Path tempDir) throws IOException {
+        var traceFile = tempDir.resolve("traces.dat");
+        var expectedTraces = writeMultipleBlocks(traceFile);
+
+        try (var executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            var decoder = new ParallelEventTraceDecoder(executorService, 2);
+
+            try (var traceStream = decoder.streamTraces(traceFile)) {
+                assertEquals(expectedTraces, traceStream.toList());
+            }
+        }
+    }
+
+    /**
+     * Test case: A legacy file, whose blocks cannot be located, is decoded as a single region.
+     * 
+     * @param tempDir Temporary directory for the trace file
+     * @throws IOException Not expected
+     */
+    @Test
+    void decodeLegacyFile(@TempDir Path tempDir) throws IOException {
+        var traceFile = tempDir.resolve("traces.dat");
+        var traces = blockWithMultipleTraces();
+
+        try (var outputStream = Files.newOutputStream(traceFile)) {
+            new EventTraceEncoder().encodeTraces(traces, outputStream);
+            new EventTraceEncoder(EventTraceFormat.COMPACT).encodeTraces(traces, outputStream);
+        }
+
+        var expectedTraces = new ArrayList<EventTrace>(traces);
+        expectedTraces.addAll(traces);
+
+        assertEquals(expectedTraces, new ParallelEventTraceDecoder().decodeTraces(traceFile));
+    }
+
+    private static List<EventTrace> writeMultipleBlocks(Path traceFile) throws IOException {
+        var expectedTraces = new ArrayList<EventTrace>();
+
+        try (var outputStream = Files.newOutputStream(traceFile)) {
+            var formats = List.of(EventTraceFormat.INDEXED, EventTraceFormat.STREAMING, EventTraceFormat.COMPACT);
+
+            for (var blockIndex = 0; blockIndex < 6; blockIndex++) {
+                var traces = tracesOfBlock(blockIndex);
+                var compressionCodec = (blockIndex % 2 == 0) ? CompressionCodec.NONE : CompressionCodec.DEFLATE;
+
+                new EventTraceEncoder(formats.get(blockIndex % formats.size()), compressionCodec).encodeTraces(traces, outputStream);
+                expectedTraces.addAll(traces);
+            }
+        }
+
+        return expectedTraces;
+    }
+
+    private static List<EventTrace> tracesOfBlock(int blockIndex) {
+        var location = new ObservedLocation("block" + blockIndex, 1, 2);
+        var traces = new ArrayList<EventTrace>();
+
+        for (var traceIndex = 0; traceIndex < 5; traceIndex++) {
+            var traceId = (blockIndex * 100L) + traceIndex;
+            var entity = new Entity("type", String.valueOf(traceId));
+
+            traces.add(EventTrace.of(new EntityWriteEvent(traceId, 100, location, entity), new EntityWriteEvent(traceId, 200, location, entity)));
+        }
+
+        return traces;
+    }
+
+}
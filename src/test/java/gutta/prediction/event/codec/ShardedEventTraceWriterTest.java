@@ -0,0 +1,151 @@
+package gutta.prediction.event.codec;
+
+import gutta.prediction.domain.Entity;
+import gutta.prediction.event.EntityWriteEvent;
+import gutta.prediction.event.EventTrace;
+import gutta.prediction.event.ObservedLocation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test cases for the class {@link ShardedEventTraceWriter}.
+ */
+class ShardedEventTraceWriterTest {
+
+    /**
+     * Test case: Traces written concurrently by multiple producers are all contained in the resulting file.
+     * 
+     * @param tempDir Temporary directory for the trace file
+     * @throws Exception Not expected
+     */
+    @Test
+    void writeTracesConcurrently(@TempDir Path tempDir) throws Exception {
+        var traceFile = tempDir.resolve("traces.dat");
+        var numberOfProducers = 4;
+        var tracesPerProducer = 250;
+
+        // Use small blocks and a tight bound, so that producers are actually blocked
+        try (var writer = new ShardedEventTraceWriter(traceFile, EventTraceFormat.COMPACT, CompressionCodec.DEFLATE, 10, 2, 20)) {
+            try (var executorService = Executors.newFixedThreadPool(numberOfProducers)) {
+                var futures = new ArrayList<Future<Void>>();
+
+                for (var producerIndex = 0; producerIndex < numberOfProducers; producerIndex++) {
+                    var firstTraceId = producerIndex * tracesPerProducer;
+
+                    futures.add(executorService.submit(() -> {
+                        for (var traceId = firstTraceId; traceId < firstTraceId + tracesPerProducer; traceId++) {
+                            writer.write(createTrace(traceId));
+                        }
+                        return null;
+                    }));
+                }
+
+                for (var future : futures) {
+                    future.get();
+                }
+            }
+        }
+
+        var decodedTraces = new ArrayList<>(new ParallelEventTraceDecoder().decodeTraces(traceFile));
+        decodedTraces.sort(Comparator.comparingLong(EventTrace::traceId));
+
+        var expectedTraces = new ArrayList<EventTrace>();
+        for (var traceId = 0; traceId < numberOfProducers * tracesPerProducer; traceId++) {
+            expectedTraces.add(createTrace(traceId));
+        }
+
+        assertEquals(expectedTraces, decodedTraces);
+
+        // All traces must also be accessible by their ID, although they are distributed over several blocks
+        try (var indexedFile = IndexedEventTraceFile.open(traceFile)) {
+            assertEquals(expectedTraces.size(), indexedFile.numberOfTraces());
+            assertArrayEquals(LongStream.range(0, expectedTraces.size()).toArray(), indexedFile.traceIds().toArray());
+
+            for (var trace : expectedTraces) {
+                assertEquals(Optional.of(trace), indexedFile.readTrace(trace.traceId()));
+            }
+        }
+    }
+
+    /**
+     * Test case: Traces cannot be written after the writer has been closed.
+     * 
+     * @param tempDir Temporary directory for the trace file
+     * @throws IOException Not expected
+     */
+    @Test
+    void rejectWriteAfterClose(@TempDir Path tempDir) throws IOException {
+        var traceFile = tempDir.resolve("traces.dat");
+
+        var writer = new ShardedEventTraceWriter(traceFile);
+        writer.write(createTrace(1));
+        writer.close();
+
+        assertThrows(IOException.class, () -> writer.write(createTrace(2)));
+
+        try (var indexedFile = IndexedEventTraceFile.open(traceFile)) {
+            assertArrayEquals(new long[] { 1 }, indexedFile.traceIds().toArray());
+        }
+
+        // No temporary block files must remain
+        try (var files = Files.list(tempDir)) {
+            assertEquals(List.of(traceFile), files.toList());
+        }
+    }
+
+    /**
+     * Test case: Traces written by a single producer retain their order.
+     * 
+     * @param tempDir Temporary directory for the trace file
+     * @throws IOException Not expected
+     */
+    @Test
+    void singleProducerRetainsOrder(@TempDir Path tempDir) throws IOException {
+        var traceFile = tempDir.resolve("traces.dat");
+        var traces = List.of(createTrace(3), createTrace(1), createTrace(2));
+
+        try (var writer = new ShardedEventTraceWriter(traceFile)) {
+            for (var trace : traces) {
+                writer.write(trace);
+            }
+        }
+
+        assertEquals(traces, new ParallelEventTraceDecoder().decodeTraces(traceFile));
+    }
+
+    /**
+     * Test case: A bound on the traces in flight that does not allow each shard to fill a block is rejected.
+     * 
+     * @param tempDir Temporary directory for the trace file
+     */
+    @Test
+    void rejectInsufficientBound(@TempDir Path tempDir) {
+        var traceFile = tempDir.resolve("traces.dat");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new ShardedEventTraceWriter(traceFile, EventTraceFormat.COMPACT, CompressionCodec.NONE, 10, 4, 39));
+    }
+
+    private static EventTrace createTrace(long traceId) {
+        var location = new ObservedLocation("test", 1, 2);
+        var entity = new Entity("type", String.valueOf(traceId));
+
+        return EventTrace.of(new EntityWriteEvent(traceId, 100, location, entity), new EntityWriteEvent(traceId, 200, location, entity));
+    }
+
+}
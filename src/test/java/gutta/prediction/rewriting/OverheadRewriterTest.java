@@ -2,10 +2,12 @@ package gutta.prediction.rewriting;
 
 import gutta.prediction.domain.Component;
 import gutta.prediction.domain.DeploymentModel;
+import gutta.prediction.domain.Entity;
 import gutta.prediction.domain.ServiceCandidate;
 import gutta.prediction.domain.TransactionBehavior;
 import gutta.prediction.domain.TransactionPropagation;
 import gutta.prediction.domain.UseCase;
+import gutta.prediction.event.EntityReadEvent;
 import gutta.prediction.event.EventTrace;
 import gutta.prediction.event.MonitoringEvent;
 import gutta.prediction.event.ObservedLocation;
@@ -18,10 +20,15 @@ import gutta.prediction.event.UseCaseEndEvent;
 import gutta.prediction.event.UseCaseStartEvent;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 /**
  * Test cases for the class {@link OverheadRewriter}.
@@ -41,6 +48,30 @@ class OverheadRewriterTest extends TraceRewriterTestTemplate {
         assertEquals(fixture.rewrittenTrace(), rewrittenTrace);
     }
 
+    /**
+     * Test case: Rewriting an already rewritten trace maps the events to the events of the original trace, both by index and by event.
+     */
+    @Test
+    void repeatedRewriteMapsToOriginalEvents() {
+        var fixture = this.createIdentityTraceFixture();
+
+        var inputTrace = fixture.trace();
+        var rewriter = new OverheadRewriter(fixture.deploymentModel());
+        var rewrittenTrace = rewriter.rewriteTrace(rewriter.rewriteTrace(inputTrace));
+
+        for (var eventIndex = 0; eventIndex < inputTrace.size(); eventIndex++) {
+            var originalEvent = inputTrace.events().get(eventIndex);
+            var rewrittenEvent = rewrittenTrace.events().get(eventIndex);
+
+            assertSame(originalEvent, rewrittenTrace.obtainOriginalEvent(eventIndex));
+            assertSame(originalEvent, rewrittenTrace.obtainOriginalEvent(rewrittenEvent));
+        }
+
+        var unknownEvent = new UseCaseStartEvent(4321L, 100, new ObservedLocation("test", 1234, 1), "uc2");
+        assertEquals(-1, rewrittenTrace.indexOf(unknownEvent));
+        assertNull(rewrittenTrace.obtainOriginalEvent(unknownEvent));
+    }
+
     /**
      * Test case: A local transition removes existing overhead (if any) and does not introduce a location change.
      */
@@ -261,4 +292,60 @@ class OverheadRewriterTest extends TraceRewriterTestTemplate {
         assertEquals(new RewrittenEventTrace(expectedEvents, expectedCorrespondence), rewrittenTrace);
     }
 
+    /**
+     * Test case: Events after a changed overhead are only shifted in time, so that they are not stored in the rewritten trace.
+     */
+    @Test
+    void shiftedEventsAreNotStored() {
+        final var traceId = 1234L;
+        final var location = new ObservedLocation("test", 1234, 1);
+        final var numberOfReads = 100;
+
+        var inputEvents = new ArrayList<MonitoringEvent>();
+        var expectedEvents = new ArrayList<MonitoringEvent>();
+
+        inputEvents.add(new UseCaseStartEvent(traceId, 100, location, "uc1"));
+        inputEvents.add(new ServiceCandidateInvocationEvent(traceId, 200, location, "sc1"));
+        inputEvents.add(new ServiceCandidateEntryEvent(traceId, 210, location, "sc1"));
+        expectedEvents.addAll(inputEvents.subList(0, 2));
+        expectedEvents.add(new ServiceCandidateEntryEvent(traceId, 200, location, "sc1"));
+
+        for (var readIndex = 0; readIndex < numberOfReads; readIndex++) {
+            var entity = new Entity("et1", String.valueOf(readIndex));
+            inputEvents.add(new EntityReadEvent(traceId, 300 + readIndex, location, entity));
+            // The overhead of the invocation is removed
+            expectedEvents.add(new EntityReadEvent(traceId, 290 + readIndex, location, entity));
+        }
+
+        inputEvents.add(new ServiceCandidateExitEvent(traceId, 1000, location, "sc1"));
+        inputEvents.add(new ServiceCandidateReturnEvent(traceId, 1010, location, "sc1"));
+        inputEvents.add(new UseCaseEndEvent(traceId, 1100, location, "uc1"));
+        expectedEvents.add(new ServiceCandidateExitEvent(traceId, 990, location, "sc1"));
+        expectedEvents.add(new ServiceCandidateReturnEvent(traceId, 990, location, "sc1"));
+        expectedEvents.add(new UseCaseEndEvent(traceId, 1080, location, "uc1"));
+
+        var component1 = new Component("comp1");
+        var component2 = new Component("comp2");
+
+        var originalDeploymentModel = new DeploymentModel.Builder()
+                .assignUseCaseToComponent(new UseCase("uc1"), component1)
+                .assignServiceCandidateToComponent(new ServiceCandidate("sc1", TransactionBehavior.SUPPORTED), component2)
+                .addSymmetricRemoteConnection(component1, component2, 10, TransactionPropagation.NONE)
+                .build();
+
+        var modifiedDeploymentModel = originalDeploymentModel.applyModifications()
+                .addLocalConnection(component1, component2)
+                .build();
+
+        var rewrittenTrace = new OverheadRewriter(modifiedDeploymentModel).rewriteTrace(EventTrace.of(inputEvents));
+
+        assertEquals(expectedEvents, rewrittenTrace.events());
+
+        // Only the runs with a common offset are stored
+        var overlay = assertInstanceOf(OverlayEventList.class, rewrittenTrace.eventList());
+        assertEquals(0, overlay.numberOfReplacements());
+        assertEquals(2, overlay.numberOfRuns());
+        assertFalse(rewrittenTrace.storesEventObjects());
+    }
+
 }
@@ -0,0 +1,123 @@
+package gutta.prediction.rewriting;
+
+import gutta.prediction.event.MonitoringEvent;
+import gutta.prediction.event.ObservedLocation;
+import gutta.prediction.event.UseCaseStartEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the class {@link OverlayEventList}.
+ */
+class OverlayEventListTest {
+
+    private static List<MonitoringEvent> createEvents(int numberOfEvents, String name) {
+        var location = new ObservedLocation("test", 1234, 1);
+        var events = new ArrayList<MonitoringEvent>(numberOfEvents);
+
+        for (var eventIndex = 0; eventIndex < numberOfEvents; eventIndex++) {
+            events.add(new UseCaseStartEvent(1234L, eventIndex, location, name));
+        }
+
+        return events;
+    }
+
+    /**
+     * Test case: Only the replaced events differ from the base list, and replacements of overlays are merged with the existing replacements.
+     */
+    @Test
+    void mergedReplacements() {
+        var baseEvents = createEvents(100, "base");
+        var firstReplacements = createEvents(100, "first");
+        var secondReplacements = createEvents(100, "second");
+
+        var firstOverlay = new OverlayEventList.Builder(baseEvents)
+                .replaceEvent(10, firstReplacements.get(10))
+                .replaceEvent(50, firstReplacements.get(50))
+                .build();
+        var secondOverlay = new OverlayEventList.Builder(firstOverlay)
+                .replaceEvent(5, secondReplacements.get(5))
+                .replaceEvent(50, secondReplacements.get(50))
+                .replaceEvent(90, secondReplacements.get(90))
+                .build();
+
+        var expectedEvents = new ArrayList<>(baseEvents);
+        expectedEvents.set(5, secondReplacements.get(5));
+        expectedEvents.set(10, firstReplacements.get(10));
+        expectedEvents.set(50, secondReplacements.get(50));
+        expectedEvents.set(90, secondReplacements.get(90));
+
+        assertEquals(expectedEvents, secondOverlay);
+        assertSame(baseEvents.get(0), secondOverlay.get(0));
+
+        // Overlays are not stacked
+        assertTrue(secondOverlay instanceof OverlayEventList);
+        assertEquals(4, ((OverlayEventList) secondOverlay).numberOfReplacements());
+    }
+
+    /**
+     * Test case: If a large fraction of the events is replaced, a plain list is created.
+     */
+    @Test
+    void largeFractionReplaced() {
+        var baseEvents = createEvents(4, "base");
+        var replacements = createEvents(4, "replaced");
+
+        var events = new OverlayEventList.Builder(baseEvents)
+                .replaceEvent(1, replacements.get(1))
+                .replaceEvent(3, replacements.get(3))
+                .build();
+
+        assertFalse(events instanceof OverlayEventList);
+        assertEquals(List.of(baseEvents.get(0), replacements.get(1), baseEvents.get(2), replacements.get(3)), events);
+    }
+
+    /**
+     * Test case: Runs of shifted events are created on access, and the offsets of merged overlays add up. Replacements of the base overlay are shifted by
+     * the new offsets.
+     */
+    @Test
+    void shiftedRuns() {
+        var baseEvents = createEvents(100, "base");
+        var replacements = createEvents(100, "replaced");
+
+        var firstOverlay = new OverlayEventList.Builder(baseEvents)
+                .shiftEvents(20, 1000)
+                .replaceEvent(30, replacements.get(30))
+                .shiftEvents(60, 0)
+                .build();
+        var secondOverlay = new OverlayEventList.Builder(firstOverlay)
+                .shiftEvents(10, 5)
+                .build();
+
+        var expectedEvents = new ArrayList<MonitoringEvent>(baseEvents.size());
+        for (var eventIndex = 0; eventIndex < baseEvents.size(); eventIndex++) {
+            var timeOffset = (eventIndex >= 10) ? 5 : 0;
+            if (eventIndex >= 20 && eventIndex < 60) {
+                timeOffset += 1000;
+            }
+
+            var event = (eventIndex == 30) ? replacements.get(30) : baseEvents.get(eventIndex);
+            // Replacements of the first overlay are not affected by its own offsets, but by the offsets of the second one
+            var expectedTimestamp = (eventIndex == 30) ? event.timestamp() + 5 : event.timestamp() + timeOffset;
+            expectedEvents.add(new UseCaseStartEvent(1234L, expectedTimestamp, event.location(), ((UseCaseStartEvent) event).name()));
+        }
+
+        assertEquals(expectedEvents, secondOverlay);
+        assertSame(baseEvents.get(0), secondOverlay.get(0));
+
+        // Overlays are not stacked, and shifted events are not stored
+        var overlay = (OverlayEventList) secondOverlay;
+        assertEquals(1, overlay.numberOfReplacements());
+        assertEquals(3, overlay.numberOfRuns());
+        assertTrue(overlay.containsShiftedEvents());
+    }
+
+}
@@ -0,0 +1,96 @@
+package gutta.prediction.rewriting;
+
+import gutta.prediction.domain.Component;
+import gutta.prediction.domain.DeploymentModel;
+import gutta.prediction.domain.ServiceCandidate;
+import gutta.prediction.domain.TransactionBehavior;
+import gutta.prediction.domain.TransactionPropagation;
+import gutta.prediction.domain.UseCase;
+import gutta.prediction.event.EventTrace;
+import gutta.prediction.event.ObservedLocation;
+import gutta.prediction.event.ServiceCandidateEntryEvent;
+import gutta.prediction.event.ServiceCandidateExitEvent;
+import gutta.prediction.event.ServiceCandidateInvocationEvent;
+import gutta.prediction.event.ServiceCandidateReturnEvent;
+import gutta.prediction.event.TransactionCommitEvent;
+import gutta.prediction.event.TransactionStartEvent;
+import gutta.prediction.event.UseCaseEndEvent;
+import gutta.prediction.event.UseCaseStartEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the class {@link ScenarioRewriter}.
+ */
+class ScenarioRewriterTest extends TraceRewriterTestTemplate {
+
+    /**
+     * Test case: Rewrite a trace containing all event types with a configuration that does not introduce any changes.
+     */
+    @Test
+    void identityRewrite() {
+        var fixture = this.createIdentityTraceFixture();
+
+        var inputTrace = fixture.trace();
+        var rewrittenTrace = new ScenarioRewriter(fixture.deploymentModel()).rewriteTrace(inputTrace);
+
+        assertEquals(fixture.rewrittenTrace(), rewrittenTrace);
+    }
+
+    /**
+     * Test case: A remote transition with a changed overhead and transaction propagation is rewritten in the same way as by the overhead and transaction
+     * context rewriters in sequence, and all events are mapped directly to the original events.
+     */
+    @Test
+    void sameResultAsSequentialRewrites() {
+        final var traceId = 1234L;
+        final var location = new ObservedLocation("test", 1234, 1);
+
+        var inputTrace = EventTrace.of(
+                new UseCaseStartEvent(traceId, 0, location, "uc1"),
+                new TransactionStartEvent(traceId, 50, location, "tx1"),
+                new ServiceCandidateInvocationEvent(traceId, 100, location, "sc1"),
+                new ServiceCandidateEntryEvent(traceId, 100, location, "sc1"),
+                new ServiceCandidateExitEvent(traceId, 120, location, "sc1"),
+                new ServiceCandidateReturnEvent(traceId, 120, location, "sc1"),
+                new TransactionCommitEvent(traceId, 150, location, "tx1"),
+                new UseCaseEndEvent(traceId, 200, location, "uc1")
+                );
+
+        var component1 = new Component("c1");
+        var component2 = new Component("c2");
+
+        var useCase = new UseCase("uc1");
+        var candidate = new ServiceCandidate("sc1", TransactionBehavior.REQUIRED);
+
+        var originalDeploymentModel = new DeploymentModel.Builder()
+                .assignUseCaseToComponent(useCase, component1)
+                .assignServiceCandidateToComponent(candidate, component2)
+                .addLocalConnection(component1, component2)
+                .build();
+
+        var modifiedDeploymentModel = originalDeploymentModel.applyModifications()
+                .addSymmetricRemoteConnection(component1, component2, 10, TransactionPropagation.NONE)
+                .build();
+
+        var sequentiallyRewrittenTrace = new TransactionContextRewriter(modifiedDeploymentModel)
+                .rewriteTrace(new OverheadRewriter(modifiedDeploymentModel).rewriteTrace(inputTrace));
+        var rewrittenTrace = new ScenarioRewriter(modifiedDeploymentModel).rewriteTrace(inputTrace);
+
+        assertEquals(sequentiallyRewrittenTrace, rewrittenTrace);
+
+        // The new transaction is started by the entry event, which is now placed at the synthetic location and delayed by the overhead
+        var rewrittenEntryEvent = (ServiceCandidateEntryEvent) rewrittenTrace.events().get(3);
+        assertEquals(110, rewrittenEntryEvent.timestamp());
+        assertTrue(rewrittenEntryEvent.transactionStarted());
+
+        for (var eventIndex = 0; eventIndex < inputTrace.size(); eventIndex++) {
+            var rewrittenEvent = rewrittenTrace.events().get(eventIndex);
+            assertSame(inputTrace.events().get(eventIndex), rewrittenTrace.obtainOriginalEvent(rewrittenEvent));
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+package gutta.prediction.simulation;
+
+import gutta.prediction.event.ColumnarEventTrace;
+import gutta.prediction.event.EventTrace;
+import gutta.prediction.event.MonitoringEvent;
+import gutta.prediction.event.ObservedLocation;
+import gutta.prediction.event.ServiceCandidateInvocationEvent;
+import gutta.prediction.event.UseCaseEndEvent;
+import gutta.prediction.event.UseCaseStartEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Test cases for the class {@link EventStream}.
+ */
+class EventStreamTest {
+
+    /**
+     * Test case: Events of a trace that creates event objects on access are retained while they are looked at.
+     */
+    @Test
+    void lookaheadOnColumnarTrace() {
+        var location = new ObservedLocation("test", 1234, 1);
+        var trace = EventTrace.of(
+                new UseCaseStartEvent(1, 0, location, "uc"),
+                new ServiceCandidateInvocationEvent(1, 10, location, "sc"),
+                new UseCaseEndEvent(1, 20, location, "uc")
+                );
+
+        var stream = new EventStream(ColumnarEventTrace.of(trace));
+
+        var nextEvent = stream.lookahead(1);
+        stream.consume();
+        assertSame(nextEvent, stream.lookahead(0));
+        assertNull(stream.lookahead(2));
+
+        var remainingEvents = new ArrayList<MonitoringEvent>();
+        stream.forEachRemaining(remainingEvents::add);
+        assertEquals(trace.events().subList(1, 3), remainingEvents);
+    }
+
+}
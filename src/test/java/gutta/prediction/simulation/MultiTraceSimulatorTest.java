@@ -0,0 +1,85 @@
+package gutta.prediction.simulation;
+
+import gutta.prediction.domain.Component;
+import gutta.prediction.domain.DeploymentModel;
+import gutta.prediction.domain.Entity;
+import gutta.prediction.domain.UseCase;
+import gutta.prediction.event.EntityWriteEvent;
+import gutta.prediction.event.EventTrace;
+import gutta.prediction.event.ObservedLocation;
+import gutta.prediction.event.TransactionCommitEvent;
+import gutta.prediction.event.TransactionStartEvent;
+import gutta.prediction.event.UseCaseEndEvent;
+import gutta.prediction.event.UseCaseStartEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test cases for the class {@link MultiTraceSimulator}.
+ */
+class MultiTraceSimulatorTest {
+
+    /**
+     * Test case: A write to an entity with a pending write of a concurrent trace is detected as a conflict, whereas a write after the other transaction has
+     * committed is not.
+     */
+    @Test
+    void conflictAcrossTraces() {
+        var location = new ObservedLocation("test", 1234, 1);
+        var entity = new Entity("et1", "e1");
+
+        var firstTrace = writingTrace(1, 0, 10, 40, location, entity);
+        var overlappingTrace = writingTrace(2, 5, 20, 50, location, entity);
+        var laterTrace = writingTrace(3, 45, 60, 70, location, entity);
+
+        var deploymentModel = new DeploymentModel.Builder()
+                .assignUseCaseToComponent(new UseCase("uc1"), new Component("c1"))
+                .build();
+
+        var conflictsPerTrace = new HashMap<EventTrace, List<EntityWriteEvent>>();
+        MultiTraceSimulator.runSimulationOf(List.of(firstTrace, overlappingTrace, laterTrace), deploymentModel, TraceSimulationMode.WITH_ENTITY_ACCESSES,
+                trace -> new ConflictListener(conflictsPerTrace.computeIfAbsent(trace, key -> new ArrayList<>())));
+
+        assertEquals(List.of(), conflictsPerTrace.get(firstTrace));
+        assertEquals(List.of(overlappingTrace.events().get(2)), conflictsPerTrace.get(overlappingTrace));
+        assertEquals(List.of(), conflictsPerTrace.get(laterTrace));
+
+        // When simulated in isolation, the overlapping trace has no conflict
+        var isolatedConflicts = new ArrayList<EntityWriteEvent>();
+        TraceSimulator.runSimulationOf(overlappingTrace, deploymentModel, TraceSimulationMode.WITH_ENTITY_ACCESSES, new ConflictListener(isolatedConflicts));
+        assertEquals(List.of(), isolatedConflicts);
+    }
+
+    private static EventTrace writingTrace(long traceId, long startTime, long writeTime, long commitTime, ObservedLocation location, Entity entity) {
+        var transactionId = "tx" + traceId;
+
+        return EventTrace.of(
+                new UseCaseStartEvent(traceId, startTime, location, "uc1"),
+                new TransactionStartEvent(traceId, startTime, location, transactionId),
+                new EntityWriteEvent(traceId, writeTime, location, entity),
+                new TransactionCommitEvent(traceId, commitTime, location, transactionId),
+                new UseCaseEndEvent(traceId, commitTime, location, "uc1")
+                );
+    }
+
+    private static class ConflictListener implements TraceSimulationListener {
+
+        private final List<EntityWriteEvent> conflicts;
+
+        public ConflictListener(List<EntityWriteEvent> conflicts) {
+            this.conflicts = conflicts;
+        }
+
+        @Override
+        public void onWriteWriteConflict(EntityWriteEvent event, TraceSimulationContext context) {
+            this.conflicts.add(event);
+        }
+
+    }
+
+}
@@ -0,0 +1,87 @@
+package gutta.prediction.simulation;
+
+import gutta.prediction.domain.Component;
+import gutta.prediction.domain.DeploymentModel;
+import gutta.prediction.domain.Entity;
+import gutta.prediction.domain.EntityType;
+import gutta.prediction.domain.ServiceCandidate;
+import gutta.prediction.domain.TransactionBehavior;
+import gutta.prediction.domain.TransactionPropagation;
+import gutta.prediction.domain.UseCase;
+import gutta.prediction.event.EntityWriteEvent;
+import gutta.prediction.event.EventTrace;
+import gutta.prediction.event.ObservedLocation;
+import gutta.prediction.event.ServiceCandidateEntryEvent;
+import gutta.prediction.event.ServiceCandidateExitEvent;
+import gutta.prediction.event.ServiceCandidateInvocationEvent;
+import gutta.prediction.event.ServiceCandidateReturnEvent;
+import gutta.prediction.event.UseCaseEndEvent;
+import gutta.prediction.event.UseCaseStartEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test cases for the class {@link OnlineTraceSimulation}.
+ */
+class OnlineTraceSimulationTest {
+
+    /**
+     * Test case: Pushing the events of a trace one by one produces the same states as simulating the complete trace, and invocation events are only
+     * processed once their entry event has arrived.
+     */
+    @Test
+    void sameStatesAsBatchSimulation() {
+        var location = new ObservedLocation("test", 1234, 1);
+        var entity = new Entity("et1", "e1");
+
+        var trace = EventTrace.of(
+                new UseCaseStartEvent(1, 0, location, "uc1"),
+                new ServiceCandidateInvocationEvent(1, 10, location, "sc1"),
+                new ServiceCandidateEntryEvent(1, 10, location, "sc1"),
+                new EntityWriteEvent(1, 15, location, entity),
+                new ServiceCandidateExitEvent(1, 20, location, "sc1"),
+                new ServiceCandidateReturnEvent(1, 20, location, "sc1"),
+                new UseCaseEndEvent(1, 30, location, "uc1")
+                );
+
+        var component1 = new Component("c1");
+        var component2 = new Component("c2");
+
+        var originalModel = new DeploymentModel.Builder()
+                .assignUseCaseToComponent(new UseCase("uc1"), component1)
+                .assignServiceCandidateToComponent(new ServiceCandidate("sc1", TransactionBehavior.REQUIRED), component2)
+                .assignEntityTypeToComponent(new EntityType("et1"), component2)
+                .addLocalConnection(component1, component2)
+                .build();
+
+        // Make the call remote, so that synthetic locations and transactions are created
+        var deploymentModel = originalModel.applyModifications()
+                .addSymmetricRemoteConnection(component1, component2, 0, TransactionPropagation.NONE)
+                .build();
+
+        var batchListener = new StateMonitoringListener();
+        TraceSimulator.runSimulationOf(trace, deploymentModel, TraceSimulationMode.WITH_ENTITY_ACCESSES, batchListener);
+
+        var onlineListener = new StateMonitoringListener();
+        var simulation = new OnlineTraceSimulation(deploymentModel, TraceSimulationMode.WITH_ENTITY_ACCESSES, onlineListener);
+
+        // The use case start event is processed immediately, whereas the invocation event has to wait for the entry event
+        simulation.accept(trace.events().get(0));
+        assertEquals(1, onlineListener.assumedStates().size());
+        simulation.accept(trace.events().get(1));
+        assertEquals(1, onlineListener.assumedStates().size());
+        simulation.accept(trace.events().get(2));
+        assertEquals(3, onlineListener.assumedStates().size());
+
+        trace.events().subList(3, trace.size()).forEach(simulation::accept);
+        simulation.complete();
+
+        assertEquals(batchListener.assumedStates(), onlineListener.assumedStates());
+
+        // No further events can be pushed after completion
+        assertThrows(IllegalStateException.class, () -> simulation.accept(trace.events().get(0)));
+    }
+
+}
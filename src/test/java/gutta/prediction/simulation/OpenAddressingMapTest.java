@@ -0,0 +1,91 @@
+package gutta.prediction.simulation;
+
+import gutta.prediction.domain.Entity;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the class {@link OpenAddressingMap}.
+ */
+class OpenAddressingMapTest {
+
+    private static final int NUMBER_OF_ENTITIES = 200;
+
+    private static Entity entity(int index) {
+        return new Entity("et" + (index % 3), String.valueOf(index));
+    }
+
+    /**
+     * Test case: Values put into the map can be retrieved after the map has grown, and replacing a value does not change the size.
+     */
+    @Test
+    void putAndGet() {
+        var map = new OpenAddressingMap<Entity, Integer>();
+
+        for (var index = 0; index < NUMBER_OF_ENTITIES; index++) {
+            map.put(entity(index), index);
+        }
+        map.put(entity(0), -1);
+
+        assertEquals(NUMBER_OF_ENTITIES, map.size());
+        assertEquals(-1, map.get(entity(0)));
+        for (var index = 1; index < NUMBER_OF_ENTITIES; index++) {
+            assertEquals(index, map.get(entity(index)));
+        }
+
+        assertNull(map.get(entity(NUMBER_OF_ENTITIES)));
+        assertFalse(map.containsKey(entity(NUMBER_OF_ENTITIES)));
+    }
+
+    /**
+     * Test case: Entries that collide with removed entries remain reachable after the removal.
+     */
+    @Test
+    void removeKeepsRemainingEntriesReachable() {
+        var map = new OpenAddressingMap<Entity, Integer>();
+
+        for (var index = 0; index < NUMBER_OF_ENTITIES; index++) {
+            map.put(entity(index), index);
+        }
+
+        for (var index = 0; index < NUMBER_OF_ENTITIES; index += 2) {
+            map.remove(entity(index));
+        }
+        // Removing a non-existing entity has no effect
+        map.remove(entity(NUMBER_OF_ENTITIES));
+
+        assertEquals(NUMBER_OF_ENTITIES / 2, map.size());
+        for (var index = 0; index < NUMBER_OF_ENTITIES; index++) {
+            if (index % 2 == 0) {
+                assertFalse(map.containsKey(entity(index)));
+            } else {
+                assertEquals(index, map.get(entity(index)));
+            }
+        }
+    }
+
+    /**
+     * Test case: A cleared map is empty and can be reused.
+     */
+    @Test
+    void clearAndReuse() {
+        var map = new OpenAddressingMap<Entity, Integer>();
+
+        for (var index = 0; index < NUMBER_OF_ENTITIES; index++) {
+            map.put(entity(index), index);
+        }
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey(entity(1)));
+
+        map.put(entity(1), 1);
+        assertTrue(map.containsKey(entity(1)));
+        assertEquals(1, map.size());
+    }
+
+}
@@ -0,0 +1,110 @@
+package gutta.prediction.simulation;
+
+import gutta.prediction.domain.Component;
+import gutta.prediction.domain.DeploymentModel;
+import gutta.prediction.domain.UseCase;
+import gutta.prediction.event.EventTrace;
+import gutta.prediction.event.MonitoringEvent;
+import gutta.prediction.event.ObservedLocation;
+import gutta.prediction.event.TransactionCommitEvent;
+import gutta.prediction.event.TransactionStartEvent;
+import gutta.prediction.event.UseCaseEndEvent;
+import gutta.prediction.event.UseCaseStartEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test cases for the class {@link SimulationPipeline}.
+ */
+class SimulationPipelineTest {
+
+    /**
+     * Test case: All consumers of a pipeline are notified in a single pass, which is performed in the most comprehensive required mode.
+     */
+    @Test
+    void fusedConsumers() {
+        var traceId = 1234L;
+        var location = new ObservedLocation("test", 1234, 1);
+
+        var useCaseStartEvent = new UseCaseStartEvent(traceId, 0, location, "uc1");
+        var transactionStartEvent = new TransactionStartEvent(traceId, 10, location, "tx1");
+        var transactionCommitEvent = new TransactionCommitEvent(traceId, 20, location, "tx1");
+        var useCaseEndEvent = new UseCaseEndEvent(traceId, 30, location, "uc1");
+
+        var trace = EventTrace.of(useCaseStartEvent, transactionStartEvent, transactionCommitEvent, useCaseEndEvent);
+
+        var deploymentModel = new DeploymentModel.Builder() //
+                .assignUseCaseToComponent(new UseCase("uc1"), new Component("c1")) //
+                .build();
+
+        var pipeline = new SimulationPipeline(trace, deploymentModel);
+        var useCaseEventConsumer = pipeline.add(new UseCaseEventConsumer());
+        var transactionConsumer = pipeline.add(new TransactionConsumer());
+        pipeline.run();
+
+        assertEquals(List.of(useCaseStartEvent, useCaseEndEvent), useCaseEventConsumer.result());
+        assertEquals(List.of(transactionStartEvent, transactionCommitEvent), transactionConsumer.result());
+
+        // A pipeline can only be run once
+        assertThrows(IllegalStateException.class, pipeline::run);
+        assertThrows(IllegalStateException.class, () -> pipeline.add(new UseCaseEventConsumer()));
+    }
+
+    private static class UseCaseEventConsumer implements SimulationConsumer<List<MonitoringEvent>> {
+
+        private final List<MonitoringEvent> events = new ArrayList<>();
+
+        @Override
+        public TraceSimulationMode requiredSimulationMode() {
+            return TraceSimulationMode.BASIC;
+        }
+
+        @Override
+        public List<MonitoringEvent> result() {
+            return this.events;
+        }
+
+        @Override
+        public void onUseCaseStartEvent(UseCaseStartEvent event, TraceSimulationContext context) {
+            this.events.add(event);
+        }
+
+        @Override
+        public void onUseCaseEndEvent(UseCaseEndEvent event, TraceSimulationContext context) {
+            this.events.add(event);
+        }
+
+    }
+
+    private static class TransactionConsumer implements SimulationConsumer<List<MonitoringEvent>> {
+
+        private final List<MonitoringEvent> events = new ArrayList<>();
+
+        @Override
+        public TraceSimulationMode requiredSimulationMode() {
+            return TraceSimulationMode.WITH_TRANSACTIONS;
+        }
+
+        @Override
+        public List<MonitoringEvent> result() {
+            return this.events;
+        }
+
+        @Override
+        public void onTransactionStart(MonitoringEvent event, Transaction transaction, TraceSimulationContext context) {
+            this.events.add(event);
+        }
+
+        @Override
+        public void onTransactionCommit(MonitoringEvent event, Transaction transaction, TraceSimulationContext context) {
+            this.events.add(event);
+        }
+
+    }
+
+}
@@ -0,0 +1,90 @@
+package gutta.prediction.simulation;
+
+import gutta.prediction.domain.DeploymentModel;
+import gutta.prediction.domain.Entity;
+import gutta.prediction.event.EntityWriteEvent;
+import gutta.prediction.event.EventTrace;
+import gutta.prediction.event.ObservedLocation;
+import gutta.prediction.event.TransactionStartEvent;
+import gutta.prediction.simulation.TraceSimulationContext.PendingWrites;
+import gutta.prediction.simulation.Transaction.Demarcation;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Test cases for the class {@link TraceSimulationContext}.
+ */
+class TraceSimulationContextTest {
+
+    private static final ObservedLocation LOCATION = new ObservedLocation("test", 1234, 1);
+
+    private static Transaction createTransaction(String id) {
+        return new TopLevelTransaction(id, new TransactionStartEvent(1, 0, LOCATION, id), LOCATION, Demarcation.EXPLICIT);
+    }
+
+    private static EntityWriteEvent createWrite(long timestamp, Entity entity) {
+        return new EntityWriteEvent(1, timestamp, LOCATION, entity);
+    }
+
+    private static List<EntityWriteEvent> eventsOf(PendingWrites pendingWrites) {
+        return List.of(pendingWrites.events());
+    }
+
+    /**
+     * Test case: The pending writes of interleaved transactions are removed per transaction in the order of their registration along with their indexes,
+     * and duplicate writes are only registered once.
+     */
+    @Test
+    void pendingWritesPerTransaction() {
+        var entity1 = new Entity("et1", "1");
+        var entity2 = new Entity("et1", "2");
+        var entity3 = new Entity("et1", "3");
+
+        var write1 = createWrite(100, entity1);
+        var write2 = createWrite(200, entity2);
+        var write3 = createWrite(300, entity1);
+        var write4 = createWrite(400, entity3);
+
+        var events = new EventStream(EventTrace.of(write1, write2, write3, write4));
+        var context = new TraceSimulationContext(new DeploymentModel.Builder().build(), events);
+
+        var transaction1 = createTransaction("tx1");
+        var transaction2 = createTransaction("tx2");
+
+        context.currentTransaction(transaction1);
+        context.registerPendingWrite(write1);
+        events.consume();
+        context.currentTransaction(transaction2);
+        context.registerPendingWrite(write2);
+        events.consume();
+        context.currentTransaction(transaction1);
+        context.registerPendingWrite(write3);
+        context.registerPendingWrite(write3);
+        events.consume();
+
+        assertEquals(transaction2, context.getTransactionWithPendingWriteTo(entity2));
+
+        var writesOfTransaction1 = context.getAndRemovePendingWritesFor(transaction1);
+        assertEquals(List.of(write1, write3), eventsOf(writesOfTransaction1));
+        assertArrayEquals(new int[] { 0, 2 }, writesOfTransaction1.eventIndexes());
+        assertNull(context.getTransactionWithPendingWriteTo(entity1));
+        assertEquals(0, context.getAndRemovePendingWritesFor(transaction1).size());
+
+        // Register another write, which reuses a free slot, and make sure that the previously returned writes are unaffected
+        context.currentTransaction(transaction2);
+        context.registerPendingWrite(write4);
+
+        var writesOfTransaction2 = context.getAndRemovePendingWritesFor(transaction2);
+        assertEquals(List.of(write2, write4), eventsOf(writesOfTransaction2));
+        assertArrayEquals(new int[] { 1, 3 }, writesOfTransaction2.eventIndexes());
+        assertEquals(List.of(write1, write3), eventsOf(writesOfTransaction1));
+        assertNull(context.getTransactionWithPendingWriteTo(entity2));
+        assertNull(context.getTransactionWithPendingWriteTo(entity3));
+    }
+
+}
@@ -0,0 +1,89 @@
+package gutta.prediction.simulation;
+
+import gutta.prediction.domain.Component;
+import gutta.prediction.domain.DeploymentModel;
+import gutta.prediction.domain.ServiceCandidate;
+import gutta.prediction.domain.TransactionBehavior;
+import gutta.prediction.domain.TransactionPropagation;
+import gutta.prediction.domain.UseCase;
+import gutta.prediction.event.EventTrace;
+import gutta.prediction.event.ObservedLocation;
+import gutta.prediction.event.ServiceCandidateEntryEvent;
+import gutta.prediction.event.ServiceCandidateExitEvent;
+import gutta.prediction.event.ServiceCandidateInvocationEvent;
+import gutta.prediction.event.ServiceCandidateReturnEvent;
+import gutta.prediction.event.UseCaseEndEvent;
+import gutta.prediction.event.UseCaseStartEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test cases for the class {@link TraceSimulationSession}.
+ */
+class TraceSimulationSessionTest {
+
+    /**
+     * Test case: Simulating several traces in a session produces the same states as simulating each trace separately, i.e., no state (such as synthetic
+     * locations or transactions) is carried over from one trace to the next.
+     */
+    @Test
+    void sameStatesAsSeparateSimulations() {
+        var location = new ObservedLocation("test", 1234, 1);
+
+        var remoteCallTrace = EventTrace.of(
+                new UseCaseStartEvent(1, 0, location, "uc1"),
+                new ServiceCandidateInvocationEvent(1, 10, location, "sc1"),
+                new ServiceCandidateEntryEvent(1, 10, location, "sc1"),
+                new ServiceCandidateExitEvent(1, 20, location, "sc1"),
+                new ServiceCandidateReturnEvent(1, 20, location, "sc1"),
+                new UseCaseEndEvent(1, 30, location, "uc1")
+                );
+
+        var emptyTrace = EventTrace.of(
+                new UseCaseStartEvent(2, 0, location, "uc1"),
+                new UseCaseEndEvent(2, 10, location, "uc1")
+                );
+
+        var component1 = new Component("c1");
+        var component2 = new Component("c2");
+
+        var originalModel = new DeploymentModel.Builder()
+                .assignUseCaseToComponent(new UseCase("uc1"), component1)
+                .assignServiceCandidateToComponent(new ServiceCandidate("sc1", TransactionBehavior.REQUIRED), component2)
+                .addLocalConnection(component1, component2)
+                .build();
+
+        // Make the call remote, so that synthetic locations and transactions are created, whose numbering must start over for each trace
+        var deploymentModel = originalModel.applyModifications()
+                .addSymmetricRemoteConnection(component1, component2, 0, TransactionPropagation.NONE)
+                .build();
+
+        var traces = new EventTrace[] { remoteCallTrace, emptyTrace, remoteCallTrace };
+
+        var sessionListener = new ResettingStateMonitoringListener();
+        var session = new TraceSimulationSession(deploymentModel, TraceSimulationMode.WITH_ENTITY_ACCESSES, sessionListener);
+
+        for (var trace : traces) {
+            session.simulate(trace);
+            var sessionStates = new ArrayList<>(sessionListener.assumedStates());
+
+            var separateListener = new StateMonitoringListener();
+            TraceSimulator.runSimulationOf(trace, deploymentModel, TraceSimulationMode.WITH_ENTITY_ACCESSES, separateListener);
+
+            assertEquals(separateListener.assumedStates(), sessionStates);
+        }
+    }
+
+    private static class ResettingStateMonitoringListener extends StateMonitoringListener {
+
+        @Override
+        public void onStartOfProcessing() {
+            this.assumedStates().clear();
+        }
+
+    }
+
+}
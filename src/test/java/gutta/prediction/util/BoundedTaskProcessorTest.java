@@ -0,0 +1,68 @@
+package gutta.prediction.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the class {@link BoundedTaskProcessor}.
+ */
+class BoundedTaskProcessorTest {
+
+    /**
+     * Test case: All elements are processed and the results are passed to the handler, while the number of elements in flight does not exceed the bound.
+     * 
+     * @throws InterruptedException Not expected
+     * @throws ExecutionException   Not expected
+     */
+    @Test
+    void processAllElementsWithinBound() throws InterruptedException, ExecutionException {
+        var maxElementsInFlight = 4;
+        var elementsInFlight = new AtomicInteger();
+        var maxObservedElementsInFlight = new AtomicInteger();
+        var results = new HashMap<Integer, Integer>();
+
+        new BoundedTaskProcessor<Integer, Integer>(maxElementsInFlight).process(IntStream.range(0, 100).boxed(), value -> {
+            var currentElementsInFlight = elementsInFlight.incrementAndGet();
+            maxObservedElementsInFlight.accumulateAndGet(currentElementsInFlight, Math::max);
+            Thread.yield();
+            elementsInFlight.decrementAndGet();
+
+            return (2 * value);
+        }, results::put);
+
+        assertEquals(100, results.size());
+        results.forEach((value, result) -> assertEquals(2 * value, (int) result));
+        assertTrue(maxObservedElementsInFlight.get() <= maxElementsInFlight);
+    }
+
+    /**
+     * Test case: An error during processing is reported as an execution exception.
+     */
+    @Test
+    void failingElement() {
+        Map<Integer, Integer> results = new HashMap<>();
+
+        var exception = assertThrows(ExecutionException.class,
+                () -> new BoundedTaskProcessor<Integer, Integer>(2).process(IntStream.range(0, 10).boxed(), this::failOnFive, results::put));
+
+        assertTrue(exception.getCause() instanceof IllegalArgumentException);
+    }
+
+    private Integer failOnFive(Integer value) {
+        if (value == 5) {
+            throw new IllegalArgumentException();
+        }
+
+        return value;
+    }
+
+}